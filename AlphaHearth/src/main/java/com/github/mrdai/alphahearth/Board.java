@@ -3,6 +3,7 @@ package com.github.mrdai.alphahearth;
 import com.github.mrdai.alphahearth.move.*;
 import info.hearthsim.brazier.GameAgent;
 import info.hearthsim.brazier.TargeterDef;
+import info.hearthsim.brazier.actions.TargetNeed;
 import info.hearthsim.brazier.game.*;
 import info.hearthsim.brazier.game.Character;
 import info.hearthsim.brazier.game.cards.Card;
@@ -12,7 +13,11 @@ import info.hearthsim.brazier.ui.PlayerTargetNeed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import static com.github.mrdai.alphahearth.AiGameAgent.AI_OPPONENT;
 import static com.github.mrdai.alphahearth.AiGameAgent.AI_PLAYER;
@@ -20,6 +25,7 @@ import static com.github.mrdai.alphahearth.BoardUtils.*;
 
 public class Board {
     private static final Logger LOG = LoggerFactory.getLogger(Board.class);
+    private static final GamePool GAME_POOL = new GamePool();
 
     public final GameAgent playAgent;
 
@@ -28,7 +34,7 @@ public class Board {
     }
 
     private Board(Board other) {
-        playAgent = new GameAgent(other.playAgent.getGame().copy());
+        playAgent = new GameAgent(GAME_POOL.acquireCopyOf(other.playAgent.getGame()));
     }
 
     /**
@@ -46,7 +52,9 @@ public class Board {
                 break;
         }
 
-        return availableMoves.toMoveList(500);
+        List<Move> result = availableMoves.toMoveList(500);
+        availableMoves.release();
+        return result;
     }
 
     private void expandMove(DistinctMoveList availableMoves, int expandMoveIndex) {
@@ -62,6 +70,10 @@ public class Board {
         Hero enemyHero = curOpponent.getHero();
         BoardSide friendlyMinions = curPlayer.getBoard();
         BoardSide enemyMinions = curOpponent.getBoard();
+        // The allowed targets of every TargetNeed met in this pass. The state of the game does not
+        // change while the moves are listed and all targeters are the current player, so the hero power
+        // and the cards with the same TargetNeed can share the targets collected once.
+        Map<TargetNeed, List<Character>> allowedTargets = new HashMap<>();
 
         // List Hero Power
         HeroPower heroPower = friendlyHero.getHeroPower();
@@ -74,29 +86,28 @@ public class Board {
                     LOG.trace("Adding " + heroPowerPlaying.toString(copiedBoard) + " on\n" + copiedBoard);
                 add(selectedMove, heroPowerPlaying, availableMoves);
             } else {
-                currentGame.getTargets().stream().filter(targetNeed::isAllowedTarget).forEach((target) -> {
+                for (Character target : getAllowedTargets(currentGame, targetNeed, allowedTargets)) {
                     HeroPowerPlaying heroPowerPlaying = new HeroPowerPlaying(curPlayerId, target);
                     if (LOG.isTraceEnabled())
                         LOG.trace("Adding " + heroPowerPlaying.toString(copiedBoard) + " on\n" + copiedBoard);
                     add(selectedMove, heroPowerPlaying, availableMoves);
-                });
+                }
             }
         }
 
         // List Hero Attack
+        MinionFlags friendlyFlags = friendlyMinions.getMinionFlags();
+        MinionFlags enemyFlags = enemyMinions.getMinionFlags();
+        List<Minion> targetMinions = new ArrayList<>(enemyMinions.getMinionCount());
+        enemyFlags.collectMinions(enemyFlags.getAttackableMask(), targetMinions);
+        boolean canAttackEnemyHero = !enemyFlags.hasNonStealthTaunt() && !enemyHero.isImmune();
         if (friendlyHero.getAttackTool().canAttackWith()) {
-            List<Minion> targetMinions;
-            if (enemyMinions.hasNonStealthTaunt()) {
-                targetMinions = enemyMinions.findMinions((m) -> m.getBody().isTaunt() && !m.getBody().isStealth() && !m.getBody().isImmune());
-            } else {
-                // Attacking enemy hero
-                if (!enemyHero.isImmune()) {
-                    DirectAttacking directAttacking = new DirectAttacking(friendlyHero, enemyHero);
-                    if (LOG.isTraceEnabled())
-                        LOG.trace("Adding " + directAttacking.toString(copiedBoard) + " on\n" + copiedBoard);
-                    add(selectedMove, directAttacking, availableMoves);
-                }
-                targetMinions = enemyMinions.findMinions((m) -> !m.getBody().isStealth() && !m.getBody().isImmune());
+            // Attacking enemy hero
+            if (canAttackEnemyHero) {
+                DirectAttacking directAttacking = new DirectAttacking(friendlyHero, enemyHero);
+                if (LOG.isTraceEnabled())
+                    LOG.trace("Adding " + directAttacking.toString(copiedBoard) + " on\n" + copiedBoard);
+                add(selectedMove, directAttacking, availableMoves);
             }
             // Attacking enemy minions
             for (Minion target : targetMinions) {
@@ -108,20 +119,15 @@ public class Board {
         }
 
         // List Minion attack
-        List<Minion> attackers = friendlyMinions.findMinions((m) -> m.getAttackTool().canAttackWith());
-        List<Minion> targetMinions;
-        if (enemyMinions.hasNonStealthTaunt()) {
-            targetMinions = enemyMinions.findMinions((m) -> m.getBody().isTaunt() && !m.getBody().isStealth() && !m.getBody().isImmune());
-        } else {
-            if (!enemyHero.isImmune()) { // Attack enemy hero
-                for (Minion attacker : attackers) {
-                    DirectAttacking directAttacking = new DirectAttacking(attacker, enemyHero);
-                    if (LOG.isTraceEnabled())
-                        LOG.trace("Adding " + directAttacking.toString(copiedBoard) + " on\n" + copiedBoard);
-                    add(selectedMove, directAttacking, availableMoves);
-                }
+        List<Minion> attackers = new ArrayList<>(friendlyMinions.getMinionCount());
+        friendlyFlags.collectMinions(friendlyFlags.getCanAttackMask(), attackers);
+        if (canAttackEnemyHero) { // Attack enemy hero
+            for (Minion attacker : attackers) {
+                DirectAttacking directAttacking = new DirectAttacking(attacker, enemyHero);
+                if (LOG.isTraceEnabled())
+                    LOG.trace("Adding " + directAttacking.toString(copiedBoard) + " on\n" + copiedBoard);
+                add(selectedMove, directAttacking, availableMoves);
             }
-            targetMinions = enemyMinions.findMinions((m) -> !m.getBody().isStealth() && !m.getBody().isImmune());
         }
         for (Minion attacker : attackers) {
             for (Minion target : targetMinions) {
@@ -142,14 +148,12 @@ public class Board {
                 new PlayerTargetNeed(new TargeterDef(curPlayerId, true, false), card.getTargetNeed());
             if (card.isMinionCard()) {
                 if (card.getTargetNeed().hasTarget()) { // Minion card with battle cry target
-                    for (Character target : currentGame.getTargets()) {
-                        if (targetNeed.isAllowedTarget(target)) {
-                            for (int minionLoc = 0; minionLoc <= friendlyMinions.getMinionCount(); minionLoc++) {
-                                CardPlaying cardPlaying = new CardPlaying(card, minionLoc, target);
-                                if (LOG.isTraceEnabled())
-                                    LOG.trace("Adding " + cardPlaying.toString(copiedBoard) + " on " + copiedBoard);
-                                add(selectedMove, cardPlaying, availableMoves);
-                            }
+                    for (Character target : getAllowedTargets(currentGame, targetNeed, allowedTargets)) {
+                        for (int minionLoc = 0; minionLoc <= friendlyMinions.getMinionCount(); minionLoc++) {
+                            CardPlaying cardPlaying = new CardPlaying(card, minionLoc, target);
+                            if (LOG.isTraceEnabled())
+                                LOG.trace("Adding " + cardPlaying.toString(copiedBoard) + " on " + copiedBoard);
+                            add(selectedMove, cardPlaying, availableMoves);
                         }
                     }
                 } else { // Minion card without battle cry target
@@ -162,13 +166,11 @@ public class Board {
                 }
             } else {
                 if (card.getTargetNeed().hasTarget()) { // Spell or Weapon card with target
-                    for (Character target : currentGame.getTargets()) {
-                        if (targetNeed.isAllowedTarget(target)) {
-                            CardPlaying cardPlaying = new CardPlaying(card, -1, target);
-                            if (LOG.isTraceEnabled())
-                                LOG.trace("Adding " + cardPlaying.toString(copiedBoard) + " on " + copiedBoard);
-                            add(selectedMove, cardPlaying, availableMoves);
-                        }
+                    for (Character target : getAllowedTargets(currentGame, targetNeed, allowedTargets)) {
+                        CardPlaying cardPlaying = new CardPlaying(card, -1, target);
+                        if (LOG.isTraceEnabled())
+                            LOG.trace("Adding " + cardPlaying.toString(copiedBoard) + " on " + copiedBoard);
+                        add(selectedMove, cardPlaying, availableMoves);
                     }
                 } else { // Spell or Weapon card without target
                     CardPlaying cardPlaying = new CardPlaying(card);
@@ -179,6 +181,14 @@ public class Board {
             }
         }
 
+        copiedBoard.release();
+    }
+
+    // Returns the allowed targets of the given need, collecting them only for the first need of its kind
+    private static List<Character> getAllowedTargets(Game game, PlayerTargetNeed targetNeed,
+                                                     Map<TargetNeed, List<Character>> allowedTargets) {
+        return allowedTargets.computeIfAbsent(targetNeed.getTargetNeed(),
+            (need) -> game.getTargets(targetNeed::isAllowedTarget));
     }
 
     // Add the new Move
@@ -219,6 +229,40 @@ public class Board {
         return new Board(this);
     }
 
+    /**
+     * Applies the given function to a {@code Board} in the same state as this one, on which the function
+     * may try out moves, and returns its result. This board is left unchanged: if its game is journaled
+     * (as the boards of a search are), the function is applied to this board itself and the game is rolled
+     * back afterwards; otherwise the function is applied to a copy of this board.
+     */
+    public <R> R tryOut(Function<Board, R> trial) {
+        Game game = getGame();
+        if (!game.getJournal().isRecording()) {
+            Board copiedBoard = clone();
+            try {
+                return trial.apply(copiedBoard);
+            } finally {
+                copiedBoard.release();
+            }
+        }
+
+        int mark = game.mark();
+        try {
+            return trial.apply(this);
+        } finally {
+            game.rollbackTo(mark);
+        }
+    }
+
+    /**
+     * Returns the game of this {@code Board} to the pool of the calling thread, so that it can be reused
+     * by a later {@link #clone()} of any board. This method should be called on copies which are no longer
+     * needed; neither this {@code Board} nor its game can be used afterwards.
+     */
+    public void release() {
+        GAME_POOL.release(playAgent.getGame());
+    }
+
     /**
      * Returns if the game is over (any player is dead).
      */
@@ -312,17 +356,22 @@ public class Board {
             builder.append(minion).append("\n");
     }
 
+    /**
+     * Returns the hash code of this {@code Board}, which only depends on the properties compared by
+     * {@link #equals(Object)}. Use {@link Game#stateHash()} to identify the exact state of the game.
+     */
     @Override
     public int hashCode() {
-        return (int) getValue();
+        long hash = 17;
+        hash = 31 * hash + hashPlayer(getGame().getPlayer1());
+        hash = 31 * hash + hashPlayer(getGame().getPlayer2());
+        return (int) (hash ^ (hash >>> 32));
     }
 
     /**
      * Returns the coarse value of this current {@code Board}. More advantageous the current player is,
      * higher the value is. If two given {@code Board} {@code a} and {@code b} has {@code a.equals(b) = true},
      * {@code a.getValue() = b.getValue()}. If {@code a.getValue() != b.getValue()}, {@code a.equals(b) = false}.
-     * <p>
-     * This method is also used as the inner implementation of {@link #hashCode()}.
      */
     public double getValue() {
         double HERO_HEALTH_FACTOR = 1;
@@ -76,6 +76,44 @@ public abstract class BoardUtils {
         return true;
     }
 
+    /**
+     * Returns the hash of the given player's properties which are compared by
+     * {@link Board#equals(Object)}, so that equal boards have equal hashes.
+     */
+    public static long hashPlayer(Player player) {
+        long hash = 1;
+
+        Hero hero = player.getHero();
+        hash = 31 * hash + hero.getCurrentHp();
+        hash = 31 * hash + hero.getCurrentArmor();
+        hash = 31 * hash + hero.getMaxHp();
+
+        Weapon weapon = player.tryGetWeapon();
+        hash = 31 * hash + (weapon != null ? 1 + 31 * weapon.getAttack() + 961 * weapon.getDurability() : 0);
+
+        hash = 31 * hash + player.getDeck().getNumberOfCards();
+        hash = 31 * hash + player.getFatigueDamage();
+        hash = 31 * hash + player.getHand().getCardCount();
+        hash = 31 * hash + player.getSpellPower().getValue();
+        hash = 31 * hash + player.getSecrets().getSecrets().size();
+
+        BoardSide board = player.getBoard();
+        int totalAttack = 0, totalHealth = 0;
+        for (Minion minion : board.getAllMinions()) {
+            AttackTool attack = minion.getAttackTool();
+            totalAttack += attack.getAttack() * attack.getMaxAttackCount();
+            totalHealth += minion.getBody().getCurrentHp();
+        }
+        hash = 31 * hash + board.getMinionCount();
+        hash = 31 * hash + totalAttack;
+        hash = 31 * hash + totalHealth;
+
+        ManaResource mana = player.getManaResource();
+        hash = 31 * hash + mana.getManaCrystals();
+        hash = 31 * hash + mana.getNextTurnOverload();
+        return hash;
+    }
+
     public static boolean compareMana(ManaResource manaA, ManaResource manaB) {
         if (manaA.getManaCrystals() != manaB.getManaCrystals())
             return false;
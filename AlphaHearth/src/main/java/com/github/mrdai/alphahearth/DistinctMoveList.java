@@ -26,12 +26,14 @@ class DistinctMoveList {
         if (boardSet.contains(copiedParentBoard)) {
             LOG.debug("Not adding move \n{} as it leads to the same state as other added moves.",
                 move.toString());
+            copiedParentBoard.release();
             return;
         }
         int value = (int) copiedParentBoard.getValue();
         if (orgValue > value) {
             LOG.debug("Not adding move \n{} as it decrease the board value from {} to {}.",
                 move.toString(), orgValue, value);
+            copiedParentBoard.release();
             return;
         }
 
@@ -95,6 +97,14 @@ class DistinctMoveList {
         return size;
     }
 
+    /**
+     * Releases the boards used to detect duplicate moves. Moves cannot be added to this list afterwards.
+     */
+    public void release() {
+        boardSet.forEach(Board::release);
+        boardSet = null;
+    }
+
     private static final class Node {
         final Move move;
         final int value;
@@ -4,35 +4,86 @@ import com.github.mrdai.alphahearth.Board;
 import com.github.mrdai.alphahearth.move.Move;
 import info.hearthsim.brazier.game.PlayerId;
 
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 /**
  * Tree nodes for Monte Carlo Tree. Three of the four basic properties of a Monte Carlo Tree node
  * can be found in this class, including:
  * <ul>
  *     <li>The incoming action: {@code move} field;</li>
- *     <li>The total simulation reward: {@code reward} field;</li>
- *     <li>The visit count: {@code gameCount} field.</li>
+ *     <li>The total simulation reward: {@link #getReward()};</li>
+ *     <li>The visit count: {@link #getGameCount()}.</li>
  * </ul>
  * The associated state is not stored in this class, as storing every possible state in a Monte Carlo Tree
  * can cause huge memory overhead. Applying the associated {@code move} of the node to the current {@link Board}
  * while traversing the tree is more efficient.
  * <p>
- * This class can be used for both MCS and MCTS.
+ * This class can be used for both MCS and MCTS, and is safe to be searched by multiple threads at the same
+ * time without locking: the statistics are updated atomically, only the thread winning
+ * {@link #tryStartExpansion()} expands a node, and the children are taken for their first visit with
+ * {@link #pollUnvisitedChild()}. Threads descending the tree should {@link #addVirtualLoss() add a virtual loss}
+ * to every node of their path, which lowers the selection value of the path until its simulation is
+ * {@link #revertVirtualLoss() finished}, so that concurrent selections diverge.
+ * <p>
+ * The determinized trees of MCTS, which grow much larger than the trees of MCS, are stored in a
+ * {@link TreeStore} instead.
  */
 public class Node {
-    public Node parent;
+    /**
+     * The reward counted for each virtual loss, which is a full loss for the owner of the node.
+     */
+    public static final double VIRTUAL_LOSS_REWARD = -1;
+
+    /**
+     * The factor applied to the score each time it back propagates to the parent by default.
+     */
+    public static final double DEFAULT_PLY_PENALTY = 0.97;
+
+    private static final int UNEXPANDED = 0;
+    private static final int EXPANDING = 1;
+    private static final int EXPANDED = 2;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final AtomicLongFieldUpdater<Node> GAME_COUNT =
+        AtomicLongFieldUpdater.newUpdater(Node.class, "gameCount");
+    private static final AtomicLongFieldUpdater<Node> REWARD_BITS =
+        AtomicLongFieldUpdater.newUpdater(Node.class, "rewardBits");
+    private static final AtomicIntegerFieldUpdater<Node> VIRTUAL_LOSS =
+        AtomicIntegerFieldUpdater.newUpdater(Node.class, "virtualLoss");
+    private static final AtomicIntegerFieldUpdater<Node> EXPANSION_STATE =
+        AtomicIntegerFieldUpdater.newUpdater(Node.class, "expansionState");
+    private static final AtomicIntegerFieldUpdater<Node> NEXT_UNVISITED =
+        AtomicIntegerFieldUpdater.newUpdater(Node.class, "nextUnvisited");
+
+    public final Node parent;
     public final Move move;
+    /**
+     * The index of this {@code Node} among the children of its parent, or {@code -1} if it is not
+     * created by the {@link #expand(List, PlayerId) expansion} of its parent.
+     */
+    public final int childIndex;
 
     public final PlayerId ownerId;
 
-    public final LinkedList<Node> unvisitedChildren = new LinkedList<>();
-    public final LinkedList<Node> visitedChildren = new LinkedList<>();
-    public boolean expanded = false;
+    private volatile Node[] children = NO_CHILDREN;
+    private volatile int expansionState = UNEXPANDED;
+    private volatile int nextUnvisited = 0;
 
-    public double gameCount = 0;
-    public double reward = 0;
+    private volatile long gameCount = 0;
+    // The bits of the total reward as a double, so that it can be updated with compare-and-set
+    private volatile long rewardBits = Double.doubleToRawLongBits(0);
+    private volatile int virtualLoss = 0;
+
+    /**
+     * The statistics shared with other nodes reaching the same game state, or {@code null} if this
+     * node is not registered in a {@link TranspositionTable}.
+     */
+    public TranspositionTable.Entry transposition = null;
 
     /**
      * Creates a root {@code Node}. Used only in MCS.
@@ -53,29 +104,162 @@ public class Node {
      * and its parent {@code Node}.
      */
     public Node(Node parent, Move move, PlayerId ownerId) {
+        this(parent, move, ownerId, -1);
+    }
+
+    private Node(Node parent, Move move, PlayerId ownerId, int childIndex) {
         this.parent = parent;
         this.move = move;
         this.ownerId = ownerId;
+        this.childIndex = childIndex;
+    }
+
+    /**
+     * Tries to claim the expansion of this {@code Node}. Returns {@code true} only for the first caller,
+     * which then must {@link #expand(List, PlayerId) expand} the node; other threads reaching the node
+     * before it is expanded should treat it as a leaf.
+     */
+    public boolean tryStartExpansion() {
+        return EXPANSION_STATE.compareAndSet(this, UNEXPANDED, EXPANDING);
     }
 
     /**
      * Expands this {@code Node} with the given {@link List} of {@link Move}s.
-     * All new children will be added to {@code unvisitedChildren}.
+     * All new children will be unvisited, and can be taken with {@link #pollUnvisitedChild()}.
      *
      * @param moves the given {@code List} of {@code Move}s.
      * @param childOwner the {@code ownerId} of the children nodes.
      */
     public void expand(List<Move> moves, PlayerId childOwner) {
-        for (Move move : moves)
-            unvisitedChildren.addLast(new Node(this, move, childOwner));
-        expanded = true;
+        Node[] newChildren = new Node[moves.size()];
+        for (int i = 0; i < newChildren.length; i++)
+            newChildren[i] = new Node(this, moves.get(i), childOwner, i);
+        children = newChildren;
+        expansionState = EXPANDED;
+    }
+
+    /**
+     * Returns if this {@code Node} has been expanded.
+     */
+    public boolean isExpanded() {
+        return expansionState == EXPANDED;
+    }
+
+    /**
+     * Returns the number of children of this {@code Node}, visited or not.
+     */
+    public int getChildCount() {
+        return children.length;
+    }
+
+    /**
+     * Returns the child on the given index. The first {@link #getVisitedCount()} children are visited.
+     */
+    public Node getChild(int index) {
+        return children[index];
+    }
+
+    /**
+     * Returns the number of children which have been taken for their first visit.
+     */
+    public int getVisitedCount() {
+        return Math.min(nextUnvisited, children.length);
+    }
+
+    /**
+     * Returns the number of children which have never been taken for their first visit.
+     */
+    public int getUnvisitedCount() {
+        return children.length - getVisitedCount();
+    }
+
+    /**
+     * Returns an unmodifiable view of the visited children of this {@code Node}.
+     */
+    public List<Node> getVisitedChildren() {
+        return Collections.unmodifiableList(Arrays.asList(children).subList(0, getVisitedCount()));
+    }
+
+    /**
+     * Takes the next unvisited child of this {@code Node} and marks it as visited; returns {@code null}
+     * if every child has already been visited. Each child is returned only once, even for concurrent
+     * callers.
+     */
+    public Node pollUnvisitedChild() {
+        Node[] currentChildren = children;
+        if (nextUnvisited >= currentChildren.length)
+            return null;
+        int index = NEXT_UNVISITED.getAndIncrement(this);
+        return index < currentChildren.length ? currentChildren[index] : null;
+    }
+
+    /**
+     * Returns the number of simulations back propagated through this {@code Node}.
+     */
+    public long getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * Returns the total reward of the simulations back propagated through this {@code Node}.
+     */
+    public double getReward() {
+        return Double.longBitsToDouble(rewardBits);
+    }
+
+    /**
+     * Returns the average reward of this node. If the node is registered in a {@link TranspositionTable},
+     * the average reward of all nodes reaching the same game state is returned.
+     */
+    public double getAverageReward() {
+        if (transposition != null && transposition.getGameCount() > 0)
+            return transposition.getAverageReward();
+        return getReward() / gameCount;
+    }
+
+    /**
+     * Returns the number of visits used by tree policies, counting the virtual losses of the simulations
+     * currently passing this {@code Node}.
+     */
+    public long getSelectionGameCount() {
+        return gameCount + virtualLoss;
+    }
+
+    /**
+     * Returns the average reward used by tree policies, where each virtual loss of the simulations
+     * currently passing this {@code Node} counts as a game with {@link #VIRTUAL_LOSS_REWARD}.
+     */
+    public double getSelectionAverageReward() {
+        int currentVirtualLoss = virtualLoss;
+        if (currentVirtualLoss == 0)
+            return getAverageReward();
+
+        long currentGameCount = gameCount;
+        double totalReward = currentGameCount > 0 ? getAverageReward() * currentGameCount : 0;
+        return (totalReward + currentVirtualLoss * VIRTUAL_LOSS_REWARD) / (currentGameCount + currentVirtualLoss);
+    }
+
+    /**
+     * Adds a virtual loss to this {@code Node}, which should be reverted with {@link #revertVirtualLoss()}
+     * when the simulation passing this node is back propagated.
+     */
+    public void addVirtualLoss() {
+        VIRTUAL_LOSS.incrementAndGet(this);
+    }
+
+    /**
+     * Reverts a virtual loss from this {@code Node} and each of its ancestors.
+     */
+    public void revertVirtualLoss() {
+        for (Node node = this; node != null; node = node.parent)
+            VIRTUAL_LOSS.decrementAndGet(node);
     }
 
     /**
      * Back propagates the new score through the tree.
      */
     public void backPropagate(PlayerId winnerId, double score) {
-        backPropagate(winnerId, score, 0.97);
+        backPropagate(winnerId, score, DEFAULT_PLY_PENALTY);
     }
 
     /**
@@ -84,13 +268,31 @@ public class Node {
      * with the given ply penalty.
      */
     public void backPropagate(PlayerId winnerId, double score, double plyPenalty) {
-        gameCount++;
-        if (winnerId == ownerId)
-            reward += score;
-        else
-            reward -= score;
-
-        if (parent != null)
-            parent.backPropagate(winnerId, plyPenalty * score, plyPenalty);
+        for (Node node = this; node != null; node = node.parent) {
+            double delta = winnerId == node.ownerId ? score : -score;
+            GAME_COUNT.incrementAndGet(node);
+            node.addReward(delta);
+            if (node.transposition != null)
+                node.transposition.update(delta);
+            score *= plyPenalty;
+        }
+    }
+
+    /**
+     * Adds the given statistics of simulations run on another tree, such as a tree of the same
+     * {@code Move} in an ensemble, to this {@code Node} only; its ancestors are not updated.
+     */
+    public void addStatistics(long gameCount, double reward) {
+        GAME_COUNT.addAndGet(this, gameCount);
+        addReward(reward);
+    }
+
+    private void addReward(double delta) {
+        while (true) {
+            long prevBits = rewardBits;
+            long newBits = Double.doubleToRawLongBits(Double.longBitsToDouble(prevBits) + delta);
+            if (REWARD_BITS.compareAndSet(this, prevBits, newBits))
+                return;
+        }
     }
 }
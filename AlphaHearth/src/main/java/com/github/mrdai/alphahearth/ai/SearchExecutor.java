@@ -0,0 +1,131 @@
+package com.github.mrdai.alphahearth.ai;
+
+import org.jtrim.utils.ExceptionHelper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor running the search tasks of agents, together with the number of tasks it can run in parallel.
+ * <p>
+ * A {@code SearchExecutor} can be shared by any number of agents, so that hosting many games at the same
+ * time does not multiply the number of search threads. Agents do not shut down the executors given to
+ * them; the {@link #shared() shared} executor, used by agents by default, is never shut down, and its
+ * threads are daemon threads.
+ */
+public final class SearchExecutor {
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final boolean shared;
+
+    private SearchExecutor(ExecutorService executor, int parallelism, boolean shared) {
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.shared = shared;
+    }
+
+    /**
+     * Returns the {@code SearchExecutor} shared by the whole JVM, which runs tasks with a thread for each
+     * available processor.
+     */
+    public static SearchExecutor shared() {
+        return SharedHolder.SHARED;
+    }
+
+    /**
+     * Returns a new {@code SearchExecutor} running tasks with the given number of daemon threads.
+     */
+    public static SearchExecutor fixed(int threadNum) {
+        ExceptionHelper.checkArgumentInRange(threadNum, 1, Integer.MAX_VALUE, "threadNum");
+        return new SearchExecutor(Executors.newFixedThreadPool(threadNum, new SearchThreadFactory()),
+            threadNum, false);
+    }
+
+    /**
+     * Returns a new work-stealing {@code SearchExecutor} backed by a {@link ForkJoinPool} with the given
+     * parallelism.
+     */
+    public static SearchExecutor workStealing(int parallelism) {
+        ExceptionHelper.checkArgumentInRange(parallelism, 1, Integer.MAX_VALUE, "parallelism");
+        return new SearchExecutor(new ForkJoinPool(parallelism), parallelism, false);
+    }
+
+    /**
+     * Returns a {@code SearchExecutor} running tasks with the given {@link ExecutorService}, which is
+     * expected to run the given number of tasks in parallel.
+     */
+    public static SearchExecutor of(ExecutorService executor, int parallelism) {
+        ExceptionHelper.checkNotNullArgument(executor, "executor");
+        ExceptionHelper.checkArgumentInRange(parallelism, 1, Integer.MAX_VALUE, "parallelism");
+        return new SearchExecutor(executor, parallelism, false);
+    }
+
+    /**
+     * Returns the number of tasks this executor can run in parallel.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Submits the given task, returning the {@link Future} of its result.
+     */
+    public <V> Future<V> submit(Callable<V> task) {
+        return executor.submit(task);
+    }
+
+    /**
+     * Submits the given task, returning the {@link Future} of its completion.
+     */
+    public Future<?> submit(Runnable task) {
+        return executor.submit(task);
+    }
+
+    /**
+     * Returns a new {@link CompletionService} running the tasks submitted to it with this executor.
+     */
+    public <V> CompletionService<V> newCompletionService() {
+        return new ExecutorCompletionService<>(executor);
+    }
+
+    /**
+     * Shuts down this executor after the submitted tasks finish.
+     *
+     * @throws IllegalStateException if this is the {@link #shared() shared} executor.
+     */
+    public void shutdown() {
+        if (shared)
+            throw new IllegalStateException("The shared search executor cannot be shut down.");
+        executor.shutdown();
+    }
+
+    private static final class SharedHolder {
+        private static final SearchExecutor SHARED;
+        static {
+            int threadNum = Runtime.getRuntime().availableProcessors();
+            SHARED = new SearchExecutor(Executors.newFixedThreadPool(threadNum, new SearchThreadFactory()),
+                threadNum, true);
+        }
+    }
+
+    private static final class SearchThreadFactory implements ThreadFactory {
+        private static final AtomicInteger POOL_COUNT = new AtomicInteger(0);
+
+        private final int poolIndex = POOL_COUNT.incrementAndGet();
+        private final AtomicInteger threadCount = new AtomicInteger(0);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "search-" + poolIndex + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
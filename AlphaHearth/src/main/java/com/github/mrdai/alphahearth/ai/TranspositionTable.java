@@ -0,0 +1,174 @@
+package com.github.mrdai.alphahearth.ai;
+
+import info.hearthsim.brazier.game.Game;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded transposition table of a Monte Carlo Tree, which maps the {@link Game#stateHash() state hash}
+ * of a game to the simulation statistics of that state. {@link Node}s reaching the same state through
+ * different move orders share the same {@link Entry}, so the statistics of equivalent states are merged
+ * across paths and determinizations.
+ * <p>
+ * The table is a fixed-size array of slots indexed by the state hash. When two states are mapped to the
+ * same slot, the {@link ReplacementPolicy} decides which one is kept; {@code Node}s keep referring to their
+ * entry even after it is evicted, so eviction only stops the sharing of statistics.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class TranspositionTable {
+    /**
+     * Approximate number of bytes taken by a slot and its {@link Entry}.
+     */
+    public static final int BYTES_PER_ENTRY = 48;
+
+    /**
+     * Policy deciding if a state should replace another state in the same slot of the table.
+     */
+    public static enum ReplacementPolicy {
+        /**
+         * The new state always replaces the old one.
+         */
+        ALWAYS_REPLACE,
+        /**
+         * The new state only replaces the old one if the old one has been visited less than twice,
+         * so states with useful statistics are kept.
+         */
+        KEEP_VISITED;
+
+        boolean shouldReplace(Entry oldEntry) {
+            switch (this) {
+                case ALWAYS_REPLACE:
+                    return true;
+                case KEEP_VISITED:
+                    return oldEntry.getGameCount() < 2;
+                default:
+                    throw new AssertionError(this.name());
+            }
+        }
+    }
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+    private final ReplacementPolicy replacementPolicy;
+
+    /**
+     * Creates a {@code TranspositionTable} with at least the given number of slots (rounded up to a
+     * power of two) and the given {@link ReplacementPolicy}.
+     */
+    public TranspositionTable(int capacity, ReplacementPolicy replacementPolicy) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        if (replacementPolicy == null)
+            throw new NullPointerException("replacementPolicy");
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity)
+            size <<= 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.replacementPolicy = replacementPolicy;
+    }
+
+    /**
+     * Creates a {@code TranspositionTable} taking approximately at most the given number of bytes
+     * when full.
+     */
+    public static TranspositionTable withMemoryCap(long maxBytes, ReplacementPolicy replacementPolicy) {
+        long capacity = Math.max(1, maxBytes / BYTES_PER_ENTRY);
+        return new TranspositionTable((int) Long.highestOneBit(Math.min(capacity, 1 << 30)), replacementPolicy);
+    }
+
+    private int slotOf(long stateHash) {
+        long h = stateHash * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & mask;
+    }
+
+    /**
+     * Returns the {@link Entry} of the state with the given hash, creating it if the state is not in the
+     * table yet. If the {@link ReplacementPolicy} refuses to store a new entry, the returned entry is not
+     * shared with anyone.
+     */
+    public Entry getOrCreate(long stateHash) {
+        int slot = slotOf(stateHash);
+        Entry newEntry = null;
+        while (true) {
+            Entry entry = slots.get(slot);
+            if (entry != null && entry.stateHash == stateHash)
+                return entry;
+
+            if (newEntry == null)
+                newEntry = new Entry(stateHash);
+            if (entry != null && !replacementPolicy.shouldReplace(entry))
+                return newEntry;
+            if (slots.compareAndSet(slot, entry, newEntry))
+                return newEntry;
+        }
+    }
+
+    /**
+     * Returns the {@link Entry} of the state with the given hash, or {@code null} if the state is not in
+     * the table.
+     */
+    public Entry tryGet(long stateHash) {
+        Entry entry = slots.get(slotOf(stateHash));
+        return entry != null && entry.stateHash == stateHash ? entry : null;
+    }
+
+    /**
+     * Returns the number of slots of this table.
+     */
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Removes all entries from the table.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++)
+            slots.set(i, null);
+    }
+
+    /**
+     * Simulation statistics of a game state, shared by all {@link Node}s reaching that state.
+     */
+    public static final class Entry {
+        private final long stateHash;
+        private double gameCount;
+        private double reward;
+
+        private Entry(long stateHash) {
+            this.stateHash = stateHash;
+            this.gameCount = 0;
+            this.reward = 0;
+        }
+
+        public long getStateHash() {
+            return stateHash;
+        }
+
+        /**
+         * Adds the result of a new simulation to the statistics.
+         */
+        public synchronized void update(double reward) {
+            this.gameCount++;
+            this.reward += reward;
+        }
+
+        public synchronized double getGameCount() {
+            return gameCount;
+        }
+
+        public synchronized double getReward() {
+            return reward;
+        }
+
+        /**
+         * Returns the average reward of the state, or {@code 0} if it has never been visited.
+         */
+        public synchronized double getAverageReward() {
+            return gameCount > 0 ? reward / gameCount : 0;
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.github.mrdai.alphahearth.ai;
+
+import com.github.mrdai.alphahearth.move.Move;
+import info.hearthsim.brazier.game.PlayerId;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compact storage of Monte Carlo Trees, where a node is an {@code int} index into arrays holding one of its
+ * properties each, instead of an object like {@link Node}. The children of a node are stored next to each
+ * other, so tree policies selecting among them read contiguous statistics.
+ * <p>
+ * A node does not refer to the {@link Move} resulting to it: an expanded node keeps the {@code List} of
+ * {@code Move}s it was expanded with, and the move of a child is found by its position among its siblings.
+ * <p>
+ * The arrays are allocated in pages which are kept by {@link #clear()}, so the nodes of a search are recycled
+ * by the next search instead of being allocated again. A store may hold any number of trees, created with
+ * {@link #newRoots(int, PlayerId)}.
+ * <p>
+ * Like {@code Node}, the trees can be searched by multiple threads at the same time without locking: only
+ * the thread winning {@link #tryStartExpansion(int)} expands a node, the children are taken for their first
+ * visit with {@link #pollUnvisitedChild(int)}, and statistics are updated atomically. {@code clear()} must
+ * not be called while the trees are being searched.
+ */
+public final class TreeStore {
+    /**
+     * The index standing for no node, such as the parent of a root.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * Approximate number of bytes taken by a node.
+     */
+    public static final int BYTES_PER_NODE = 41;
+
+    private static final int PAGE_SHIFT = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    // Values of `childCounts` for nodes which are not expanded yet
+    private static final int UNEXPANDED = -1;
+    private static final int EXPANDING = -2;
+
+    private final AtomicInteger size = new AtomicInteger(0);
+    private volatile Page[] pages = new Page[0];
+    private volatile PlayerId[] ownerIds = new PlayerId[0];
+
+    /**
+     * Discards all the trees of this store. Their nodes are reused by the trees created afterwards.
+     */
+    public void clear() {
+        int prevSize = size.getAndSet(0);
+        // Drops the references of the discarded nodes, so that they do not outlive the search
+        Page[] currentPages = pages;
+        for (int i = 0; i < currentPages.length && (i << PAGE_SHIFT) < prevSize; i++) {
+            int end = Math.min(PAGE_SIZE, prevSize - (i << PAGE_SHIFT));
+            Arrays.fill(currentPages[i].childMoves, 0, end, null);
+            Arrays.fill(currentPages[i].transpositions, 0, end, null);
+        }
+    }
+
+    /**
+     * Returns the number of nodes in this store.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Creates the given number of new roots with the given owner, and returns the index of the first of
+     * them; the others follow it.
+     */
+    public int newRoots(int count, PlayerId ownerId) {
+        int first = allocate(count);
+        byte owner = ownerIndex(ownerId);
+        for (int i = 0; i < count; i++)
+            init(first + i, NONE, owner);
+        return first;
+    }
+
+    /**
+     * Tries to claim the expansion of the given node. Returns {@code true} only for the first caller,
+     * which then must {@link #expand(int, List, PlayerId) expand} the node; other threads reaching the
+     * node before it is expanded should treat it as a leaf.
+     */
+    public boolean tryStartExpansion(int node) {
+        Page page = page(node);
+        return page.childCounts.compareAndSet(node & PAGE_MASK, UNEXPANDED, EXPANDING);
+    }
+
+    /**
+     * Expands the given node with the given {@link List} of {@link Move}s. All new children will be
+     * unvisited, and can be taken with {@link #pollUnvisitedChild(int)}.
+     *
+     * @param childOwner the owner of the children.
+     */
+    public void expand(int node, List<Move> moves, PlayerId childOwner) {
+        int count = moves.size();
+        int firstChild = allocate(count);
+        byte owner = ownerIndex(childOwner);
+        for (int i = 0; i < count; i++)
+            init(firstChild + i, node, owner);
+
+        Page page = page(node);
+        page.childMoves[node & PAGE_MASK] = moves;
+        page.firstChildren[node & PAGE_MASK] = firstChild;
+        // Publishes the children to the threads reading the child count
+        page.childCounts.set(node & PAGE_MASK, count);
+    }
+
+    /**
+     * Returns if the given node has been expanded.
+     */
+    public boolean isExpanded(int node) {
+        return page(node).childCounts.get(node & PAGE_MASK) >= 0;
+    }
+
+    /**
+     * Returns the number of children of the given node, visited or not.
+     */
+    public int getChildCount(int node) {
+        return Math.max(0, page(node).childCounts.get(node & PAGE_MASK));
+    }
+
+    /**
+     * Returns the first child of the given node; the other children follow it. The first
+     * {@link #getVisitedCount(int)} children are visited.
+     */
+    public int getFirstChild(int node) {
+        Page page = page(node);
+        return page.childCounts.get(node & PAGE_MASK) > 0 ? page.firstChildren[node & PAGE_MASK] : NONE;
+    }
+
+    /**
+     * Returns the number of children of the given node which have been taken for their first visit.
+     */
+    public int getVisitedCount(int node) {
+        Page page = page(node);
+        return Math.min(page.nextUnvisited.get(node & PAGE_MASK), Math.max(0, page.childCounts.get(node & PAGE_MASK)));
+    }
+
+    /**
+     * Takes the next unvisited child of the given node and marks it as visited; returns {@link #NONE} if
+     * every child has already been visited. Each child is returned only once, even for concurrent callers.
+     */
+    public int pollUnvisitedChild(int node) {
+        Page page = page(node);
+        int offset = node & PAGE_MASK;
+        int count = page.childCounts.get(offset);
+        if (count <= 0 || page.nextUnvisited.get(offset) >= count)
+            return NONE;
+        int index = page.nextUnvisited.getAndIncrement(offset);
+        return index < count ? page.firstChildren[offset] + index : NONE;
+    }
+
+    /**
+     * Returns the parent of the given node, or {@link #NONE} if it is a root.
+     */
+    public int getParent(int node) {
+        return page(node).parents[node & PAGE_MASK];
+    }
+
+    /**
+     * Returns the {@link Move} resulting to the given node, or {@code null} if it is a root.
+     */
+    public Move getMove(int node) {
+        int parent = getParent(node);
+        if (parent == NONE)
+            return null;
+        Page parentPage = page(parent);
+        int parentOffset = parent & PAGE_MASK;
+        return parentPage.childMoves[parentOffset].get(node - parentPage.firstChildren[parentOffset]);
+    }
+
+    /**
+     * Returns the owner of the given node.
+     */
+    public PlayerId getOwnerId(int node) {
+        return ownerIds[page(node).owners[node & PAGE_MASK]];
+    }
+
+    /**
+     * Returns the number of simulations back propagated through the given node.
+     */
+    public int getGameCount(int node) {
+        return page(node).gameCounts.get(node & PAGE_MASK);
+    }
+
+    /**
+     * Returns the total reward of the simulations back propagated through the given node.
+     */
+    public double getReward(int node) {
+        return Double.longBitsToDouble(page(node).rewardBits.get(node & PAGE_MASK));
+    }
+
+    /**
+     * Returns the average reward of the given node. If the node is registered in a
+     * {@link TranspositionTable}, the average reward of all nodes reaching the same game state is returned.
+     */
+    public double getAverageReward(int node) {
+        Page page = page(node);
+        int offset = node & PAGE_MASK;
+        TranspositionTable.Entry transposition = page.transpositions[offset];
+        if (transposition != null && transposition.getGameCount() > 0)
+            return transposition.getAverageReward();
+        return Double.longBitsToDouble(page.rewardBits.get(offset)) / page.gameCounts.get(offset);
+    }
+
+    /**
+     * Returns the number of visits of the given node used by tree policies, counting the virtual losses of
+     * the simulations currently passing the node.
+     */
+    public int getSelectionGameCount(int node) {
+        Page page = page(node);
+        return page.gameCounts.get(node & PAGE_MASK) + page.virtualLosses.get(node & PAGE_MASK);
+    }
+
+    /**
+     * Returns the average reward of the given node used by tree policies, where each virtual loss of the
+     * simulations currently passing the node counts as a game with {@link Node#VIRTUAL_LOSS_REWARD}.
+     */
+    public double getSelectionAverageReward(int node) {
+        int virtualLoss = page(node).virtualLosses.get(node & PAGE_MASK);
+        if (virtualLoss == 0)
+            return getAverageReward(node);
+
+        int gameCount = getGameCount(node);
+        double totalReward = gameCount > 0 ? getAverageReward(node) * gameCount : 0;
+        return (totalReward + virtualLoss * Node.VIRTUAL_LOSS_REWARD) / (gameCount + virtualLoss);
+    }
+
+    /**
+     * Returns the statistics shared with other nodes reaching the same game state as the given node, or
+     * {@code null} if the node is not registered in a {@link TranspositionTable}.
+     */
+    public TranspositionTable.Entry getTransposition(int node) {
+        return page(node).transpositions[node & PAGE_MASK];
+    }
+
+    /**
+     * Sets the statistics shared with other nodes reaching the same game state as the given node.
+     */
+    public void setTransposition(int node, TranspositionTable.Entry transposition) {
+        page(node).transpositions[node & PAGE_MASK] = transposition;
+    }
+
+    /**
+     * Adds a virtual loss to the given node, which should be reverted with {@link #revertVirtualLoss(int)}
+     * when the simulation passing the node is back propagated.
+     */
+    public void addVirtualLoss(int node) {
+        page(node).virtualLosses.incrementAndGet(node & PAGE_MASK);
+    }
+
+    /**
+     * Reverts a virtual loss from the given node and each of its ancestors in this store.
+     */
+    public void revertVirtualLoss(int node) {
+        for (; node != NONE; node = getParent(node))
+            page(node).virtualLosses.decrementAndGet(node & PAGE_MASK);
+    }
+
+    /**
+     * Back propagates the new score from the given node to the root of its tree, where the score is
+     * timed with the given ply penalty each time it back propagates to the parent.
+     *
+     * @return the score to be back propagated to the parent of the root, which may be a {@link Node}.
+     */
+    public double backPropagate(int node, PlayerId winnerId, double score, double plyPenalty) {
+        for (; node != NONE; node = getParent(node)) {
+            Page page = page(node);
+            int offset = node & PAGE_MASK;
+            double delta = winnerId == ownerIds[page.owners[offset]] ? score : -score;
+            page.gameCounts.incrementAndGet(offset);
+            addReward(page.rewardBits, offset, delta);
+            TranspositionTable.Entry transposition = page.transpositions[offset];
+            if (transposition != null)
+                transposition.update(delta);
+            score *= plyPenalty;
+        }
+        return score;
+    }
+
+    private static void addReward(AtomicLongArray rewardBits, int offset, double delta) {
+        while (true) {
+            long prevBits = rewardBits.get(offset);
+            long newBits = Double.doubleToRawLongBits(Double.longBitsToDouble(prevBits) + delta);
+            if (rewardBits.compareAndSet(offset, prevBits, newBits))
+                return;
+        }
+    }
+
+    private Page page(int node) {
+        return pages[node >>> PAGE_SHIFT];
+    }
+
+    private void init(int node, int parent, byte owner) {
+        Page page = page(node);
+        int offset = node & PAGE_MASK;
+        page.parents[offset] = parent;
+        page.firstChildren[offset] = NONE;
+        page.childMoves[offset] = null;
+        page.owners[offset] = owner;
+        page.transpositions[offset] = null;
+        page.gameCounts.set(offset, 0);
+        page.rewardBits.set(offset, Double.doubleToRawLongBits(0));
+        page.virtualLosses.set(offset, 0);
+        page.nextUnvisited.set(offset, 0);
+        page.childCounts.set(offset, UNEXPANDED);
+    }
+
+    /**
+     * Reserves the given number of consecutive nodes, and returns the index of the first of them.
+     */
+    private int allocate(int count) {
+        int first = size.getAndAdd(count);
+        int end = first + count;
+        if (end < first)
+            throw new IllegalStateException("Too many nodes in the store.");
+        if (end > pages.length << PAGE_SHIFT)
+            grow(end);
+        return first;
+    }
+
+    private synchronized void grow(int minSize) {
+        Page[] currentPages = pages;
+        int pageCount = (minSize + PAGE_MASK) >>> PAGE_SHIFT;
+        if (pageCount <= currentPages.length)
+            return;
+        Page[] newPages = Arrays.copyOf(currentPages, Math.max(pageCount, currentPages.length * 2));
+        for (int i = currentPages.length; i < newPages.length; i++)
+            newPages[i] = new Page();
+        pages = newPages;
+    }
+
+    private byte ownerIndex(PlayerId ownerId) {
+        PlayerId[] currentOwnerIds = ownerIds;
+        for (int i = 0; i < currentOwnerIds.length; i++) {
+            if (currentOwnerIds[i] == ownerId)
+                return (byte) i;
+        }
+        return addOwner(ownerId);
+    }
+
+    private synchronized byte addOwner(PlayerId ownerId) {
+        PlayerId[] currentOwnerIds = ownerIds;
+        for (int i = 0; i < currentOwnerIds.length; i++) {
+            if (currentOwnerIds[i] == ownerId)
+                return (byte) i;
+        }
+        if (currentOwnerIds.length > Byte.MAX_VALUE)
+            throw new IllegalStateException("Too many owners in the store.");
+        PlayerId[] newOwnerIds = Arrays.copyOf(currentOwnerIds, currentOwnerIds.length + 1);
+        newOwnerIds[currentOwnerIds.length] = ownerId;
+        ownerIds = newOwnerIds;
+        return (byte) currentOwnerIds.length;
+    }
+
+    private static final class Page {
+        private final int[] parents = new int[PAGE_SIZE];
+        private final int[] firstChildren = new int[PAGE_SIZE];
+        // The moves the expanded nodes were expanded with, in the order of their children
+        @SuppressWarnings("unchecked")
+        private final List<Move>[] childMoves = (List<Move>[]) new List<?>[PAGE_SIZE];
+        private final byte[] owners = new byte[PAGE_SIZE];
+        private final TranspositionTable.Entry[] transpositions = new TranspositionTable.Entry[PAGE_SIZE];
+        // The number of children of expanded nodes, or one of `UNEXPANDED` and `EXPANDING`
+        private final AtomicIntegerArray childCounts = new AtomicIntegerArray(PAGE_SIZE);
+        private final AtomicIntegerArray nextUnvisited = new AtomicIntegerArray(PAGE_SIZE);
+        private final AtomicIntegerArray gameCounts = new AtomicIntegerArray(PAGE_SIZE);
+        // The bits of the total rewards as doubles, so that they can be updated with compare-and-set
+        private final AtomicLongArray rewardBits = new AtomicLongArray(PAGE_SIZE);
+        private final AtomicIntegerArray virtualLosses = new AtomicIntegerArray(PAGE_SIZE);
+    }
+}
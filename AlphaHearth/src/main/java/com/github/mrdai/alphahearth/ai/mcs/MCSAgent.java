@@ -2,8 +2,8 @@ package com.github.mrdai.alphahearth.ai.mcs;
 
 import com.github.mrdai.alphahearth.Agent;
 import com.github.mrdai.alphahearth.Board;
-import com.github.mrdai.alphahearth.ai.MultipleExecutor;
 import com.github.mrdai.alphahearth.ai.Node;
+import com.github.mrdai.alphahearth.ai.SearchExecutor;
 import com.github.mrdai.alphahearth.ai.budget.Budget;
 import com.github.mrdai.alphahearth.ai.budget.IterCountBudget;
 import com.github.mrdai.alphahearth.ai.policy.DefaultPolicy;
@@ -14,18 +14,21 @@ import com.github.mrdai.alphahearth.move.Move;
 import com.github.mrdai.alphahearth.move.SingleMove;
 import info.hearthsim.brazier.game.Player;
 import info.hearthsim.brazier.game.PlayerId;
+import org.jtrim.utils.ExceptionHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class MCSAgent implements Agent {
     private static final Logger LOG = LoggerFactory.getLogger(MCSAgent.class);
 
-    private final MultipleExecutor executor = new MultipleExecutor(6);
+    private final SearchExecutor executor;
 
     private final PlayerId aiPlayerId;
     private final Budget budget;
@@ -41,6 +44,18 @@ public class MCSAgent implements Agent {
     }
 
     public MCSAgent(PlayerId aiPlayerId, TreePolicy treePolicy, DefaultPolicy defaultPolicy, Budget budget) {
+        this(aiPlayerId, treePolicy, defaultPolicy, budget, SearchExecutor.shared());
+    }
+
+    /**
+     * Creates a {@code MCSAgent} which simulates with a task for each parallel thread of the given
+     * {@link SearchExecutor}. The executor is not shut down when the agent is {@link #close() closed}.
+     */
+    public MCSAgent(PlayerId aiPlayerId, TreePolicy treePolicy, DefaultPolicy defaultPolicy, Budget budget,
+                    SearchExecutor executor) {
+        ExceptionHelper.checkNotNullArgument(executor, "executor");
+
+        this.executor = executor;
         this.aiPlayerId = aiPlayerId;
         this.budget = budget;
         this.treePolicy = treePolicy;
@@ -61,38 +76,34 @@ public class MCSAgent implements Agent {
         LOG.debug("Expanding...");
         expand(rootBoard, rootNode);
 
-        if (rootNode.unvisitedChildren.size() == 1) {
+        if (rootNode.getChildCount() == 1) {
             LOG.info("Found only one child. Return it directly.");
-            return rootNode.unvisitedChildren.get(0).move;
+            return rootNode.getChild(0).move;
         }
 
         final AtomicReference<Move> lethalRef = new AtomicReference<>();
         LOG.debug("Submitting first traversing task...");
-        executor.execute(() -> {
-            while (!Thread.interrupted()) {
-                Node child;
-                synchronized (rootNode) {
-                    child = rootNode.unvisitedChildren.pollFirst();
-                    if (child == null)
-                        break;
-                    rootNode.visitedChildren.add(child);
-                }
+        runOnAllThreads(() -> {
+            while (lethalRef.get() == null) {
+                Node child = rootNode.pollUnvisitedChild();
+                if (child == null)
+                    break;
                 Board currentBoard = rootBoard.clone();
                 currentBoard.applyMoves(child.move);
 
                 // Found lethal
                 if (currentBoard.isGameOver() && !currentBoard.getGame().getPlayer(aiPlayerId).getHero().isDead()) {
-                    LOG.debug("Found lethal. Interrupting worker threads...");
+                    LOG.debug("Found lethal. Stopping other tasks...");
                     lethalRef.set(child.move);
-                    executor.interrupt();
+                    currentBoard.release();
                     return;
                 }
 
                 simulate(currentBoard);
                 child.backPropagate(aiPlayerId, currentBoard.getScore(aiPlayerId));
+                currentBoard.release();
             }
         });
-        executor.waitToFinish();
 
         Move lethalMove = lethalRef.get();
         if (lethalMove != null) {
@@ -101,7 +112,7 @@ public class MCSAgent implements Agent {
         }
 
         LOG.debug("Submitting simulation task...");
-        executor.execute(() -> {
+        runOnAllThreads(() -> {
             while (!budget.hasReached()) {
                 LOG.debug("Start iteration #" + iterNum.get());
                 budget.newIteration();
@@ -114,20 +125,22 @@ public class MCSAgent implements Agent {
                 simulate(currentBoard);
 
                 LOG.debug("Back propagating...");
+                selectedLeaf.revertVirtualLoss();
                 selectedLeaf.backPropagate(aiPlayerId, currentBoard.getScore(aiPlayerId));
+                currentBoard.release();
 
                 iterNum.getAndIncrement();
             }
         });
-        executor.waitToFinish();
 
         long finishTime = System.currentTimeMillis();
         LOG.info("Search finished in " + (finishTime - startTime) + "ms with " + iterNum + " iterations.");
-        Comparator<Node> CMP = (o1, o2) -> -1 * Double.compare(o1.reward / o1.gameCount, o2.reward / o2.gameCount);
-        rootNode.visitedChildren.sort(CMP);
+        Comparator<Node> CMP = (o1, o2) -> -1 * Double.compare(o1.getAverageReward(), o2.getAverageReward());
+        List<Node> visitedChildren = new ArrayList<>(rootNode.getVisitedChildren());
+        visitedChildren.sort(CMP);
         if (LOG.isInfoEnabled()) {
             StringBuilder builder = new StringBuilder("Visited direct children include: \n");
-            for (Node node : rootNode.visitedChildren) {
+            for (Node node : visitedChildren) {
                 Board board = rootBoard.clone();
                 if (node.move.getActualMoves().isEmpty())
                     builder.append("AiPlayer does nothing\n");
@@ -135,34 +148,56 @@ public class MCSAgent implements Agent {
                     builder.append(move.toString(board)).append("\n");
                     move.applyTo(board);
                 }
-                builder.append("Game count: " + node.gameCount + ", Average Reward: " + node.reward / node.gameCount + "\n");
+                builder.append("Game count: " + node.getGameCount() + ", Average Reward: " + node.getAverageReward() + "\n");
                 builder.append("----------\n");
+                board.release();
             }
             builder.append("=====================");
             LOG.info(builder.toString());
         }
 
-        return rootNode.visitedChildren.peekFirst().move;
+        return visitedChildren.get(0).move;
+    }
+
+    /**
+     * Runs the given task with as many parallel tasks as the {@link SearchExecutor} can run, and waits
+     * for all of them to finish.
+     */
+    private void runOnAllThreads(Runnable task) {
+        int parallelism = executor.getParallelism();
+        List<Future<?>> futures = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++)
+            futures.add(executor.submit(task));
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (Exception e) {
+                LOG.error("Something bad happened on a simulation task", e);
+            }
+        }
     }
 
     /**
      * Selects the best child from all the direct children of the given root node.
      * The {@link Move} associated to the selected child will be applied to the
-     * given {@link Board} before the method returns.
+     * given {@link Board} before the method returns, and a virtual loss is added to
+     * both nodes until the simulation ends.
      *
      * @param copiedBoard the copied {@code Board} used for applying the best move.
      * @param rootNode    the given root node.
      * @return the best child of the given root node.
      */
     private Node select(Board copiedBoard, Node rootNode) {
-        rootNode = bestChild(rootNode);
-        copiedBoard.applyMoves(rootNode.move);
+        rootNode.addVirtualLoss();
+        Node child = bestChild(rootNode);
+        child.addVirtualLoss();
+        copiedBoard.applyMoves(child.move);
 
-        return rootNode;
+        return child;
     }
 
     private void expand(Board board, Node rootNode) {
-        if (!rootNode.expanded) {
+        if (!rootNode.isExpanded()) {
             List<Move> moves = board.getAvailableMoves();
             // Prune moves that looks plain stupid
             for (int i = moves.size() - 1; i >= 0; i--) {
@@ -175,6 +210,7 @@ public class MCSAgent implements Agent {
                 if (copiedBoard.isGameOver()) {
                     if (!copiedBoard.hasWon(aiPlayerId))
                         moves.remove(i);
+                    copiedBoard.release();
                     continue;
                 }
 
@@ -187,6 +223,7 @@ public class MCSAgent implements Agent {
                     moves.remove(i);
                 else if (!aiPlayer.getHand().getCards((c) -> c.isMinionCard() && c.getActiveManaCost() < aiPlayer.getMana()).isEmpty())
                     moves.remove(i);
+                copiedBoard.release();
             }
             LOG.info("Added " + moves.size() + " moves.");
             rootNode.expand(moves, aiPlayerId);
@@ -0,0 +1,249 @@
+package com.github.mrdai.alphahearth.ai.mcts;
+
+import com.github.mrdai.alphahearth.Agent;
+import com.github.mrdai.alphahearth.Board;
+import com.github.mrdai.alphahearth.ai.Node;
+import com.github.mrdai.alphahearth.ai.SearchExecutor;
+import com.github.mrdai.alphahearth.ai.TranspositionTable;
+import com.github.mrdai.alphahearth.ai.budget.Budget;
+import com.github.mrdai.alphahearth.ai.budget.IterCountBudget;
+import com.github.mrdai.alphahearth.ai.policy.DefaultPolicy;
+import com.github.mrdai.alphahearth.ai.policy.RandomPolicy;
+import com.github.mrdai.alphahearth.ai.policy.TreePolicy;
+import com.github.mrdai.alphahearth.ai.policy.UCBPolicy;
+import com.github.mrdai.alphahearth.move.Move;
+import info.hearthsim.brazier.game.PlayerId;
+import org.jtrim.utils.ExceptionHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Root-parallel alternative of {@link MCTSAgent}, which searches a number of fully independent trees on
+ * separate threads and merges the statistics of their direct children at the end.
+ * <p>
+ * Each tree has its own determinized {@link Board}, its own policies and its own
+ * {@link TranspositionTable}, all created from the given suppliers, so the threads share no mutable
+ * state while searching; the policies should therefore not be shared by the suppliers. The {@code Move}
+ * whose direct children have the best average reward over all the trees is selected.
+ */
+public class EnsembleMCTSAgent implements Agent {
+    private static final Logger LOG = LoggerFactory.getLogger(EnsembleMCTSAgent.class);
+
+    private final SearchExecutor executor;
+
+    private final PlayerId aiPlayerId;
+    private final Supplier<Budget> budgetSupplier;
+    private final TreeSearch[] treeSearches;
+
+    /**
+     * Creates an {@code EnsembleMCTSAgent} with the given number of trees, searching them on the
+     * {@link SearchExecutor#shared() shared} {@code SearchExecutor}.
+     */
+    public EnsembleMCTSAgent(PlayerId aiPlayerId, int treeNum) {
+        this(aiPlayerId, UCBPolicy::new, RandomPolicy::new, () -> new IterCountBudget(500), treeNum);
+    }
+
+    /**
+     * Creates an {@code EnsembleMCTSAgent} with the given number of trees, searching them on the
+     * {@link SearchExecutor#shared() shared} {@code SearchExecutor}. The transposition tables of the
+     * trees share the memory which {@link MCTSAgent} uses for its single table by default.
+     */
+    public EnsembleMCTSAgent(PlayerId aiPlayerId, Supplier<? extends TreePolicy> treePolicySupplier,
+                             Supplier<? extends DefaultPolicy> defaultPolicySupplier,
+                             Supplier<Budget> budgetSupplier, int treeNum) {
+        this(aiPlayerId, treePolicySupplier, defaultPolicySupplier, budgetSupplier, treeNum,
+            () -> TranspositionTable.withMemoryCap(MCTSAgent.DEFAULT_TRANSPOSITION_TABLE_BYTES / treeNum,
+                TranspositionTable.ReplacementPolicy.KEEP_VISITED),
+            SearchExecutor.shared());
+    }
+
+    /**
+     * Creates an {@code EnsembleMCTSAgent} searching the given number of trees on the given
+     * {@link SearchExecutor}, which is not shut down when the agent is {@link #close() closed}.
+     * Each of the suppliers is invoked once for each tree, except for {@code budgetSupplier}, which is
+     * invoked for each tree in every search. Transpositions are not detected if
+     * {@code transpositionTableSupplier} is {@code null}.
+     *
+     * @param treeNum the number of independent trees, each searched by a single thread.
+     * @param executor the executor running the search.
+     */
+    public EnsembleMCTSAgent(PlayerId aiPlayerId, Supplier<? extends TreePolicy> treePolicySupplier,
+                             Supplier<? extends DefaultPolicy> defaultPolicySupplier,
+                             Supplier<Budget> budgetSupplier, int treeNum,
+                             Supplier<TranspositionTable> transpositionTableSupplier,
+                             SearchExecutor executor) {
+        ExceptionHelper.checkNotNullArgument(aiPlayerId, "aiPlayerId");
+        ExceptionHelper.checkNotNullArgument(treePolicySupplier, "treePolicySupplier");
+        ExceptionHelper.checkNotNullArgument(defaultPolicySupplier, "defaultPolicySupplier");
+        ExceptionHelper.checkNotNullArgument(budgetSupplier, "budgetSupplier");
+        ExceptionHelper.checkArgumentInRange(treeNum, 1, Integer.MAX_VALUE, "treeNum");
+        ExceptionHelper.checkNotNullArgument(executor, "executor");
+
+        this.executor = executor;
+        this.aiPlayerId = aiPlayerId;
+        this.budgetSupplier = budgetSupplier;
+        this.treeSearches = new TreeSearch[treeNum];
+        for (int i = 0; i < treeNum; i++) {
+            TranspositionTable transpositionTable = transpositionTableSupplier != null
+                ? transpositionTableSupplier.get()
+                : null;
+            treeSearches[i] = new TreeSearch(aiPlayerId, treePolicySupplier.get(), defaultPolicySupplier.get(),
+                transpositionTable);
+        }
+    }
+
+    /**
+     * Searches the independent trees with the given {@link Board} as their root, and returns the
+     * {@link Move} with the best average reward over all the trees.
+     */
+    public Move search(Board rootBoard) {
+        List<Move> directMoves = treeSearches[0].getAvailableMoves(rootBoard);
+        if (directMoves.size() == 1) {
+            LOG.info("Found only one move. Return it directly.");
+            return directMoves.get(0);
+        }
+        Move lethalMove = treeSearches[0].findLethalMove(rootBoard, directMoves);
+        if (lethalMove != null) {
+            LOG.info("Found lethal. Return it directly.");
+            return lethalMove;
+        }
+
+        // Every tree starts from its own copy, so the trees share no board; each copy is handed over to
+        // the thread searching its tree
+        long startTime = System.currentTimeMillis();
+        List<Future<TreeResult>> futures = new ArrayList<>(treeSearches.length);
+        for (int i = 0; i < treeSearches.length; i++) {
+            final TreeSearch treeSearch = treeSearches[i];
+            final Board treeBoard = rootBoard.clone();
+            final Budget budget = budgetSupplier.get();
+            final int tree = i + 1;
+            futures.add(executor.submit(() -> {
+                try {
+                    treeBoard.getGame().claimOwnership();
+                    return searchTree(treeSearch, treeBoard, directMoves, budget, tree);
+                } finally {
+                    treeBoard.release();
+                }
+            }));
+        }
+
+        // Merge the statistics of the direct children of all the trees
+        Node mergedRootNode = new Node();
+        mergedRootNode.expand(directMoves, aiPlayerId);
+        List<Node> mergedChildren = new ArrayList<>(directMoves.size());
+        Node mergedChild;
+        while ((mergedChild = mergedRootNode.pollUnvisitedChild()) != null)
+            mergedChildren.add(mergedChild);
+
+        int mergedTreeCount = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            TreeResult result;
+            try {
+                result = futures.get(i).get();
+            } catch (Exception e) {
+                LOG.error("Something bad happened on tree " + (i + 1), e);
+                continue;
+            }
+            if (result.lethalMove != null) {
+                // Only possible if a direct move has random effects
+                LOG.info("Tree {} found lethal. Return it after the other trees finish.", i + 1);
+                lethalMove = result.lethalMove;
+                continue;
+            }
+
+            Node bestChild = null;
+            for (int j = 0; j < result.directChildren.size(); j++) {
+                Node child = result.directChildren.get(j);
+                if (child.getGameCount() == 0)
+                    continue;
+                mergedChildren.get(j).addStatistics(child.getGameCount(),
+                    child.getAverageReward() * child.getGameCount());
+                if (bestChild == null || child.getAverageReward() > bestChild.getAverageReward())
+                    bestChild = child;
+            }
+            mergedTreeCount++;
+            if (LOG.isInfoEnabled() && bestChild != null) {
+                LOG.info("Tree {} finished {} iterations in {}ms; its best move has {} games with average reward {}.",
+                    i + 1, result.iterNum, result.time, bestChild.getGameCount(), bestChild.getAverageReward());
+            }
+        }
+        LOG.info("Merged {} of {} trees in {}ms.",
+            mergedTreeCount, treeSearches.length, System.currentTimeMillis() - startTime);
+        if (lethalMove != null)
+            return lethalMove;
+
+        Comparator<Node> CMP = (o1, o2) -> -1 * Double.compare(o1.getAverageReward(), o2.getAverageReward());
+        mergedChildren.removeIf((node) -> node.getGameCount() == 0);
+        if (mergedChildren.isEmpty()) {
+            LOG.error("No tree finished its search. Returning the first move.");
+            return directMoves.get(0);
+        }
+        mergedChildren.sort(CMP);
+        TreeSearch.logDirectChildren(LOG, rootBoard, mergedChildren);
+
+        return mergedChildren.get(0).move;
+    }
+
+    /**
+     * Searches a single tree of the ensemble on the calling thread.
+     */
+    private TreeResult searchTree(TreeSearch treeSearch, Board treeBoard, List<Move> directMoves,
+                                  Budget budget, int tree) {
+        long startTime = System.currentTimeMillis();
+        treeSearch.startSearch();
+
+        Node dummyRootNode = new Node();
+        dummyRootNode.expand(directMoves, aiPlayerId);
+        Move lethalMove = treeSearch.simulateDirectChildren(treeBoard, dummyRootNode);
+        if (lethalMove != null)
+            return new TreeResult(lethalMove, null, 0, System.currentTimeMillis() - startTime);
+
+        List<Node> directChildren = dummyRootNode.getVisitedChildren();
+        int determinizedRoot = treeSearch.newDeterminizedTrees(directChildren.size());
+        Board determinizedBoard = treeSearch.determinize(treeBoard);
+        try {
+            budget.startSearch();
+            int iterNum = treeSearch.searchDeterminization(determinizedBoard, budget, dummyRootNode,
+                determinizedRoot, tree);
+            return new TreeResult(null, directChildren, iterNum, System.currentTimeMillis() - startTime);
+        } finally {
+            determinizedBoard.release();
+        }
+    }
+
+    @Override
+    public Move produceMode(Board board) {
+        return search(board);
+    }
+
+    public void close() {}
+
+    /**
+     * The outcome of the search of a single tree.
+     */
+    private static final class TreeResult {
+        /**
+         * The direct move winning the game, or {@code null} if no direct move wins it.
+         */
+        private final Move lethalMove;
+        /**
+         * The direct children in the order of the direct moves, or {@code null} if lethal was found.
+         */
+        private final List<Node> directChildren;
+        private final int iterNum;
+        private final long time;
+
+        private TreeResult(Move lethalMove, List<Node> directChildren, int iterNum, long time) {
+            this.lethalMove = lethalMove;
+            this.directChildren = directChildren;
+            this.iterNum = iterNum;
+            this.time = time;
+        }
+    }
+}
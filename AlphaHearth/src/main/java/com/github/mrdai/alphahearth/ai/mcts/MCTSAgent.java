@@ -3,6 +3,8 @@ package com.github.mrdai.alphahearth.ai.mcts;
 import com.github.mrdai.alphahearth.Agent;
 import com.github.mrdai.alphahearth.Board;
 import com.github.mrdai.alphahearth.ai.Node;
+import com.github.mrdai.alphahearth.ai.SearchExecutor;
+import com.github.mrdai.alphahearth.ai.TranspositionTable;
 import com.github.mrdai.alphahearth.ai.budget.Budget;
 import com.github.mrdai.alphahearth.ai.budget.IterCountBudget;
 import com.github.mrdai.alphahearth.ai.policy.DefaultPolicy;
@@ -10,31 +12,31 @@ import com.github.mrdai.alphahearth.ai.policy.RandomPolicy;
 import com.github.mrdai.alphahearth.ai.policy.TreePolicy;
 import com.github.mrdai.alphahearth.ai.policy.UCBPolicy;
 import com.github.mrdai.alphahearth.move.Move;
-import com.github.mrdai.alphahearth.move.SingleMove;
-import info.hearthsim.brazier.game.Game;
-import info.hearthsim.brazier.game.GameResult;
-import info.hearthsim.brazier.game.Player;
+import info.hearthsim.brazier.events.GameEvents;
 import info.hearthsim.brazier.game.PlayerId;
+import org.jtrim.utils.ExceptionHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
 public class MCTSAgent implements Agent {
     private static final Logger LOG = LoggerFactory.getLogger(MCTSAgent.class);
 
-    private final ExecutorService executor = Executors.newFixedThreadPool(5);
+    static final long DEFAULT_TRANSPOSITION_TABLE_BYTES = 16 * 1024 * 1024;
+
+    private final SearchExecutor executor;
 
     private final PlayerId aiPlayerId;
     private final Supplier<Budget> budgetSupplier;
-    private final TreePolicy treePolicy;
-    private final DefaultPolicy defaultPolicy;
+    private final TreeSearch treeSearch;
 
     private final int deterNum;
+    private final int treeThreads;
+    // Schedules the search as batches of playouts, or `null` if each determinization is searched by its own tasks
+    private final PlayoutScheduler playoutScheduler;
 
     public MCTSAgent(PlayerId aiPlayerId) {
         this(aiPlayerId, new UCBPolicy(), new RandomPolicy(),
@@ -48,11 +50,85 @@ public class MCTSAgent implements Agent {
     public MCTSAgent(PlayerId aiPlayerId, TreePolicy treePolicy,
                      DefaultPolicy defaultPolicy,
                      Supplier<Budget> budgetSupplier, int deterNum) {
+        this(aiPlayerId, treePolicy, defaultPolicy, budgetSupplier, deterNum,
+            TranspositionTable.withMemoryCap(DEFAULT_TRANSPOSITION_TABLE_BYTES,
+                TranspositionTable.ReplacementPolicy.KEEP_VISITED));
+    }
+
+    /**
+     * Creates a {@code MCTSAgent} which merges the statistics of equivalent game states with the given
+     * {@link TranspositionTable}. Transpositions are not detected if {@code transpositionTable} is
+     * {@code null}.
+     * <p>
+     * The created agent searches the determinized trees in parallel on the {@link SearchExecutor#shared()
+     * shared} {@code SearchExecutor}, each tree searched by a single thread.
+     */
+    public MCTSAgent(PlayerId aiPlayerId, TreePolicy treePolicy,
+                     DefaultPolicy defaultPolicy,
+                     Supplier<Budget> budgetSupplier, int deterNum,
+                     TranspositionTable transpositionTable) {
+        this(aiPlayerId, treePolicy, defaultPolicy, budgetSupplier, deterNum, transpositionTable,
+            SearchExecutor.shared(), 1);
+    }
+
+    /**
+     * Creates a {@code MCTSAgent} searching on the given {@link SearchExecutor}, which is not shut down
+     * when the agent is {@link #close() closed}.
+     * <p>
+     * If {@code treeThreads} is {@code 1}, the determinized trees are searched in parallel, each by a
+     * single thread. Otherwise the agent runs in tree-parallel mode: the determinized trees are searched
+     * one after another, each by {@code treeThreads} threads sharing the tree and the budget of the
+     * determinization, which diverge by the virtual losses of the {@link Node}s they pass.
+     *
+     * @param executor the executor running the search.
+     * @param treeThreads the number of threads searching each determinized tree, which cannot exceed the
+     *                    {@link SearchExecutor#getParallelism() parallelism} of the executor.
+     */
+    public MCTSAgent(PlayerId aiPlayerId, TreePolicy treePolicy,
+                     DefaultPolicy defaultPolicy,
+                     Supplier<Budget> budgetSupplier, int deterNum,
+                     TranspositionTable transpositionTable,
+                     SearchExecutor executor, int treeThreads) {
+        this(aiPlayerId, treePolicy, defaultPolicy, budgetSupplier, deterNum, transpositionTable,
+            executor, treeThreads, 0);
+    }
+
+    private MCTSAgent(PlayerId aiPlayerId, TreePolicy treePolicy,
+                      DefaultPolicy defaultPolicy,
+                      Supplier<Budget> budgetSupplier, int deterNum,
+                      TranspositionTable transpositionTable,
+                      SearchExecutor executor, int treeThreads, int batchSize) {
+        ExceptionHelper.checkNotNullArgument(executor, "executor");
+        ExceptionHelper.checkArgumentInRange(treeThreads, 1, executor.getParallelism(), "treeThreads");
+
+        this.executor = executor;
+        this.treeThreads = treeThreads;
         this.aiPlayerId = aiPlayerId;
         this.budgetSupplier = budgetSupplier;
-        this.treePolicy = treePolicy;
-        this.defaultPolicy = defaultPolicy;
+        this.treeSearch = new TreeSearch(aiPlayerId, treePolicy, defaultPolicy, transpositionTable);
         this.deterNum = deterNum;
+        this.playoutScheduler = batchSize > 0 ? new PlayoutScheduler(executor, batchSize) : null;
+    }
+
+    /**
+     * Creates a {@code MCTSAgent} which searches all the determinized trees as batches of the given
+     * number of iterations on the given {@link SearchExecutor}, keeping every thread of the executor busy
+     * until the budget is reached, instead of searching each determinization with its own tasks.
+     * <p>
+     * Unlike the other {@code MCTSAgent}s, the agent uses a single {@link Budget} from
+     * {@code budgetSupplier} for the whole search rather than one for each determinization, so that
+     * determinizations with long games get fewer iterations instead of delaying the search.
+     *
+     * @param batchSize the number of iterations run by each task on a determinization.
+     */
+    public static MCTSAgent withPlayoutBatches(PlayerId aiPlayerId, TreePolicy treePolicy,
+                                               DefaultPolicy defaultPolicy,
+                                               Supplier<Budget> budgetSupplier, int deterNum,
+                                               TranspositionTable transpositionTable,
+                                               SearchExecutor executor, int batchSize) {
+        ExceptionHelper.checkArgumentInRange(batchSize, 1, Integer.MAX_VALUE, "batchSize");
+        return new MCTSAgent(aiPlayerId, treePolicy, defaultPolicy, budgetSupplier, deterNum, transpositionTable,
+            executor, 1, batchSize);
     }
 
     /**
@@ -62,7 +138,7 @@ public class MCTSAgent implements Agent {
     public Move search(Board rootBoard) {
         // Initialize direct children
         LOG.debug("Getting direct moves...");
-        List<Move> directMoves = getAvailableMoves(rootBoard);
+        List<Move> directMoves = treeSearch.getAvailableMoves(rootBoard);
         LOG.debug("Direct moves fetched.");
 
         if (directMoves.size() == 1) {
@@ -70,214 +146,98 @@ public class MCTSAgent implements Agent {
             return directMoves.get(0);
         }
 
+        treeSearch.startSearch();
+
         // Dummy Parent Node for all nodes of `directMoves`
         Node dummyRootNode = new Node();
-        // Nodes of all `directMoves`
-        LinkedList<Node> directChildren = dummyRootNode.visitedChildren;
-        for (Move move : directMoves) {
-            Node node = new Node(dummyRootNode, move, aiPlayerId);
-            Board copiedBoard = rootBoard.clone();
-            copiedBoard.applyMoves(move);
-            if (copiedBoard.isGameOver() && !copiedBoard.getGame().getPlayer(aiPlayerId).getHero().isDead()) {
-                LOG.info("Found lethal. Return it directly.");
-                return move;
-            }
-            copiedBoard.getGame().endTurn();
-            simulate(copiedBoard);
-            backPropergate(copiedBoard, node);
-            directChildren.push(node);
+        dummyRootNode.expand(directMoves, aiPlayerId);
+        Move lethalMove = treeSearch.simulateDirectChildren(rootBoard, dummyRootNode);
+        if (lethalMove != null) {
+            LOG.info("Found lethal. Return it directly.");
+            return lethalMove;
         }
+        // Nodes of all `directMoves`
+        List<Node> directChildren = dummyRootNode.getVisitedChildren();
 
         // Initialize boards for determinized trees
         // (where AI's deck and Opponent's hand and deck are shuffled and determined)
         Board[] determinizedBoards = new Board[deterNum];
-        for (int i = 0; i < deterNum; i++) {
-            Board copiedBoard = rootBoard.clone();
-            Game game = copiedBoard.getGame();
-            // Shuffle AI's deck
-            Player aiPlayer = game.getPlayer(aiPlayerId);
-            aiPlayer.getDeck().shuffle();
-            // Shuffle Opponent's hand and deck
-            Player opponent = game.getOpponent(aiPlayerId);
-            int handCount = opponent.getHand().getCardCount();
-            for (int j = 0; j < handCount; j++) {
-                opponent.getDeck().putOnTop(opponent.getHand().removeAtIndex(0));
-            }
-            opponent.getDeck().shuffle();
-            for (int j = 0; j < handCount; j++)
-                opponent.drawCardToHand();
-            determinizedBoards[i] = copiedBoard;
+        for (int i = 0; i < deterNum; i++)
+            determinizedBoards[i] = treeSearch.determinize(rootBoard);
+
+        if (playoutScheduler != null) {
+            int[] determinizedRoots = new int[deterNum];
+            for (int i = 0; i < deterNum; i++)
+                determinizedRoots[i] = treeSearch.newDeterminizedTrees(directChildren.size());
+            playoutScheduler.search(treeSearch, determinizedBoards, budgetSupplier.get(), dummyRootNode,
+                determinizedRoots);
+        } else
+            searchDeterminizations(determinizedBoards, dummyRootNode, directChildren.size());
+        LOG.info("The determinized trees have {} nodes.", treeSearch.getNodeCount());
+        for (Board board : determinizedBoards)
+            board.release();
+
+        Comparator<Node> CMP = (o1, o2) -> -1 * Double.compare(o1.getAverageReward(), o2.getAverageReward());
+        directChildren = new ArrayList<>(directChildren);
+        directChildren.sort(CMP);
+        TreeSearch.logDirectChildren(LOG, rootBoard, directChildren);
+        if (GameEvents.isCountingDispatches() && LOG.isInfoEnabled()) {
+            LOG.info("Event dispatches (triggered/delivered) since the last move: {} / {}",
+                GameEvents.getDispatchCounts(), GameEvents.getDeliveredCounts());
+            GameEvents.resetDispatchCounts();
         }
 
-        // Submit search job for each determinized tree
-        List<Future> futures = new ArrayList<>(deterNum);
+        return directChildren.get(0).move;
+    }
+
+    /**
+     * Searches the given determinized boards with a budget for each of them, each determinization
+     * searched by its own tasks.
+     */
+    private void searchDeterminizations(Board[] determinizedBoards, Node dummyRootNode, int directChildCount) {
+        // Submit search job for each determinized tree. The jobs only copy their board, which several
+        // threads may do at the same time, so the boards are not handed over to the jobs
+        List<Future<?>> futures = new ArrayList<>(deterNum);
         for (int i = 0; i < deterNum; i++) {
             // Generate corresponding determinized tree for each directChild
-            Map<Node, Node> determinizedTrees = new HashMap<>();
-            for (Node directChild : directChildren)
-                determinizedTrees.put(directChild, new Node(directChild, null, aiPlayerId));
+            int determinizedRoot = treeSearch.newDeterminizedTrees(directChildCount);
 
             final Board board = determinizedBoards[i];
             final Budget budget = budgetSupplier.get();
             final int deter = i + 1;
-            LOG.debug("Submitting determinization {}", deter);
-            futures.add(executor.submit(() -> {
+            if (treeThreads == 1) {
+                LOG.debug("Submitting determinization {}", deter);
+                futures.add(executor.submit(() -> {
+                    budget.startSearch();
+                    treeSearch.searchDeterminization(board, budget, dummyRootNode, determinizedRoot, deter);
+                }));
+            } else {
+                LOG.debug("Searching determinization {} with {} threads", deter, treeThreads);
                 budget.startSearch();
-                int iterNum = 1;
-                long startTime = System.currentTimeMillis();
-                while (!budget.hasReached()) {
-                    LOG.debug("Determinization {} starts iteration #{}", deter, iterNum);
-                    Board currentBoard = board.clone();
-                    LOG.debug("Determinization {} applying the best direct move...", deter);
-                    Node bestDirectChild = treePolicy.bestChild(dummyRootNode);
-                    Node determinizedRoot = determinizedTrees.get(bestDirectChild);
-                    currentBoard.applyMoves(bestDirectChild.move);
-                    currentBoard.getGame().endTurn();
-
-                    LOG.debug("Determinization {} selecting...", deter);
-                    Node selectedLeaf = select(currentBoard, determinizedRoot);
-                    LOG.debug("Determinization {} simulating...", deter);
-                    simulate(currentBoard);
-                    LOG.debug("Determinization {} back propagating...", deter);
-                    backPropergate(currentBoard, selectedLeaf);
-                    budget.newIteration();
-                    iterNum++;
-                }
-                LOG.info("Determinization {} finished in {}ms for {} direct children.",
-                    deter, System.currentTimeMillis() - startTime, directChildren.size());
-            }));
-        }
-        LOG.info("Main thread waiting for determinizations to finish...");
-        for (int i = 0; i < futures.size(); i++) {
-            try {
-                futures.get(i).get();
-            } catch (Exception e) {
-                LOG.error("Something bad happened on determinization " + (i + 1), e);
+                List<Future<?>> treeFutures = new ArrayList<>(treeThreads);
+                for (int j = 0; j < treeThreads; j++)
+                    treeFutures.add(executor.submit(() ->
+                        treeSearch.searchDeterminization(board, budget, dummyRootNode, determinizedRoot, deter)));
+                waitFor(treeFutures, deter);
             }
         }
-
-        Comparator<Node> CMP = (o1, o2) -> -1 * Double.compare(o1.reward / o1.gameCount, o2.reward / o2.gameCount);
-        directChildren.sort(CMP);
-        if (LOG.isInfoEnabled()) {
-            StringBuilder builder = new StringBuilder("Visited direct children include: \n");
-            for (Node node : directChildren) {
-                Board board = rootBoard.clone();
-                if (node.move.getActualMoves().isEmpty())
-                    builder.append("AiPlayer does nothing\n");
-                for (SingleMove move : node.move.getActualMoves()) {
-                    builder.append(move.toString(board)).append("\n");
-                    move.applyTo(board);
-                }
-                builder.append("Game count: " + node.gameCount + ", Average Reward: " + node.reward / node.gameCount + "\n");
-                builder.append("----------\n");
-            }
-            builder.append("=====================");
-            LOG.info(builder.toString());
-        }
-
-        return directChildren.peekFirst().move;
-    }
-
-    private void backPropergate(Board board, Node node) {
-        GameResult result = board.getGame().tryGetGameResult();
-        PlayerId opponentId = board.getGame().getOpponent(aiPlayerId).getPlayerId();
-        if (result.hasWon(aiPlayerId)) {
-            node.backPropagate(aiPlayerId, board.getScore(aiPlayerId));
-        } else if (result.hasWon(opponentId)) {
-            node.backPropagate(opponentId, board.getScore(opponentId));
-        } else
-            node.backPropagate(null, 0);
-    }
-
-    private List<Move> getAvailableMoves(Board board) {
-        List<Move> moves = board.getAvailableMoves();
-        // Prune moves that looks plain stupid
-        for (int i = moves.size() - 1; i >= 0; i--) {
-            if (moves.size() == 1)  // Don't prune any more
-                break;
-            Move move = moves.get(i);
-            Board copiedBoard = board.clone();
-            copiedBoard.applyMoves(move);
-
-            if (copiedBoard.isGameOver()) {
-                if (!copiedBoard.hasWon(board.getCurrentPlayer().getPlayerId())) {
-                    LOG.debug("Remove move:\n{} as it would kill ourselves.", move.toString());
-                    moves.remove(i);
-                }
-                continue;
-            }
-
-            Player currentPlayer = copiedBoard.getGame().getCurrentPlayer();
-            Player currentOpponent = copiedBoard.getGame().getCurrentOpponent();
-            if (currentPlayer.getBoard().countMinions((m) -> m.getAttackTool().canAttackWith()) > 0
-                    && !currentOpponent.getBoard().hasNonStealthTaunt()) {
-                LOG.debug("Remove move:\n{} as there is not-attacked minion.",
-                    move.toString());
-                moves.remove(i);
-            } else if (currentPlayer.getHero().getHeroPower().isPlayable()) {
-                LOG.debug("Remove move:\n{} as the hero power is not used when it is usable.",
-                    move.toString());
-                moves.remove(i);
-            } else if (!currentPlayer.getHand().getCards((c) -> c.isMinionCard()
-                     && c.getActiveManaCost() < currentPlayer.getMana()).isEmpty()) {
-                LOG.debug("Remove move:\n{} as there is playable minion card left in hand.",
-                    move.toString());
-                moves.remove(i);
-            }
-        }
-        LOG.debug("Get {} available moves", moves.size());
-        return moves;
+        LOG.info("Main thread waiting for determinizations to finish...");
+        waitFor(futures, 0);
     }
 
     /**
-     * Selects an expandable node with the given root node of the Monte Carlo Tree and
-     * the copy of {@code Board} used for this iteration.
-     * <p>
-     * While traversing through the tree to look for the best candidate, the {@code Move} stored
-     * in every visited {@code Node} will also be applied on the given {@code Board},
-     * resulting it standing for the exact game state of the selected node when the method returns.
+     * Waits for the given search jobs to finish, logging their failures.
      *
-     * @param copiedBoard the copied {@code Board} used for this iteration.
-     * @param rootNode    Node from which to start selection.
-     * @return the most urgent expandable node.
+     * @param deter the determinization searched by the jobs, or {@code 0} if each job searches
+     *              the determinization of its index.
      */
-    private Node select(Board copiedBoard, Node rootNode) {
-        Node node = rootNode;
-
-        int plyCounter = 0;
-        while (!copiedBoard.isGameOver() && plyCounter < 2) {
-            if (!node.expanded) {
-                node.expand(getAvailableMoves(copiedBoard),
-                    copiedBoard.getGame().getCurrentOpponent().getPlayerId());
-                LOG.debug("Expand {} moves for {}.", node.unvisitedChildren.size(),
-                    copiedBoard.getGame().getCurrentOpponent().getPlayerId());
-            }
-            if (!node.unvisitedChildren.isEmpty()) {
-                Node selectedLeaf = node.unvisitedChildren.pollFirst();
-                node.visitedChildren.addLast(selectedLeaf);
-                copiedBoard.applyMoves(selectedLeaf.move);
-                copiedBoard.getGame().endTurn();
-                LOG.debug("Returning unvisited child on ply {}.", plyCounter + 1);
-                return selectedLeaf;
+    private static void waitFor(List<Future<?>> futures, int deter) {
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+            } catch (Exception e) {
+                LOG.error("Something bad happened on determinization " + (deter > 0 ? deter : i + 1), e);
             }
-            node = treePolicy.bestChild(node);
-            copiedBoard.applyMoves(node.move);
-            copiedBoard.getGame().endTurn();
-            plyCounter++;
-        }
-
-        LOG.debug("Returning game over child on ply {}.", plyCounter);
-        return node;
-    }
-
-    /**
-     * Plays out the given selected {@code Node} with the given starting {@code Board}.
-     */
-    private void simulate(Board copiedBoard) {
-        // Start playing moves with the default policy until the game is over
-        while (!copiedBoard.isGameOver()) {
-            copiedBoard.applyMoves(defaultPolicy.produceMode(copiedBoard));
-            copiedBoard.getGame().endTurn();
         }
     }
 
@@ -286,7 +246,5 @@ public class MCTSAgent implements Agent {
         return search(board);
     }
 
-    public void close() {
-        executor.shutdown();
-    }
+    public void close() {}
 }
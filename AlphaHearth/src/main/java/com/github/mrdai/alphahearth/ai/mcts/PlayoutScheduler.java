@@ -0,0 +1,113 @@
+package com.github.mrdai.alphahearth.ai.mcts;
+
+import com.github.mrdai.alphahearth.Board;
+import com.github.mrdai.alphahearth.ai.Node;
+import com.github.mrdai.alphahearth.ai.SearchExecutor;
+import com.github.mrdai.alphahearth.ai.budget.Budget;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Schedules the iterations of all the determinized trees of a search as small batches of playouts on a
+ * {@link SearchExecutor}, until a single {@link Budget} for the whole search is reached.
+ * <p>
+ * As many batches as the parallelism of the executor are kept running, and a new batch is submitted as soon
+ * as one finishes, so no thread waits for a determinization which happens to have long games: each batch
+ * takes the next determinization in turn, and the same determinization can be searched by several batches at
+ * the same time, which diverge by the virtual losses of the {@link Node}s they pass. Works best with a
+ * {@link SearchExecutor#workStealing(int) work-stealing} executor.
+ * <p>
+ * The batches never modify the determinized boards: each batch plays on its own copy, and a {@code Game} may
+ * be copied by several threads at the same time. So the boards stay owned by the thread calling
+ * {@link #search}.
+ */
+final class PlayoutScheduler {
+    private static final Logger LOG = LoggerFactory.getLogger(PlayoutScheduler.class);
+
+    private final SearchExecutor executor;
+    private final int batchSize;
+
+    /**
+     * Creates a {@code PlayoutScheduler} running batches of the given number of iterations on the given
+     * {@link SearchExecutor}.
+     */
+    public PlayoutScheduler(SearchExecutor executor, int batchSize) {
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Searches the given determinized trees with the given {@link TreeSearch} until the given
+     * {@link Budget} is reached, and waits for the running batches to finish.
+     *
+     * @param determinizedBoards the determinized root {@code Board} of each determinization.
+     * @param determinizedRoots the first determinized root of each determinization.
+     */
+    public void search(TreeSearch treeSearch, Board[] determinizedBoards, Budget budget, Node dummyRootNode,
+                       int[] determinizedRoots) {
+        int deterNum = determinizedBoards.length;
+        AtomicInteger nextDeter = new AtomicInteger(0);
+        AtomicIntegerArray iterNums = new AtomicIntegerArray(deterNum);
+        CompletionService<Integer> batches = executor.newCompletionService();
+
+        long startTime = System.currentTimeMillis();
+        budget.startSearch();
+        int runningNum = 0;
+        int batchNum = 0;
+        boolean failed = false;
+        boolean interrupted = false;
+        for (; runningNum < executor.getParallelism(); runningNum++) {
+            submitBatch(batches, treeSearch, determinizedBoards, budget, dummyRootNode, determinizedRoots,
+                nextDeter, iterNums);
+        }
+        while (runningNum > 0) {
+            try {
+                batches.take().get();
+                batchNum++;
+            } catch (ExecutionException e) {
+                LOG.error("Something bad happened on a batch of playouts. Stop scheduling new batches.", e);
+                failed = true;
+            } catch (InterruptedException e) {
+                // The running batches still use the boards and trees, so keep waiting for them
+                LOG.warn("Interrupted while waiting for batches of playouts. Stop scheduling new batches.");
+                interrupted = true;
+                failed = true;
+                continue;
+            }
+            runningNum--;
+            if (!failed && !budget.hasReached()) {
+                submitBatch(batches, treeSearch, determinizedBoards, budget, dummyRootNode, determinizedRoots,
+                    nextDeter, iterNums);
+                runningNum++;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+
+        if (LOG.isInfoEnabled()) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < deterNum; i++)
+                builder.append(i == 0 ? "" : ", ").append(iterNums.get(i));
+            LOG.info("Finished {} batches in {}ms; iterations of each determinization: {}.",
+                batchNum, System.currentTimeMillis() - startTime, builder);
+        }
+    }
+
+    private void submitBatch(CompletionService<Integer> batches, TreeSearch treeSearch,
+                             Board[] determinizedBoards, Budget budget, Node dummyRootNode,
+                             int[] determinizedRoots,
+                             AtomicInteger nextDeter, AtomicIntegerArray iterNums) {
+        batches.submit(() -> {
+            int deterIndex = Math.floorMod(nextDeter.getAndIncrement(), determinizedBoards.length);
+            int iterNum = treeSearch.runIterations(determinizedBoards[deterIndex], budget, dummyRootNode,
+                determinizedRoots[deterIndex], deterIndex + 1, batchSize);
+            iterNums.addAndGet(deterIndex, iterNum);
+            return iterNum;
+        });
+    }
+}
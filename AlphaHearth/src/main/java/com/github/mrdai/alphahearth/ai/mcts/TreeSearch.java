@@ -0,0 +1,418 @@
+package com.github.mrdai.alphahearth.ai.mcts;
+
+import com.github.mrdai.alphahearth.Board;
+import com.github.mrdai.alphahearth.ai.Node;
+import com.github.mrdai.alphahearth.ai.TranspositionTable;
+import com.github.mrdai.alphahearth.ai.TreeStore;
+import com.github.mrdai.alphahearth.ai.budget.Budget;
+import com.github.mrdai.alphahearth.ai.policy.DefaultPolicy;
+import com.github.mrdai.alphahearth.ai.policy.TreePolicy;
+import com.github.mrdai.alphahearth.move.Move;
+import com.github.mrdai.alphahearth.move.SingleMove;
+import info.hearthsim.brazier.game.Game;
+import info.hearthsim.brazier.game.GameResult;
+import info.hearthsim.brazier.game.Player;
+import info.hearthsim.brazier.game.PlayerId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * The search of determinized Monte Carlo Trees for the AI player, with the given {@link TreePolicy},
+ * {@link DefaultPolicy} and {@link TranspositionTable}. Used by {@link MCTSAgent}, which searches all its
+ * determinized trees with a single {@code TreeSearch}, and by {@link EnsembleMCTSAgent}, which gives each of
+ * its trees its own {@code TreeSearch}.
+ * <p>
+ * The direct moves of the AI player are the children of a dummy root {@link Node}. Each direct child has
+ * its own determinized tree for each determinization, rooted after the opponent takes its turn. The
+ * determinized trees are kept in the {@link TreeStore} of this {@code TreeSearch}, whose nodes are recycled
+ * by each new search.
+ * <p>
+ * Instead of copying a {@link Board} for every line of play it tries, a search copies the board once and
+ * rewinds its game to a {@link Game#mark() mark} with {@link Game#rollbackTo(int)} after each line.
+ * <p>
+ * Methods of this class can be invoked concurrently as long as the policies and the transposition table
+ * can be used concurrently.
+ */
+final class TreeSearch {
+    private static final Logger LOG = LoggerFactory.getLogger(TreeSearch.class);
+
+    private final PlayerId aiPlayerId;
+    private final TreePolicy treePolicy;
+    private final DefaultPolicy defaultPolicy;
+    private final TranspositionTable transpositionTable;
+    private final TreeStore treeStore = new TreeStore();
+
+    /**
+     * Creates a {@code TreeSearch} for the given AI player. Transpositions are not detected if
+     * {@code transpositionTable} is {@code null}.
+     */
+    public TreeSearch(PlayerId aiPlayerId, TreePolicy treePolicy, DefaultPolicy defaultPolicy,
+                      TranspositionTable transpositionTable) {
+        this.aiPlayerId = aiPlayerId;
+        this.treePolicy = treePolicy;
+        this.defaultPolicy = defaultPolicy;
+        this.transpositionTable = transpositionTable;
+    }
+
+    /**
+     * Clears the trees and the statistics of the previous search, which are relative to another root.
+     * Must not be called while the previous search is running.
+     */
+    public void startSearch() {
+        treeStore.clear();
+        if (transpositionTable != null)
+            transpositionTable.clear();
+    }
+
+    /**
+     * Returns the number of nodes in the determinized trees of the current search.
+     */
+    public int getNodeCount() {
+        return treeStore.size();
+    }
+
+    /**
+     * Visits each of the unvisited direct children of the given dummy root {@link Node} once, whose
+     * {@link Move}s are applied to a copy of the given root {@link Board}.
+     *
+     * @return the {@code Move} of the first direct child winning the game for the AI player, or
+     *         {@code null} if there is no such child.
+     */
+    public Move simulateDirectChildren(Board rootBoard, Node dummyRootNode) {
+        Board copiedBoard = rootBoard.clone();
+        try {
+            Game game = copiedBoard.getGame();
+            int mark = game.mark();
+            Node node;
+            while ((node = dummyRootNode.pollUnvisitedChild()) != null) {
+                copiedBoard.applyMoves(node.move);
+                if (copiedBoard.isGameOver() && !game.getPlayer(aiPlayerId).getHero().isDead())
+                    return node.move;
+                game.endTurn();
+                registerTransposition(node, copiedBoard);
+                simulate(copiedBoard);
+                backPropagate(copiedBoard, node);
+                game.rollbackTo(mark);
+            }
+            return null;
+        } finally {
+            copiedBoard.release();
+        }
+    }
+
+    /**
+     * Returns the first of the given {@link Move}s winning the game for the AI player when applied to the
+     * given root {@link Board}, or {@code null} if there is no such move.
+     */
+    public Move findLethalMove(Board rootBoard, List<Move> moves) {
+        Board copiedBoard = rootBoard.clone();
+        try {
+            Game game = copiedBoard.getGame();
+            int mark = game.mark();
+            for (Move move : moves) {
+                copiedBoard.applyMoves(move);
+                if (copiedBoard.isGameOver() && !game.getPlayer(aiPlayerId).getHero().isDead())
+                    return move;
+                game.rollbackTo(mark);
+            }
+            return null;
+        } finally {
+            copiedBoard.release();
+        }
+    }
+
+    /**
+     * Returns a determinized copy of the given root {@link Board}, where AI's deck and the opponent's
+     * hand and deck are shuffled and determined.
+     */
+    public Board determinize(Board rootBoard) {
+        Board copiedBoard = rootBoard.clone();
+        Game game = copiedBoard.getGame();
+        // Shuffle AI's deck
+        Player aiPlayer = game.getPlayer(aiPlayerId);
+        aiPlayer.getDeck().shuffle();
+        // Shuffle Opponent's hand and deck
+        Player opponent = game.getOpponent(aiPlayerId);
+        int handCount = opponent.getHand().getCardCount();
+        for (int j = 0; j < handCount; j++) {
+            opponent.getDeck().putOnTop(opponent.getHand().removeAtIndex(0));
+        }
+        opponent.getDeck().shuffle();
+        for (int j = 0; j < handCount; j++)
+            opponent.drawCardToHand();
+        return copiedBoard;
+    }
+
+    /**
+     * Creates new determinized trees for the given number of direct children, and returns the root of the
+     * tree of the first direct child. The root of the tree of each direct child follows it at the
+     * {@link Node#childIndex childIndex} of the direct child.
+     */
+    public int newDeterminizedTrees(int directChildCount) {
+        return treeStore.newRoots(directChildCount, aiPlayerId);
+    }
+
+    /**
+     * Runs iterations on the given determinized trees until the given {@link Budget} is reached.
+     * Multiple threads can search the same trees at the same time.
+     *
+     * @return the number of iterations run by the calling thread.
+     */
+    public int searchDeterminization(Board board, Budget budget, Node dummyRootNode,
+                                     int firstDeterminizedRoot, int deter) {
+        long startTime = System.currentTimeMillis();
+        int iterNum = runIterations(board, budget, dummyRootNode, firstDeterminizedRoot, deter, Integer.MAX_VALUE);
+        LOG.info("Determinization {} finished {} iterations in {}ms on {}.",
+            deter, iterNum, System.currentTimeMillis() - startTime, Thread.currentThread().getName());
+        return iterNum;
+    }
+
+    /**
+     * Runs at most the given number of iterations on the given determinized trees, stopping earlier if
+     * the given {@link Budget} is reached. Multiple threads can search the same trees at the same time.
+     *
+     * @return the number of iterations run by the calling thread.
+     */
+    public int runIterations(Board board, Budget budget, Node dummyRootNode,
+                             int firstDeterminizedRoot, int deter, int maxIterNum) {
+        Board currentBoard = board.clone();
+        try {
+            return runIterationsInPlace(currentBoard, budget, dummyRootNode, firstDeterminizedRoot, deter, maxIterNum);
+        } finally {
+            currentBoard.release();
+        }
+    }
+
+    /**
+     * Runs the iterations of {@link #runIterations(Board, Budget, Node, int, int, int)} on the given copy of
+     * the determinized {@link Board}, whose game is rolled back to its initial state after each iteration.
+     */
+    private int runIterationsInPlace(Board currentBoard, Budget budget, Node dummyRootNode,
+                                     int firstDeterminizedRoot, int deter, int maxIterNum) {
+        Game game = currentBoard.getGame();
+        int mark = game.mark();
+        int iterNum = 0;
+        while (iterNum < maxIterNum && !budget.hasReached()) {
+            LOG.debug("Determinization {} starts iteration #{}", deter, iterNum + 1);
+            LOG.debug("Determinization {} applying the best direct move...", deter);
+            dummyRootNode.addVirtualLoss();
+            Node bestDirectChild = treePolicy.bestChild(dummyRootNode);
+            bestDirectChild.addVirtualLoss();
+            int determinizedRoot = firstDeterminizedRoot + bestDirectChild.childIndex;
+            treeStore.addVirtualLoss(determinizedRoot);
+            currentBoard.applyMoves(bestDirectChild.move);
+            game.endTurn();
+
+            LOG.debug("Determinization {} selecting...", deter);
+            int selectedLeaf = select(currentBoard, determinizedRoot);
+            LOG.debug("Determinization {} simulating...", deter);
+            simulate(currentBoard);
+            LOG.debug("Determinization {} back propagating...", deter);
+            treeStore.revertVirtualLoss(selectedLeaf);
+            bestDirectChild.revertVirtualLoss();
+            backPropagate(currentBoard, selectedLeaf, bestDirectChild);
+            game.rollbackTo(mark);
+            budget.newIteration();
+            iterNum++;
+        }
+        return iterNum;
+    }
+
+    private void backPropagate(Board board, Node node) {
+        PlayerId winnerId = getWinnerId(board);
+        node.backPropagate(winnerId, winnerId != null ? board.getScore(winnerId) : 0);
+    }
+
+    /**
+     * Back propagates the result of the given {@code Board} from the given node of a determinized tree,
+     * through its root, to the given direct child and the dummy root.
+     */
+    private void backPropagate(Board board, int node, Node directChild) {
+        PlayerId winnerId = getWinnerId(board);
+        double score = winnerId != null ? board.getScore(winnerId) : 0;
+        score = treeStore.backPropagate(node, winnerId, score, Node.DEFAULT_PLY_PENALTY);
+        directChild.backPropagate(winnerId, score);
+    }
+
+    private PlayerId getWinnerId(Board board) {
+        GameResult result = board.getGame().tryGetGameResult();
+        PlayerId opponentId = board.getGame().getOpponent(aiPlayerId).getPlayerId();
+        if (result.hasWon(aiPlayerId))
+            return aiPlayerId;
+        else if (result.hasWon(opponentId))
+            return opponentId;
+        else
+            return null;
+    }
+
+    /**
+     * Returns the available moves of the current player of the given {@link Board}, except for the moves
+     * that looks plain stupid.
+     */
+    public List<Move> getAvailableMoves(Board board) {
+        Board copiedBoard = board.clone();
+        try {
+            return getAvailableMovesInPlace(copiedBoard);
+        } finally {
+            copiedBoard.release();
+        }
+    }
+
+    /**
+     * Returns the moves of {@link #getAvailableMoves(Board)}, trying each of them on the given {@link Board}
+     * itself, whose game is rolled back after each move.
+     */
+    private List<Move> getAvailableMovesInPlace(Board board) {
+        List<Move> moves = board.getAvailableMoves();
+        Game game = board.getGame();
+        PlayerId currentPlayerId = board.getCurrentPlayer().getPlayerId();
+        int mark = game.mark();
+        // Prune moves that looks plain stupid
+        for (int i = moves.size() - 1; i >= 0; i--) {
+            if (moves.size() == 1)  // Don't prune any more
+                break;
+            Move move = moves.get(i);
+            board.applyMoves(move);
+
+            if (board.isGameOver()) {
+                if (!board.hasWon(currentPlayerId)) {
+                    LOG.debug("Remove move:\n{} as it would kill ourselves.", move.toString());
+                    moves.remove(i);
+                }
+                game.rollbackTo(mark);
+                continue;
+            }
+
+            Player currentPlayer = game.getCurrentPlayer();
+            Player currentOpponent = game.getCurrentOpponent();
+            if (currentPlayer.getBoard().countMinions((m) -> m.getAttackTool().canAttackWith()) > 0
+                    && !currentOpponent.getBoard().hasNonStealthTaunt()) {
+                LOG.debug("Remove move:\n{} as there is not-attacked minion.",
+                    move.toString());
+                moves.remove(i);
+            } else if (currentPlayer.getHero().getHeroPower().isPlayable()) {
+                LOG.debug("Remove move:\n{} as the hero power is not used when it is usable.",
+                    move.toString());
+                moves.remove(i);
+            } else if (!currentPlayer.getHand().getCards((c) -> c.isMinionCard()
+                     && c.getActiveManaCost() < currentPlayer.getMana()).isEmpty()) {
+                LOG.debug("Remove move:\n{} as there is playable minion card left in hand.",
+                    move.toString());
+                moves.remove(i);
+            }
+            game.rollbackTo(mark);
+        }
+        LOG.debug("Get {} available moves", moves.size());
+        return moves;
+    }
+
+    /**
+     * Selects an expandable node with the given root node of the Monte Carlo Tree and
+     * the copy of {@code Board} used for this iteration.
+     * <p>
+     * While traversing through the tree to look for the best candidate, the {@code Move} stored
+     * in every visited {@code Node} will also be applied on the given {@code Board},
+     * resulting it standing for the exact game state of the selected node when the method returns.
+     * A virtual loss is added to every node descended into, which must be reverted from the
+     * returned node once its simulation ends.
+     *
+     * @param copiedBoard the copied {@code Board} used for this iteration.
+     * @param rootNode    node of the {@link TreeStore} from which to start selection.
+     * @return the most urgent expandable node.
+     */
+    private int select(Board copiedBoard, int rootNode) {
+        int node = rootNode;
+
+        int plyCounter = 0;
+        while (!copiedBoard.isGameOver() && plyCounter < 2) {
+            if (!treeStore.isExpanded(node)) {
+                if (!treeStore.tryStartExpansion(node)) {
+                    LOG.debug("Returning the node being expanded by another thread on ply {}.", plyCounter);
+                    return node;
+                }
+                treeStore.expand(node, getAvailableMovesInPlace(copiedBoard),
+                    copiedBoard.getGame().getCurrentOpponent().getPlayerId());
+                LOG.debug("Expand {} moves for {}.", treeStore.getChildCount(node),
+                    copiedBoard.getGame().getCurrentOpponent().getPlayerId());
+            }
+            int selectedLeaf = treeStore.pollUnvisitedChild(node);
+            if (selectedLeaf != TreeStore.NONE) {
+                treeStore.addVirtualLoss(selectedLeaf);
+                copiedBoard.applyMoves(treeStore.getMove(selectedLeaf));
+                copiedBoard.getGame().endTurn();
+                registerTransposition(selectedLeaf, copiedBoard);
+                LOG.debug("Returning unvisited child on ply {}.", plyCounter + 1);
+                return selectedLeaf;
+            }
+            int bestChild = treePolicy.bestChild(treeStore, node);
+            if (bestChild == TreeStore.NONE) {
+                LOG.debug("Returning node without children on ply {}.", plyCounter);
+                return node;
+            }
+            node = bestChild;
+            treeStore.addVirtualLoss(node);
+            copiedBoard.applyMoves(treeStore.getMove(node));
+            copiedBoard.getGame().endTurn();
+            plyCounter++;
+        }
+
+        LOG.debug("Returning game over child on ply {}.", plyCounter);
+        return node;
+    }
+
+    /**
+     * Registers the given {@code Node} in the transposition table with the state of the given
+     * {@code Board}, which must be the state the node stands for.
+     */
+    private void registerTransposition(Node node, Board board) {
+        if (transpositionTable == null || node.transposition != null)
+            return;
+        node.transposition = transpositionTable.getOrCreate(board.getGame().stateHash());
+    }
+
+    /**
+     * Registers the given node of the {@link TreeStore} in the transposition table with the state of the
+     * given {@code Board}, which must be the state the node stands for.
+     */
+    private void registerTransposition(int node, Board board) {
+        if (transpositionTable == null || treeStore.getTransposition(node) != null)
+            return;
+        treeStore.setTransposition(node, transpositionTable.getOrCreate(board.getGame().stateHash()));
+    }
+
+    /**
+     * Plays out the given selected {@code Node} with the given starting {@code Board}.
+     */
+    private void simulate(Board copiedBoard) {
+        // Start playing moves with the default policy until the game is over
+        while (!copiedBoard.isGameOver()) {
+            copiedBoard.applyMoves(defaultPolicy.produceMode(copiedBoard));
+            copiedBoard.getGame().endTurn();
+        }
+    }
+
+    /**
+     * Logs the given direct children, together with their statistics, to the given {@link Logger}.
+     */
+    public static void logDirectChildren(Logger log, Board rootBoard, List<Node> directChildren) {
+        if (!log.isInfoEnabled())
+            return;
+        StringBuilder builder = new StringBuilder("Visited direct children include: \n");
+        for (Node node : directChildren) {
+            Board board = rootBoard.clone();
+            if (node.move.getActualMoves().isEmpty())
+                builder.append("AiPlayer does nothing\n");
+            for (SingleMove move : node.move.getActualMoves()) {
+                builder.append(move.toString(board)).append("\n");
+                move.applyTo(board);
+            }
+            builder.append("Game count: " + node.getGameCount() + ", Average Reward: " + node.getAverageReward() + "\n");
+            builder.append("----------\n");
+            board.release();
+        }
+        builder.append("=====================");
+        log.info(builder.toString());
+    }
+}
@@ -2,9 +2,11 @@ package com.github.mrdai.alphahearth.ai.policy;
 
 import com.github.mrdai.alphahearth.Board;
 import com.github.mrdai.alphahearth.move.*;
+import info.hearthsim.brazier.db.MinionDescr;
 import info.hearthsim.brazier.game.Hand;
 import info.hearthsim.brazier.game.Hero;
 import info.hearthsim.brazier.game.HeroPower;
+import info.hearthsim.brazier.game.MinionFlags;
 import info.hearthsim.brazier.game.Player;
 import info.hearthsim.brazier.game.cards.Card;
 import info.hearthsim.brazier.game.minions.Minion;
@@ -12,9 +14,9 @@ import info.hearthsim.brazier.game.weapons.Weapon;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * A {@code DefaultPolicy} who produces {@link Move} based on predefined rules.
@@ -25,18 +27,19 @@ public class ExpertRuleBasedPolicy implements DefaultPolicy {
 
     @Override
     public Move produceMode(Board board) {
-        board = board.clone();
-        Move.Builder builder = new Move.Builder();
-        int i = 0;
-        while (i < 30) {
-            SingleMove move = produceSingleMove(board);
-            if (move == null)
-                break;
-            move.applyTo(board);
-            builder.addMove(move);
-            i++;
-        }
-        return builder.build();
+        return board.tryOut((trialBoard) -> {
+            Move.Builder builder = new Move.Builder();
+            int i = 0;
+            while (i < 30) {
+                SingleMove move = produceSingleMove(trialBoard);
+                if (move == null)
+                    break;
+                move.applyTo(trialBoard);
+                builder.addMove(move);
+                i++;
+            }
+            return builder.build();
+        });
     }
 
     protected SingleMove produceSingleMove(Board board) {
@@ -71,7 +74,7 @@ public class ExpertRuleBasedPolicy implements DefaultPolicy {
         DirectAttacking move;
         // Attack with Hero
         if (us.getHero().getAttackTool().canAttackWith()) {
-            if (enemy.getBoard().findMinions((m) -> m.getBody().isTaunt() && !m.getBody().isStealth()).isEmpty()) {
+            if (!enemy.getBoard().hasNonStealthTaunt()) {
                 move = new DirectAttacking(us.getHero(), enemy.getHero());
                 LOG.trace(move.toString(board));
                 return move;
@@ -132,14 +135,19 @@ public class ExpertRuleBasedPolicy implements DefaultPolicy {
 
         // Fetch friendly attackers and enemy targets
         List<Minion> enemyMinions = enemy.getBoard().getAliveMinions();
-        List<Minion> enemyTaunt = enemy.getBoard().findMinions((m) -> m.getBody().isTaunt() && !m.getBody().isStealth());
+        MinionFlags enemyFlags = enemy.getBoard().getMinionFlags();
+        List<Minion> enemyTaunt = new ArrayList<>();
+        enemyFlags.collectMinions(enemyFlags.getTauntMask() & ~enemyFlags.getStealthMask(), enemyTaunt);
         List<Minion> enemyDangerous = enemy.getBoard().findMinions((m) -> isEnemyDangerous(m));
 
-        List<Minion> friendlyAttackers = us.getBoard().findMinions((m) -> m.getAttackTool().canAttackWith());
-        List<Minion> friendlyTauntAttackers = friendlyAttackers.stream()
-                                                  .filter((m) -> m.getBody().isTaunt()).collect(Collectors.toList());
-        List<Minion> friendlyNonTauntAttackers = friendlyAttackers.stream()
-                                                     .filter((m) -> !m.getBody().isTaunt()).collect(Collectors.toList());
+        MinionFlags friendlyFlags = us.getBoard().getMinionFlags();
+        int friendlyAttackerMask = friendlyFlags.getCanAttackMask();
+        List<Minion> friendlyAttackers = new ArrayList<>();
+        friendlyFlags.collectMinions(friendlyAttackerMask, friendlyAttackers);
+        List<Minion> friendlyTauntAttackers = new ArrayList<>();
+        friendlyFlags.collectMinions(friendlyAttackerMask & friendlyFlags.getTauntMask(), friendlyTauntAttackers);
+        List<Minion> friendlyNonTauntAttackers = new ArrayList<>();
+        friendlyFlags.collectMinions(friendlyAttackerMask & ~friendlyFlags.getTauntMask(), friendlyNonTauntAttackers);
         enemyMinions.sort(CMP);
         enemyTaunt.sort(CMP);
         friendlyNonTauntAttackers.sort(CMP.reversed());
@@ -254,9 +262,9 @@ public class ExpertRuleBasedPolicy implements DefaultPolicy {
             if (card.getCardDescr().getName().equals("Animal Companion"))
                 return new CardPlaying(card);
 
-            Minion minion = card.getMinion();
+            MinionDescr minion = card.getMinionDescr();
             if (minion != null && !us.getBoard().isFull()) {
-                if (us.getBoard().getMinionCount() < 6 || minion.isCharge() || minion.getBody().isTaunt())
+                if (us.getBoard().getMinionCount() < 6 || minion.isCharge() || minion.isTaunt())
                     return new CardPlaying(card, 0);
             }
         }
@@ -311,8 +319,8 @@ public class ExpertRuleBasedPolicy implements DefaultPolicy {
         for (Card card : handCards) {
             if (mana < card.getActiveManaCost())
                 continue;
-            Minion minion = card.getMinion();
-            if (minion != null && minion.getBody().isTaunt() && !friendlyHero.getOwner().getBoard().isFull()
+            MinionDescr minion = card.getMinionDescr();
+            if (minion != null && minion.isTaunt() && !friendlyHero.getOwner().getBoard().isFull()
                 && (card.getActiveManaCost() == mana || card.getActiveManaCost() == mana - 2))
                 return new CardPlaying(card, 0);
         }
@@ -321,8 +329,8 @@ public class ExpertRuleBasedPolicy implements DefaultPolicy {
             for (Card card : handCards) {
                 if (mana < card.getActiveManaCost())
                     continue;
-                Minion minion = card.getMinion();
-                if (minion != null && minion.getBody().isTaunt() && !friendlyHero.getOwner().getBoard().isFull()
+                MinionDescr minion = card.getMinionDescr();
+                if (minion != null && minion.isTaunt() && !friendlyHero.getOwner().getBoard().isFull()
                     && (card.getActiveManaCost() == mana - 1 || card.getActiveManaCost() == mana - 3))
                     return new CardPlaying(card, 0);
             }
@@ -332,7 +340,7 @@ public class ExpertRuleBasedPolicy implements DefaultPolicy {
             for (Card card : handCards) {
                 if (mana < card.getActiveManaCost())
                     continue;
-                Minion minion = card.getMinion();
+                MinionDescr minion = card.getMinionDescr();
                 if (minion != null && minion.isCharge() && !friendlyHero.getOwner().getBoard().isFull())
                     return new CardPlaying(card, 0);
             }
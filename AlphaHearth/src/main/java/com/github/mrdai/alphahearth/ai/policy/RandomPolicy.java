@@ -2,51 +2,56 @@ package com.github.mrdai.alphahearth.ai.policy;
 
 import com.github.mrdai.alphahearth.Board;
 import com.github.mrdai.alphahearth.move.*;
+import info.hearthsim.brazier.RandomProvider;
 import info.hearthsim.brazier.TargeterDef;
 import info.hearthsim.brazier.game.Character;
 import info.hearthsim.brazier.game.Game;
 import info.hearthsim.brazier.game.HeroPower;
+import info.hearthsim.brazier.game.MinionFlags;
 import info.hearthsim.brazier.game.Player;
 import info.hearthsim.brazier.game.cards.Card;
 import info.hearthsim.brazier.game.minions.Minion;
 import info.hearthsim.brazier.ui.PlayerTargetNeed;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.function.Predicate;
 
 /**
  * A {@link DefaultPolicy} which produces {@link Move} by randomly selecting from all the
  * valid moves of the given {@link Board}.
  */
 public class RandomPolicy implements DefaultPolicy {
-    private final Random random = new Random();
+    // The policy may be shared by concurrent simulations, so every thread reuses its own buffer of targets
+    private final ThreadLocal<List<Character>> targetBuffer = ThreadLocal.withInitial(ArrayList::new);
 
     @Override
     public Move produceMode(Board board) {
-        board = board.clone();
-        Move.Builder builder = new Move.Builder();
-
-        while (true) {
-            int choice = random.nextInt(4);
-            SingleMove move = null;
-            if (choice == 0)
-                move = minionAttack(board);
-            else if (choice == 1)
-                move = heroAttack(board);
-            else if (choice == 2)
-                move = cardPlaying(board);
-            else if (choice == 3)
-                move = heroPowerPlaying(board);
-
-            if (move != null) {
-                builder.addMove(move);
-                move.applyTo(board);
-            } else {
-                break;
+        return board.tryOut((trialBoard) -> {
+            Move.Builder builder = new Move.Builder();
+
+            while (true) {
+                int choice = random(trialBoard).roll(4);
+                SingleMove move = null;
+                if (choice == 0)
+                    move = minionAttack(trialBoard);
+                else if (choice == 1)
+                    move = heroAttack(trialBoard);
+                else if (choice == 2)
+                    move = cardPlaying(trialBoard);
+                else if (choice == 3)
+                    move = heroPowerPlaying(trialBoard);
+
+                if (move != null) {
+                    builder.addMove(move);
+                    move.applyTo(trialBoard);
+                } else {
+                    break;
+                }
             }
-        }
 
-        return builder.build();
+            return builder.build();
+        });
     }
 
     DirectAttacking minionAttack(Board board) {
@@ -54,19 +59,23 @@ public class RandomPolicy implements DefaultPolicy {
         Player us = board.getCurrentPlayer();
         Player enemy = board.getCurrentOpponent();
 
-        List<Minion> attackers = us.getBoard().findMinions((m) -> m.getAttackTool().canAttackWith());
-        if (attackers.isEmpty())
+        MinionFlags friendlyFlags = us.getBoard().getMinionFlags();
+        int attackerMask = friendlyFlags.getCanAttackMask();
+        if (attackerMask == 0)
             return null;
 
         // Randomly select attacker and target
-        Minion attacker = randomElem(attackers);
+        Minion attacker = friendlyFlags.getMinion(randomIndex(game, attackerMask));
         Character target;
-        if (enemy.getBoard().hasNonStealthTaunt()) {
-            List<Minion> validTargets = enemy.getBoard().findMinions((m) -> m.getBody().isTaunt());
-            target = randomElem(validTargets);
+        MinionFlags enemyFlags = enemy.getBoard().getMinionFlags();
+        if (enemyFlags.hasNonStealthTaunt()) {
+            int targetMask = enemyFlags.getAttackableMask();
+            if (targetMask == 0)
+                return null;
+            target = enemyFlags.getMinion(randomIndex(game, targetMask));
         } else {
-            List<Character> validTargets = game.getTargets((t) -> t.getOwner().getPlayerId() != us.getPlayerId());
-            target = randomElem(validTargets);
+            List<Character> validTargets = collectTargets(game, (t) -> t.getOwner().getPlayerId() != us.getPlayerId());
+            target = randomElem(game, validTargets);
         }
         return new DirectAttacking(attacker, target);
     }
@@ -77,14 +86,17 @@ public class RandomPolicy implements DefaultPolicy {
         Player enemy = board.getCurrentOpponent();
 
         // Randomly select target
-        if (us.getHero().getAttackTool().canAttackWith() && random.nextBoolean()) {
+        if (us.getHero().getAttackTool().canAttackWith() && random(board).roll(2) == 0) {
             Character target;
-            if (enemy.getBoard().hasNonStealthTaunt()) {
-                List<Minion> validTargets = enemy.getBoard().findMinions((m) -> m.getBody().isTaunt());
-                target = randomElem(validTargets);
+            MinionFlags enemyFlags = enemy.getBoard().getMinionFlags();
+            if (enemyFlags.hasNonStealthTaunt()) {
+                int targetMask = enemyFlags.getAttackableMask();
+                if (targetMask == 0)
+                    return null;
+                target = enemyFlags.getMinion(randomIndex(game, targetMask));
             } else {
-                List<Character> validTargets = game.getTargets((t) -> t.getOwner().getPlayerId() != us.getPlayerId());
-                target = randomElem(validTargets);
+                List<Character> validTargets = collectTargets(game, (t) -> t.getOwner().getPlayerId() != us.getPlayerId());
+                target = randomElem(game, validTargets);
             }
             return new DirectAttacking(us.getHero(), target);
         }
@@ -97,15 +109,15 @@ public class RandomPolicy implements DefaultPolicy {
         Player us = board.getCurrentPlayer();
 
         // Randomly use Hero Power
-        if (us.getHero().getHeroPower().isPlayable() && random.nextBoolean()) {
+        if (us.getHero().getHeroPower().isPlayable() && random(board).roll(2) == 0) {
             HeroPower heroPower = us.getHero().getHeroPower();
             PlayerTargetNeed targetNeed =
                 new PlayerTargetNeed(new TargeterDef(us.getPlayerId(), true, false), heroPower.getTargetNeed());
             if (!targetNeed.getTargetNeed().hasTarget()) {
                 return new HeroPowerPlaying(us.getPlayerId());
             } else {
-                List<Character> validTargets = game.getTargets(targetNeed::isAllowedTarget);
-                Character target = randomElem(validTargets);
+                List<Character> validTargets = collectTargets(game, targetNeed::isAllowedTarget);
+                Character target = randomElem(game, validTargets);
                 return new HeroPowerPlaying(us.getPlayerId(), target);
             }
         }
@@ -122,25 +134,25 @@ public class RandomPolicy implements DefaultPolicy {
         if (availableCards.isEmpty()) // No more card, break it
             return null;
 
-        Card card = randomElem(availableCards); // Randomly select a card
+        Card card = randomElem(game, availableCards); // Randomly select a card
         PlayerTargetNeed targetNeed =
             new PlayerTargetNeed(new TargeterDef(us.getPlayerId(), true, false), card.getTargetNeed());
         if (card.isMinionCard()) {
             if (card.getTargetNeed().hasTarget()) { // Minion card with battle cry target
-                List<Character> validTargets = game.getTargets(targetNeed::isAllowedTarget);
+                List<Character> validTargets = collectTargets(game, targetNeed::isAllowedTarget);
                 if (validTargets.isEmpty())
                     return null;
-                Character target = randomElem(validTargets);
-                return new CardPlaying(card, random.nextInt(7), target);
+                Character target = randomElem(game, validTargets);
+                return new CardPlaying(card, random(board).roll(7), target);
             } else { // Minion card without battle cry target
-                return new CardPlaying(card, random.nextInt(7));
+                return new CardPlaying(card, random(board).roll(7));
             }
         } else {
             if (card.getTargetNeed().hasTarget()) { // Spell or Weapon card with target
-                List<Character> validTargets = game.getTargets(targetNeed::isAllowedTarget);
+                List<Character> validTargets = collectTargets(game, targetNeed::isAllowedTarget);
                 if (validTargets.isEmpty())
                     return null;
-                Character target = randomElem(validTargets);
+                Character target = randomElem(game, validTargets);
                 return new CardPlaying(card, target);
             } else { // Spell or Weapon card without target
                 return new CardPlaying(card);
@@ -148,9 +160,36 @@ public class RandomPolicy implements DefaultPolicy {
         }
     }
 
-    private <T> T randomElem(List<T> list) {
+    /**
+     * Collects the targets in the given {@code Game} which satisfy the given {@link Predicate} to the
+     * buffer of the current thread. The returned list is only valid until the next call of this method.
+     */
+    private List<Character> collectTargets(Game game, Predicate<? super Character> filter) {
+        List<Character> targets = targetBuffer.get();
+        targets.clear();
+        game.collectTargets(targets, filter);
+        return targets;
+    }
+
+    /**
+     * Returns the {@link RandomProvider} of the given {@code Board}, so the random decisions of the policy
+     * are made the same way as the random events of the game, and are recorded along with them.
+     */
+    static RandomProvider random(Board board) {
+        return board.getGame().getRandomProvider();
+    }
+
+    // Returns the index of a randomly selected set bit of the given non-zero mask
+    private int randomIndex(Game game, int mask) {
+        assert mask != 0;
+        for (int skipped = game.getRandomProvider().roll(Integer.bitCount(mask)); skipped > 0; skipped--)
+            mask &= mask - 1;
+        return Integer.numberOfTrailingZeros(mask);
+    }
+
+    private <T> T randomElem(Game game, List<T> list) {
         assert !list.isEmpty();
-        return list.get(random.nextInt(list.size()));
+        return list.get(game.getRandomProvider().roll(list.size()));
     }
 
     public void close() {}
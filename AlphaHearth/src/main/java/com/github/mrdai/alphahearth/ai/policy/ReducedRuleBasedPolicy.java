@@ -6,15 +6,14 @@ import com.github.mrdai.alphahearth.move.SingleMove;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Random;
-
 /**
  * A {@code DefaultPolicy} who produces {@link Move} based on predefined rules.
  */
 public class ReducedRuleBasedPolicy implements DefaultPolicy {
     private static final Logger LOG = LoggerFactory.getLogger(ReducedRuleBasedPolicy.class);
 
-    private final Random random = new Random();
+    private static final int PROBABILITY_SCALE = 1 << 24;
+
     private final float p;
     private final RandomPolicy randomPolicy = new RandomPolicy();
     private final ExpertRuleBasedPolicy ruleBasedPolicy = new ExpertRuleBasedPolicy();
@@ -25,25 +24,26 @@ public class ReducedRuleBasedPolicy implements DefaultPolicy {
 
     @Override
     public Move produceMode(Board board) {
-        board = board.clone();
-        Move.Builder builder = new Move.Builder();
-        int i = 0;
-        while (i < 30) {
-            SingleMove move = produceSingleMove(board);
-            if (move == null)
-                break;
-            move.applyTo(board);
-            builder.addMove(move);
-            i++;
-        }
-        return builder.build();
+        return board.tryOut((trialBoard) -> {
+            Move.Builder builder = new Move.Builder();
+            int i = 0;
+            while (i < 30) {
+                SingleMove move = produceSingleMove(trialBoard);
+                if (move == null)
+                    break;
+                move.applyTo(trialBoard);
+                builder.addMove(move);
+                i++;
+            }
+            return builder.build();
+        });
     }
 
     SingleMove produceSingleMove(Board board) {
         SingleMove move;
 
         // Generate `CardPlaying` move
-        if (random.nextFloat() <= p)
+        if (withProbability(board))
             move = ruleBasedPolicy.cardPlaying(board);
         else
             move = randomPolicy.cardPlaying(board);
@@ -53,7 +53,7 @@ public class ReducedRuleBasedPolicy implements DefaultPolicy {
         }
 
         // Generate `DirectAttacking` move
-        if (random.nextFloat() <= p)
+        if (withProbability(board))
             move = ruleBasedPolicy.minionAttack(board);
         else
             move = randomPolicy.minionAttack(board);
@@ -62,7 +62,7 @@ public class ReducedRuleBasedPolicy implements DefaultPolicy {
             return move;
         }
 
-        if (random.nextFloat() <= p)
+        if (withProbability(board))
             move = ruleBasedPolicy.heroAttack(board);
         else
             move = randomPolicy.heroAttack(board);
@@ -72,11 +72,16 @@ public class ReducedRuleBasedPolicy implements DefaultPolicy {
         }
 
         // Generate `HeroPowerPlaying` move
-        if (random.nextFloat() <= p)
+        if (withProbability(board))
             return ruleBasedPolicy.heroPowerPlaying(board);
         else
             return randomPolicy.heroPowerPlaying(board);
     }
 
+    // Returns true with the probability `p`, rolled by the game of the given board like the other random decisions
+    private boolean withProbability(Board board) {
+        return RandomPolicy.random(board).roll(PROBABILITY_SCALE) < p * PROBABILITY_SCALE;
+    }
+
     public void close() {}
 }
@@ -1,6 +1,7 @@
 package com.github.mrdai.alphahearth.ai.policy;
 
 import com.github.mrdai.alphahearth.ai.Node;
+import com.github.mrdai.alphahearth.ai.TreeStore;
 
 /**
  * A {@code TreePolicy} is used to select or create a leaf node from the nodes already contained
@@ -15,4 +16,13 @@ public interface TreePolicy {
      * @return the best visited child of the given {@code Node}s.
      */
     public Node bestChild(Node node);
+
+    /**
+     * Selects and returns the best visited child of the given node of the given {@link TreeStore}.
+     *
+     * @param store the {@code TreeStore} of the given node.
+     * @param node the given node.
+     * @return the best visited child of the given node.
+     */
+    public int bestChild(TreeStore store, int node);
 }
@@ -1,6 +1,7 @@
 package com.github.mrdai.alphahearth.ai.policy;
 
 import com.github.mrdai.alphahearth.ai.Node;
+import com.github.mrdai.alphahearth.ai.TreeStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,14 +35,42 @@ public class UCBPolicy implements TreePolicy {
     public Node bestChild(Node node) {
         double currentMax = Double.MAX_VALUE * -1;
         Node maxNode = null;
-        for (Node child : node.visitedChildren) {
-            double uct = child.reward / child.gameCount
-                         + 2 * cp * Math.sqrt(2 * Math.log(node.gameCount) / child.gameCount);
+        int visitedCount = node.getVisitedCount();
+        double logGameCount = Math.log(node.getSelectionGameCount());
+        for (int i = 0; i < visitedCount; i++) {
+            Node child = node.getChild(i);
+            double uct = uct(child.getSelectionAverageReward(), child.getSelectionGameCount(), logGameCount);
             if (uct > currentMax) {
                 currentMax = uct;
                 maxNode = child;
             }
         }
-        return maxNode == null ? node.visitedChildren.peekFirst() : maxNode;
+        if (maxNode == null && visitedCount > 0)
+            return node.getChild(0);
+        return maxNode;
+    }
+
+    @Override
+    public int bestChild(TreeStore store, int node) {
+        double currentMax = Double.MAX_VALUE * -1;
+        int maxChild = TreeStore.NONE;
+        int firstChild = store.getFirstChild(node);
+        int visitedEnd = firstChild + store.getVisitedCount(node);
+        double logGameCount = Math.log(store.getSelectionGameCount(node));
+        // The children are stored next to each other, so their statistics are read sequentially
+        for (int child = firstChild; child < visitedEnd; child++) {
+            double uct = uct(store.getSelectionAverageReward(child), store.getSelectionGameCount(child), logGameCount);
+            if (uct > currentMax) {
+                currentMax = uct;
+                maxChild = child;
+            }
+        }
+        if (maxChild == TreeStore.NONE && visitedEnd > firstChild)
+            return firstChild;
+        return maxChild;
+    }
+
+    private double uct(double averageReward, long gameCount, double logParentGameCount) {
+        return averageReward + 2 * cp * Math.sqrt(2 * logParentGameCount / gameCount);
     }
 }
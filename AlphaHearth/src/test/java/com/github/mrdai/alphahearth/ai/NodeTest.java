@@ -0,0 +1,122 @@
+package com.github.mrdai.alphahearth.ai;
+
+import com.github.mrdai.alphahearth.move.Move;
+import info.hearthsim.brazier.game.PlayerId;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests searching a tree of {@link Node}s from multiple threads at the same time.
+ */
+public final class NodeTest {
+    private static final PlayerId PLAYER1 = new PlayerId("p1");
+    private static final PlayerId PLAYER2 = new PlayerId("p2");
+
+    private static final int ITER_NUM = 2000;
+    private static final int CHILD_NUM = 4;
+
+    private static List<Move> moves(int count) {
+        return Collections.nCopies(count, Move.EMPTY_MOVE);
+    }
+
+    private static PlayerId opponentOf(PlayerId playerId) {
+        return playerId == PLAYER1 ? PLAYER2 : PLAYER1;
+    }
+
+    @Test
+    public void testSingleExpansion() throws InterruptedException {
+        for (int round = 0; round < 100; round++) {
+            Node root = new Node(PLAYER1);
+            AtomicInteger winnerNum = new AtomicInteger(0);
+            TestThreads.runConcurrently(() -> {
+                if (root.tryStartExpansion()) {
+                    winnerNum.incrementAndGet();
+                    root.expand(moves(CHILD_NUM), PLAYER2);
+                }
+            });
+            assertEquals(1, winnerNum.get());
+            assertTrue(root.isExpanded());
+            assertEquals(CHILD_NUM, root.getChildCount());
+        }
+    }
+
+    @Test
+    public void testEachChildPolledOnce() throws InterruptedException {
+        int childNum = 10000;
+        Node root = new Node(PLAYER1);
+        root.expand(moves(childNum), PLAYER2);
+
+        Map<Node, Boolean> polled = new ConcurrentHashMap<>();
+        AtomicInteger pollNum = new AtomicInteger(0);
+        TestThreads.runConcurrently(() -> {
+            Node child;
+            while ((child = root.pollUnvisitedChild()) != null) {
+                pollNum.incrementAndGet();
+                assertNull("Child polled twice", polled.put(child, Boolean.TRUE));
+            }
+        });
+
+        assertEquals(childNum, pollNum.get());
+        assertEquals(childNum, root.getVisitedCount());
+        assertEquals(0, root.getUnvisitedCount());
+        assertNull(root.pollUnvisitedChild());
+    }
+
+    @Test
+    public void testParallelIterations() throws InterruptedException {
+        Node root = new Node(PLAYER1);
+        Map<Node, AtomicInteger> leafNums = new ConcurrentHashMap<>();
+        List<Node> nodes = Collections.synchronizedList(new ArrayList<>());
+        nodes.add(root);
+
+        TestThreads.runConcurrently(() -> {
+            Random random = new Random();
+            for (int i = 0; i < ITER_NUM; i++) {
+                Node node = root;
+                node.addVirtualLoss();
+                while (true) {
+                    if (!node.isExpanded()) {
+                        if (!node.tryStartExpansion())
+                            break;
+                        node.expand(moves(CHILD_NUM), opponentOf(node.ownerId));
+                    }
+                    Node child = node.pollUnvisitedChild();
+                    if (child != null) {
+                        nodes.add(child);
+                        node = child;
+                        node.addVirtualLoss();
+                        break;
+                    }
+                    node = node.getChild(random.nextInt(node.getVisitedCount()));
+                    node.addVirtualLoss();
+                }
+                leafNums.computeIfAbsent(node, (key) -> new AtomicInteger()).incrementAndGet();
+                node.backPropagate(PLAYER1, 1.0, 1.0);
+                node.revertVirtualLoss();
+            }
+        });
+
+        assertEquals(TestThreads.THREAD_NUM * ITER_NUM, root.getGameCount());
+        for (Node node : nodes) {
+            assertEquals("Virtual loss not reverted", node.getGameCount(), node.getSelectionGameCount());
+
+            long childGameCount = 0;
+            for (Node child : node.getVisitedChildren())
+                childGameCount += child.getGameCount();
+            AtomicInteger leafNum = leafNums.get(node);
+            assertEquals(childGameCount + (leafNum != null ? leafNum.get() : 0), node.getGameCount());
+
+            double expectedReward = node.ownerId == PLAYER1 ? node.getGameCount() : -node.getGameCount();
+            assertEquals(expectedReward, node.getReward(), 0.0);
+        }
+    }
+}
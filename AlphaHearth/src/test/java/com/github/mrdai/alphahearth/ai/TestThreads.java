@@ -0,0 +1,47 @@
+package com.github.mrdai.alphahearth.ai;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs the tasks of the concurrency tests on multiple threads.
+ */
+final class TestThreads {
+    /**
+     * The number of threads running the task given to {@link #runConcurrently(Runnable)}.
+     */
+    static final int THREAD_NUM = 8;
+
+    /**
+     * Runs the given task on {@link #THREAD_NUM} threads started at the same time, and rethrows the first
+     * error of the task.
+     */
+    static void runConcurrently(Runnable task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>(THREAD_NUM);
+        for (int i = 0; i < THREAD_NUM; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run();
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads)
+            thread.join();
+        if (!errors.isEmpty())
+            throw new AssertionError(errors.get(0));
+    }
+
+    private TestThreads() {
+        throw new AssertionError();
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.mrdai.alphahearth.ai;
+
+import com.github.mrdai.alphahearth.ai.TranspositionTable.Entry;
+import com.github.mrdai.alphahearth.ai.TranspositionTable.ReplacementPolicy;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the lookups, the replacement policies and the sizing of {@link TranspositionTable}.
+ */
+public final class TranspositionTableTest {
+    @Test
+    public void testHitAndMiss() {
+        TranspositionTable table = new TranspositionTable(16, ReplacementPolicy.ALWAYS_REPLACE);
+        assertNull(table.tryGet(1));
+
+        Entry entry = table.getOrCreate(1);
+        assertEquals(1, entry.getStateHash());
+        assertEquals(0, entry.getGameCount(), 0);
+        assertSame(entry, table.getOrCreate(1));
+        assertSame(entry, table.tryGet(1));
+        assertNull(table.tryGet(2));
+
+        table.clear();
+        assertNull(table.tryGet(1));
+        assertNotSame(entry, table.getOrCreate(1));
+    }
+
+    @Test
+    public void testCollisionMisses() {
+        // A single slot makes every state collide.
+        TranspositionTable table = new TranspositionTable(1, ReplacementPolicy.ALWAYS_REPLACE);
+        Entry entry1 = table.getOrCreate(1);
+        assertNull(table.tryGet(2));
+
+        Entry entry2 = table.getOrCreate(2);
+        assertNotSame(entry1, entry2);
+        assertEquals(2, entry2.getStateHash());
+        assertSame(entry2, table.tryGet(2));
+        assertNull(table.tryGet(1));
+    }
+
+    @Test
+    public void testAlwaysReplace() {
+        TranspositionTable table = new TranspositionTable(1, ReplacementPolicy.ALWAYS_REPLACE);
+        Entry visited = table.getOrCreate(1);
+        visited.update(1);
+        visited.update(0);
+
+        Entry entry2 = table.getOrCreate(2);
+        assertSame(entry2, table.tryGet(2));
+        assertNull(table.tryGet(1));
+        assertNotSame(visited, table.getOrCreate(1));
+    }
+
+    @Test
+    public void testKeepVisited() {
+        TranspositionTable table = new TranspositionTable(1, ReplacementPolicy.KEEP_VISITED);
+        Entry entry1 = table.getOrCreate(1);
+        entry1.update(1);
+
+        // Visited only once, so it is still replaced.
+        Entry entry2 = table.getOrCreate(2);
+        assertSame(entry2, table.tryGet(2));
+        assertNull(table.tryGet(1));
+
+        entry2.update(1);
+        entry2.update(0);
+        Entry unshared = table.getOrCreate(3);
+        assertEquals(3, unshared.getStateHash());
+        assertNull(table.tryGet(3));
+        assertNotSame(unshared, table.getOrCreate(3));
+        assertSame(entry2, table.tryGet(2));
+        assertEquals(0.5, entry2.getAverageReward(), 0);
+    }
+
+    @Test
+    public void testCapacityRounding() {
+        assertEquals(1, new TranspositionTable(1, ReplacementPolicy.ALWAYS_REPLACE).capacity());
+        assertEquals(8, new TranspositionTable(5, ReplacementPolicy.ALWAYS_REPLACE).capacity());
+        assertEquals(8, new TranspositionTable(8, ReplacementPolicy.ALWAYS_REPLACE).capacity());
+        assertEquals(16, new TranspositionTable(9, ReplacementPolicy.ALWAYS_REPLACE).capacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroCapacity() {
+        new TranspositionTable(0, ReplacementPolicy.ALWAYS_REPLACE);
+    }
+
+    @Test
+    public void testMemoryCap() {
+        int bytes = TranspositionTable.BYTES_PER_ENTRY;
+        // The capacity is rounded down, so the table stays below the cap.
+        assertEquals(1024, TranspositionTable.withMemoryCap(1024L * bytes, ReplacementPolicy.KEEP_VISITED).capacity());
+        assertEquals(512, TranspositionTable.withMemoryCap(1000L * bytes, ReplacementPolicy.KEEP_VISITED).capacity());
+        assertEquals(2, TranspositionTable.withMemoryCap(3L * bytes, ReplacementPolicy.KEEP_VISITED).capacity());
+
+        // Caps too small for a single entry still give a usable table.
+        assertEquals(1, TranspositionTable.withMemoryCap(bytes, ReplacementPolicy.KEEP_VISITED).capacity());
+        assertEquals(1, TranspositionTable.withMemoryCap(1, ReplacementPolicy.KEEP_VISITED).capacity());
+        assertEquals(1, TranspositionTable.withMemoryCap(0, ReplacementPolicy.KEEP_VISITED).capacity());
+    }
+
+    @Test
+    public void testConcurrentGetOrCreate() throws InterruptedException {
+        for (int round = 0; round < 200; round++) {
+            TranspositionTable table = new TranspositionTable(16, ReplacementPolicy.KEEP_VISITED);
+            AtomicReference<Entry> firstEntry = new AtomicReference<>();
+            TestThreads.runConcurrently(() -> {
+                Entry entry = table.getOrCreate(42);
+                entry.update(1);
+                if (!firstEntry.compareAndSet(null, entry))
+                    assertSame(firstEntry.get(), entry);
+            });
+            assertSame(firstEntry.get(), table.tryGet(42));
+            assertEquals(TestThreads.THREAD_NUM, table.tryGet(42).getGameCount(), 0);
+        }
+    }
+}
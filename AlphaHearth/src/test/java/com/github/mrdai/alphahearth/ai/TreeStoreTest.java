@@ -0,0 +1,175 @@
+package com.github.mrdai.alphahearth.ai;
+
+import com.github.mrdai.alphahearth.move.Move;
+import info.hearthsim.brazier.game.PlayerId;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link TreeStore}, comparing it with the equivalent trees of {@link Node}s where possible.
+ */
+public final class TreeStoreTest {
+    private static final PlayerId PLAYER1 = new PlayerId("p1");
+    private static final PlayerId PLAYER2 = new PlayerId("p2");
+
+
+    private static List<Move> moves(int count) {
+        return Collections.nCopies(count, Move.EMPTY_MOVE);
+    }
+
+    @Test
+    public void testExpansion() {
+        TreeStore store = new TreeStore();
+        int root = store.newRoots(1, PLAYER1);
+        Move move1 = Move.EMPTY_MOVE.withNewMove(null);
+        Move move2 = move1.withNewMove(null);
+
+        assertFalse(store.isExpanded(root));
+        assertEquals(TreeStore.NONE, store.getFirstChild(root));
+        assertTrue(store.tryStartExpansion(root));
+        assertFalse(store.tryStartExpansion(root));
+        assertFalse(store.isExpanded(root));
+        store.expand(root, Arrays.asList(move1, move2), PLAYER2);
+
+        assertTrue(store.isExpanded(root));
+        assertEquals(2, store.getChildCount(root));
+        int firstChild = store.getFirstChild(root);
+        assertSame(move1, store.getMove(firstChild));
+        assertSame(move2, store.getMove(firstChild + 1));
+        assertSame(PLAYER2, store.getOwnerId(firstChild));
+        assertEquals(root, store.getParent(firstChild + 1));
+        assertNull(store.getMove(root));
+        assertEquals(TreeStore.NONE, store.getParent(root));
+    }
+
+    @Test
+    public void testSingleExpansion() throws InterruptedException {
+        TreeStore store = new TreeStore();
+        for (int round = 0; round < 100; round++) {
+            store.clear();
+            int root = store.newRoots(1, PLAYER1);
+            AtomicInteger winnerNum = new AtomicInteger(0);
+            TestThreads.runConcurrently(() -> {
+                if (store.tryStartExpansion(root)) {
+                    winnerNum.incrementAndGet();
+                    store.expand(root, moves(4), PLAYER2);
+                }
+            });
+            assertEquals(1, winnerNum.get());
+            assertEquals(4, store.getChildCount(root));
+        }
+    }
+
+    @Test
+    public void testEachChildPolledOnce() throws InterruptedException {
+        int childNum = 10000;
+        TreeStore store = new TreeStore();
+        int root = store.newRoots(1, PLAYER1);
+        store.expand(root, moves(childNum), PLAYER2);
+        int firstChild = store.getFirstChild(root);
+
+        AtomicIntegerArray pollNums = new AtomicIntegerArray(childNum);
+        TestThreads.runConcurrently(() -> {
+            int child;
+            while ((child = store.pollUnvisitedChild(root)) != TreeStore.NONE)
+                pollNums.incrementAndGet(child - firstChild);
+        });
+
+        for (int i = 0; i < childNum; i++)
+            assertEquals("Poll count of child " + i, 1, pollNums.get(i));
+        assertEquals(childNum, store.getVisitedCount(root));
+        assertEquals(TreeStore.NONE, store.pollUnvisitedChild(root));
+    }
+
+    @Test
+    public void testBackPropagateMatchesNode() {
+        double plyPenalty = Node.DEFAULT_PLY_PENALTY;
+        TreeStore store = new TreeStore();
+        int storeRoot = store.newRoots(1, PLAYER1);
+        Node nodeRoot = new Node(PLAYER1);
+
+        // Builds the same path of 5 nodes of alternating owners in both trees
+        int storeLeaf = storeRoot;
+        Node nodeLeaf = nodeRoot;
+        PlayerId owner = PLAYER1;
+        List<Integer> storePath = new ArrayList<>();
+        List<Node> nodePath = new ArrayList<>();
+        storePath.add(storeRoot);
+        nodePath.add(nodeRoot);
+        for (int depth = 1; depth < 5; depth++) {
+            owner = owner == PLAYER1 ? PLAYER2 : PLAYER1;
+            store.expand(storeLeaf, moves(2), owner);
+            storeLeaf = store.pollUnvisitedChild(storeLeaf);
+            nodeLeaf.expand(moves(2), owner);
+            nodeLeaf = nodeLeaf.pollUnvisitedChild();
+            storePath.add(storeLeaf);
+            nodePath.add(nodeLeaf);
+        }
+
+        double[] scores = {1.0, 0.5, 0.25};
+        PlayerId[] winners = {PLAYER1, PLAYER2, PLAYER2};
+        for (int i = 0; i < scores.length; i++) {
+            double remaining = store.backPropagate(storeLeaf, winners[i], scores[i], plyPenalty);
+            nodeLeaf.backPropagate(winners[i], scores[i], plyPenalty);
+            assertEquals(scores[i] * Math.pow(plyPenalty, storePath.size()), remaining, 1e-12);
+        }
+
+        for (int i = 0; i < storePath.size(); i++) {
+            int storeNode = storePath.get(i);
+            Node node = nodePath.get(i);
+            assertEquals(node.getGameCount(), store.getGameCount(storeNode));
+            assertEquals(node.getReward(), store.getReward(storeNode), 1e-12);
+            assertEquals(node.getAverageReward(), store.getAverageReward(storeNode), 1e-12);
+        }
+    }
+
+    @Test
+    public void testVirtualLoss() {
+        TreeStore store = new TreeStore();
+        int root = store.newRoots(1, PLAYER1);
+        store.expand(root, moves(1), PLAYER2);
+        int child = store.pollUnvisitedChild(root);
+        store.backPropagate(child, PLAYER2, 1.0, 1.0);
+
+        store.addVirtualLoss(root);
+        store.addVirtualLoss(child);
+        assertEquals(2, store.getSelectionGameCount(child));
+        assertEquals((1.0 + Node.VIRTUAL_LOSS_REWARD) / 2, store.getSelectionAverageReward(child), 0.0);
+
+        store.revertVirtualLoss(child);
+        assertEquals(1, store.getSelectionGameCount(root));
+        assertEquals(1, store.getSelectionGameCount(child));
+        assertEquals(1.0, store.getSelectionAverageReward(child), 0.0);
+    }
+
+    @Test
+    public void testClearRecyclesNodes() {
+        TreeStore store = new TreeStore();
+        int root = store.newRoots(1, PLAYER1);
+        store.expand(root, moves(3000), PLAYER2);
+        int child = store.pollUnvisitedChild(root);
+        store.backPropagate(child, PLAYER1, 1.0, 1.0);
+        assertEquals(3001, store.size());
+
+        store.clear();
+        assertEquals(0, store.size());
+        int newRoot = store.newRoots(2, PLAYER2);
+        assertEquals(root, newRoot);
+        assertEquals(2, store.size());
+        for (int node = newRoot; node < newRoot + 2; node++) {
+            assertFalse(store.isExpanded(node));
+            assertEquals(0, store.getGameCount(node));
+            assertEquals(0.0, store.getReward(node), 0.0);
+            assertNull(store.getTransposition(node));
+            assertSame(PLAYER2, store.getOwnerId(node));
+        }
+    }
+}
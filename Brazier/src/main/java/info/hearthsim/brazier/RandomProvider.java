@@ -34,4 +34,14 @@ public interface RandomProvider {
 
         return minValue + roll(maxValue - minValue + 1);
     };
+
+    /**
+     * Returns a {@code RandomProvider} for a copy of the game using this provider. Providers supporting it
+     * (e.g. {@link SplitMixRandomProvider}) return a new provider with an independent stream, so the copies
+     * of a game do not share any mutable state; the default implementation returns this provider itself,
+     * which then must be thread-safe if the copies are used by multiple threads.
+     */
+    public default RandomProvider fork() {
+        return this;
+    }
 }
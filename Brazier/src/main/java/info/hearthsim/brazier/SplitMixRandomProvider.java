@@ -0,0 +1,102 @@
+package info.hearthsim.brazier;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fast, seedable and splittable {@link RandomProvider} based on the SplitMix64 generator, which is also
+ * used by {@link java.util.SplittableRandom}.
+ * <p>
+ * A {@code SplitMixRandomProvider} can be {@link #fork() forked} into an independent stream, which is
+ * what {@link info.hearthsim.brazier.game.Game#copy() Game.copy()} does, so every copy of a game rolls
+ * with its own generator instead of contending with the other copies. Forking depends only on the seed,
+ * the number of rolls and the number of earlier forks, so a game created with an explicit seed and its
+ * copies can be replayed exactly as long as they are rolled and copied in the same order.
+ * <p>
+ * Rolling is not thread-safe, as a {@code SplitMixRandomProvider} is meant to be confined to the
+ * thread of its game; however, {@code fork()} may be invoked concurrently as long as no thread rolls
+ * the provider in the meantime, just like a {@code Game} may be copied concurrently.
+ */
+public final class SplitMixRandomProvider implements RandomProvider {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final AtomicLong SEED_GENERATOR =
+        new AtomicLong(mix64(System.currentTimeMillis()) ^ mix64(System.nanoTime()));
+
+    private long state;
+    private final AtomicLong forkCount;
+
+    /**
+     * Creates a {@code SplitMixRandomProvider} with a seed which is very likely to be different from
+     * the seed of any other {@code SplitMixRandomProvider} created in this JVM.
+     */
+    public SplitMixRandomProvider() {
+        this(mix64(SEED_GENERATOR.getAndAdd(2 * GOLDEN_GAMMA)));
+    }
+
+    /**
+     * Creates a {@code SplitMixRandomProvider} with the given seed. Providers with the same seed roll the
+     * same sequence of numbers.
+     */
+    public SplitMixRandomProvider(long seed) {
+        this.state = seed;
+        this.forkCount = new AtomicLong(0);
+    }
+
+    /**
+     * The finalizer of SplitMix64, mixing the bits of the given value.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix64(state);
+    }
+
+    private int next31() {
+        return (int) (nextLong() >>> 33);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the given bound is not positive.
+     */
+    @Override
+    public int roll(int bound) {
+        if (bound <= 0)
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+
+        // The same rejection sampling as `java.util.Random.nextInt(int)` to avoid the modulo bias.
+        int r = next31();
+        int m = bound - 1;
+        if ((bound & m) == 0)
+            return (int) ((bound * (long) r) >> 31);
+        for (int u = r; u - (r = u % bound) + m < 0; u = next31())
+            ;
+        return r;
+    }
+
+    /**
+     * Returns a new {@code SplitMixRandomProvider} whose stream is independent of the stream of this
+     * provider and of the streams of its other forks. The state of this provider is not changed, apart
+     * from counting the forks.
+     */
+    @Override
+    public SplitMixRandomProvider fork() {
+        return new SplitMixRandomProvider(nextForkSeed());
+    }
+
+    /**
+     * Returns the seed of the next {@link #fork() fork} of this provider and counts it as a fork, without
+     * creating the forked provider. Like {@code fork()}, this method may be invoked concurrently as long as
+     * no thread rolls the provider in the meantime.
+     */
+    public long nextForkSeed() {
+        long forkIndex = forkCount.incrementAndGet();
+        return mix64(state ^ mix64(forkIndex * GOLDEN_GAMMA));
+    }
+}
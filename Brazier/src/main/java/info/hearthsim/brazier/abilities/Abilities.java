@@ -258,8 +258,17 @@ public final class Abilities {
         @NamedArg("target") AuraTargetProvider<? super Self, ? extends Target> target,
         @NamedArg("filter") AuraFilter<? super Self, ? super Target> filter,
         @NamedArg("aura") Aura<? super Self, ? super Target> aura) {
+        ExceptionHelper.checkNotNullArgument(target, "target");
+        ExceptionHelper.checkNotNullArgument(filter, "filter");
+        ExceptionHelper.checkNotNullArgument(aura, "aura");
 
-        return aura(target, filter, aura, false);
+        return (CopyableAbility<Self>) (Self self, boolean toCopy) -> {
+            UndoAction<Game> undoRef = self.getGame()
+                .addAura(new ActiveAura<>(self, target, filter, aura), toCopy);
+            return (s) -> {
+                undoRef.undo(s.getGame());
+            };
+        };
     }
 
     public static <Self extends Entity, Target extends Entity> Ability<Self> aura(
@@ -37,7 +37,8 @@ public interface Ability <Self> {
     public UndoAction<Self> activate(Self self);
 
     /**
-     * Merges the given collection of {@code Ability}s to one {@code Ability}.
+     * Merges the given collection of {@code Ability}s to one {@code Ability}. The merged {@code Ability}
+     * is a {@link CopyableAbility} if all the given {@code Ability}s are.
      *
      * @throws NullPointerException if any of the given {@code Ability}s is {@code null}.
      */
@@ -51,6 +52,21 @@ public interface Ability <Self> {
 
         List<Ability<? super Self>> abilitiesCopy = new ArrayList<>(abilities);
 
+        boolean copyable = true;
+        for (Ability<? super Self> ability : abilitiesCopy)
+            copyable &= ability instanceof CopyableAbility;
+        if (copyable) {
+            return (CopyableAbility<Self>) (Self self, boolean toCopy) -> {
+                UndoAction.Builder<Self> result = new UndoAction.Builder<>(abilitiesCopy.size());
+                for (Ability<? super Self> ability : abilitiesCopy) {
+                    @SuppressWarnings("unchecked")
+                    CopyableAbility<Self> copyableAbility = (CopyableAbility<Self>) ability;
+                    result.add(copyableAbility.activate(self, toCopy));
+                }
+                return result;
+            };
+        }
+
         return (Self self) -> {
             UndoAction.Builder<Self> result = new UndoAction.Builder<>(abilitiesCopy.size());
             for (Ability<? super Self> ability : abilitiesCopy) {
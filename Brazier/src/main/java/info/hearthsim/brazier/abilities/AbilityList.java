@@ -1,6 +1,7 @@
 package info.hearthsim.brazier.abilities;
 
 import info.hearthsim.brazier.game.Entity;
+import info.hearthsim.brazier.game.GameJournal;
 import info.hearthsim.brazier.util.UndoAction;
 import org.jtrim.utils.ExceptionHelper;
 
@@ -10,6 +11,13 @@ import java.util.List;
 /**
  * {@link List} of {@link Ability}, providing methods {@link #addAndActivateAbility(Ability)}
  * and {@link #deactivate()} to manage a list of {@code Ability}s.
+ * <p>
+ * {@link CopyableAbility}s added with {@link #addAndActivateCopyableAbility(CopyableAbility)} are copied
+ * along with the game, so the copies made by {@link #copyForGame(Entity, boolean)} keep them activated
+ * without activating them again.
+ * <p>
+ * The changes of the list are recorded to the {@link GameJournal} of the game of its object, and so are the
+ * registrations of the abilities, by the containers they are registered to.
  */
 public final class AbilityList<Self extends Entity> {
     private final Self self;
@@ -35,9 +43,40 @@ public final class AbilityList<Self extends Entity> {
      * @see #addAndActivateAbility(Ability, boolean, boolean)
      */
     public AbilityList<Self> copyFor(Self other, boolean copyAbilities) {
+        return copyFor(other, copyAbilities, false);
+    }
+
+    /**
+     * Creates a copy of this {@code AbilityList} for the copy of its object in a copy of its game. Unlike
+     * {@link #copyFor(Entity, boolean)}, the abilities added with
+     * {@link #addAndActivateCopyableAbility(CopyableAbility)} are kept in the copy, as their registrations
+     * were copied along with the game.
+     *
+     * @param other the copy of the ability actor in the copied game.
+     * @param copyAbilities whether to copy all the abilities added to this {@code AbilityList},
+     *                      regardless of their {@code toCopy} field.
+     */
+    public AbilityList<Self> copyForGame(Self other, boolean copyAbilities) {
+        return copyFor(other, copyAbilities, true);
+    }
+
+    /**
+     * Returns the number of abilities added to this {@code AbilityList}.
+     */
+    public int getAbilityCount() {
+        return abilities.size();
+    }
+
+    private AbilityList<Self> copyFor(Self other, boolean copyAbilities, boolean gameCopy) {
         AbilityList<Self> list = new AbilityList<>(other);
         for (AbilityRef ability : abilities) {
-            if (ability.toCopy) {
+            if (ability.copiedWithGame) {
+                if (gameCopy)
+                    list.abilities.add(ability);
+                else if (copyAbilities)
+                    list.addAndActivateAbility(ability.ability);
+            }
+            else if (ability.toCopy) {
                 if (!ability.needsReactivate)
                     list.abilities.add(ability);
                 else
@@ -61,7 +100,7 @@ public final class AbilityList<Self extends Entity> {
      *
      * @see #addAndActivateAbility(Ability, boolean, boolean)
      */
-    public UndoAction<AbilityList> addAndActivateAbility(Ability<? super Self> ability) {
+    public UndoAction<AbilityList<Self>> addAndActivateAbility(Ability<? super Self> ability) {
         return addAndActivateAbility(ability, false, false);
     }
 
@@ -79,20 +118,59 @@ public final class AbilityList<Self extends Entity> {
      *
      * @see #copyFor(Entity, boolean)
      */
-    public UndoAction<AbilityList> addAndActivateAbility(Ability<? super Self> ability,
+    public UndoAction<AbilityList<Self>> addAndActivateAbility(Ability<? super Self> ability,
                                                          boolean toCopy, boolean needsReactivate) {
         ExceptionHelper.checkNotNullArgument(ability, "ability");
 
         UndoAction<? super Self> registerRef = ability.activate(self);
-        AbilityRef toBeAdded = new AbilityRef(ability, registerRef, toCopy, needsReactivate);
-        abilities.add(toBeAdded);
+        AbilityRef toBeAdded = new AbilityRef(ability, registerRef, toCopy, needsReactivate, false);
+        addAbility(toBeAdded);
 
         return (al) -> {
             registerRef.undo(self);
-            al.abilities.remove(toBeAdded);
+            al.removeAbility(toBeAdded);
         };
     }
 
+    /**
+     * Adds the given ability to the {@code AbilityList} and activates it for the underlying object, with
+     * its registrations copied along with the game. The copies of this list made by
+     * {@link #copyForGame(Entity, boolean)} keep the ability without activating it again.
+     *
+     * @param ability the given ability.
+     */
+    public UndoAction<AbilityList<Self>> addAndActivateCopyableAbility(CopyableAbility<? super Self> ability) {
+        ExceptionHelper.checkNotNullArgument(ability, "ability");
+
+        UndoAction<? super Self> registerRef = ability.activate(self, true);
+        AbilityRef toBeAdded = new AbilityRef(ability, registerRef, false, false, true);
+        addAbility(toBeAdded);
+
+        return (al) -> {
+            registerRef.undo(self);
+            al.removeAbility(toBeAdded);
+        };
+    }
+
+    private void addAbility(AbilityRef ability) {
+        abilities.add(ability);
+
+        GameJournal journal = self.getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> abilities.remove(ability));
+    }
+
+    private void removeAbility(AbilityRef ability) {
+        int index = abilities.indexOf(ability);
+        if (index < 0)
+            return;
+
+        abilities.remove(index);
+        GameJournal journal = self.getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> abilities.add(index, ability));
+    }
+
     /**
      * Deactivates all the registered abilities.
      */
@@ -108,6 +186,15 @@ public final class AbilityList<Self extends Entity> {
                 continue;
             abilities.get(i).deactivate(self);
         }
+
+        GameJournal journal = self.getGame().getJournal();
+        if (journal.isRecording()) {
+            List<AbilityRef> prevAbilities = new ArrayList<>(abilities);
+            journal.record((game) -> {
+                abilities.clear();
+                abilities.addAll(prevAbilities);
+            });
+        }
         abilities.clear();
     }
 
@@ -119,12 +206,14 @@ public final class AbilityList<Self extends Entity> {
         public final UndoAction<? super Self> registerRef;
         private final boolean toCopy;
         private final boolean needsReactivate;
+        private final boolean copiedWithGame;
 
         public AbilityRef(
             Ability<? super Self> ability,
             UndoAction<? super Self> registerRef,
             boolean toCopy,
-            boolean needsReactivate) {
+            boolean needsReactivate,
+            boolean copiedWithGame) {
             ExceptionHelper.checkNotNullArgument(ability, "ability");
             ExceptionHelper.checkNotNullArgument(registerRef, "registerRef");
 
@@ -132,6 +221,7 @@ public final class AbilityList<Self extends Entity> {
             this.registerRef = registerRef;
             this.toCopy = toCopy;
             this.needsReactivate = needsReactivate;
+            this.copiedWithGame = copiedWithGame;
         }
 
         public void deactivate(Self self) {
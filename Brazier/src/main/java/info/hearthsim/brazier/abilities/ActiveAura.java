@@ -3,13 +3,12 @@ package info.hearthsim.brazier.abilities;
 import info.hearthsim.brazier.game.Entity;
 import info.hearthsim.brazier.game.EntityId;
 import info.hearthsim.brazier.game.Game;
+import info.hearthsim.brazier.game.GameJournal;
 import info.hearthsim.brazier.game.Player;
 import info.hearthsim.brazier.util.UndoAction;
 import org.jtrim.utils.ExceptionHelper;
 
-import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -19,12 +18,23 @@ import java.util.Objects;
  */
 public final class ActiveAura <Source extends Entity, Target extends Entity> implements Entity {
     private final EntityId entityId;
-    private final Source source;
+    private final EntityId sourceId;
+    private final Game game;
+    private Source source;
     private final AuraTargetProvider<? super Source, ? extends Target> targetProvider;
     private final AuraFilter<? super Source, ? super Target> targetFilter;
     private final Aura<? super Source, ? super Target> aura;
+    private final int dependencies;
 
-    private Map<EntityId, UndoAction<Game>> currentlyApplied;
+    /**
+     * The ids of the targets this aura is currently applied to, and the actions removing the aura
+     * from them, stored in the first {@link #appliedCount} elements of the parallel arrays. Auras have
+     * few targets, so the arrays are searched linearly. The arrays are replaced instead of being
+     * modified, and the replacements are recorded to the {@link GameJournal} of the game.
+     */
+    private EntityId[] appliedIds;
+    private UndoAction<Game>[] appliedRefs;
+    private int appliedCount;
 
     /**
      * Creates a {@code ActiveAura} with the designated source of the aura and
@@ -47,21 +57,56 @@ public final class ActiveAura <Source extends Entity, Target extends Entity> imp
         ExceptionHelper.checkNotNullArgument(targetFilter, "targetFilter");
         ExceptionHelper.checkNotNullArgument(aura, "aura");
 
-        this.entityId = new EntityId();
+        this.entityId = source.getOwner().getGame().newEntityId();
+        this.sourceId = source.getEntityId();
+        this.game = source.getGame();
         this.source = source;
         this.targetProvider = targetProvider;
         this.targetFilter = targetFilter;
         this.aura = aura;
-        this.currentlyApplied = new IdentityHashMap<>(2 * Player.MAX_BOARD_SIZE);
+        this.dependencies = targetProvider.getDependencies() | targetFilter.getDependencies();
+        clearApplied();
     }
 
-    private ActiveAura(ActiveAura<Source, Target> other) {
+    /**
+     * Creates a copy of the given {@code ActiveAura} for the given new {@code Game}. As the entities of the
+     * new game may not exist yet, the copy of the source is looked up when it is first needed.
+     */
+    private ActiveAura(Game newGame, ActiveAura<Source, Target> other) {
         this.entityId = other.entityId;
-        this.source = other.source;
+        this.sourceId = other.sourceId;
+        this.game = newGame;
+        this.source = null;
         this.targetProvider = other.targetProvider;
         this.targetFilter = other.targetFilter;
         this.aura = other.aura;
-        this.currentlyApplied = new IdentityHashMap<>(2 * Player.MAX_BOARD_SIZE);
+        this.dependencies = other.dependencies;
+        clearApplied();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static UndoAction<Game>[] newRefArray(int length) {
+        return (UndoAction<Game>[]) new UndoAction<?>[length];
+    }
+
+    private void clearApplied() {
+        this.appliedIds = new EntityId[0];
+        this.appliedRefs = newRefArray(0);
+        this.appliedCount = 0;
+    }
+
+    private void journalApplied() {
+        GameJournal journal = game.getJournal();
+        if (journal.isRecording()) {
+            EntityId[] prevIds = appliedIds;
+            UndoAction<Game>[] prevRefs = appliedRefs;
+            int prevCount = appliedCount;
+            journal.record((g) -> {
+                appliedIds = prevIds;
+                appliedRefs = prevRefs;
+                appliedCount = prevCount;
+            });
+        }
     }
 
     @Override
@@ -69,8 +114,32 @@ public final class ActiveAura <Source extends Entity, Target extends Entity> imp
         return entityId;
     }
 
+    /**
+     * Returns the {@link AuraDependencies} flags of the game state the targets of this aura depend on,
+     * which are the dependencies of its {@link AuraTargetProvider} and {@link AuraFilter} combined.
+     */
+    public int getDependencies() {
+        return dependencies;
+    }
+
     public ActiveAura<Source, Target> copyFor(Game newGame, Player newOwner) {
-        return new ActiveAura<>(this);
+        return new ActiveAura<>(newGame, this);
+    }
+
+    /**
+     * Returns the source of this aura, looking it up in the game of this aura if this is a copy
+     * whose source has not been looked up yet. Returns {@code null} if the copy of the source is not
+     * in the game, in which case the aura does not apply to anything.
+     */
+    @SuppressWarnings("unchecked")
+    private Source tryGetSource() {
+        if (source == null) {
+            source = (Source) game.findEntity(sourceId);
+            GameJournal journal = game.getJournal();
+            if (source != null && journal.isRecording())
+                journal.record((g) -> source = null);
+        }
+        return source;
     }
 
     /**
@@ -83,14 +152,28 @@ public final class ActiveAura <Source extends Entity, Target extends Entity> imp
     public void applyAura(Game game) {
         ExceptionHelper.checkNotNullArgument(game, "game");
 
+        Source source = tryGetSource();
+        if (source == null)
+            return;
         List<? extends Target> targets = targetProvider.getPossibleTargets(game, source);
 
-        Map<EntityId, UndoAction<Game>> newCurrentlyApplied = new IdentityHashMap<>();
+        EntityId[] newAppliedIds = new EntityId[targets.size()];
+        UndoAction<Game>[] newAppliedRefs = newRefArray(targets.size());
+        int newAppliedCount = 0;
 
         boolean didAnything = false;
-        Map<EntityId, UndoAction<Game>> currentlyAppliedCopy = new IdentityHashMap<>(currentlyApplied);
+        // The elements of the copy are set to null as their targets are found.
+        UndoAction<Game>[] remainingRefs = appliedRefs.clone();
         for (Target target : targets) {
-            UndoAction<Game> ref = currentlyAppliedCopy.remove(target.getEntityId());
+            EntityId targetId = target.getEntityId();
+            UndoAction<Game> ref = null;
+            for (int i = 0; i < appliedCount; i++) {
+                if (appliedIds[i] == targetId && remainingRefs[i] != null) {
+                    ref = remainingRefs[i];
+                    remainingRefs[i] = null;
+                    break;
+                }
+            }
             boolean needAura = targetFilter.isApplicable(game, source, target);
 
             if (ref == null) {
@@ -98,13 +181,16 @@ public final class ActiveAura <Source extends Entity, Target extends Entity> imp
                     UndoAction<? super Target> undoRef = aura.applyAura(source, target);
                     Objects.requireNonNull(undoRef, "Aura.applyAura");
 
-                    newCurrentlyApplied.put(target.getEntityId(),
-                        (g) -> undoRef.undo((Target) g.findEntity(target.getEntityId())));
+                    newAppliedIds[newAppliedCount] = targetId;
+                    newAppliedRefs[newAppliedCount] = (g) -> undoRef.undo((Target) g.findEntity(targetId));
+                    newAppliedCount++;
                 }
                 didAnything = true;
             } else {
                 if (needAura) {
-                    newCurrentlyApplied.put(target.getEntityId(), ref);
+                    newAppliedIds[newAppliedCount] = targetId;
+                    newAppliedRefs[newAppliedCount] = ref;
+                    newAppliedCount++;
                 } else {
                     ref.undo(game);
                     didAnything = true;
@@ -112,13 +198,18 @@ public final class ActiveAura <Source extends Entity, Target extends Entity> imp
             }
         }
 
-        for (UndoAction<Game> ref : currentlyAppliedCopy.values()) {
-            didAnything = true;
-            ref.undo(game);
+        for (int i = 0; i < appliedCount; i++) {
+            if (remainingRefs[i] != null) {
+                didAnything = true;
+                remainingRefs[i].undo(game);
+            }
         }
 
         if (didAnything) {
-            currentlyApplied = newCurrentlyApplied;
+            journalApplied();
+            appliedIds = newAppliedIds;
+            appliedRefs = newAppliedRefs;
+            appliedCount = newAppliedCount;
         }
     }
 
@@ -126,16 +217,18 @@ public final class ActiveAura <Source extends Entity, Target extends Entity> imp
      * Deactivates the aura from the given {@code Game}.
      */
     public void deactivate(Game game) {
-        if (currentlyApplied.isEmpty())
+        if (appliedCount == 0)
             return;
 
-        for (UndoAction<Game> ref : currentlyApplied.values())
-            ref.undo(game);
-        currentlyApplied.clear();
+        for (int i = 0; i < appliedCount; i++)
+            appliedRefs[i].undo(game);
+        journalApplied();
+        clearApplied();
     }
 
     @Override
     public Player getOwner() {
-        return source.getOwner();
+        Source currentSource = tryGetSource();
+        return currentSource != null ? currentSource.getOwner() : null;
     }
 }
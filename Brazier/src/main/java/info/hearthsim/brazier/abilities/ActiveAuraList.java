@@ -1,6 +1,7 @@
 package info.hearthsim.brazier.abilities;
 
 import info.hearthsim.brazier.game.Game;
+import info.hearthsim.brazier.game.GameJournal;
 import info.hearthsim.brazier.game.GameProperty;
 import info.hearthsim.brazier.util.UndoAction;
 import org.jtrim.utils.ExceptionHelper;
@@ -11,14 +12,29 @@ import java.util.List;
 /**
  * List of {@link ActiveAura}, providing methods {@link #addAura(ActiveAura, boolean)} and {@link #updateAllAura()}
  * to manage a group of {@code ActiveAura}s.
+ * <p>
+ * The list tracks the {@link AuraDependencies} flags of the game state {@link #invalidate(int) changed} since
+ * the last update, and only re-applies the auras depending on them (and the auras which have not been applied
+ * yet), so that updating the auras of a game which did not change does nothing. Auras depending on
+ * {@link AuraDependencies#ALL} (i.e. not declaring their dependencies) are re-applied by every update, as they
+ * might depend on parts of the game state without a flag.
+ * <p>
+ * Adding and removing auras is recorded to the {@link GameJournal} of the game. The tracked flags are not, as
+ * rolling back the game invalidates every aura anyway.
  */
 public final class ActiveAuraList implements GameProperty {
     private final Game game;
     private final List<AuraWrapper> auras;
+    private int changedDependencies;
+    private boolean hasUnappliedAuras;
+    private int undeclaredAuraCount;
 
     public ActiveAuraList(Game game) {
         this.game = game;
         this.auras = new ArrayList<>();
+        this.changedDependencies = AuraDependencies.NONE;
+        this.hasUnappliedAuras = false;
+        this.undeclaredAuraCount = 0;
     }
 
     /**
@@ -54,29 +70,73 @@ public final class ActiveAuraList implements GameProperty {
         // added by this method call in the returned reference.
         AuraWrapper auraWrapper = new AuraWrapper(aura, toCopy);
         auras.add(auraWrapper);
+        hasUnappliedAuras = true;
+        if (auraWrapper.isUndeclared())
+            undeclaredAuraCount++;
+
+        GameJournal journal = game.getJournal();
+        if (journal.isRecording())
+            journal.record((g) -> removeAura(auras.size() - 1));
 
         return (aal) -> {
-            for (AuraWrapper a : aal.auras) {
+            for (int i = 0; i < aal.auras.size(); i++) {
+                AuraWrapper a = aal.auras.get(i);
                 if (a.aura.getEntityId() == aura.getEntityId()) {
                     a.deactivate();
-                    aal.auras.remove(a);
+                    aal.removeAuraJournaled(i);
                     return;
                 }
             }
         };
     }
 
+    private AuraWrapper removeAura(int index) {
+        AuraWrapper removed = auras.remove(index);
+        if (removed.isUndeclared())
+            undeclaredAuraCount--;
+        return removed;
+    }
+
+    private void removeAuraJournaled(int index) {
+        AuraWrapper removed = removeAura(index);
+        GameJournal journal = game.getJournal();
+        if (journal.isRecording()) {
+            journal.record((g) -> {
+                auras.add(index, removed);
+                if (removed.isUndeclared())
+                    undeclaredAuraCount++;
+            });
+        }
+    }
+
+    /**
+     * Records that the parts of the game state designated by the given {@link AuraDependencies} flags have
+     * changed, so the auras depending on them are re-applied by the next {@link #updateAllAura()}.
+     */
+    public void invalidate(int dependencies) {
+        changedDependencies |= dependencies;
+    }
+
     /**
-     * Updates all {@code ActiveAura} added to this list with the given game by calling the
-     * {@link ActiveAura#applyAura(Game)} method for each of them.
+     * Updates the {@code ActiveAura}s added to this list with the given game by calling the
+     * {@link ActiveAura#applyAura(Game)} method for each of them which has not been applied yet or
+     * depends on a part of the game state {@link #invalidate(int) changed} since the last update. Every aura
+     * is re-applied if {@link AuraDependencies#ALL} was invalidated.
      */
     public void updateAllAura() {
-        if (auras.isEmpty())
+        int changed = changedDependencies;
+        if (auras.isEmpty() || (changed == AuraDependencies.NONE && !hasUnappliedAuras && undeclaredAuraCount == 0))
             return;
 
+        // Changes made while the auras are applied are seen by the next update.
+        changedDependencies = AuraDependencies.NONE;
+        hasUnappliedAuras = false;
+
         // Copy the list to ensure that it does not change during iteration
-        for (AuraWrapper aura: new ArrayList<>(auras))
-            aura.updateAura();
+        for (AuraWrapper aura: new ArrayList<>(auras)) {
+            if (aura.needsUpdate(changed))
+                aura.updateAura();
+        }
     }
 
     @Override
@@ -87,14 +147,28 @@ public final class ActiveAuraList implements GameProperty {
     private final class AuraWrapper {
         private final ActiveAura aura;
         private final boolean toCopy;
+        private boolean applied;
 
         public AuraWrapper(ActiveAura aura, boolean toCopy) {
             ExceptionHelper.checkNotNullArgument(aura, "aura");
             this.aura = aura;
             this.toCopy = toCopy;
+            this.applied = false;
+        }
+
+        public boolean isUndeclared() {
+            return aura.getDependencies() == AuraDependencies.ALL;
+        }
+
+        public boolean needsUpdate(int changedDependencies) {
+            return !applied
+                || isUndeclared()
+                || changedDependencies == AuraDependencies.ALL
+                || (aura.getDependencies() & changedDependencies) != 0;
         }
 
         public void updateAura() {
+            applied = true;
             aura.applyAura(getGame());
         }
 
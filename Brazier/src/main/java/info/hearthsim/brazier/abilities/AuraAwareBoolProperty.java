@@ -1,20 +1,34 @@
 package info.hearthsim.brazier.abilities;
 
+import info.hearthsim.brazier.game.GameProperty;
 import info.hearthsim.brazier.game.Silencable;
 import info.hearthsim.brazier.util.UndoAction;
 
 /**
  * Aura-aware boolean property, implemented by using an underlying {@link AuraAwarePropertyBase},
  * includes field {@code baseValue} which will be used to computed the buffed value of this property.
+ * The buffed value is cached until a buff is added or removed, or the property is silenced. As in
+ * {@link AuraAwareIntProperty}, the cached value is published together with its version in an immutable
+ * {@code CachedValue}, so an unmodified property can be read by several threads at the same time.
  */
 public final class AuraAwareBoolProperty implements Silencable {
     private final boolean baseValue;
     private final AuraAwarePropertyBase<BoolPropertyBuff> impl;
 
+    private CachedValue cached;
+
     public AuraAwareBoolProperty(boolean baseValue) {
+        this(null, baseValue);
+    }
+
+    /**
+     * Creates a {@code AuraAwareBoolProperty} of the given owner with the given {@code baseValue}. The buffs
+     * of the property are journaled in the game of the owner.
+     */
+    public AuraAwareBoolProperty(GameProperty owner, boolean baseValue) {
         this.baseValue = baseValue;
 
-        this.impl = new AuraAwarePropertyBase<>((buffs) -> {
+        this.impl = new AuraAwarePropertyBase<>(owner, (buffs) -> {
             return (prev) -> {
                 boolean result = prev;
                 for (AuraAwarePropertyBase.BuffRef<BoolPropertyBuff> buffRef: buffs) {
@@ -23,18 +37,27 @@ public final class AuraAwareBoolProperty implements Silencable {
                 return result;
             };
         });
+        this.cached = null;
     }
 
-    private AuraAwareBoolProperty(AuraAwareBoolProperty other) {
+    private AuraAwareBoolProperty(AuraAwareBoolProperty other, AuraAwarePropertyBase<BoolPropertyBuff> impl) {
         this.baseValue = other.baseValue;
-        this.impl = other.impl.copy(false);
+        this.impl = impl;
+        this.cached = null;
     }
 
     /**
-     * Returns a new copy of this {@code AuraAwareBoolProperty}.
+     * Returns a new copy of this {@code AuraAwareBoolProperty} with the same owner.
      */
     public AuraAwareBoolProperty copy() {
-        return new AuraAwareBoolProperty(this);
+        return new AuraAwareBoolProperty(this, impl.copy(false));
+    }
+
+    /**
+     * Returns a new copy of this {@code AuraAwareBoolProperty} with the given new owner.
+     */
+    public AuraAwareBoolProperty copyFor(GameProperty newOwner) {
+        return new AuraAwareBoolProperty(this, impl.copyFor(newOwner, false));
     }
 
     /**
@@ -77,7 +100,7 @@ public final class AuraAwareBoolProperty implements Silencable {
      * Adds a new removable buff to this {@code AuraAwareBoolProperty}.
      */
     public UndoAction<AuraAwareBoolProperty> addRemovableBuff(BuffArg buffArg, BoolPropertyBuff toAdd) {
-        UndoAction<AuraAwarePropertyBase> undoRef = impl.addRemovableBuff(buffArg, toAdd);
+        UndoAction<AuraAwarePropertyBase<BoolPropertyBuff>> undoRef = impl.addRemovableBuff(buffArg, toAdd);
         return (aabp) -> undoRef.undo(aabp.impl);
     }
 
@@ -93,6 +116,27 @@ public final class AuraAwareBoolProperty implements Silencable {
      * Returns the buffed value of this property.
      */
     public boolean getValue() {
-        return impl.getCombinedView().buffProperty(baseValue);
+        int version = impl.getVersion();
+        CachedValue currentCached = cached;
+        if (currentCached != null && currentCached.version == version)
+            return currentCached.value;
+
+        boolean result = impl.getCombinedView().buffProperty(baseValue);
+        if (impl.isCacheable())
+            cached = new CachedValue(result, version);
+        return result;
+    }
+
+    /**
+     * The buffed value of the property for a given version of its buffs.
+     */
+    private static final class CachedValue {
+        private final boolean value;
+        private final int version;
+
+        private CachedValue(boolean value, int version) {
+            this.value = value;
+            this.version = version;
+        }
     }
 }
@@ -1,5 +1,6 @@
 package info.hearthsim.brazier.abilities;
 
+import info.hearthsim.brazier.game.GameProperty;
 import info.hearthsim.brazier.game.Silencable;
 import info.hearthsim.brazier.util.UndoAction;
 
@@ -8,6 +9,11 @@ import info.hearthsim.brazier.util.UndoAction;
  * Fields {@code baseValue} and {@code minValue} are also included in this class, where {@code baseValue}
  * will be used to computed the buffed value of this property and {@code minValue} designates the minimum
  * of buffed value.
+ * <p>
+ * The buffed value is cached until a buff is added or removed, or the property is silenced, so repeated
+ * reads do not re-apply the buffs. The cached value is published together with the version it was computed
+ * for in a single immutable {@code CachedValue}, so an unmodified property (like one of the entities shared
+ * by the copies of a game) can be read by several threads at the same time.
  */
 public final class AuraAwareIntProperty implements Silencable {
     private final int baseValue;
@@ -15,22 +21,41 @@ public final class AuraAwareIntProperty implements Silencable {
 
     private final AuraAwarePropertyBase<IntPropertyBuff> impl;
 
+    private CachedValue cached;
+
     /**
      * Creates a {@code AuraAwareIntProperty} with the given {@code baseValue} and setting {@code minValue}
      * to {@link Integer#MIN_VALUE}.
      */
     public AuraAwareIntProperty(int baseValue) {
-        this(baseValue, Integer.MIN_VALUE);
+        this(null, baseValue);
     }
 
     /**
      * Creates a {@code AuraAwareIntProperty} with the given {@code baseValue} and {@code minValue}.
      */
     public AuraAwareIntProperty(int baseValue, int minValue) {
+        this(null, baseValue, minValue);
+    }
+
+    /**
+     * Creates a {@code AuraAwareIntProperty} of the given owner with the given {@code baseValue} and setting
+     * {@code minValue} to {@link Integer#MIN_VALUE}. The buffs of the property are journaled in the game of
+     * the owner.
+     */
+    public AuraAwareIntProperty(GameProperty owner, int baseValue) {
+        this(owner, baseValue, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Creates a {@code AuraAwareIntProperty} of the given owner with the given {@code baseValue} and
+     * {@code minValue}. The buffs of the property are journaled in the game of the owner.
+     */
+    public AuraAwareIntProperty(GameProperty owner, int baseValue, int minValue) {
         this.baseValue = baseValue;
         this.minValue = minValue;
 
-        this.impl = new AuraAwarePropertyBase<>((buffs) -> {
+        this.impl = new AuraAwarePropertyBase<>(owner, (buffs) -> {
             return (prev) -> {
                 int result = prev;
                 for (AuraAwarePropertyBase.BuffRef<IntPropertyBuff> buffRef: buffs) {
@@ -39,19 +64,28 @@ public final class AuraAwareIntProperty implements Silencable {
                 return result;
             };
         });
+        this.cached = null;
     }
 
-    private AuraAwareIntProperty(AuraAwareIntProperty other) {
+    private AuraAwareIntProperty(AuraAwareIntProperty other, AuraAwarePropertyBase<IntPropertyBuff> impl) {
         this.baseValue = other.baseValue;
         this.minValue = other.minValue;
-        this.impl = other.impl.copy(false);
+        this.impl = impl;
+        this.cached = null;
     }
 
     /**
-     * Returns a new copy of this {@code AuraAwareIntProperty}.
+     * Returns a new copy of this {@code AuraAwareIntProperty} with the same owner.
      */
     public AuraAwareIntProperty copy() {
-        return new AuraAwareIntProperty(this);
+        return new AuraAwareIntProperty(this, impl.copy(false));
+    }
+
+    /**
+     * Returns a new copy of this {@code AuraAwareIntProperty} with the given new owner.
+     */
+    public AuraAwareIntProperty copyFor(GameProperty newOwner) {
+        return new AuraAwareIntProperty(this, impl.copyFor(newOwner, false));
     }
 
     /**
@@ -113,7 +147,17 @@ public final class AuraAwareIntProperty implements Silencable {
      * {@code external} (contained in a {@code BuffArg}) and value to add.
      */
     public UndoAction<AuraAwareIntProperty> addBuff(BuffArg arg, IntPropertyBuff toAdd) {
-        UndoAction<AuraAwarePropertyBase> undoRef = impl.addRemovableBuff(arg, toAdd);
+        UndoAction<AuraAwarePropertyBase<IntPropertyBuff>> undoRef = impl.addRemovableBuff(arg, toAdd);
+        return (aaip) -> undoRef.undo(aaip.impl);
+    }
+
+    /**
+     * Adds a new removable buff to this {@code AuraAwareIntProperty} with the given {@code priority} and
+     * {@code external} (contained in a {@code BuffArg}), whose result may depend on other things than the
+     * previous value. The buffed value is not cached while the property has such a buff.
+     */
+    public UndoAction<AuraAwareIntProperty> addVolatileBuff(BuffArg arg, IntPropertyBuff toAdd) {
+        UndoAction<AuraAwarePropertyBase<IntPropertyBuff>> undoRef = impl.addVolatileBuff(arg, toAdd);
         return (aaip) -> undoRef.undo(aaip.impl);
     }
 
@@ -129,7 +173,28 @@ public final class AuraAwareIntProperty implements Silencable {
      * Returns the buffed value of this property.
      */
     public int getValue() {
+        int version = impl.getVersion();
+        CachedValue currentCached = cached;
+        if (currentCached != null && currentCached.version == version)
+            return currentCached.value;
+
         int result = impl.getCombinedView().buffProperty(baseValue);
-        return result >= minValue ? result : minValue;
+        result = result >= minValue ? result : minValue;
+        if (impl.isCacheable())
+            cached = new CachedValue(result, version);
+        return result;
+    }
+
+    /**
+     * The buffed value of the property for a given version of its buffs.
+     */
+    private static final class CachedValue {
+        private final int value;
+        private final int version;
+
+        private CachedValue(int value, int version) {
+            this.value = value;
+            this.version = version;
+        }
     }
 }
@@ -1,5 +1,7 @@
 package info.hearthsim.brazier.abilities;
 
+import info.hearthsim.brazier.game.GameJournal;
+import info.hearthsim.brazier.game.GameProperty;
 import info.hearthsim.brazier.game.Silencable;
 import info.hearthsim.brazier.util.UndoAction;
 
@@ -19,25 +21,48 @@ import java.util.List;
  * and the list will be used as the parameter of the sole un-implemented method of {@code BuffCombiner} each time
  * a buffed value evaluation is needed. The method {@link AuraAwarePropertyBase.BuffCombiner#viewCombinedBuffs(Collection)}
  * combines the given collection of added buffs together and the result can be used to evaluate the buffed value.
+ * <p>
+ * The {@link #getVersion() version} of an {@code AuraAwarePropertyBase} changes every time a buff is added or
+ * removed, so properties can cache their buffed value until it changes. This requires the buffs to depend only
+ * on the previous value; buffs depending on anything else must be added as
+ * {@link #addVolatileBuff(BuffArg, Object) volatile} buffs, which disable the caching while they are present.
+ * <p>
+ * The changes of the buffs of a property with an owner are recorded to the {@link GameJournal} of the game
+ * of the owner. Undoing them changes the version as well, as the cached values might not be valid anymore.
  */
 public final class AuraAwarePropertyBase<T> implements Silencable {
+    private final GameProperty owner;
     private final BuffCombiner<T> buffCombiner;
     private final T combinedView;
     private final List<BuffRef<T>> buffRefs;
+    private int volatileCount;
+    private int version;
 
     public AuraAwarePropertyBase(BuffCombiner<T> buffCombiner) {
+        this(null, buffCombiner);
+    }
+
+    /**
+     * Creates an {@code AuraAwarePropertyBase} whose changes are journaled in the game of the given owner;
+     * the changes are not journaled if the owner is {@code null}.
+     */
+    public AuraAwarePropertyBase(GameProperty owner, BuffCombiner<T> buffCombiner) {
+        this.owner = owner;
         this.buffCombiner = buffCombiner;
         this.buffRefs = new ArrayList<>();
         this.combinedView = buffCombiner.viewCombinedBuffs(Collections.unmodifiableList(this.buffRefs));
     }
 
-    private AuraAwarePropertyBase(AuraAwarePropertyBase<T> other, boolean copyExternal) {
+    private AuraAwarePropertyBase(GameProperty newOwner, AuraAwarePropertyBase<T> other, boolean copyExternal) {
+        this.owner = newOwner;
         this.buffCombiner = other.buffCombiner;
         this.buffRefs = new ArrayList<>(other.buffRefs.size());
         this.combinedView = other.buffCombiner.viewCombinedBuffs(Collections.unmodifiableList(this.buffRefs));
         for (BuffRef<T> buffRef: other.buffRefs) {
             if (copyExternal || !buffRef.external) {
                 this.buffRefs.add(buffRef);
+                if (buffRef.volatileBuff)
+                    this.volatileCount++;
             }
         }
     }
@@ -45,15 +70,57 @@ public final class AuraAwarePropertyBase<T> implements Silencable {
     /**
      * Added the given buff to this {@code AuraAwarePropertyBase}.
      */
-    public UndoAction<AuraAwarePropertyBase> addRemovableBuff(BuffArg buffArg, T toAdd) {
+    public UndoAction<AuraAwarePropertyBase<T>> addRemovableBuff(BuffArg buffArg, T toAdd) {
+        return addRemovableBuff(buffArg, toAdd, false);
+    }
+
+    /**
+     * Added the given buff, whose result may depend on other things than the previous value, to this
+     * {@code AuraAwarePropertyBase}. The buffed value of this property is not cached while it has such a buff.
+     */
+    public UndoAction<AuraAwarePropertyBase<T>> addVolatileBuff(BuffArg buffArg, T toAdd) {
+        return addRemovableBuff(buffArg, toAdd, true);
+    }
+
+    private UndoAction<AuraAwarePropertyBase<T>> addRemovableBuff(BuffArg buffArg, T toAdd, boolean volatileBuff) {
         int priority = buffArg.getPriority();
         boolean external = buffArg.isExternal();
 
         int buffPos = findInsertPos(priority);
 
-        BuffRef<T> buffRef = new BuffRef<>(priority, external, toAdd);
-        buffRefs.add(buffPos, buffRef);
-        return (aapb) -> aapb.buffRefs.remove(buffRef);
+        BuffRef<T> buffRef = new BuffRef<>(priority, external, volatileBuff, toAdd);
+        insertBuff(buffPos, buffRef);
+
+        GameJournal journal = getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> removeBuff(buffRef));
+        return (aapb) -> aapb.removeBuff(buffRef);
+    }
+
+    private GameJournal getJournal() {
+        return owner != null ? owner.getGame().getJournal() : GameJournal.NOT_JOURNALED;
+    }
+
+    private void insertBuff(int index, BuffRef<T> buffRef) {
+        buffRefs.add(index, buffRef);
+        if (buffRef.volatileBuff)
+            volatileCount++;
+        version++;
+    }
+
+    private void removeBuff(BuffRef<T> buffRef) {
+        int index = buffRefs.indexOf(buffRef);
+        if (index < 0)
+            return;
+
+        buffRefs.remove(index);
+        if (buffRef.volatileBuff)
+            volatileCount--;
+        version++;
+
+        GameJournal journal = getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> insertBuff(index, buffRef));
     }
 
     private int findInsertPos(int priority) {
@@ -67,14 +134,23 @@ public final class AuraAwarePropertyBase<T> implements Silencable {
     }
 
     /**
-     * Returns a new copy of this {@code AuraAwarePropertyBase}.
+     * Returns a new copy of this {@code AuraAwarePropertyBase} with the same owner.
      */
     public AuraAwarePropertyBase<T> copy() {
         return copy(false);
     }
 
     public AuraAwarePropertyBase<T> copy(boolean copyExternal) {
-        return new AuraAwarePropertyBase<>(this, copyExternal);
+        return copyFor(owner, copyExternal);
+    }
+
+    /**
+     * Returns a new copy of this {@code AuraAwarePropertyBase} with the given new owner.
+     *
+     * @param copyExternal whether to copy the external buffs (i.e. the buffs of auras) as well.
+     */
+    public AuraAwarePropertyBase<T> copyFor(GameProperty newOwner, boolean copyExternal) {
+        return new AuraAwarePropertyBase<>(newOwner, this, copyExternal);
     }
 
     /**
@@ -95,18 +171,48 @@ public final class AuraAwarePropertyBase<T> implements Silencable {
             return;
 
         List<BuffRef<T>> prevRefs = new ArrayList<>(buffRefs);
+        int prevVolatileCount = volatileCount;
+        GameJournal journal = getJournal();
+        if (journal.isRecording()) {
+            journal.record((game) -> {
+                buffRefs.clear();
+                buffRefs.addAll(prevRefs);
+                volatileCount = prevVolatileCount;
+                version++;
+            });
+        }
+
         buffRefs.clear();
+        volatileCount = 0;
         for (BuffRef<T> buffRef: prevRefs) {
             if (buffRef.external) {
                 buffRefs.add(buffRef);
+                if (buffRef.volatileBuff)
+                    volatileCount++;
             }
         }
+        version++;
     }
 
     public T getCombinedView() {
         return combinedView;
     }
 
+    /**
+     * Returns the version of the added buffs, which changes every time a buff is added or removed.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns if the combined value of the added buffs can be cached until the {@link #getVersion() version}
+     * changes, that is, if no {@link #addVolatileBuff(BuffArg, Object) volatile} buff is added.
+     */
+    public boolean isCacheable() {
+        return volatileCount == 0;
+    }
+
     /**
      * Functional interface with the sole un-implemented method {@link #viewCombinedBuffs(Collection)},
      * which combines the given collection of {@link BuffRef}s to one single object.
@@ -125,11 +231,17 @@ public final class AuraAwarePropertyBase<T> implements Silencable {
     public static final class BuffRef<T> {
         private final int priority;
         private final boolean external;
+        private final boolean volatileBuff;
         private final T buff;
 
         public BuffRef(int priority, boolean external, T buff) {
+            this(priority, external, false, buff);
+        }
+
+        private BuffRef(int priority, boolean external, boolean volatileBuff, T buff) {
             this.priority = priority;
             this.external = external;
+            this.volatileBuff = volatileBuff;
             this.buff = buff;
         }
 
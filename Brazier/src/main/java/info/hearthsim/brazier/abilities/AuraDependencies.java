@@ -0,0 +1,48 @@
+package info.hearthsim.brazier.abilities;
+
+/**
+ * Flags of the parts of the game state an {@link AuraTargetProvider} or an {@link AuraFilter} depends on,
+ * returned by their {@code getDependencies} methods and combined with bitwise or.
+ * <p>
+ * An {@link ActiveAura} is only re-applied by {@link ActiveAuraList#updateAllAura()} if a part it depends
+ * on has {@link ActiveAuraList#invalidate(int) changed} since its last update. The keywords of entities are
+ * not listed, as they are fixed by their descriptors, so a filter checking them depends only on which
+ * entities are the targets. Providers and filters not declaring their dependencies depend on
+ * {@link #ALL everything}, and are re-applied on every update.
+ */
+public final class AuraDependencies {
+    /**
+     * Depends on nothing but the source of the aura, which is never re-applied after it is applied first.
+     */
+    public static final int NONE = 0;
+
+    /**
+     * The minions on the boards, their order and owners, and whether they are scheduled to be destroyed.
+     */
+    public static final int BOARD = 1;
+
+    /**
+     * The cards in the hands of the players.
+     */
+    public static final int HAND = 1 << 1;
+
+    /**
+     * The weapons equipped by the players.
+     */
+    public static final int WEAPON = 1 << 2;
+
+    /**
+     * The heroes of the players.
+     */
+    public static final int HERO = 1 << 3;
+
+    /**
+     * Every part of the game state, including the parts without their own flag. Invalidating it re-applies
+     * every aura, even the ones depending on {@link #NONE nothing}.
+     */
+    public static final int ALL = -1;
+
+    private AuraDependencies() {
+        throw new AssertionError();
+    }
+}
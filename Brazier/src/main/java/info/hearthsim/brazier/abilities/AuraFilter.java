@@ -18,13 +18,47 @@ import java.util.List;
 // TODO combine `AuraFilter` and `AuraTargetProvider`
 // TODO Extend `AuraFilter` to use on other scene, e.g. renaming it to `TargetFilter`
 public interface AuraFilter<Source, Target> {
-    public static final AuraFilter<Object, Object> ANY = (game, source, target) -> true;
+    public static final AuraFilter<Object, Object> ANY =
+        dependingOn(AuraDependencies.NONE, (game, source, target) -> true);
 
     /**
      * Returns if the given source and target in the given game is applicable for the related aura.
      */
     public boolean isApplicable(Game game, Source source, Target target);
 
+    /**
+     * Returns the {@link AuraDependencies} flags of the game state the result of this filter depends on,
+     * apart from the identity of the source and the target. The default implementation returns
+     * {@link AuraDependencies#ALL}.
+     */
+    public default int getDependencies() {
+        return AuraDependencies.ALL;
+    }
+
+    /**
+     * Returns an {@link AuraFilter} which behaves as the given filter and declares the given
+     * {@link AuraDependencies} flags.
+     *
+     * @throws NullPointerException if the given filter is {@code null}.
+     */
+    public static <Source, Target> AuraFilter<Source, Target> dependingOn(
+            int dependencies,
+            AuraFilter<Source, Target> filter) {
+        ExceptionHelper.checkNotNullArgument(filter, "filter");
+
+        return new AuraFilter<Source, Target>() {
+            @Override
+            public boolean isApplicable(Game game, Source source, Target target) {
+                return filter.isApplicable(game, source, target);
+            }
+
+            @Override
+            public int getDependencies() {
+                return dependencies;
+            }
+        };
+    }
+
     /**
      * Combines the two given {@link AuraFilter}s to one which checks if the given {@code source} and
      * {@code target} pass the two filters.
@@ -37,9 +71,10 @@ public interface AuraFilter<Source, Target> {
         ExceptionHelper.checkNotNullArgument(filter1, "filter1");
         ExceptionHelper.checkNotNullArgument(filter2, "filter2");
 
-        return (Game game, Source source, Target target) -> {
-            return filter1.isApplicable(game, source, target) && filter2.isApplicable(game, source, target);
-        };
+        return dependingOn(filter1.getDependencies() | filter2.getDependencies(),
+            (Game game, Source source, Target target) -> {
+                return filter1.isApplicable(game, source, target) && filter2.isApplicable(game, source, target);
+            });
     }
 
     /**
@@ -53,19 +88,23 @@ public interface AuraFilter<Source, Target> {
         ExceptionHelper.checkNotNullElements(filters, "filters");
 
         if (filters.isEmpty()) {
-            return (game, source, target) -> true;
+            return dependingOn(AuraDependencies.NONE, (game, source, target) -> true);
         }
 
         List<AuraFilter<? super Self, ? super T>> filtersCopy = new ArrayList<>(filters);
         ExceptionHelper.checkNotNullElements(filtersCopy, "filters");
 
-        return (Game game, Self owner, T eventSource) -> {
+        int dependencies = AuraDependencies.NONE;
+        for (AuraFilter<? super Self, ? super T> filter: filtersCopy)
+            dependencies |= filter.getDependencies();
+
+        return dependingOn(dependencies, (Game game, Self owner, T eventSource) -> {
             for (AuraFilter<? super Self, ? super T> filter: filtersCopy) {
                 if (!filter.isApplicable(game, owner, eventSource)) {
                     return false;
                 }
             }
             return true;
-        };
+        });
     }
 }
@@ -9,9 +9,6 @@ import info.hearthsim.brazier.game.minions.Minion;
 import info.hearthsim.brazier.parsing.NamedArg;
 import org.jtrim.utils.ExceptionHelper;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 import java.util.function.Predicate;
 
 /**
@@ -21,17 +18,21 @@ public final class AuraFilters {
     /**
      * {@code AuraFilter}, which checks if the given source and target of the related aura has same owning player.
      */
-    public static final AuraFilter<PlayerProperty, PlayerProperty> SAME_OWNER = (game, source, target) -> {
-        return source.getOwner() == target.getOwner();
-    };
+    public static final AuraFilter<PlayerProperty, PlayerProperty> SAME_OWNER = AuraFilter.dependingOn(
+        AuraDependencies.BOARD | AuraDependencies.HAND,
+        (game, source, target) -> {
+            return source.getOwner() == target.getOwner();
+        });
 
     /**
      * {@code AuraFilter}, which checks if the given source and target of the related aura are different objects and
      * has same owning player.
      */
-    public static final AuraFilter<PlayerProperty, PlayerProperty> SAME_OWNER_OTHERS = (game, source, target) -> {
-        return source.getOwner() == target.getOwner() && source != target;
-    };
+    public static final AuraFilter<PlayerProperty, PlayerProperty> SAME_OWNER_OTHERS = AuraFilter.dependingOn(
+        AuraDependencies.BOARD | AuraDependencies.HAND,
+        (game, source, target) -> {
+            return source.getOwner() == target.getOwner() && source != target;
+        });
 
     /**
      * {@code AuraFilter}, which checks if the owning player of the aura source has not played any minion in this
@@ -44,16 +45,20 @@ public final class AuraFilters {
     /**
      * {@code AuraFilter}, which checks if the owning player of the aura source has weapon.
      */
-    public static final AuraFilter<PlayerProperty, Object> OWNER_HAS_WEAPON = (game, source, target) -> {
-        return source.getOwner().tryGetWeapon() != null;
-    };
+    public static final AuraFilter<PlayerProperty, Object> OWNER_HAS_WEAPON = AuraFilter.dependingOn(
+        AuraDependencies.WEAPON,
+        (game, source, target) -> {
+            return source.getOwner().tryGetWeapon() != null;
+        });
 
     /**
      * {@code AuraFilter}, which checks if the source and the target is not the same object.
      */
-    public static final AuraFilter<PlayerProperty, PlayerProperty> NOT_SELF = (game, source, target) -> {
-        return source != target;
-    };
+    public static final AuraFilter<PlayerProperty, PlayerProperty> NOT_SELF = AuraFilter.dependingOn(
+        AuraDependencies.NONE,
+        (game, source, target) -> {
+            return source != target;
+        });
 
     /**
      * Returns an {@code AuraFilter}, which checks if the target has all given {@link Keyword}s.
@@ -61,12 +66,11 @@ public final class AuraFilters {
     public static <T extends LabeledEntity> AuraFilter<Object, T>
         targetHasKeyword(@NamedArg("keywords") Keyword... keywords) {
 
-        List<Keyword> keywordsCopy = new ArrayList<>(Arrays.asList(keywords));
-        ExceptionHelper.checkNotNullElements(keywordsCopy, "keywords");
+        KeywordSet requiredKeywords = KeywordSet.of(keywords);
 
-        return (Game game, Object source, T target) -> {
-            return target.getKeywords().containsAll(keywordsCopy);
-        };
+        return AuraFilter.dependingOn(AuraDependencies.NONE, (Game game, Object source, T target) -> {
+            return target.getKeywords().containsAll(requiredKeywords);
+        });
     }
 
     /**
@@ -75,9 +79,9 @@ public final class AuraFilters {
     public static AuraFilter<Object, LabeledEntity> targetDoesntHaveKeyword(@NamedArg("keywords") Keyword... keywords) {
         Predicate<LabeledEntity> targetFilter = ActionUtils.excludedKeywordsFilter(keywords);
 
-        return (Game game, Object source, LabeledEntity target) -> {
+        return AuraFilter.dependingOn(AuraDependencies.NONE, (Game game, Object source, LabeledEntity target) -> {
             return targetFilter.test(target);
-        };
+        });
     }
 
     /**
@@ -87,10 +91,10 @@ public final class AuraFilters {
     public static AuraFilter<PlayerProperty, Object> ownBoardHas(@NamedArg("keywords") Keyword... keywords) {
         Predicate<LabeledEntity> minionFilter = ActionUtils.includedKeywordsFilter(keywords);
 
-        return (Game game, PlayerProperty source, Object target) -> {
+        return AuraFilter.dependingOn(AuraDependencies.BOARD, (Game game, PlayerProperty source, Object target) -> {
             BoardSide board = source.getOwner().getBoard();
             return board.findMinion(minionFilter) != null;
-        };
+        });
     }
 
     /**
@@ -98,9 +102,9 @@ public final class AuraFilters {
      * the given number in the hand.
      */
     public static AuraFilter<PlayerProperty, Object> opponentsHandLarger(@NamedArg("limit") int limit) {
-        return (Game game, PlayerProperty source, Object target) -> {
+        return AuraFilter.dependingOn(AuraDependencies.HAND, (Game game, PlayerProperty source, Object target) -> {
             return source.getOwner().getOpponent().getHand().getCardCount() > limit;
-        };
+        });
     }
 
     /**
@@ -108,7 +112,8 @@ public final class AuraFilters {
      */
     public static final AuraFilter<Object, Card> IS_MINION_CARD = AuraFilter.and(
         targetHasKeyword(Keywords.MINION),
-        (game, source, target) -> target.getCardDescr().getMinion() != null
+        AuraFilter.dependingOn(AuraDependencies.NONE,
+            (game, source, target) -> target.getCardDescr().getMinion() != null)
     );
 
     /**
@@ -182,22 +187,24 @@ public final class AuraFilters {
     /**
      * {@link AuraFilter} which checks if the target minion is next to the aura source minion.
      */
-    public static final AuraFilter<Minion, Minion> IS_NEXT_MINION = (game, source, target) -> {
-        BoardSide board = source.getOwner().getBoard();
-        int sourceIndex = board.indexOf(source.getEntityId());
-        int targetIndex = board.indexOf(source.getEntityId());
+    public static final AuraFilter<Minion, Minion> IS_NEXT_MINION = AuraFilter.dependingOn(
+        AuraDependencies.BOARD,
+        (game, source, target) -> {
+            BoardSide board = source.getOwner().getBoard();
+            int sourceIndex = board.indexOf(source.getEntityId());
+            int targetIndex = board.indexOf(source.getEntityId());
 
-        return targetIndex != -1 && Math.abs(targetIndex - sourceIndex) == 1;
-    };
+            return targetIndex != -1 && Math.abs(targetIndex - sourceIndex) == 1;
+        });
 
     /**
      * Returns an {@link AuraFilter} which checks if the target {@link Minion} has the given name.
      */
     public static AuraFilter<Object, Minion> minionTargetNameIs(@NamedArg("name") String name) {
         ExceptionHelper.checkNotNullArgument(name, "name");
-        return (Game game, Object owner, Minion target) -> {
+        return AuraFilter.dependingOn(AuraDependencies.NONE, (Game game, Object owner, Minion target) -> {
             return name.equals(target.getBaseDescr().getId().getName());
-        };
+        });
     }
 
     private AuraFilters() {
@@ -1,6 +1,7 @@
 package info.hearthsim.brazier.abilities;
 
 import info.hearthsim.brazier.game.Game;
+import org.jtrim.utils.ExceptionHelper;
 
 import java.util.List;
 
@@ -21,4 +22,37 @@ public interface AuraTargetProvider<Source, Target> {
      * @return all possible targets for the aura.
      */
     public List<Target> getPossibleTargets(Game game, Source source);
+
+    /**
+     * Returns the {@link AuraDependencies} flags of the game state the targets listed by this provider
+     * depend on, apart from the identity of the source. The default implementation returns
+     * {@link AuraDependencies#ALL}.
+     */
+    public default int getDependencies() {
+        return AuraDependencies.ALL;
+    }
+
+    /**
+     * Returns an {@link AuraTargetProvider} which behaves as the given provider and declares the given
+     * {@link AuraDependencies} flags.
+     *
+     * @throws NullPointerException if the given provider is {@code null}.
+     */
+    public static <Source, Target> AuraTargetProvider<Source, Target> dependingOn(
+        int dependencies,
+        AuraTargetProvider<Source, Target> provider) {
+        ExceptionHelper.checkNotNullArgument(provider, "provider");
+
+        return new AuraTargetProvider<Source, Target>() {
+            @Override
+            public List<Target> getPossibleTargets(Game game, Source source) {
+                return provider.getPossibleTargets(game, source);
+            }
+
+            @Override
+            public int getDependencies() {
+                return dependencies;
+            }
+        };
+    }
 }
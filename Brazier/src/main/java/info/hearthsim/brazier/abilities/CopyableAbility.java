@@ -0,0 +1,33 @@
+package info.hearthsim.brazier.abilities;
+
+import info.hearthsim.brazier.util.UndoAction;
+
+/**
+ * {@link Ability} whose activation only registers listeners and auras which can be copied along with the
+ * {@code Game}: when activated with {@code toCopy} set to {@code true}, every registration it makes is kept
+ * by the copies of the game and re-pointed at the copy of the activating entity, and the returned
+ * {@link UndoAction} removes the registration from whichever game it is given the entity of.
+ * <p>
+ * The copies of an entity can therefore share such an activated ability with the original one instead of
+ * activating it again, see {@link AbilityList#copyForGame(info.hearthsim.brazier.game.Entity, boolean)}.
+ *
+ * @see info.hearthsim.brazier.events.TriggeringAbility
+ * @see Abilities#aura(AuraTargetProvider, AuraFilter, Aura)
+ */
+@FunctionalInterface
+public interface CopyableAbility <Self> extends Ability<Self> {
+    /**
+     * Activates the {@code CopyableAbility} with the given object, without copying its registrations.
+     */
+    @Override
+    public default UndoAction<Self> activate(Self self) {
+        return activate(self, false);
+    }
+
+    /**
+     * Activates the {@code CopyableAbility} with the given object.
+     *
+     * @param toCopy whether the registrations made should be copied along with the game.
+     */
+    public UndoAction<Self> activate(Self self, boolean toCopy);
+}
@@ -1,6 +1,8 @@
 package info.hearthsim.brazier.abilities;
 
 import info.hearthsim.brazier.Priorities;
+import info.hearthsim.brazier.game.GameJournal;
+import info.hearthsim.brazier.game.GameProperty;
 import info.hearthsim.brazier.game.Silencable;
 import info.hearthsim.brazier.util.UndoAction;
 
@@ -13,8 +15,10 @@ import info.hearthsim.brazier.util.UndoAction;
  *     <li>{@link #getCurrentHp()} and {@link #getMaxHp()} to get current values;</li>
  *     <li>{@link #isDamaged()} and {@link #isDead()} to checks the state of the property's owner.</li>
  * </ul>
+ * The changes of a property with an owner are recorded to the {@link GameJournal} of the game of the owner.
  */
 public final class HpProperty implements Silencable {
+    private final GameProperty owner;
     private final int baseMaxValue;
 
     private int buffedMaxHp;
@@ -27,6 +31,15 @@ public final class HpProperty implements Silencable {
      * Creates a new {@code HpProperty} with the given maximum hp value.
      */
     public HpProperty(int maxValue) {
+        this(null, maxValue);
+    }
+
+    /**
+     * Creates a new {@code HpProperty} of the given owner with the given maximum hp value. The changes of
+     * the property are journaled in the game of the owner.
+     */
+    public HpProperty(GameProperty owner, int maxValue) {
+        this.owner = owner;
         this.baseMaxValue = maxValue;
         this.currentMaxHp = maxValue;
         this.buffedMaxHp = maxValue;
@@ -45,6 +58,7 @@ public final class HpProperty implements Silencable {
 
         int prevMaxHp = currentMaxHp;
         int prevCurrentHp = currentHp;
+        journalState();
 
         if (newMaxHp > currentMaxHp) {
             currentHp = currentHp + (newMaxHp - currentMaxHp);
@@ -53,16 +67,46 @@ public final class HpProperty implements Silencable {
         currentMaxHp = newMaxHp;
 
         return (hp) -> {
+            hp.journalState();
             hp.currentHp = prevCurrentHp;
             hp.currentMaxHp = prevMaxHp;
         };
     }
 
     /**
-     * Returns a new copy of this {@code HpProperty}.
+     * Records the current state of this {@code HpProperty} to the {@link GameJournal} of the game of its
+     * owner, if the game is journaled. The returned undo actions call this as well, as they are also used
+     * to remove buffs and auras while the game is played.
+     */
+    private void journalState() {
+        GameJournal journal = owner != null ? owner.getGame().getJournal() : GameJournal.NOT_JOURNALED;
+        if (!journal.isRecording())
+            return;
+
+        int prevBuffedMaxHp = buffedMaxHp;
+        int prevAuraBuff = auraBuff;
+        int prevCurrentMaxHp = currentMaxHp;
+        int prevCurrentHp = currentHp;
+        journal.record((game) -> {
+            buffedMaxHp = prevBuffedMaxHp;
+            auraBuff = prevAuraBuff;
+            currentMaxHp = prevCurrentMaxHp;
+            currentHp = prevCurrentHp;
+        });
+    }
+
+    /**
+     * Returns a new copy of this {@code HpProperty} with the same owner.
      */
     public HpProperty copy() {
-        HpProperty result = new HpProperty(baseMaxValue);
+        return copyFor(owner);
+    }
+
+    /**
+     * Returns a new copy of this {@code HpProperty} with the given new owner.
+     */
+    public HpProperty copyFor(GameProperty newOwner) {
+        HpProperty result = new HpProperty(newOwner, baseMaxValue);
 
         result.buffedMaxHp = buffedMaxHp;
         result.auraBuff = 0;
@@ -81,8 +125,12 @@ public final class HpProperty implements Silencable {
             return null;
 
         int prevCurrentHp = currentHp;
+        journalState();
         currentHp = Math.min(getMaxHp(), newHp);
-        return (hp) -> hp.currentHp = prevCurrentHp;
+        return (hp) -> {
+            hp.journalState();
+            hp.currentHp = prevCurrentHp;
+        };
     }
 
     /**
@@ -110,8 +158,9 @@ public final class HpProperty implements Silencable {
         if (amount == 0)
             return null;
 
+        journalState();
         currentHp += amount;
-        UndoAction<HpProperty> maxHpUndo = setMaxHp(buffedMaxHp + amount);
+        UndoAction<HpProperty> maxHpUndo = updateMaxHp(buffedMaxHp + amount);
 
         return (hp) -> {
             maxHpUndo.undo(hp);
@@ -124,9 +173,13 @@ public final class HpProperty implements Silencable {
      * {@link #applyAura()} is called.
      */
     public UndoAction<HpProperty> addAuraBuff(int amount) {
+        journalState();
         auraBuff += amount;
 
-        return (hp) -> hp.auraBuff -= amount;
+        return (hp) -> {
+            hp.journalState();
+            hp.auraBuff -= amount;
+        };
     }
 
     /**
@@ -165,12 +218,14 @@ public final class HpProperty implements Silencable {
         int prevBuffedMaxHp = buffedMaxHp;
         int prevCurrentHp = currentHp;
         int prevCurrentMaxHp = currentMaxHp;
+        journalState();
 
         buffedMaxHp = newValue;
         currentMaxHp = newValue;
         currentHp = newValue;
 
         return (hp) -> {
+            hp.journalState();
             hp.currentMaxHp = prevCurrentMaxHp;
             hp.currentHp = prevCurrentHp;
             hp.buffedMaxHp = prevBuffedMaxHp;
@@ -182,6 +237,11 @@ public final class HpProperty implements Silencable {
      * if the given value is less than the current value.
      */
     public UndoAction<HpProperty> setMaxHp(int newValue) {
+        journalState();
+        return updateMaxHp(newValue);
+    }
+
+    private UndoAction<HpProperty> updateMaxHp(int newValue) {
         int prevBuffedMaxHp = buffedMaxHp;
         int prevCurrentHp = currentHp;
         int prevCurrentMaxHp = currentMaxHp;
@@ -191,6 +251,7 @@ public final class HpProperty implements Silencable {
         currentHp = Math.min(currentHp, newValue);
 
         return (hp) -> {
+            hp.journalState();
             hp.currentMaxHp = prevCurrentMaxHp;
             hp.currentHp = prevCurrentHp;
             hp.buffedMaxHp = prevBuffedMaxHp;
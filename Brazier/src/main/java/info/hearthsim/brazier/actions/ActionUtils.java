@@ -18,7 +18,6 @@ import org.jtrim.utils.ExceptionHelper;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -274,17 +273,8 @@ public final class ActionUtils {
             return (arg) -> true;
         }
 
-        Keyword[] includedKeywordsCopy = includedKeywords.clone();
-        ExceptionHelper.checkNotNullElements(includedKeywordsCopy, "includedKeywords");
-
-        return (entity) -> {
-            for (Keyword keyword : includedKeywordsCopy) {
-                if (!entity.getKeywords().contains(keyword)) {
-                    return false;
-                }
-            }
-            return true;
-        };
+        KeywordSet requiredKeywords = KeywordSet.of(includedKeywords);
+        return (entity) -> entity.getKeywords().containsAll(requiredKeywords);
     }
 
     /**
@@ -292,18 +282,8 @@ public final class ActionUtils {
      * {@link Keyword}.
      */
     public static <E extends LabeledEntity> Predicate<E> excludedKeywordsFilter(Keyword... excludedKeywords) {
-        Keyword[] excludedKeywordsCopy = excludedKeywords.clone();
-        ExceptionHelper.checkNotNullElements(excludedKeywordsCopy, "excludedKeywords");
-
-        return (entity) -> {
-            Set<Keyword> minionKeywords = entity.getKeywords();
-            for (Keyword keyword : excludedKeywordsCopy) {
-                if (minionKeywords.contains(keyword)) {
-                    return false;
-                }
-            }
-            return true;
-        };
+        KeywordSet excludedKeywordSet = KeywordSet.of(excludedKeywords);
+        return (entity) -> !entity.getKeywords().containsAny(excludedKeywordSet);
     }
 
     /**
@@ -68,12 +68,11 @@ public final class PlayActionRequirements {
      * which has all the given {@code Keyword}s.
      */
     public static PlayActionRequirement hasCardInHand(@NamedArg("keywords") Keyword... keywords) {
-        ArrayList<Keyword> keywordCopy = new ArrayList<>(Arrays.asList(keywords));
-        ExceptionHelper.checkNotNullElements(keywordCopy, "keywords");
+        KeywordSet requiredKeywords = KeywordSet.of(keywords);
 
         return (Player player) -> {
             Hand hand = player.getHand();
-            return hand.findCard((card) -> card.getKeywords().containsAll(keywordCopy)) != null;
+            return hand.findCard((card) -> card.getKeywords().containsAll(requiredKeywords)) != null;
         };
     }
 
@@ -101,11 +100,10 @@ public final class PlayActionRequirements {
      * all of the given {@code Keyword}s.
      */
     public static PlayActionRequirement hasOnOwnBoard(@NamedArg("keywords") Keyword... keywords) {
-        ArrayList<Keyword> keywordCopy = new ArrayList<>(Arrays.asList(keywords));
-        ExceptionHelper.checkNotNullElements(keywordCopy, "keywords");
+        KeywordSet requiredKeywords = KeywordSet.of(keywords);
 
         return (Player player) -> {
-            return player.getBoard().findMinion((minion) -> minion.getKeywords().containsAll(keywordCopy)) != null;
+            return player.getBoard().findMinion((minion) -> minion.getKeywords().containsAll(requiredKeywords)) != null;
         };
     }
 
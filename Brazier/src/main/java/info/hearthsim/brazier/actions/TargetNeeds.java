@@ -6,9 +6,6 @@ import info.hearthsim.brazier.game.*;
 import info.hearthsim.brazier.game.minions.Minion;
 import info.hearthsim.brazier.parsing.NamedArg;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Objects;
 
 /**
@@ -77,9 +74,9 @@ public final class TargetNeeds {
      * {@link Keyword}s.
      */
     public static TargetNeed hasKeyword(@NamedArg("keywords") Keyword[] keywords) {
-        List<Keyword> keywordsCopy = new ArrayList<>(Arrays.asList(keywords));
+        KeywordSet requiredKeywords = KeywordSet.of(keywords);
         PlayerPredicate<LabeledEntity> filter = (playerId, target) -> {
-            return target.getKeywords().containsAll(keywordsCopy);
+            return target.getKeywords().containsAll(requiredKeywords);
         };
         return new TargetNeed(filter, filter);
     }
@@ -1298,7 +1298,7 @@ public final class TargetlessActions {
     public static TargetlessAction<PlayerProperty> summonRandomMinionFromDeck(
         @NamedArg("fallbackMinion") MinionProvider fallbackMinion) {
 
-        Predicate<Card> appliedFilter = (card) -> card.getMinion() != null;
+        Predicate<Card> appliedFilter = Card::isMinionCard;
         return (PlayerProperty actor) -> {
             Player player = actor.getOwner();
 
@@ -1307,7 +1307,7 @@ public final class TargetlessActions {
                 return;
 
             MinionDescr minion = card != null
-                ? card.getMinion().getBaseDescr()
+                ? card.getMinionDescr()
                 : fallbackMinion.getMinion();
             assert minion != null;
 
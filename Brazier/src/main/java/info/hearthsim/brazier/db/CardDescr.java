@@ -6,6 +6,7 @@ import info.hearthsim.brazier.actions.PlayActionDef;
 import info.hearthsim.brazier.actions.TargetNeed;
 import info.hearthsim.brazier.actions.TargetlessAction;
 import info.hearthsim.brazier.game.Keyword;
+import info.hearthsim.brazier.game.KeywordSet;
 import info.hearthsim.brazier.game.Keywords;
 import info.hearthsim.brazier.game.Player;
 import info.hearthsim.brazier.game.cards.*;
@@ -33,7 +34,7 @@ public final class CardDescr implements HearthStoneEntity {
     private final String name;
     private final String description;
     private final Keyword cardClass;
-    private final Set<Keyword> keywords;
+    private final KeywordSet keywords;
     private final CardType cardType;
     private final CardRarity rarity;
     private final int overload;
@@ -59,7 +60,7 @@ public final class CardDescr implements HearthStoneEntity {
         this.cardClass = builder.cardClass;
         this.minion = builder.minion;
         this.weapon = builder.weapon;
-        this.keywords = readOnlyCopySet(builder.getCombinedKeywords());
+        this.keywords = KeywordSet.of(builder.getCombinedKeywords());
         this.onDrawActions = CollectionsEx.readOnlyCopy(builder.onDrawActions);
         this.onPlayActions = CollectionsEx.readOnlyCopy(builder.onPlayActions);
         this.inHandAbility = builder.inHandAbility;
@@ -139,7 +140,7 @@ public final class CardDescr implements HearthStoneEntity {
     }
 
     @Override
-    public Set<Keyword> getKeywords() {
+    public KeywordSet getKeywords() {
         return keywords;
     }
 
@@ -211,13 +212,6 @@ public final class CardDescr implements HearthStoneEntity {
         return "Card: " + cardId;
     }
 
-    private <T> Set<T> readOnlyCopySet(Collection<? extends T> src) {
-        if (src.isEmpty()) {
-            return Collections.emptySet();
-        }
-        return Collections.unmodifiableSet(new HashSet<>(src));
-    }
-
     public static final class Builder {
         private final CardName cardId;
         private final CardType cardType;
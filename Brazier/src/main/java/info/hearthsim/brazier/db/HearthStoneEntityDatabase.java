@@ -2,6 +2,7 @@ package info.hearthsim.brazier.db;
 
 import info.hearthsim.brazier.game.EntityName;
 import info.hearthsim.brazier.game.Keyword;
+import info.hearthsim.brazier.game.KeywordSet;
 import org.jtrim.collections.CollectionsEx;
 import org.jtrim.utils.ExceptionHelper;
 
@@ -37,12 +38,14 @@ public final class HearthStoneEntityDatabase<EntityType extends HearthStoneEntit
 
     private final List<EntityType> entities;
     private final Map<EntityName, EntityType> entitiesById;
+    private final Map<EntityType, Integer> indexes;
 
-    private final ConcurrentMap<Keywords, List<EntityType>> entitiesByKeyword;
+    private final ConcurrentMap<KeywordSet, List<EntityType>> entitiesByKeyword;
 
     private HearthStoneEntityDatabase(Builder<EntityType> builder) {
         this.entities = CollectionsEx.readOnlyCopy(builder.entities);
         this.entitiesById = toById(this.entities);
+        this.indexes = toIndexes(this.entities);
         this.entitiesByKeyword = new ConcurrentHashMap<>();
     }
 
@@ -60,10 +63,20 @@ public final class HearthStoneEntityDatabase<EntityType extends HearthStoneEntit
         return result;
     }
 
-    private List<EntityType> findByKeywords(Keywords keywords) {
+    private static <EntityType extends HearthStoneEntity> Map<EntityType, Integer> toIndexes(List<EntityType> entities) {
+        Map<EntityType, Integer> result = new IdentityHashMap<>(entities.size());
+        int index = 0;
+        for (EntityType entity: entities) {
+            result.put(entity, index);
+            index++;
+        }
+        return result;
+    }
+
+    private List<EntityType> findByKeywords(KeywordSet keywords) {
         List<EntityType> result = new LinkedList<>();
         for (EntityType entity: entities) {
-            if (keywords.isApplicable(entity)) {
+            if (entity.getKeywords().containsAll(keywords)) {
                 result.add(entity);
             }
         }
@@ -83,9 +96,9 @@ public final class HearthStoneEntityDatabase<EntityType extends HearthStoneEntit
     }
 
     public List<EntityType> getByKeywords(Keyword... keywords) {
-        Keywords allKeys = new Keywords(keywords);
+        KeywordSet allKeys = KeywordSet.of(keywords);
 
-        if (keywords.length == 0) {
+        if (allKeys.isEmpty()) {
             return entities;
         }
 
@@ -96,36 +109,12 @@ public final class HearthStoneEntityDatabase<EntityType extends HearthStoneEntit
         return entities;
     }
 
-    private static final class Keywords {
-        private final Keyword[] keywords;
-
-        public Keywords(Keyword[] keywords) {
-            this.keywords = keywords.clone();
-            ExceptionHelper.checkNotNullElements(this.keywords, "keywords");
-        }
-
-        public boolean isApplicable(HearthStoneEntity entity) {
-            Set<Keyword> entityKeywords = entity.getKeywords();
-            for (Keyword keyword: keywords) {
-                if (!entityKeywords.contains(keyword)) {
-                    return false;
-                }
-            }
-            return true;
-        }
-
-        @Override
-        public int hashCode() {
-            return 415 + Arrays.hashCode(this.keywords);
-        }
-
-        @Override
-        public boolean equals(Object obj) {
-            if (obj == null) return false;
-            if (getClass() != obj.getClass()) return false;
-
-            final Keywords other = (Keywords)obj;
-            return Arrays.equals(this.keywords, other.keywords);
-        }
+    /**
+     * Returns the index of the given entity in the list returned by {@link #getAll()}, or {@code -1}
+     * if the entity is not in this database. Entities are compared by identity.
+     */
+    public int indexOf(EntityType entity) {
+        Integer result = indexes.get(entity);
+        return result != null ? result : -1;
     }
 }
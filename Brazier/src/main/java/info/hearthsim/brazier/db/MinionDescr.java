@@ -8,6 +8,7 @@ import info.hearthsim.brazier.actions.PlayArg;
 import info.hearthsim.brazier.events.EventAction;
 import info.hearthsim.brazier.events.TriggeringAbility;
 import info.hearthsim.brazier.game.Keyword;
+import info.hearthsim.brazier.game.KeywordSet;
 import info.hearthsim.brazier.game.Player;
 import info.hearthsim.brazier.game.cards.PlayAction;
 import info.hearthsim.brazier.game.minions.Minion;
@@ -32,7 +33,7 @@ public final class MinionDescr implements HearthStoneEntity {
     private final Supplier<CardDescr> baseCardRef;
     private final int attack;
     private final int hp;
-    private final Set<Keyword> keywords;
+    private final KeywordSet keywords;
     private final List<PlayActionDef<Minion>> battleCries;
     private final LivingEntitiesAbilities<Minion> abilities;
     private final boolean taunt;
@@ -52,7 +53,7 @@ public final class MinionDescr implements HearthStoneEntity {
         this.baseCardRef = new CachedSupplier<>(builder.baseCardRef);
         this.attack = builder.attack;
         this.hp = builder.hp;
-        this.keywords = Collections.unmodifiableSet(new HashSet<>(builder.keywords));
+        this.keywords = KeywordSet.of(builder.keywords);
         this.battleCries = CollectionsEx.readOnlyCopy(builder.battleCries);
         this.abilities = builder.abilities;
         this.taunt = builder.taunt;
@@ -109,7 +110,7 @@ public final class MinionDescr implements HearthStoneEntity {
     }
 
     @Override
-    public Set<Keyword> getKeywords() {
+    public KeywordSet getKeywords() {
         return keywords;
     }
 
@@ -5,12 +5,11 @@ import info.hearthsim.brazier.abilities.LivingEntitiesAbilities;
 import info.hearthsim.brazier.events.EventAction;
 import info.hearthsim.brazier.events.TriggeringAbility;
 import info.hearthsim.brazier.game.Keyword;
+import info.hearthsim.brazier.game.KeywordSet;
 import info.hearthsim.brazier.game.weapons.Weapon;
 import info.hearthsim.brazier.game.weapons.WeaponName;
 import org.jtrim.utils.ExceptionHelper;
 
-import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -23,7 +22,7 @@ public final class WeaponDescr implements HearthStoneEntity {
     private final boolean canRetaliateWith;
     private final boolean canTargetRetaliate;
 
-    private final Set<Keyword> keywords;
+    private final KeywordSet keywords;
 
     private final LivingEntitiesAbilities<Weapon> abilities;
 
@@ -34,17 +33,10 @@ public final class WeaponDescr implements HearthStoneEntity {
         this.maxAttackCount = builder.maxAttackCount;
         this.canRetaliateWith = builder.canRetaliateWith;
         this.canTargetRetaliate = builder.canTargetRetaliate;
-        this.keywords = readOnlyCopySet(builder.keywords);
+        this.keywords = KeywordSet.of(builder.keywords);
         this.abilities = builder.abilities;
     }
 
-    private <T> Set<T> readOnlyCopySet(Collection<? extends T> src) {
-        if (src.isEmpty()) {
-            return Collections.emptySet();
-        }
-        return Collections.unmodifiableSet(new HashSet<>(src));
-    }
-
     public String getDisplayName() {
         // TODO: Allow customizing the display name.
         return id.getName();
@@ -56,7 +48,7 @@ public final class WeaponDescr implements HearthStoneEntity {
     }
 
     @Override
-    public Set<Keyword> getKeywords() {
+    public KeywordSet getKeywords() {
         return keywords;
     }
 
@@ -6,13 +6,13 @@ import info.hearthsim.brazier.actions.CardPlayRef;
 import info.hearthsim.brazier.actions.PlayArg;
 import info.hearthsim.brazier.game.Character;
 import info.hearthsim.brazier.game.Keyword;
+import info.hearthsim.brazier.game.KeywordSet;
 import info.hearthsim.brazier.game.LabeledEntity;
 import info.hearthsim.brazier.game.Player;
 import info.hearthsim.brazier.game.cards.Card;
 import org.jtrim.utils.ExceptionHelper;
 
 import java.util.Optional;
-import java.util.Set;
 
 /**
  * Event of playing a card. Three fields are included in such an event, which are the {@link PlayArg}
@@ -76,7 +76,7 @@ public final class CardPlayEvent implements PlayerProperty, LabeledEntity, CardP
      * Returns {@link Keyword}s of the playing card.
      */
     @Override
-    public Set<Keyword> getKeywords() {
+    public KeywordSet getKeywords() {
         return getCard().getKeywords();
     }
 
@@ -2,13 +2,12 @@ package info.hearthsim.brazier.events;
 
 import info.hearthsim.brazier.PlayerProperty;
 import info.hearthsim.brazier.actions.CardPlayRef;
-import info.hearthsim.brazier.game.Keyword;
+import info.hearthsim.brazier.game.KeywordSet;
 import info.hearthsim.brazier.game.LabeledEntity;
 import info.hearthsim.brazier.game.Player;
 import info.hearthsim.brazier.game.cards.Card;
 import org.jtrim.utils.ExceptionHelper;
 
-import java.util.Set;
 
 /**
  * An event of playing a card with a specific mana cost by the specific player.
@@ -31,7 +30,7 @@ public final class CardPlayedEvent implements PlayerProperty, LabeledEntity, Car
     }
 
     @Override
-    public Set<Keyword> getKeywords() {
+    public KeywordSet getKeywords() {
         return card.getKeywords();
     }
 
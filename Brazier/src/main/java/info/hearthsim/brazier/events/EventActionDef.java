@@ -1,6 +1,9 @@
 package info.hearthsim.brazier.events;
 
 import info.hearthsim.brazier.game.Entity;
+import info.hearthsim.brazier.game.EntityId;
+import info.hearthsim.brazier.game.Game;
+import info.hearthsim.brazier.game.GameJournal;
 import info.hearthsim.brazier.game.GameProperty;
 import info.hearthsim.brazier.util.UndoAction;
 import org.jtrim.utils.ExceptionHelper;
@@ -41,7 +44,9 @@ import java.util.function.Predicate;
  *     </li>
  * </ul>
  * The sole {@code public} method of an {@code EventActionDef} is {@link #registerForEvent(GameEvents, Owner)},
- * which registers itself to the given {@link GameEvents} for the given owner.
+ * which registers itself to the given {@link GameEvents} for the given owner. Registrations made with
+ * {@link #registerForEvent(GameEvents, Owner, boolean) toCopy} are kept by the copies of the {@code GameEvents},
+ * where they trigger for the copy of the owner.
  *
  * @see EventAction
  * @see EventFilter
@@ -83,13 +88,28 @@ public final class EventActionDef <Owner extends Entity, Source extends GameProp
         List<EventActionDef<Self, T>> actionDefs,
         GameEvents gameEvents,
         Self eventOwner) {
+        return registerAll(actionDefs, gameEvents, eventOwner, false);
+    }
+
+    /**
+     * Registers the given list of {@code EventActionDef} to the given {@link GameEvents}
+     * for the given {@code Owner}.
+     *
+     * @see #registerForEvent(GameEvents, Entity, boolean)
+     */
+    public static <Self extends Entity, T extends GameProperty> UndoAction<GameEvents>
+    registerAll(
+        List<EventActionDef<Self, T>> actionDefs,
+        GameEvents gameEvents,
+        Self eventOwner,
+        boolean toCopy) {
         if (actionDefs.isEmpty())
             return UndoAction.DO_NOTHING;
 
         UndoAction.Builder<GameEvents> result =
             new UndoAction.Builder<>(actionDefs.size());
         for (EventActionDef<Self, T> actionDef : actionDefs) {
-            result.add(actionDef.registerForEvent(gameEvents, eventOwner));
+            result.add(actionDef.registerForEvent(gameEvents, eventOwner, toCopy));
         }
         return result;
     }
@@ -98,7 +118,30 @@ public final class EventActionDef <Owner extends Entity, Source extends GameProp
      * Registers this {@code EventActionDef} to the given {@link GameEvents} for the given {@code Owner}.
      */
     public UndoAction<GameEvents> registerForEvent(GameEvents gameEvents, Owner owner) {
+        return registerForEvent(gameEvents, owner, false);
+    }
+
+    /**
+     * Registers this {@code EventActionDef} to the given {@link GameEvents} for the given {@code Owner}.
+     * <p>
+     * If {@code toCopy} is {@code true}, the registration is kept by the copies of the {@code GameEvents},
+     * and triggers for the entity with the same {@link EntityId} as the owner in the copied game. The
+     * returned {@link UndoAction} removes the registration from whichever {@code GameEvents} it is given.
+     */
+    public UndoAction<GameEvents> registerForEvent(GameEvents gameEvents, Owner owner, boolean toCopy) {
         GameEventActions<Source> actionEvents = listenerGetter.apply(gameEvents);
+        if (toCopy) {
+            OwnedListener<Owner, Source> listener = new OwnedListener<>(this, owner);
+            Predicate<? super Source> condition = lazyFilter || filter == EventFilters.ANY
+                ? GameActionList.ALWAYS_APPLICABLE
+                : listener;
+            UndoAction<GameEventActions> undoRef = actionEvents.register(listener, condition, priority, true);
+            UndoAction<GameEvents> result = (ge) -> undoRef.undo(listenerGetter.apply(ge));
+            if (triggerOnce)
+                listener.unregisterRef.set(result);
+            return result;
+        }
+
         if (!triggerOnce) {
             UndoAction<GameEventActions> undoRef = registerForEvents(actionEvents, owner, action);
             return (ge) -> undoRef.undo(listenerGetter.apply(ge));
@@ -119,7 +162,11 @@ public final class EventActionDef <Owner extends Entity, Source extends GameProp
         Owner owner,
         EventAction<? super Owner, ? super Source> appliedEventAction) {
 
-        if (lazyFilter) {
+        if (filter == EventFilters.ANY) {
+            return actionEvents.register((Source eventSource) -> {
+                appliedEventAction.trigger(owner, eventSource);
+            }, priority);
+        } else if (lazyFilter) {
             return actionEvents.register((Source eventSource) -> {
                 if (filter.applies(owner, eventSource))
                     appliedEventAction.trigger(owner, eventSource);
@@ -131,4 +178,88 @@ public final class EventActionDef <Owner extends Entity, Source extends GameProp
             }, condition, priority);
         }
     }
+
+    /**
+     * Listener registered by {@link #registerForEvent(GameEvents, Entity, boolean)} to be copied along with the
+     * game. Copies look up the copy of the owner by its {@link EntityId} when they are first used, as the entities
+     * of a copied game do not exist yet when its events are copied.
+     * <p>
+     * Copies whose owner is not in the copied game never trigger. The owner of such a listener was activated
+     * without being added to the game (e.g. a minion summoned to a full board), and re-activating the abilities
+     * of the copied entities did not register a listener for it either.
+     */
+    private static final class OwnedListener <Owner extends Entity, Source extends GameProperty>
+        implements GameActionList.OwnedAction<Source>, Predicate<Source> {
+
+        private final EventActionDef<Owner, Source> def;
+        private final EntityId ownerId;
+        // Shared by the copies, as the undo action works on any copy of the events.
+        private final AtomicReference<UndoAction<GameEvents>> unregisterRef;
+        private Owner owner;
+        private boolean orphaned;
+
+        public OwnedListener(EventActionDef<Owner, Source> def, Owner owner) {
+            this.def = def;
+            this.ownerId = owner.getEntityId();
+            this.unregisterRef = new AtomicReference<>();
+            this.owner = owner;
+        }
+
+        private OwnedListener(OwnedListener<Owner, Source> other) {
+            this.def = other.def;
+            this.ownerId = other.ownerId;
+            this.unregisterRef = other.unregisterRef;
+            this.owner = null;
+            this.orphaned = other.orphaned;
+        }
+
+        @Override
+        public OwnedListener<Owner, Source> copyForCopy() {
+            return new OwnedListener<>(this);
+        }
+
+        /**
+         * Returns the owner of this listener, or {@code null} if it is not in the game of the given event source.
+         */
+        @SuppressWarnings("unchecked")
+        private Owner tryGetOwner(Source eventSource) {
+            Owner result = owner;
+            if (result == null && !orphaned) {
+                Game game = eventSource.getGame();
+                result = (Owner) game.findEntity(ownerId);
+                // The owner might be missing only in a branch of the game which is rolled back.
+                GameJournal journal = game.getJournal();
+                if (journal.isRecording()) {
+                    journal.record((g) -> {
+                        owner = null;
+                        orphaned = false;
+                    });
+                }
+                if (result == null)
+                    orphaned = true;
+                owner = result;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean test(Source eventSource) {
+            Owner currentOwner = tryGetOwner(eventSource);
+            return currentOwner != null && def.filter.applies(currentOwner, eventSource);
+        }
+
+        @Override
+        public void apply(Source eventSource) {
+            Owner currentOwner = tryGetOwner(eventSource);
+            if (currentOwner == null)
+                return;
+            if (def.lazyFilter && !def.filter.applies(currentOwner, eventSource))
+                return;
+
+            UndoAction<GameEvents> unregister = unregisterRef.get();
+            if (unregister != null)
+                unregister.undo(currentOwner.getGame().getEvents());
+            def.action.trigger(currentOwner, eventSource);
+        }
+    }
 }
@@ -13,9 +13,6 @@ import info.hearthsim.brazier.game.weapons.Weapon;
 import info.hearthsim.brazier.parsing.NamedArg;
 import org.jtrim.utils.ExceptionHelper;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 import java.util.function.Predicate;
 
 /**
@@ -176,13 +173,12 @@ public final class EventFilters {
 
     public static EventFilter<GameProperty, Object> minionDiedWithKeyword(
         @NamedArg("keywords") Keyword[] keywords) {
-        Keyword[] keywordsCopy = keywords.clone();
-        ExceptionHelper.checkNotNullElements(keywordsCopy, "keywords");
+        KeywordSet requiredKeywords = KeywordSet.of(keywords);
 
         return (GameProperty owner, Object eventSource) -> {
             Game game = owner.getGame();
-            return game.getPlayer1().getGraveyard().hasWithKeyword(keywordsCopy)
-                || game.getPlayer2().getGraveyard().hasWithKeyword(keywordsCopy);
+            return game.getPlayer1().getGraveyard().hasWithKeyword(requiredKeywords)
+                || game.getPlayer2().getGraveyard().hasWithKeyword(requiredKeywords);
         };
     }
 
@@ -200,8 +196,7 @@ public final class EventFilters {
 
     public static EventFilter<GameProperty, LabeledEntity> eventSourceHasKeyword(
         @NamedArg("keywords") Keyword... keywords) {
-        List<Keyword> requiredKeywords = new ArrayList<>(Arrays.asList(keywords));
-        ExceptionHelper.checkNotNullElements(requiredKeywords, "keywords");
+        KeywordSet requiredKeywords = KeywordSet.of(keywords);
 
         return (GameProperty owner, LabeledEntity eventSource) -> {
             return eventSource.getKeywords().containsAll(requiredKeywords);
@@ -229,11 +224,10 @@ public final class EventFilters {
 
     public static EventFilter<GameProperty, LabeledEntity> targetHasKeyword(
         @NamedArg("keywords") Keyword... keywords) {
-        List<Keyword> keywordsCopy = new ArrayList<>(Arrays.asList(keywords));
-        ExceptionHelper.checkNotNullElements(keywordsCopy, "keywords");
+        KeywordSet requiredKeywords = KeywordSet.of(keywords);
 
         return (GameProperty source, LabeledEntity target) -> {
-            return target.getKeywords().containsAll(keywordsCopy);
+            return target.getKeywords().containsAll(requiredKeywords);
         };
     }
 
@@ -4,10 +4,9 @@ import info.hearthsim.brazier.Priorities;
 import info.hearthsim.brazier.actions.GameAction;
 import info.hearthsim.brazier.actions.GameObjectAction;
 import info.hearthsim.brazier.game.Game;
+import info.hearthsim.brazier.game.GameJournal;
 import info.hearthsim.brazier.game.GameProperty;
 import info.hearthsim.brazier.util.UndoAction;
-import org.jtrim.collections.RefLinkedList;
-import org.jtrim.collections.RefList;
 import org.jtrim.utils.ExceptionHelper;
 
 import java.util.*;
@@ -30,30 +29,102 @@ import java.util.function.Predicate;
  *         {@code a} will have a smaller index.
  *     </li>
  * </ul>
+ * <p>
+ * The actions are stored in one array-backed {@link Bucket} per distinct priority, in decreasing order of the
+ * priorities. Adding an action appends it to its bucket, and removing it (by undoing the {@link UndoAction}
+ * returned when it was added) clears its slot, which is remembered by the action; so both are constant time
+ * operations as long as the bucket has not been compacted since. Copies keep the slots of the copied actions,
+ * so the same holds for the copies of the list.
+ * <p>
+ * Copied actions are shared by the copies, except for {@link OwnedAction}s, which are replaced by their copies
+ * re-pointed at the copy of the entity owning them; removing an action removes its copy from a copy of the list.
+ * <p>
+ * The changes of a list with an owner are recorded to the {@link GameJournal} of the game of the owner, so that
+ * the buckets are restored to the same layout (including the slots) when they are undone.
+ * <p>
+ * Non-greedy execution collects the applicable actions to a scratch array of the list which is reused by
+ * later (and nested) executions, so it does not allocate any object.
  */
 public final class GameActionList <T extends GameProperty> {
-    private final RefList<ActionWrapper<T>> actions;
+    /**
+     * The condition of the actions which are applicable to every object. Actions with this condition are
+     * executed without evaluating it.
+     */
+    static final Predicate<Object> ALWAYS_APPLICABLE = (arg) -> true;
+
+    private static final Bucket<?>[] NO_BUCKETS = new Bucket<?>[0];
+    private static final Object[] NO_ACTIONS = new Object[0];
+
+    private final GameProperty owner;
+    private Bucket<T>[] buckets;
+    private int bucketCount;
+    private int actionCount;
+
+    private Object[] scratch;
+    private int scratchSize;
+
+    /**
+     * {@link GameObjectAction} of an entity which is replaced by its {@link #copyForCopy() copy} when the
+     * {@code GameActionList} it was added to is copied. If the action is also the condition it was added with,
+     * its copy becomes the condition of the copied action.
+     */
+    interface OwnedAction <T extends GameProperty> extends GameObjectAction<T> {
+        /**
+         * Returns a copy of this action for a copy of the game, which applies to the copy of the owning entity.
+         */
+        public OwnedAction<T> copyForCopy();
+    }
 
     /**
-     * Creates an empty {@code GameActionList}.
+     * Creates an empty {@code GameActionList} whose changes are not journaled.
      */
     public GameActionList() {
-        this.actions = new RefLinkedList<>();
+        this(null);
     }
 
     /**
-     * Returns a copy of this {@code GameActionList}.
+     * Creates an empty {@code GameActionList} whose changes are journaled in the game of the given owner;
+     * the changes are not journaled if the owner is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public GameActionList(GameProperty owner) {
+        this.owner = owner;
+        this.buckets = (Bucket<T>[]) NO_BUCKETS;
+        this.bucketCount = 0;
+        this.actionCount = 0;
+        this.scratch = NO_ACTIONS;
+        this.scratchSize = 0;
+    }
+
+    /**
+     * Returns a copy of this {@code GameActionList} with the same owner.
      */
     public GameActionList<T> copy() {
-        GameActionList<T> result = new GameActionList<>();
-        for (ActionWrapper<T> action : actions)
-            if (action.toCopy)
-                result.actions.add(action);
+        return copyFor(owner);
+    }
+
+    /**
+     * Returns a copy of this {@code GameActionList} with the given new owner.
+     */
+    @SuppressWarnings("unchecked")
+    public GameActionList<T> copyFor(GameProperty newOwner) {
+        GameActionList<T> result = new GameActionList<>(newOwner);
+        if (actionCount == 0)
+            return result;
+
+        result.buckets = (Bucket<T>[]) new Bucket<?>[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket<T> bucketCopy = buckets[i].copyToCopy();
+            if (bucketCopy.liveCount > 0) {
+                result.buckets[result.bucketCount++] = bucketCopy;
+                result.actionCount += bucketCopy.liveCount;
+            }
+        }
         return result;
     }
 
     public UndoAction<GameActionList> addAction(GameObjectAction<T> action) {
-        return addAction(action, (arg) -> true, Priorities.NORMAL_PRIORITY, false);
+        return addAction(action, ALWAYS_APPLICABLE, Priorities.NORMAL_PRIORITY, false);
     }
 
     /**
@@ -62,29 +133,52 @@ public final class GameActionList <T extends GameProperty> {
      * @see Priorities#NORMAL_PRIORITY
      */
     public UndoAction<GameActionList> addAction(GameObjectAction<T> action, boolean toCopy) {
-        return addAction(action, (arg) -> true, Priorities.NORMAL_PRIORITY, toCopy);
+        return addAction(action, ALWAYS_APPLICABLE, Priorities.NORMAL_PRIORITY, toCopy);
     }
 
     /**
-     * Returns the priority of the given {@link RefList.ElementRef} of {@link ActionWrapper}.
+     * Returns {@code true} if there is no action in this list.
      */
-    private static <T> int getPriority(RefList.ElementRef<ActionWrapper<T>> ref) {
-        return ref.getElement().priority;
+    public boolean isEmpty() {
+        return actionCount == 0;
     }
 
     /**
-     * Inserts the given {@link ActionWrapper} to the list according to its priority.
+     * Returns the index of the {@link Bucket} with the given priority, or {@code -(insertionIndex + 1)}
+     * if there is no such bucket, where {@code insertionIndex} is the index the bucket should be inserted to.
      */
-    private int insert(ActionWrapper<T> action) {
-        int priority = action.priority;
-        RefList.ElementRef<ActionWrapper<T>> previousRef = actions.getLastReference();
-        while (previousRef != null && getPriority(previousRef) < priority) {
-            previousRef = previousRef.getPrevious(1);
+    private int findBucket(int priority) {
+        // There are only a few distinct priorities, so a linear search is the fastest.
+        for (int i = 0; i < bucketCount; i++) {
+            int bucketPriority = buckets[i].priority;
+            if (bucketPriority == priority)
+                return i;
+            if (bucketPriority < priority)
+                return -(i + 1);
         }
+        return -(bucketCount + 1);
+    }
 
-        if (previousRef != null)
-            return previousRef.addAfter(action).getIndex();
-        return actions.addFirstGetReference(action).getIndex();
+    /**
+     * Returns the {@link Bucket} with the given priority, creating it if there is no such bucket.
+     */
+    @SuppressWarnings("unchecked")
+    private Bucket<T> getOrCreateBucket(int priority) {
+        int index = findBucket(priority);
+        if (index >= 0)
+            return buckets[index];
+
+        int insertionIndex = -(index + 1);
+        if (bucketCount == buckets.length) {
+            Bucket<T>[] newBuckets = (Bucket<T>[]) new Bucket<?>[Math.max(4, 2 * bucketCount)];
+            System.arraycopy(buckets, 0, newBuckets, 0, bucketCount);
+            buckets = newBuckets;
+        }
+        System.arraycopy(buckets, insertionIndex, buckets, insertionIndex + 1, bucketCount - insertionIndex);
+        Bucket<T> bucket = new Bucket<>(priority);
+        buckets[insertionIndex] = bucket;
+        bucketCount++;
+        return bucket;
     }
 
     /**
@@ -103,10 +197,52 @@ public final class GameActionList <T extends GameProperty> {
                                                       boolean toCopy) {
         ExceptionHelper.checkNotNullArgument(action, "action");
 
-        ActionWrapper<T> wrappedAction = new ActionWrapper<>(action, condition, priority, toCopy);
-        insert(wrappedAction);
+        // Buckets are never removed, so an empty bucket left behind by an undone action is reused.
+        Bucket<T> bucket = getOrCreateBucket(priority);
+        GameJournal journal = getJournal();
+        int slot = bucket.nextSlot(journal);
+        ActionWrapper<T> wrappedAction = new ActionWrapper<>(action, condition, priority, toCopy, slot);
+        bucket.add(wrappedAction);
+        actionCount++;
+
+        if (journal.isRecording()) {
+            journal.record((game) -> {
+                bucket.removeAt(slot);
+                actionCount--;
+            });
+        }
+        return (gal) -> ((GameActionList<?>) gal).remove(wrappedAction);
+    }
+
+    private GameJournal getJournal() {
+        return owner != null ? owner.getGame().getJournal() : GameJournal.NOT_JOURNALED;
+    }
+
+    /**
+     * Removes the given {@link ActionWrapper} from this list, if it is in the list.
+     */
+    private void remove(ActionWrapper<?> action) {
+        int index = findBucket(action.priority);
+        if (index < 0)
+            return;
+
+        Bucket<T> bucket = buckets[index];
+        int slot = bucket.find(action);
+        if (slot < 0)
+            return;
 
-        return (gal) -> gal.actions.remove(wrappedAction);
+        ActionWrapper<T> removed = bucket.elements[slot];
+        int prevSize = bucket.size;
+        bucket.removeAt(slot);
+        actionCount--;
+
+        GameJournal journal = getJournal();
+        if (journal.isRecording()) {
+            journal.record((game) -> {
+                bucket.restoreAt(slot, removed, prevSize);
+                actionCount++;
+            });
+        }
     }
 
     /**
@@ -116,7 +252,7 @@ public final class GameActionList <T extends GameProperty> {
      * @param greedy whether to execute these actions greedily.
      */
     public void executeActionsNow(T object, boolean greedy) {
-        if (actions.isEmpty())
+        if (actionCount == 0)
             return;
 
         if (greedy) {
@@ -126,23 +262,51 @@ public final class GameActionList <T extends GameProperty> {
             // We have to first check if the action conditions are met, otherwise
             // two Hobgoblin would be the same as a single hobgoblin (because the first buff
             // would prevent the second to trigger).
-            List<GameObjectAction<? super T>> applicableActions = getApplicableActions(object);
-            executeActionsNow(object, applicableActions);
+            // The applicable actions are pushed to the scratch array, above the actions of the
+            // executions this execution is nested in.
+            int base = scratchSize;
+            try {
+                for (int i = 0; i < bucketCount; i++) {
+                    Bucket<T> bucket = buckets[i];
+                    ActionWrapper<T>[] elements = bucket.elements;
+                    for (int j = 0, size = bucket.size; j < size; j++) {
+                        ActionWrapper<T> action = elements[j];
+                        if (action != null && action.isApplicable(object))
+                            pushScratch(action.getAction());
+                    }
+                }
+
+                int end = scratchSize;
+                for (int i = base; i < end; i++) {
+                    @SuppressWarnings("unchecked")
+                    GameObjectAction<? super T> action = (GameObjectAction<? super T>) scratch[i];
+                    action.apply(object);
+                }
+            } finally {
+                Arrays.fill(scratch, base, scratchSize, null);
+                scratchSize = base;
+            }
         }
     }
 
+    private void pushScratch(Object action) {
+        if (scratchSize == scratch.length)
+            scratch = Arrays.copyOf(scratch, Math.max(8, 2 * scratchSize));
+        scratch[scratchSize++] = action;
+    }
+
     /**
      * Executes the applicable actions in this list with the given {@link Game} and {@code object} greedily.
      */
     private void executeActionsNowGreedily(T object) {
-        List<ActionWrapper<T>> remainingAll = new LinkedList<>(actions);
-        List<ActionWrapper<T>> remainingQueue = new ArrayList<>(actions.size());
-        List<ActionWrapper<T>> skippedActions = new LinkedList<>();
+        List<List<ActionWrapper<T>>> remainingAll = snapshotBuckets();
+        List<ActionWrapper<T>> remainingQueue = new ArrayList<>();
+        List<ActionWrapper<T>> skippedActions = new ArrayList<>();
         List<GameObjectAction<? super T>> toExecute = new ArrayList<>();
 
-        while (!remainingAll.isEmpty()) {
+        for (List<ActionWrapper<T>> maxPriorityActions : remainingAll) {
             skippedActions.clear();
-            drainMaxPriorityActions(remainingAll, remainingQueue);
+            remainingQueue.addAll(maxPriorityActions);
 
             while (!remainingQueue.isEmpty()) {
                 toExecute.clear();
@@ -175,6 +339,28 @@ public final class GameActionList <T extends GameProperty> {
         }
     }
 
+    /**
+     * Returns the actions currently in this list, grouped by their priority in a decreasing order of
+     * the priorities. Empty groups are not returned.
+     */
+    private List<List<ActionWrapper<T>>> snapshotBuckets() {
+        List<List<ActionWrapper<T>>> result = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket<T> bucket = buckets[i];
+            if (bucket.liveCount == 0)
+                continue;
+
+            List<ActionWrapper<T>> group = new ArrayList<>(bucket.liveCount);
+            for (int j = 0; j < bucket.size; j++) {
+                ActionWrapper<T> action = bucket.elements[j];
+                if (action != null)
+                    group.add(action);
+            }
+            result.add(group);
+        }
+        return result;
+    }
+
     /**
      * Executes the given collection of {@code GameObjectAction}s with the given {@code Game} instance
      * and {@code object}, and returns the undo actions corresponding to these {@code GameObjectAction}s.
@@ -209,63 +395,164 @@ public final class GameActionList <T extends GameProperty> {
     }
 
     /**
-     * Drains the {@code ActionWrapper}s with the maximum priority from the source list to the destination list.
-     * The method assumes the {@code ActionWrapper}s are organised in a decreasing order of priority in the source code.
+     * Returns {@link GameObjectAction}s in this list that are applicable to the given object.
      */
-    private static <T> void drainMaxPriorityActions(List<ActionWrapper<T>> src, List<ActionWrapper<T>> dest) {
-        if (src.isEmpty()) {
-            return;
+    private List<GameObjectAction<? super T>> getApplicableActions(T object) {
+        if (actionCount == 0) {
+            return Collections.emptyList();
         }
 
-        ActionWrapper<T> first = src.remove(0);
-        dest.add(first);
-        int priority = first.priority;
-
-        Iterator<ActionWrapper<T>> srcItr = src.iterator();
-        while (srcItr.hasNext()) {
-            ActionWrapper<T> current = srcItr.next();
-            if (current.priority != priority) {
-                break;
+        // The list is only allocated if there is an applicable action.
+        List<GameObjectAction<? super T>> result = null;
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket<T> bucket = buckets[i];
+            for (int j = 0; j < bucket.size; j++) {
+                ActionWrapper<T> action = bucket.elements[j];
+                if (action != null && action.isApplicable(object)) {
+                    if (result == null)
+                        result = new ArrayList<>(actionCount);
+                    result.add(action.getAction());
+                }
             }
-
-            srcItr.remove();
-            dest.add(current);
         }
+
+        return result != null ? result : Collections.emptyList();
     }
 
     /**
-     * Returns {@link GameObjectAction}s in this list that are applicable to the given object.
+     * The actions of a {@code GameActionList} with the same priority, in the order they were added.
+     * Removed actions leave a {@code null} slot behind, which are dropped when the bucket is compacted.
      */
-    private List<GameObjectAction<? super T>> getApplicableActions(T object) {
-        if (actions.isEmpty()) {
-            return Collections.emptyList();
+    private static final class Bucket<T> {
+        private static final int DEFAULT_CAPACITY = 4;
+
+        private final int priority;
+        private ActionWrapper<T>[] elements;
+        private int size;
+        private int liveCount;
+
+        @SuppressWarnings("unchecked")
+        public Bucket(int priority) {
+            this(priority, (ActionWrapper<T>[]) new ActionWrapper<?>[DEFAULT_CAPACITY]);
         }
 
-        List<GameObjectAction<? super T>> result = new ArrayList<>(actions.size());
-        for (ActionWrapper<T> action: actions) {
-            if (action.isApplicable(object)) {
-                result.add(action.getAction());
+        private Bucket(int priority, ActionWrapper<T>[] elements) {
+            this.priority = priority;
+            this.elements = elements;
+            this.size = 0;
+            this.liveCount = 0;
+        }
+
+        /**
+         * Returns a copy of this bucket containing the actions which should be copied, in the same slots.
+         */
+        @SuppressWarnings("unchecked")
+        public Bucket<T> copyToCopy() {
+            Bucket<T> result = new Bucket<>(priority, (ActionWrapper<T>[]) new ActionWrapper<?>[elements.length]);
+            for (int i = 0; i < size; i++) {
+                ActionWrapper<T> action = elements[i];
+                if (action != null && action.toCopy) {
+                    result.elements[i] = action.copyForCopy();
+                    result.size = i + 1;
+                    result.liveCount++;
+                }
             }
+            return result;
         }
 
-        return result;
+        /**
+         * Returns the slot the next added action will be stored in, compacting the bucket first if it
+         * is full and at least half of its slots are empty. The compaction is recorded to the given journal.
+         */
+        public int nextSlot(GameJournal journal) {
+            if (size == elements.length) {
+                if (2 * liveCount <= size) {
+                    if (journal.isRecording()) {
+                        ActionWrapper<T>[] prevElements = elements.clone();
+                        int prevSize = size;
+                        journal.record((game) -> {
+                            elements = prevElements;
+                            size = prevSize;
+                        });
+                    }
+                    compact();
+                }
+                else
+                    elements = Arrays.copyOf(elements, 2 * elements.length);
+            }
+            return size;
+        }
+
+        private void compact() {
+            int newSize = 0;
+            for (int i = 0; i < size; i++) {
+                ActionWrapper<T> action = elements[i];
+                if (action != null)
+                    elements[newSize++] = action;
+            }
+            Arrays.fill(elements, newSize, size, null);
+            size = newSize;
+        }
+
+        public void add(ActionWrapper<T> action) {
+            elements[size++] = action;
+            liveCount++;
+        }
+
+        /**
+         * Returns the slot of the given action in this bucket, or {@code -1} if it is not in the bucket.
+         */
+        public int find(ActionWrapper<?> action) {
+            int slot = action.slot;
+            if (slot < size && elements[slot] != null && elements[slot].key == action.key)
+                return slot;
+
+            // The bucket was compacted since the action was added.
+            for (int i = 0; i < size; i++) {
+                if (elements[i] != null && elements[i].key == action.key)
+                    return i;
+            }
+            return -1;
+        }
+
+        /**
+         * Puts back the given action removed from the given slot, when the size of the bucket was the given
+         * size before the removal.
+         */
+        public void restoreAt(int index, ActionWrapper<T> action, int prevSize) {
+            elements[index] = action;
+            liveCount++;
+            size = prevSize;
+        }
+
+        public void removeAt(int index) {
+            elements[index] = null;
+            liveCount--;
+            if (index == size - 1) {
+                while (size > 0 && elements[size - 1] == null)
+                    size--;
+            }
+        }
     }
 
     /**
-     * Wrapper for a {@link GameObjectAction}.
+     * Wrapper for a {@link GameObjectAction}. The copies of a wrapper made for the copies of the list
+     * share its {@code key}, by which they are removed.
      */
     private static final class ActionWrapper<T> {
         private final GameObjectAction<? super T> wrapped;
         private final Predicate<? super T> condition;
         private final int priority;
         private final boolean toCopy;
+        private final int slot;
+        private final ActionWrapper<?> key;
 
         /**
          * Creates a {@code ActionWrapper} with the given {@code priority}, {@code condition} and wrapping
-         * {@link GameObjectAction}.
+         * {@link GameObjectAction}, which is stored in the given slot of the {@link Bucket} of its priority.
          */
         public ActionWrapper(GameObjectAction<? super T> wrapped, Predicate<? super T> condition,
-                             int priority, boolean toCopy) {
+                             int priority, boolean toCopy, int slot) {
             ExceptionHelper.checkNotNullArgument(condition, "condition");
             ExceptionHelper.checkNotNullArgument(wrapped, "wrapped");
 
@@ -273,25 +560,46 @@ public final class GameActionList <T extends GameProperty> {
             this.condition = condition;
             this.priority = priority;
             this.toCopy = toCopy;
+            this.slot = slot;
+            this.key = this;
+        }
+
+        private ActionWrapper(ActionWrapper<T> other, OwnedAction<? super T> wrapped,
+                              Predicate<? super T> condition) {
+            this.wrapped = wrapped;
+            this.condition = condition;
+            this.priority = other.priority;
+            this.toCopy = other.toCopy;
+            this.slot = other.slot;
+            this.key = other.key;
+        }
+
+        /**
+         * Returns the wrapper to be stored by the copy of the list: this wrapper itself, unless it wraps
+         * an {@link OwnedAction}.
+         */
+        public ActionWrapper<T> copyForCopy() {
+            if (!(wrapped instanceof OwnedAction))
+                return this;
+
+            @SuppressWarnings("unchecked")
+            OwnedAction<? super T> wrappedCopy = ((OwnedAction<? super T>) wrapped).copyForCopy();
+            @SuppressWarnings("unchecked")
+            Predicate<? super T> conditionCopy = condition == wrapped
+                ? (Predicate<? super T>) wrappedCopy
+                : condition;
+            return new ActionWrapper<>(this, wrappedCopy, conditionCopy);
         }
 
         /**
          * Returns if the given object satisfies the {@code condition} of this {@code ActionWrapper}.
          */
         public boolean isApplicable(T arg) {
-            return condition.test(arg);
+            return condition == ALWAYS_APPLICABLE || condition.test(arg);
         }
 
         public GameObjectAction<? super T> getAction() {
             return wrapped;
         }
     }
-
-    private static final class Ref<T> {
-        public T obj;
-
-        public Ref(T obj) {
-            this.obj = obj;
-        }
-    }
 }
@@ -1,28 +1,30 @@
 package info.hearthsim.brazier.events;
 
 import info.hearthsim.brazier.Priorities;
+import info.hearthsim.brazier.actions.GameAction;
 import info.hearthsim.brazier.actions.GameObjectAction;
 import info.hearthsim.brazier.game.Game;
 import info.hearthsim.brazier.game.GameProperty;
 import info.hearthsim.brazier.util.UndoAction;
 
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 
 public final class GameEventActions <T extends GameProperty> {
     private final boolean greedyEvent;
     private final GameActionList<T> actionList;
-    private final AtomicReference<GameActionList<Game>> pauseCollectorRef;
+    private final GameEvents events;
 
-    GameEventActions(boolean greedyEvent, GameActionList<T> actionList,
-                     AtomicReference<GameActionList<Game>> pauseCollectorRef) {
+    GameEventActions(boolean greedyEvent, GameActionList<T> actionList, GameEvents events) {
         this.greedyEvent = greedyEvent;
         this.actionList = actionList;
-        this.pauseCollectorRef = pauseCollectorRef;
+        this.events = events;
     }
 
-    public GameEventActions<T> copyFor(AtomicReference<GameActionList<Game>> pauseCollectorRef) {
-        return new GameEventActions<>(greedyEvent, actionList.copy(), pauseCollectorRef);
+    /**
+     * Returns a copy of this {@code GameEventActions} for the given new {@link GameEvents}.
+     */
+    public GameEventActions<T> copyFor(GameEvents events) {
+        return new GameEventActions<>(greedyEvent, actionList.copyFor(events), events);
     }
 
     /**
@@ -36,7 +38,7 @@ public final class GameEventActions <T extends GameProperty> {
     }
 
     public UndoAction<GameEventActions> register(GameObjectAction<T> action, boolean toCopy) {
-        return register(action, (arg) -> true, Priorities.NORMAL_PRIORITY, toCopy);
+        return register(action, GameActionList.ALWAYS_APPLICABLE, Priorities.NORMAL_PRIORITY, toCopy);
     }
 
     /**
@@ -48,7 +50,7 @@ public final class GameEventActions <T extends GameProperty> {
     public UndoAction<GameEventActions> register(
         GameObjectAction<T> action,
         int priority) {
-        return register(action, (arg) -> true, priority);
+        return register(action, GameActionList.ALWAYS_APPLICABLE, priority);
     }
 
     public UndoAction<GameEventActions> register(
@@ -83,15 +85,24 @@ public final class GameEventActions <T extends GameProperty> {
      * @param object    the given {@code object}. Only actions that are applicable for the {@code object} will be executed.
      */
     public void triggerEvent(boolean delayable, T object) {
-        GameActionList<Game> pauseCollector = pauseCollectorRef.get();
+        GameActionList<Game> pauseCollector = events.getPauseCollector();
         if (pauseCollector != null && delayable) {
             // We do not support greediness for delayable events.
-            pauseCollector.addAction(actionList.snapshotCurrentEvents(object));
+            GameAction snapshot = actionList.snapshotCurrentEvents(object);
+            if (snapshot != GameAction.DO_NOTHING)
+                pauseCollector.addAction(snapshot);
         } else {
             actionList.executeActionsNow(object, greedyEvent);
         }
     }
 
+    /**
+     * Returns {@code true} if there is at least one action registered to this {@code GameEventActions}.
+     */
+    public boolean hasSubscribers() {
+        return !actionList.isEmpty();
+    }
+
     GameActionList<T> getActionList() {
         return actionList;
     }
@@ -9,35 +9,68 @@ import org.jtrim.utils.ExceptionHelper;
 
 import java.util.EnumMap;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * The event listeners of a {@link Game}, one {@link GameEventActions} per {@link SimpleEventType}.
+ * <p>
+ * The listeners are stored in an array indexed by the ordinal of the event types, so triggering an event
+ * which has no subscribers costs a single array lookup and check.
+ * <p>
+ * If the system property {@value #COUNT_DISPATCHES_PROPERTY} is {@code true}, the events triggered by every
+ * game of the JVM are counted per event type, which shows the events dominating the playouts of the AI.
+ * The counts can be retrieved by {@link #getDispatchCounts()} and {@link #getDeliveredCounts()}.
+ */
 public final class GameEvents implements GameProperty {
+    /**
+     * The system property enabling the counting of the triggered events.
+     */
+    public static final String COUNT_DISPATCHES_PROPERTY = "brazier.countEventDispatches";
+    private static final boolean COUNT_DISPATCHES = Boolean.getBoolean(COUNT_DISPATCHES_PROPERTY);
+
+    private static final SimpleEventType[] EVENT_TYPES = SimpleEventType.values();
+    private static final LongAdder[] DISPATCH_COUNTERS = newCounters();
+    private static final LongAdder[] DELIVERY_COUNTERS = newCounters();
+
     private final Game game;
-    private final Map<SimpleEventType, GameEventActions> simpleListeners;
+    private final GameEventActions<?>[] simpleListeners;
 
     /**
      * Used in {@link #doAtomic(Action)} to collect all suspended event notifications.
      */
-    private final AtomicReference<GameActionList<Game>> pauseCollectorRef;
+    private GameActionList<Game> pauseCollector;
 
     public GameEvents(Game game) {
         ExceptionHelper.checkNotNullArgument(game, "game");
 
         this.game = game;
-        this.pauseCollectorRef = new AtomicReference<>(null);
+        this.pauseCollector = null;
 
-        this.simpleListeners = new EnumMap<>(SimpleEventType.class);
+        this.simpleListeners = new GameEventActions<?>[EVENT_TYPES.length];
     }
 
     private GameEvents(Game game, GameEvents other) {
         ExceptionHelper.checkNotNullArgument(game, "game");
 
         this.game = game;
-        this.pauseCollectorRef = new AtomicReference<>(null);
+        this.pauseCollector = null;
 
-        this.simpleListeners = new EnumMap<>(SimpleEventType.class);
-        for (Map.Entry<SimpleEventType, GameEventActions> entry : other.simpleListeners.entrySet())
-            this.simpleListeners.put(entry.getKey(), entry.getValue().copyFor(pauseCollectorRef));
+        this.simpleListeners = new GameEventActions<?>[EVENT_TYPES.length];
+        for (int i = 0; i < simpleListeners.length; i++) {
+            GameEventActions<?> listeners = other.simpleListeners[i];
+            if (listeners != null)
+                this.simpleListeners[i] = listeners.copyFor(this);
+        }
+    }
+
+    private static LongAdder[] newCounters() {
+        if (!COUNT_DISPATCHES)
+            return null;
+
+        LongAdder[] result = new LongAdder[EVENT_TYPES.length];
+        for (int i = 0; i < result.length; i++)
+            result[i] = new LongAdder();
+        return result;
     }
 
     /**
@@ -55,7 +88,7 @@ public final class GameEvents implements GameProperty {
         ExceptionHelper.checkNotNullArgument(eventType, "eventType");
 
         @SuppressWarnings("unchecked")
-        GameEventActions<T> result = (GameEventActions<T>) simpleListeners.get(eventType);
+        GameEventActions<T> result = (GameEventActions<T>) simpleListeners[eventType.ordinal()];
         return result;
     }
 
@@ -72,7 +105,7 @@ public final class GameEvents implements GameProperty {
         GameEventActions<T> result = tryGetSimpleListeners(eventType);
         if (result == null) {
             result = createEventContainer(eventType);
-            simpleListeners.put(eventType, result);
+            simpleListeners[eventType.ordinal()] = result;
         }
 
         return result;
@@ -89,7 +122,25 @@ public final class GameEvents implements GameProperty {
         triggerEvent(eventType, arg, true);
     }
 
+    /**
+     * Triggers the given event for the listeners of its type. The type of the argument is only checked
+     * when the event has subscribers.
+     */
     private <T extends GameProperty> void triggerEvent(SimpleEventType eventType, T arg, boolean delayable) {
+        int eventIndex = eventType.ordinal();
+        @SuppressWarnings("unchecked")
+        GameEventActions<T> listeners = (GameEventActions<T>) simpleListeners[eventIndex];
+        boolean hasSubscribers = listeners != null && listeners.hasSubscribers();
+
+        if (COUNT_DISPATCHES) {
+            DISPATCH_COUNTERS[eventIndex].increment();
+            if (hasSubscribers)
+                DELIVERY_COUNTERS[eventIndex].increment();
+        }
+
+        if (!hasSubscribers)
+            return;
+
         Class<?> expectedArgType = eventType.getArgumentType();
         if (!expectedArgType.isInstance(arg)) {
             throw new IllegalArgumentException("The requested listener has a different argument type."
@@ -97,10 +148,54 @@ public final class GameEvents implements GameProperty {
                 + ". Expected: " + eventType.getArgumentType());
         }
 
-        @SuppressWarnings("unchecked")
-        GameEventActions<T> listeners = tryGetSimpleListeners(eventType);
-        if (listeners != null)
-            listeners.triggerEvent(delayable, arg);
+        listeners.triggerEvent(delayable, arg);
+    }
+
+    /**
+     * Returns if the triggered events are counted, that is, if the system property
+     * {@value #COUNT_DISPATCHES_PROPERTY} is {@code true}.
+     */
+    public static boolean isCountingDispatches() {
+        return COUNT_DISPATCHES;
+    }
+
+    /**
+     * Returns the number of times each type of event was triggered by any game since the counts were last
+     * {@link #resetDispatchCounts() reset}; empty if the events are not {@link #isCountingDispatches() counted}.
+     */
+    public static Map<SimpleEventType, Long> getDispatchCounts() {
+        return getCounts(DISPATCH_COUNTERS);
+    }
+
+    /**
+     * Returns the number of times each type of event was triggered while it had subscribers, since the counts
+     * were last {@link #resetDispatchCounts() reset}; empty if the events are not
+     * {@link #isCountingDispatches() counted}.
+     */
+    public static Map<SimpleEventType, Long> getDeliveredCounts() {
+        return getCounts(DELIVERY_COUNTERS);
+    }
+
+    private static Map<SimpleEventType, Long> getCounts(LongAdder[] counters) {
+        Map<SimpleEventType, Long> result = new EnumMap<>(SimpleEventType.class);
+        if (counters != null) {
+            for (int i = 0; i < counters.length; i++)
+                result.put(EVENT_TYPES[i], counters[i].sum());
+        }
+        return result;
+    }
+
+    /**
+     * Resets the counts of the triggered events to zero.
+     */
+    public static void resetDispatchCounts() {
+        if (!COUNT_DISPATCHES)
+            return;
+
+        for (int i = 0; i < EVENT_TYPES.length; i++) {
+            DISPATCH_COUNTERS[i].reset();
+            DELIVERY_COUNTERS[i].reset();
+        }
     }
 
     public GameEventActions<Minion> summoningListeners() {
@@ -131,16 +226,16 @@ public final class GameEvents implements GameProperty {
     public void doAtomic(Action action) {
         ExceptionHelper.checkNotNullArgument(action, "action");
 
-        if (pauseCollectorRef.get() != null) {
+        if (pauseCollector != null) {
             // A caller already ensures this call to be atomic
             action.act();
         } else {
             GameActionList<Game> currentCollector = new GameActionList<>();
             try {
-                pauseCollectorRef.compareAndSet(null, currentCollector);
+                pauseCollector = currentCollector;
                 action.act();
             } finally {
-                pauseCollectorRef.compareAndSet(currentCollector, null);
+                pauseCollector = null;
             }
 
             currentCollector.executeActionsNow(game, false);
@@ -152,7 +247,7 @@ public final class GameEvents implements GameProperty {
      * It uses an underlying {@link GameActionList} as its implementation.
      */
     private <T extends GameProperty> GameEventActions<T> createEventContainer(SimpleEventType eventType) {
-        return createEventContainer(eventType, new GameActionList<>());
+        return createEventContainer(eventType, new GameActionList<>(this));
     }
 
     /**
@@ -162,7 +257,15 @@ public final class GameEvents implements GameProperty {
     private <T extends GameProperty> GameEventActions<T> createEventContainer(SimpleEventType eventType,
                                                                               GameActionList<T> actionList) {
         boolean greedyEvent = eventType.isGreedyEvent();
-        return new GameEventActions<>(greedyEvent, actionList, pauseCollectorRef);
+        return new GameEventActions<>(greedyEvent, actionList, this);
+    }
+
+    /**
+     * Returns the {@link GameActionList} collecting the event notifications suspended by
+     * {@link #doAtomic(Action)}; {@code null} if no atomic action is being executed.
+     */
+    GameActionList<Game> getPauseCollector() {
+        return pauseCollector;
     }
 
     @Override
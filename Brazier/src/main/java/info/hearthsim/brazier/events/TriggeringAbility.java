@@ -1,6 +1,6 @@
 package info.hearthsim.brazier.events;
 
-import info.hearthsim.brazier.abilities.Ability;
+import info.hearthsim.brazier.abilities.CopyableAbility;
 import info.hearthsim.brazier.game.Entity;
 import info.hearthsim.brazier.game.GameProperty;
 import info.hearthsim.brazier.util.UndoAction;
@@ -16,6 +16,7 @@ import java.util.Map;
  * A triggering ability for a Hearthstone entity uses an underlying map of {@code SimpleEventType}
  * to {@code List} of {@code EventActionDef}s to represent the triggering ability, while its
  * {@link #activate(Owner)} method registers all these triggering actions to the game's {@link GameEvents}.
+ * As a {@link CopyableAbility}, it can register them to be copied along with the game.
  * {@code TriggeringAbility} does not have any {@code public} constructor. The only way to construct
  * a {@code TriggeringAbility} is through its {@link info.hearthsim.brazier.events.TriggeringAbility.Builder Builder}
  * class, which guarantees a constructed {@code TriggeringAbility} being stateless and immutable.
@@ -24,7 +25,7 @@ import java.util.Map;
  *
  * @see EventActionDef
  */
-public final class TriggeringAbility <Owner extends Entity> implements Ability<Owner> {
+public final class TriggeringAbility <Owner extends Entity> implements CopyableAbility<Owner> {
     private final Map<SimpleEventType, ActionDefList<Owner, ?>> simpleEventDefs;
 
     private final List<RegTask<Owner>> regTasks;
@@ -40,7 +41,7 @@ public final class TriggeringAbility <Owner extends Entity> implements Ability<O
     }
 
     @Override
-    public UndoAction<Owner> activate(Owner owner) {
+    public UndoAction<Owner> activate(Owner owner, boolean toCopy) {
         if (!hasAnyActionDef)
             return UndoAction.DO_NOTHING;
 
@@ -48,7 +49,7 @@ public final class TriggeringAbility <Owner extends Entity> implements Ability<O
 
         UndoAction.Builder<Owner> result = new UndoAction.Builder<>(regTasks.size());
         for (RegTask<Owner> regTask : regTasks) {
-            UndoAction<GameEvents> undoRef = regTask.register(gameEvents, owner);
+            UndoAction<GameEvents> undoRef = regTask.register(gameEvents, owner, toCopy);
             result.add((o) -> undoRef.undo(o.getGame().getEvents()));
         }
         return result;
@@ -61,8 +62,8 @@ public final class TriggeringAbility <Owner extends Entity> implements Ability<O
         ActionDefList<Owner, Source> importedActionDefs = actionDefs.importInto(simpleEventDefs);
         List<EventActionDef<Owner, Source>> actionDefList = importedActionDefs.actionDefs;
         regTasks.add(
-            (GameEvents gameEvents, Owner owner) ->
-                EventActionDef.registerAll(actionDefList, gameEvents, owner)
+            (GameEvents gameEvents, Owner owner, boolean toCopy) ->
+                EventActionDef.registerAll(actionDefList, gameEvents, owner, toCopy)
         );
     }
 
@@ -71,7 +72,7 @@ public final class TriggeringAbility <Owner extends Entity> implements Ability<O
     }
 
     private interface RegTask <Self> {
-        public UndoAction<GameEvents> register(GameEvents gameEvents, Self self);
+        public UndoAction<GameEvents> register(GameEvents gameEvents, Self self, boolean toCopy);
     }
 
     public static final class Builder <Owner extends Entity> {
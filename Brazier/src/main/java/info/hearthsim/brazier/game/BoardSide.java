@@ -1,6 +1,7 @@
 package info.hearthsim.brazier.game;
 
 import info.hearthsim.brazier.PlayerProperty;
+import info.hearthsim.brazier.abilities.AuraDependencies;
 import info.hearthsim.brazier.actions.PlayArg;
 import info.hearthsim.brazier.events.GameEvents;
 import info.hearthsim.brazier.game.minions.Minion;
@@ -39,10 +40,26 @@ public final class BoardSide implements PlayerProperty {
                 new BoardMinionRef(minionRef.minion.copyFor(newOwner.getGame(), newOwner), minionRef.needsSpace);
             result.minionRefs.add(newMinionRef);
             newMinionRef.minion.activatePassiveAbilities();
+            newOwner.getGame().getEntityIndex().put(newMinionRef.minion, EntityIndex.Zone.BOARD);
         }
         return result;
     }
 
+    /**
+     * Replaces the minions of this {@code BoardSide} with copies of the minions of the given
+     * {@code BoardSide}. The previous minions are dropped without being deactivated.
+     */
+    void copyFrom(BoardSide other) {
+        minionRefs.clear();
+        for (BoardMinionRef minionRef : other.minionRefs) {
+            BoardMinionRef newMinionRef =
+                new BoardMinionRef(minionRef.minion.copyFor(owner.getGame(), owner), minionRef.needsSpace);
+            minionRefs.add(newMinionRef);
+            newMinionRef.minion.activatePassiveAbilities();
+            getGame().getEntityIndex().put(newMinionRef.minion, EntityIndex.Zone.BOARD);
+        }
+    }
+
     /**
      * Tries to add the given minion to the given index of the board.
      * If the given index is less than {@code 0}, the given minion will be added to the left most of the board;
@@ -71,6 +88,9 @@ public final class BoardSide implements PlayerProperty {
 
         BoardMinionRef minionRef = new BoardMinionRef(minion);
         minionRefs.add(index, minionRef);
+        getGame().getEntityIndex().put(minion, EntityIndex.Zone.BOARD);
+        getGame().invalidateAuras(AuraDependencies.BOARD);
+        journalRemove(minionRef);
     }
 
     /**
@@ -91,14 +111,35 @@ public final class BoardSide implements PlayerProperty {
 
         BoardMinionRef minionRef = new BoardMinionRef(minion);
         minionRefs.add(minionRef);
+        getGame().getEntityIndex().put(minion, EntityIndex.Zone.BOARD);
+        getGame().invalidateAuras(AuraDependencies.BOARD);
+        journalRemove(minionRef);
         minion.activatePassiveAbilities();
     }
 
+    /**
+     * Records the removal of the given {@code BoardMinionRef} to the {@link GameJournal} of the game,
+     * if the game is journaled.
+     */
+    private void journalRemove(BoardMinionRef minionRef) {
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> minionRefs.remove(minionRef));
+    }
+
     public void removeFromBoard(EntityId minionId) {
         for (BoardMinionRef minion : minionRefs) {
             if (minion.minion.getEntityId() == minionId) {
                 minion.minion.getProperties().deactivateAllAbilities();
-                minionRefs.remove(minion);
+                int index = minionRefs.indexOf(minion);
+                if (index < 0)
+                    return;
+                minionRefs.remove(index);
+                getGame().invalidateAuras(AuraDependencies.BOARD);
+
+                GameJournal journal = getGame().getJournal();
+                if (journal.isRecording())
+                    journal.record((game) -> minionRefs.add(index, minion));
                 return;
             }
         }
@@ -111,7 +152,13 @@ public final class BoardSide implements PlayerProperty {
     public void scheduleToDestroy(EntityId minionId) {
         for (BoardMinionRef minionRef : minionRefs) {
             if (minionRef.minion.getEntityId() == minionId) {
+                GameJournal journal = getGame().getJournal();
+                if (journal.isRecording()) {
+                    boolean prevNeedsSpace = minionRef.needsSpace;
+                    journal.record((game) -> minionRef.needsSpace = prevNeedsSpace);
+                }
                 minionRef.needsSpace = false;
+                getGame().invalidateAuras(AuraDependencies.BOARD);
                 return;
             }
         }
@@ -130,6 +177,14 @@ public final class BoardSide implements PlayerProperty {
                 + "` does not belong to this side of board.");
         BoardMinionRef oldMinionRef = minionRefs.get(index);
         minionRefs.set(index, new BoardMinionRef(newMinion));
+        EntityIndex entityIndex = getGame().getEntityIndex();
+        entityIndex.remove(oldMinion);
+        entityIndex.put(newMinion, EntityIndex.Zone.BOARD);
+        getGame().invalidateAuras(AuraDependencies.BOARD);
+
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> minionRefs.set(index, oldMinionRef));
         return oldMinionRef.minion;
     }
 
@@ -208,12 +263,29 @@ public final class BoardSide implements PlayerProperty {
         }) != null;
     }
 
+    /**
+     * Returns the {@link MinionFlags} of the minions currently on the board, which can answer several
+     * rule queries with bitwise operations after iterating the minions only once. Taking the flags
+     * evaluates several aura-aware properties of every minion, so single queries like
+     * {@link #hasNonStealthTaunt()} are cheaper to answer by iterating the minions directly.
+     */
+    public MinionFlags getMinionFlags() {
+        Minion[] minions = new Minion[minionRefs.size()];
+        for (int i = 0; i < minions.length; i++)
+            minions[i] = minionRefs.get(i).minion;
+        return new MinionFlags(minions);
+    }
+
     /** Finds the first minion with the given {@code TargetId}. */
     public Minion findMinion(EntityId entityId) {
         if (entityId == null)
             return null;
 
-        return findMinion((minion) -> entityId.equals(minion.getEntityId()));
+        for (BoardMinionRef minionRef : minionRefs) {
+            if (minionRef.minion.getEntityId() == entityId)
+                return minionRef.minion;
+        }
+        return null;
     }
 
     /**
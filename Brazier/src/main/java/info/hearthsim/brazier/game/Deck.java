@@ -6,16 +6,16 @@ import info.hearthsim.brazier.db.CardDescr;
 import info.hearthsim.brazier.game.cards.Card;
 import org.jtrim.utils.ExceptionHelper;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 public final class Deck implements PlayerProperty {
     private final Player owner;
-    private final List<Card> cards;
+    private final SharedEntityList<Card> cards;
+    // The sum of the state hash keys of the cards, updated whenever a card is added or removed
+    private long cardsHash;
 
     /**
      * Creates an empty {@code Deck} which belongs to the given {@code Player}.
@@ -24,33 +24,81 @@ public final class Deck implements PlayerProperty {
         ExceptionHelper.checkNotNullArgument(owner, "owner");
 
         this.owner = owner;
-        this.cards = new ArrayList<>();
+        this.cards = new SharedEntityList<>(owner);
+        this.cardsHash = 0;
+    }
+
+    private Deck(Player owner, SharedEntityList<Card> cards, long cardsHash) {
+        this.owner = owner;
+        this.cards = cards;
+        this.cardsHash = cardsHash;
     }
 
     /**
      * Returns a copy of this {@code Deck} with the given new owner.
+     * <p>
+     * The cards are not copied immediately unless they were accessed from this deck: they are shared
+     * with the copy and only copied for the owner of a deck when they are first accessed from that deck.
+     * This deck is not modified.
      */
     public Deck copyFor(Player newOwner) {
-        Deck result = new Deck(newOwner);
-        for (Card card : cards)
-            result.cards.add(card.copyFor(newOwner.getGame(), newOwner));
-        return result;
+        return new Deck(newOwner, cards.copyFor(newOwner), cardsHash);
+    }
+
+    /**
+     * Replaces the cards of this {@code Deck} with the cards of the given {@code Deck}, which are shared
+     * in the same way as by {@link #copyFor(Player)}.
+     */
+    void copyFrom(Deck other) {
+        cards.copyFrom(other.cards);
+        cardsHash = other.cardsHash;
     }
 
     /**
      * Returns a list of {@link Card}s in this {@code Deck} which satisfies the given
-     * {@link Predicate}.
+     * {@link Predicate}. The filter is tested on the cards without copying them, so only the returned
+     * cards are copied if they are still shared with another game.
      */
     public List<Card> getCards(Predicate<? super Card> filter) {
         ExceptionHelper.checkNotNullArgument(filter, "filter");
-        return cards.stream().filter(filter).collect(Collectors.toList());
+        return cards.toList(filter);
     }
 
     /**
      * Returns the cards left in the deck as a {@link List} of {@link Card}s.
      */
     public List<Card> getCards() {
-        return new ArrayList<>(cards);
+        return cards.toList();
+    }
+
+    /**
+     * Returns the card in this {@code Deck} with the given {@link EntityId}, or {@code null} if there
+     * is no such card. Unlike {@link #getCards(Predicate)}, only the found card is copied
+     * if it is still shared with another game.
+     */
+    public Card findCard(EntityId id) {
+        ExceptionHelper.checkNotNullArgument(id, "id");
+        return cards.find(id);
+    }
+
+    /**
+     * Returns the {@link CardDescr} of the card at the given index of the deck, where the top of the deck
+     * is at the highest index. No card is copied by this method.
+     */
+    CardDescr getCardDescr(int index) {
+        return cards.peek(index).getCardDescr();
+    }
+
+    /**
+     * Returns the hash of the cards in this {@code Deck} regardless of their order, which is maintained
+     * as cards are added and removed and is used by {@link Game#stateHash()}.
+     */
+    long getCardsHash() {
+        return cardsHash;
+    }
+
+    private static long cardKey(Card card) {
+        return GameStateHasher.cardKey(card.getCardDescr());
     }
 
     /**
@@ -59,10 +107,25 @@ public final class Deck implements PlayerProperty {
     public void setCards(Collection<? extends CardDescr> newCards) {
         ExceptionHelper.checkNotNullElements(newCards, "newCards");
 
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording()) {
+            SharedEntityList<Card> prevCards = cards.saveState();
+            long prevCardsHash = cardsHash;
+            journal.record((game) -> {
+                cards.setTo(prevCards);
+                cardsHash = prevCardsHash;
+            });
+        }
+
         cards.clear();
+        cardsHash = 0;
+        EntityIndex entityIndex = getGame().getEntityIndex();
         for (CardDescr card: newCards) {
             Objects.requireNonNull(card, "newCards[?]");
-            cards.add(new Card(owner, card));
+            Card newCard = new Card(owner, card);
+            cards.addSnapshot(newCard);
+            cardsHash += GameStateHasher.cardKey(card);
+            entityIndex.put(newCard, EntityIndex.Zone.DECK);
         }
     }
 
@@ -77,9 +140,19 @@ public final class Deck implements PlayerProperty {
      * Shuffles the deck with the given {@link RandomProvider}.
      */
     public void shuffle(RandomProvider randomProvider) {
+        int[] swaps = new int[cards.size()];
         for (int i = cards.size() - 1; i > 0; i--) {
             int otherIndex = randomProvider.roll(i + 1);
-            cards.set(i, cards.set(otherIndex, cards.get(i)));
+            cards.swap(i, otherIndex);
+            swaps[i] = otherIndex;
+        }
+
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording()) {
+            journal.record((game) -> {
+                for (int i = 1; i < swaps.length; i++)
+                    cards.swap(i, swaps[i]);
+            });
         }
     }
 
@@ -100,7 +173,18 @@ public final class Deck implements PlayerProperty {
         if (cards.isEmpty())
             return null;
 
-        return cards.remove(cards.size() - 1);
+        Card result = cards.remove(cards.size() - 1);
+        long resultKey = cardKey(result);
+        cardsHash -= resultKey;
+        getGame().getEntityIndex().remove(result);
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording()) {
+            journal.record((game) -> {
+                cards.add(result);
+                cardsHash += resultKey;
+            });
+        }
+        return result;
     }
 
     /**
@@ -127,6 +211,16 @@ public final class Deck implements PlayerProperty {
         checkOwner(card);
 
         cards.add(card);
+        long addedKey = cardKey(card);
+        cardsHash += addedKey;
+        getGame().getEntityIndex().put(card, EntityIndex.Zone.DECK);
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording()) {
+            journal.record((game) -> {
+                cards.remove(cards.size() - 1);
+                cardsHash -= addedKey;
+            });
+        }
     }
 
     /**
@@ -152,11 +246,21 @@ public final class Deck implements PlayerProperty {
         int pos = randomProvider.roll(cards.size() + 1);
 
         cards.add(pos, card);
+        long addedKey = cardKey(card);
+        cardsHash += addedKey;
+        getGame().getEntityIndex().put(card, EntityIndex.Zone.DECK);
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording()) {
+            journal.record((game) -> {
+                cards.remove(pos);
+                cardsHash -= addedKey;
+            });
+        }
     }
 
     /**
      * Tries to draw a random card with the given {@code RandomProvider} from the cards left which
-     * satisfy the given predicate.
+     * satisfy the given predicate. Only the drawn card is copied if it is still shared with another game.
      *
      * @param randomProvider the given {@code RandomProvider}.
      * @param filter the given predicate.
@@ -170,13 +274,11 @@ public final class Deck implements PlayerProperty {
         int[] indexes = new int[cards.size()];
         int cardCount = 0;
 
-        int index = 0;
-        for (Card card: cards) {
-            if (filter.test(card)) {
+        for (int index = 0; index < cards.size(); index++) {
+            if (filter.test(cards.peek(index))) {
                 indexes[cardCount] = index;
                 cardCount++;
             }
-            index++;
         }
 
         if (cardCount == 0) {
@@ -184,7 +286,18 @@ public final class Deck implements PlayerProperty {
         }
 
         int selectedIndex = indexes[randomProvider.roll(cardCount)];
-        return cards.remove(selectedIndex);
+        Card result = cards.remove(selectedIndex);
+        long resultKey = cardKey(result);
+        cardsHash -= resultKey;
+        getGame().getEntityIndex().remove(result);
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording()) {
+            journal.record((game) -> {
+                cards.add(selectedIndex, result);
+                cardsHash += resultKey;
+            });
+        }
+        return result;
     }
 
     @Override
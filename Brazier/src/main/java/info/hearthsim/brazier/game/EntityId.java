@@ -1,9 +1,45 @@
 package info.hearthsim.brazier.game;
 
 /**
- * A stub class, providing its {@link #hashCode()} method for distinguishing different entities in
- * a Hearthstone game. As copying a {@link Game} deeply is necessary for AI module, different
- * entities in different {@code Game}s may have same {@code EntityId}, as one of them is essentially
- * a copy of another, but different entities in a {@code Game} must have different {@code EntityId}.
+ * Identifier of an entity in a Hearthstone game. As copying a {@link Game} deeply is necessary for AI
+ * module, different entities in different {@code Game}s may have same {@code EntityId}, as one of them
+ * is essentially a copy of another, but different entities in a {@code Game} must have different
+ * {@code EntityId}.
+ * <p>
+ * The {@code EntityId}s of a game are allocated by {@link Game#newEntityId()}, which numbers them
+ * densely from {@code 0}; the copies of a game keep the numbers, and continue the numbering where the
+ * original game was. Therefore, the {@link #getValue() value} of an {@code EntityId} can be used to index
+ * per-entity side tables of a game. The values allocated after a {@link Game#mark() mark} are allocated
+ * again once the game is rolled back, so {@code EntityId}s are still compared by reference: the id of an
+ * entity of a rolled back line of play does not designate the entity which got the same value later.
  */
-public class EntityId {}
+public class EntityId {
+    /**
+     * The value of the {@code EntityId}s not allocated by any game, namely of the {@link PlayerId}s.
+     */
+    public static final int NO_VALUE = -1;
+
+    private final int value;
+
+    EntityId(int value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the number of this {@code EntityId} in its game, or {@link #NO_VALUE} if it was not allocated
+     * by a game.
+     */
+    public int getValue() {
+        return value;
+    }
+
+    @Override
+    public int hashCode() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityId{" + value + "}";
+    }
+}
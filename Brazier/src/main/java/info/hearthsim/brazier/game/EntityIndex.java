@@ -0,0 +1,138 @@
+package info.hearthsim.brazier.game;
+
+import org.jtrim.utils.ExceptionHelper;
+
+import java.util.Arrays;
+
+/**
+ * Index of a {@link Game}, mapping the {@link EntityId} of the minions, cards and secrets of the game to
+ * the {@link Location} (the container of a specific player) holding them, so that
+ * {@link Game#findEntity(EntityId)} and its relatives only have to search a single container instead of
+ * every container of both players.
+ * <p>
+ * The containers record an entity when it is added to them, and forget it when it leaves the game.
+ * The index is only a hint: the container designated by it is always searched to confirm the location,
+ * and the game falls back to searching every container if the entity is not there (e.g. after its move
+ * was rolled back by the {@link GameJournal}), recording the location found.
+ * <p>
+ * The locations are stored in an array indexed by the {@link EntityId#getValue() values} of the ids,
+ * so copying the index is a single array copy. Only the values below the next id to be allocated by the
+ * game are copied, and {@link Game#rollbackTo(int)} rewinds the allocated ids and forgets the locations
+ * of the rewound ones, so the copies of the index are sized by the entities of the game instead of the
+ * ids ever allocated by its rolled back lines of play.
+ */
+final class EntityIndex {
+    /**
+     * Kinds of the containers recorded by the index.
+     */
+    enum Zone {
+        BOARD, GRAVEYARD, HAND, DECK, SECRETS;
+
+        private static final Zone[] VALUES = values();
+    }
+
+    /**
+     * The container of a given {@link Zone} of a given player. {@code Location}s are immutable and are
+     * shared between the copies of a game.
+     */
+    static final class Location {
+        private final PlayerId playerId;
+        private final Zone zone;
+
+        private Location(PlayerId playerId, Zone zone) {
+            this.playerId = playerId;
+            this.zone = zone;
+        }
+
+        public PlayerId getPlayerId() {
+            return playerId;
+        }
+
+        public Zone getZone() {
+            return zone;
+        }
+    }
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private Location[] locations;
+
+    public EntityIndex() {
+        this.locations = new Location[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Creates a copy of the given {@code EntityIndex}, containing the locations of the ids with a value
+     * less than the given size.
+     */
+    public EntityIndex(EntityIndex other, int size) {
+        this.locations = Arrays.copyOf(other.locations, Math.max(size, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Returns the {@link Location}s of every {@link Zone} of the player with the given id, indexed by
+     * the ordinal of the zones.
+     */
+    public static Location[] locationsOf(PlayerId playerId) {
+        ExceptionHelper.checkNotNullArgument(playerId, "playerId");
+
+        Location[] result = new Location[Zone.VALUES.length];
+        for (Zone zone : Zone.VALUES)
+            result[zone.ordinal()] = new Location(playerId, zone);
+        return result;
+    }
+
+    /**
+     * Replaces the content of this index with the locations of the ids of the given index with a value
+     * less than the given size.
+     */
+    public void setTo(EntityIndex other, int size) {
+        int copiedCount = Math.min(size, other.locations.length);
+        if (locations.length < copiedCount) {
+            locations = Arrays.copyOf(other.locations, size);
+            return;
+        }
+        System.arraycopy(other.locations, 0, locations, 0, copiedCount);
+        Arrays.fill(locations, copiedCount, locations.length, null);
+    }
+
+    /**
+     * Forgets the locations of the ids with a value greater than or equal to the given size.
+     */
+    public void truncate(int size) {
+        if (size < locations.length)
+            Arrays.fill(locations, size, locations.length, null);
+    }
+
+    /**
+     * Returns the recorded {@link Location} of the entity with the given id, or {@code null} if it
+     * is unknown or the given id is {@code null}.
+     */
+    public Location get(EntityId id) {
+        if (id == null)
+            return null;
+        int value = id.getValue();
+        return value >= 0 && value < locations.length ? locations[value] : null;
+    }
+
+    /**
+     * Records that the given entity is in the container of the given zone of its owner.
+     */
+    public void put(Entity<?> entity, Zone zone) {
+        int value = entity.getEntityId().getValue();
+        if (value < 0)
+            return;
+        if (value >= locations.length)
+            locations = Arrays.copyOf(locations, Math.max(value + 1, 2 * locations.length));
+        locations[value] = entity.getOwner().getLocation(zone);
+    }
+
+    /**
+     * Forgets the location of the given entity.
+     */
+    public void remove(Entity<?> entity) {
+        int value = entity.getEntityId().getValue();
+        if (value >= 0 && value < locations.length)
+            locations[value] = null;
+    }
+}
@@ -7,16 +7,26 @@ import java.util.HashSet;
 import java.util.Set;
 
 /**
- * Container of flags, which can be used to registered any thing.
+ * Container of flags, which can be used to registered any thing. The registrations are recorded to the
+ * {@link GameJournal} of the game of the owner.
  */
 public final class FlagContainer {
+    private final GameProperty owner;
     private final Set<Object> flags = new HashSet<>();
 
     /**
-     * Returns a copy of this {@code FlagContainer}.
+     * Creates an empty {@code FlagContainer} of the given owner.
      */
-    public FlagContainer copy() {
-        FlagContainer result = new FlagContainer();
+    public FlagContainer(GameProperty owner) {
+        ExceptionHelper.checkNotNullArgument(owner, "owner");
+        this.owner = owner;
+    }
+
+    /**
+     * Returns a copy of this {@code FlagContainer} for the given new owner.
+     */
+    public FlagContainer copyFor(GameProperty newOwner) {
+        FlagContainer result = new FlagContainer(newOwner);
         result.flags.addAll(flags);
         return result;
     }
@@ -37,7 +47,19 @@ public final class FlagContainer {
      */
     public UndoAction<FlagContainer> registerFlag(Object flag) {
         ExceptionHelper.checkNotNullArgument(flag, "flag");
-        flags.add(flag);
-        return (fc) -> fc.flags.remove(flag);
+        if (flags.add(flag)) {
+            GameJournal journal = owner.getGame().getJournal();
+            if (journal.isRecording())
+                journal.record((game) -> flags.remove(flag));
+        }
+        return (fc) -> fc.unregisterFlag(flag);
+    }
+
+    private void unregisterFlag(Object flag) {
+        if (flags.remove(flag)) {
+            GameJournal journal = owner.getGame().getJournal();
+            if (journal.isRecording())
+                journal.record((game) -> flags.add(flag));
+        }
     }
 }
@@ -3,29 +3,34 @@ package info.hearthsim.brazier.game;
 /**
  * Util class used to manage minion's freezing. Freezing and unfreezing a minion
  * can be achieved by invoking methods of this class.
+ * <p>
+ * The changes of the {@code frozen} flag are recorded to the {@link GameJournal} of the game of the owner.
  */
 public final class FreezeManager implements Silencable {
+    private final GameProperty owner;
     private boolean frozen;
 
     /**
-     * Creates a {@code FreezeManager} with its {@code frozen} flag setting to {@code false}.
+     * Creates a {@code FreezeManager} of the given owner with its {@code frozen} flag setting to {@code false}.
      */
-    public FreezeManager() {
-        this(false);
+    public FreezeManager(GameProperty owner) {
+        this(owner, false);
     }
 
     /**
-     * Creates a {@code FreezeManager} with its {@code frozen} flag setting to the given value.
+     * Creates a {@code FreezeManager} of the given owner with its {@code frozen} flag setting to the given value.
      */
-    public FreezeManager(boolean frozen) {
+    public FreezeManager(GameProperty owner, boolean frozen) {
+        this.owner = owner;
         this.frozen = frozen;
     }
 
     /**
-     * Creates a new {@code FreezeManager} with the same {@code frozen} flag value of this one.
+     * Creates a new {@code FreezeManager} for the given new owner with the same {@code frozen} flag value
+     * of this one.
      */
-    public FreezeManager copy() {
-        return new FreezeManager(frozen);
+    public FreezeManager copyFor(GameProperty newOwner) {
+        return new FreezeManager(newOwner, frozen);
     }
 
     /**
@@ -35,6 +40,16 @@ public final class FreezeManager implements Silencable {
         return frozen;
     }
 
+    private void setFrozen(boolean newFrozen) {
+        if (frozen == newFrozen)
+            return;
+
+        GameJournal journal = owner.getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> frozen = !newFrozen);
+        frozen = newFrozen;
+    }
+
     /**
      * Unfreezes the minion at the end of a turn if the minion is
      * frozen and did not attack in this turn.
@@ -45,14 +60,14 @@ public final class FreezeManager implements Silencable {
         if (numberOfAttacks > 0 || !frozen)
             return;
 
-        frozen = false;
+        setFrozen(false);
     }
 
     /**
      * Freezes the minion.
      */
     public void freeze() {
-        frozen = true;
+        setFrozen(true);
     }
 
     /**
@@ -60,6 +75,6 @@ public final class FreezeManager implements Silencable {
      */
     @Override
     public void silence() {
-        frozen = false;
+        setFrozen(false);
     }
 }
@@ -1,8 +1,10 @@
 package info.hearthsim.brazier.game;
 
 import info.hearthsim.brazier.RandomProvider;
+import info.hearthsim.brazier.SplitMixRandomProvider;
 import info.hearthsim.brazier.abilities.ActiveAura;
 import info.hearthsim.brazier.abilities.ActiveAuraList;
+import info.hearthsim.brazier.abilities.AuraDependencies;
 import info.hearthsim.brazier.actions.AttackRequest;
 import info.hearthsim.brazier.db.CardDescr;
 import info.hearthsim.brazier.db.HearthStoneDb;
@@ -15,23 +17,38 @@ import info.hearthsim.brazier.game.weapons.Weapon;
 import info.hearthsim.brazier.util.UndoAction;
 import org.jtrim.utils.ExceptionHelper;
 
-import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
  * An instance of {@code Game} is essentially a hearthstone game between two players.
+ * <p>
+ * <b>Thread-confinement</b>: a {@code Game} and every object belonging to it (players, boards, minions,
+ * cards, events and auras) are not thread-safe and use no synchronization at all. A {@code Game} must be
+ * confined to a single thread, its <em>owner</em>, which is the thread creating it (or creating it with
+ * {@link #copy()}) unless another thread takes it over with {@link #claimOwnership()} after it was
+ * safely handed over. The only exception is {@code copy()}: any number of threads may copy the same
+ * {@code Game} concurrently as long as no thread modifies it in the meantime. The copies belong to the
+ * threads creating them, and share nothing mutable with the original game except the {@link UserAgent}
+ * and the {@link RandomProvider} if they cannot be {@link UserAgent#fork() forked}, which therefore must be
+ * thread-safe themselves. The default {@code RandomProvider} of a game is a {@link SplitMixRandomProvider},
+ * which every copy forks into an independent stream.
+ * <p>
+ * Setting the system property {@value #CHECK_THREAD_CONFINEMENT_PROPERTY} to {@code true} enables a debug
+ * check which throws an {@code IllegalStateException} when the game is advanced by a thread other than
+ * its owner.
  */
 public final class Game implements GameProperty {
-    private static final Random RNG = new SecureRandom();
-    private static final RandomProvider DEFAULT_RANDOM_PROVIDER =
-        (int bound) -> bound > 1 ? RNG.nextInt(bound) : 0;
+    /**
+     * The system property enabling the thread-confinement check of games.
+     */
+    public static final String CHECK_THREAD_CONFINEMENT_PROPERTY = "brazier.checkThreadConfinement";
+    private static final boolean CHECK_THREAD_CONFINEMENT = Boolean.getBoolean(CHECK_THREAD_CONFINEMENT_PROPERTY);
 
+    private RandomProvider randomSource;
     private RandomProvider randomProvider;
     private UserAgent userAgent;
     private final HearthStoneDb db;
@@ -39,14 +56,21 @@ public final class Game implements GameProperty {
     private final Player player2;
     private GameResult gameResult;
 
-    private final ActiveAuraList activeAuras;
+    private ActiveAuraList activeAuras;
 
-    private final GameEvents events;
+    private GameEvents events;
 
-    private final AtomicLong currentTime;
+    private long currentTime;
 
     private Player currentPlayer;
 
+    private final GameJournal journal;
+
+    private final EntityIndex entityIndex;
+    private int nextEntityId;
+
+    private Thread ownerThread;
+
     /**
      * Constructs an instance of {@code Game} with the given two players and hearthstone database
      *
@@ -58,18 +82,21 @@ public final class Game implements GameProperty {
         ExceptionHelper.checkNotNullArgument(db, "db");
 
         this.db = db;
-        this.currentTime = new AtomicLong(Long.MIN_VALUE);
+        this.journal = new GameJournal();
+        this.entityIndex = new EntityIndex();
+        this.nextEntityId = 0;
+        this.currentTime = Long.MIN_VALUE;
+        this.ownerThread = CHECK_THREAD_CONFINEMENT ? Thread.currentThread() : null;
         this.player1 = new Player(this, player1Id);
         this.player2 = new Player(this, player2Id);
         this.activeAuras = new ActiveAuraList(this);
         this.gameResult = null;
 
         this.events = new GameEvents(this);
-        this.randomProvider = DEFAULT_RANDOM_PROVIDER;
+        setRandomProvider(new SplitMixRandomProvider());
         this.currentPlayer = player1;
 
-        this.userAgent = (boolean allowCancel, List<? extends CardDescr> cards) ->
-            cards.get(randomProvider.roll(cards.size()));
+        this.userAgent = newDefaultUserAgent();
     }
 
     /**
@@ -79,14 +106,18 @@ public final class Game implements GameProperty {
         ExceptionHelper.checkNotNullArgument(other, "other");
 
         this.db = other.db;
-        this.currentTime = new AtomicLong(other.currentTime.longValue());
+        this.journal = new GameJournal();
+        this.entityIndex = new EntityIndex(other.entityIndex, other.nextEntityId);
+        this.nextEntityId = other.nextEntityId;
+        this.currentTime = other.currentTime;
+        this.ownerThread = CHECK_THREAD_CONFINEMENT ? Thread.currentThread() : null;
         this.events = other.events.copyFor(this);
         this.activeAuras = other.activeAuras.copyFor(this);
         this.player1 = other.player1.copyFor(this);
         this.player2 = other.player2.copyFor(this);
         this.gameResult = other.gameResult;
 
-        this.randomProvider = other.randomProvider;
+        setRandomProvider(other.randomSource.fork());
         PlayerId curPlayerId = other.currentPlayer.getPlayerId();
         if (curPlayerId == player1.getPlayerId())
             this.currentPlayer = player1;
@@ -95,7 +126,26 @@ public final class Game implements GameProperty {
         else
             throw new AssertionError();
 
-        this.userAgent = other.userAgent;
+        UserAgent forkedUserAgent = other.userAgent.fork(randomSource);
+        this.userAgent = forkedUserAgent != null ? forkedUserAgent : newDefaultUserAgent();
+    }
+
+    /**
+     * Returns the default {@link UserAgent} of this {@code Game}, which selects cards randomly with the
+     * {@link RandomProvider} of this game. Copies of the game use their own default agent.
+     */
+    private UserAgent newDefaultUserAgent() {
+        return new UserAgent() {
+            @Override
+            public CardDescr selectCard(boolean allowCancel, List<? extends CardDescr> cards) {
+                return cards.get(randomProvider.roll(cards.size()));
+            }
+
+            @Override
+            public UserAgent fork() {
+                return null;
+            }
+        };
     }
 
     /**
@@ -107,6 +157,148 @@ public final class Game implements GameProperty {
         return copiedGame;
     }
 
+    /**
+     * Resets the given {@code Game} in place to a copy of this {@code Game}, reusing its players and
+     * their containers instead of allocating new ones. Afterwards, the target is equivalent to the result
+     * of {@link #copy()}; its previous state is discarded, and so is its journal.
+     * <p>
+     * The target must be another game of the same {@link HearthStoneDb} and with the same player ids,
+     * which is typically a game taken from a {@link GamePool}. Like {@code copy()}, this method may be
+     * invoked concurrently by multiple threads (on different targets), and the target becomes owned by
+     * the calling thread.
+     *
+     * @throws IllegalArgumentException if the target is this game, or is not compatible with this game.
+     */
+    public void copyInto(Game target) {
+        ExceptionHelper.checkNotNullArgument(target, "target");
+        if (!canCopyInto(target))
+            throw new IllegalArgumentException("The given game cannot be reset to a copy of this game.");
+
+        target.journal.clear();
+        target.entityIndex.setTo(entityIndex, nextEntityId);
+        target.nextEntityId = nextEntityId;
+        target.ownerThread = CHECK_THREAD_CONFINEMENT ? Thread.currentThread() : null;
+        target.currentTime = currentTime;
+        target.events = events.copyFor(target);
+        target.activeAuras = activeAuras.copyFor(target);
+        target.player1.copyFrom(player1);
+        target.player2.copyFrom(player2);
+        target.gameResult = gameResult;
+
+        target.setRandomProvider(randomSource.fork());
+        target.currentPlayer = target.getPlayer(currentPlayer.getPlayerId());
+        UserAgent forkedUserAgent = userAgent.fork(target.randomSource);
+        target.userAgent = forkedUserAgent != null ? forkedUserAgent : target.newDefaultUserAgent();
+        target.updateAllAuras();
+    }
+
+    /**
+     * Returns {@code true} if the given {@code Game} can be passed to {@link #copyInto(Game)}, that is,
+     * if it is another game of the same {@link HearthStoneDb} with the same player ids.
+     */
+    public boolean canCopyInto(Game target) {
+        return target != this
+            && target.db == db
+            && target.player1.getPlayerId().equals(player1.getPlayerId())
+            && target.player2.getPlayerId().equals(player2.getPlayerId());
+    }
+
+    /**
+     * Makes the calling thread the owner of this {@code Game}. This method must be invoked when a game is
+     * handed over to another thread and the thread-confinement check is enabled.
+     *
+     * @see #CHECK_THREAD_CONFINEMENT_PROPERTY
+     */
+    public void claimOwnership() {
+        if (CHECK_THREAD_CONFINEMENT)
+            ownerThread = Thread.currentThread();
+    }
+
+    /**
+     * Throws an {@link IllegalStateException} if the thread-confinement check is enabled and the calling
+     * thread is not the owner of this {@code Game}; does nothing otherwise.
+     *
+     * @see #CHECK_THREAD_CONFINEMENT_PROPERTY
+     */
+    public void checkOwnerThread() {
+        if (CHECK_THREAD_CONFINEMENT && ownerThread != Thread.currentThread()) {
+            throw new IllegalStateException("The game is owned by thread " + ownerThread.getName()
+                + " but is accessed by thread " + Thread.currentThread().getName() + ".");
+        }
+    }
+
+    /**
+     * Returns the {@link GameJournal} of this {@code Game}, to which the journaled state mutations
+     * are recorded.
+     */
+    public GameJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Starts journaling the state mutations of this {@code Game} (if not started yet) and returns a
+     * mark designating its current state, which can be passed to {@link #rollbackTo(int)} later to
+     * rewind the game in place.
+     * <p>
+     * Every state mutation of the game is journaled, including the registrations of abilities, auras and
+     * event listeners, and the {@link #newEntityId() entity ids} allocated since the mark are released.
+     * Only the state of the {@link RandomProvider} is not rewound, so a rewound line of play continues
+     * with other random rolls.
+     */
+    public int mark() {
+        checkOwnerThread();
+        return journal.mark();
+    }
+
+    /**
+     * Rewinds this {@code Game} in place to the state designated by the given mark, which was returned
+     * by {@link #mark()}. The game keeps being journaled, and the given mark (and any earlier mark)
+     * remains valid.
+     *
+     * @throws IllegalArgumentException if the given mark is not a valid mark of this game.
+     */
+    public void rollbackTo(int mark) {
+        checkOwnerThread();
+        journal.rollbackTo(this, mark);
+        entityIndex.truncate(nextEntityId);
+        invalidateAuras(AuraDependencies.ALL);
+    }
+
+    /**
+     * Allocates a new {@link EntityId} for an entity of this {@code Game}. The values of the allocated ids
+     * are consecutive, and are kept by the copies of this game.
+     * <p>
+     * The allocation is journaled, so {@link #rollbackTo(int)} rewinds the values allocated since the mark
+     * and they are allocated again by the rewound game. This keeps the values (and the {@link EntityIndex}
+     * indexed by them) bounded by the entities of a single line of play however many lines are rolled
+     * back. Reusing the values is safe, because {@code EntityId}s are compared by reference: a new id never
+     * designates an entity of a rolled back line, even if the {@code EntityId} of that entity is still
+     * referenced outside the game. The {@code EntityIndex} is the only place keyed by the values, and it
+     * forgets the locations of the rewound ids on rollback.
+     */
+    public EntityId newEntityId() {
+        int value = nextEntityId++;
+        if (journal.isRecording())
+            journal.record((game) -> game.nextEntityId = value);
+        return new EntityId(value);
+    }
+
+    /**
+     * Returns the {@link EntityIndex} of this {@code Game}, which is maintained by the containers of
+     * the players.
+     */
+    EntityIndex getEntityIndex() {
+        return entityIndex;
+    }
+
+    /**
+     * Stops journaling this {@code Game} and discards every recorded mutation, invalidating all
+     * marks returned by {@link #mark()}.
+     */
+    public void stopJournaling() {
+        journal.clear();
+    }
+
     public HearthStoneDb getDb() {
         return db;
     }
@@ -116,6 +308,7 @@ public final class Game implements GameProperty {
         // We wrap the random provider to avoid generating a random number
         // when there is only one possibility. This helps test code and simplifies
         // AI.
+        this.randomSource = randomProvider;
         this.randomProvider = (bound) -> bound > 1 ? randomProvider.roll(bound) : 0;
     }
 
@@ -124,7 +317,31 @@ public final class Game implements GameProperty {
     }
 
     public long getCurrentTime() {
-        return currentTime.getAndIncrement();
+        checkOwnerThread();
+        long result = currentTime++;
+        if (journal.isRecording())
+            journal.record((game) -> game.currentTime = result);
+        return result;
+    }
+
+    /**
+     * Returns the 64-bit Zobrist-style hash of the current state of this {@code Game}. Games in the same
+     * observable state (heroes, weapons, minions, hands, decks, secrets, mana and turn counters of both
+     * players) have the same hash, regardless of the {@link EntityId}s of their entities; games in different
+     * states have different hashes with overwhelming probability.
+     * <p>
+     * The hashes of the decks, hands, mana and turn counters are maintained as they change (the order of the
+     * cards in decks and hands is not part of the hash); the heroes, weapons, minions, secrets and the mana
+     * costs of the cards in hands, which depend on auras, are hashed on each call. The hash can be used as
+     * the key of transposition tables.
+     * <p>
+     * The hash is lossy in a few places: the death rattles and abilities added to minions are only hashed
+     * by their number, and the cards in decks only by their descriptors (a mana cost buff on a card in a
+     * deck is not hashed). A transposition table keyed by this hash may therefore merge states which only
+     * differ in these details.
+     */
+    public long stateHash() {
+        return GameStateHasher.hash(this);
     }
 
     public boolean isGameOver() {
@@ -167,6 +384,7 @@ public final class Game implements GameProperty {
         }
 
         this.gameResult = new GameResult(deadPlayers);
+        journal.record((game) -> game.gameResult = null);
     }
 
     public Player getCurrentPlayer() {
@@ -176,16 +394,25 @@ public final class Game implements GameProperty {
     public void setCurrentPlayerId(PlayerId newPlayerId) {
         ExceptionHelper.checkNotNullArgument(newPlayerId, "newPlayerId");
 
-        currentPlayer = getPlayer(newPlayerId);
+        setCurrentPlayer(getPlayer(newPlayerId));
+    }
+
+    private void setCurrentPlayer(Player newPlayer) {
+        if (journal.isRecording()) {
+            Player prevPlayer = currentPlayer;
+            journal.record((game) -> game.currentPlayer = prevPlayer);
+        }
+        currentPlayer = newPlayer;
     }
 
     /**
      * Ends the current turn.
      */
     public void endTurn() {
+        checkOwnerThread();
         currentPlayer.endTurn();
         updateAllAuras();
-        currentPlayer = getOpponent(currentPlayer.getPlayerId());
+        setCurrentPlayer(getOpponent(currentPlayer.getPlayerId()));
         currentPlayer.startNewTurn();
         updateGameOverState();
     }
@@ -211,22 +438,47 @@ public final class Game implements GameProperty {
         return getDeadMinion(id);
     }
 
+    /**
+     * Returns the player holding the entity with the given id in the container of the given zone
+     * according to the {@link EntityIndex}, or {@code null} if the entity is not recorded there.
+     */
+    private Player getIndexedOwner(EntityId id, EntityIndex.Zone zone) {
+        EntityIndex.Location location = entityIndex.get(id);
+        if (location == null || location.getZone() != zone)
+            return null;
+        return getPlayer(location.getPlayerId());
+    }
+
     public Minion getLivingMinion(EntityId id) {
-        Minion result = player1.getBoard().findMinion(id);
-        if (result != null) {
-            return result;
+        Player owner = getIndexedOwner(id, EntityIndex.Zone.BOARD);
+        if (owner != null) {
+            Minion result = owner.getBoard().findMinion(id);
+            if (result != null)
+                return result;
         }
 
-        return player2.getBoard().findMinion(id);
+        Minion result = player1.getBoard().findMinion(id);
+        if (result == null)
+            result = player2.getBoard().findMinion(id);
+        if (result != null)
+            entityIndex.put(result, EntityIndex.Zone.BOARD);
+        return result;
     }
 
     public Minion getDeadMinion(EntityId id) {
-        Minion result = player1.getGraveyard().findMinion(id);
-        if (result != null) {
-            return result;
+        Player owner = getIndexedOwner(id, EntityIndex.Zone.GRAVEYARD);
+        if (owner != null) {
+            Minion result = owner.getGraveyard().findMinion(id);
+            if (result != null)
+                return result;
         }
 
-        return player2.getGraveyard().findMinion(id);
+        Minion result = player1.getGraveyard().findMinion(id);
+        if (result == null)
+            result = player2.getGraveyard().findMinion(id);
+        if (result != null)
+            entityIndex.put(result, EntityIndex.Zone.GRAVEYARD);
+        return result;
     }
 
     public Character getCharacter(EntityId id) {
@@ -248,36 +500,84 @@ public final class Game implements GameProperty {
     }
 
     public Card getCard(EntityId id) {
-        Card result = player1.getHand().findCard((card) -> card.getEntityId() == id);
-        if (result != null)
+        Player owner = getIndexedOwner(id, EntityIndex.Zone.HAND);
+        if (owner != null) {
+            Card result = owner.getHand().findCard(id);
+            if (result != null)
+                return result;
+        }
+        owner = getIndexedOwner(id, EntityIndex.Zone.DECK);
+        if (owner != null) {
+            Card result = owner.getDeck().findCard(id);
+            if (result != null)
+                return result;
+        }
+
+        Card result = player1.getHand().findCard(id);
+        if (result == null)
+            result = player2.getHand().findCard(id);
+        if (result != null) {
+            entityIndex.put(result, EntityIndex.Zone.HAND);
             return result;
-        result = player2.getHand().findCard((card) -> card.getEntityId() == id);
+        }
+
+        result = player1.getDeck().findCard(id);
+        if (result == null)
+            result = player2.getDeck().findCard(id);
         if (result != null)
-            return result;
-        List<Card> deckResult = player1.getDeck().getCards((card) -> card.getEntityId() == id);
-        if (!deckResult.isEmpty())
-            return deckResult.get(0);
-        deckResult = player2.getDeck().getCards((card) -> card.getEntityId() == id);
-        if (!deckResult.isEmpty())
-            return deckResult.get(0);
-        return null;
+            entityIndex.put(result, EntityIndex.Zone.DECK);
+        return result;
     }
 
     public Secret getSecret(EntityId id) {
+        Player owner = getIndexedOwner(id, EntityIndex.Zone.SECRETS);
+        if (owner != null) {
+            Secret result = owner.getSecrets().findById(id);
+            if (result != null)
+                return result;
+        }
+
         Secret result = player1.getSecrets().findById(id);
+        if (result == null)
+            result = player2.getSecrets().findById(id);
         if (result != null)
-            return result;
-        result = player2.getSecrets().findById(id);
-        if (result != null)
-            return result;
-        return null;
+            entityIndex.put(result, EntityIndex.Zone.SECRETS);
+        return result;
     }
 
     /**
      * Returns the {@code Entity} with the given {@code EntityId}.
+     * <p>
+     * Minions, cards and secrets are looked up through the {@link EntityIndex} of the game, so only the
+     * container holding the entity is searched.
      */
     public Entity findEntity(EntityId id) {
-        Entity result = getCharacter(id);
+        Entity result = getHero(id);
+        if (result != null)
+            return result;
+
+        EntityIndex.Location location = entityIndex.get(id);
+        if (location != null) {
+            switch (location.getZone()) {
+                case BOARD:
+                case GRAVEYARD:
+                    result = getMinion(id);
+                    break;
+                case HAND:
+                case DECK:
+                    result = getCard(id);
+                    break;
+                case SECRETS:
+                    result = getSecret(id);
+                    break;
+                default:
+                    throw new AssertionError(location.getZone().name());
+            }
+            if (result != null)
+                return result;
+        }
+
+        result = getMinion(id);
         if (result != null)
             return result;
 
@@ -306,16 +606,7 @@ public final class Game implements GameProperty {
      * both {@link Hero}s and all {@link Minion}s.
      */
     public List<Character> getTargets() {
-        BoardSide player1Minions = player1.getBoard();
-        BoardSide player2Minions = player2.getBoard();
-        List<Character> targets =
-            new ArrayList<>(player1Minions.getMinionCount() + player2Minions.getMinionCount() + 2);
-        targets.add(player1.getHero());
-        targets.add(player2.getHero());
-        player1Minions.collectMinions(targets);
-        player2Minions.collectMinions(targets);
-
-        return targets;
+        return getTargets((target) -> true);
     }
 
     /**
@@ -323,9 +614,54 @@ public final class Game implements GameProperty {
      * including {@link Hero}s and {@link Minion}s.
      */
     public List<Character> getTargets(Predicate<? super Character> filter) {
+        List<Character> targets =
+            new ArrayList<>(player1.getBoard().getMinionCount() + player2.getBoard().getMinionCount() + 2);
+        collectTargets(targets, filter);
+        return targets;
+    }
+
+    /**
+     * Collects all {@code Character}s in this {@code Game} which satisfy the given {@link Predicate}
+     * to the end of the given {@code List}, in the same order as {@link #getTargets(Predicate)} returns them.
+     * <p>
+     * Callers enumerating targets repeatedly can reuse the same (cleared) list instead of allocating a
+     * new one for every call.
+     */
+    public void collectTargets(List<? super Character> result, Predicate<? super Character> filter) {
+        ExceptionHelper.checkNotNullArgument(result, "result");
         ExceptionHelper.checkNotNullArgument(filter, "filter");
 
-        return getTargets().stream().filter(filter).collect(Collectors.toList());
+        Hero hero1 = player1.getHero();
+        if (filter.test(hero1))
+            result.add(hero1);
+        Hero hero2 = player2.getHero();
+        if (filter.test(hero2))
+            result.add(hero2);
+        player1.getBoard().collectMinions(result, filter);
+        player2.getBoard().collectMinions(result, filter);
+    }
+
+    /**
+     * Executes the given action to all {@code Character}s in this {@code Game} which satisfy the given
+     * {@link Predicate}, in the same order as {@link #getTargets(Predicate)} returns them, without
+     * building any intermediate list.
+     */
+    public void forEachTarget(Predicate<? super Character> filter, Consumer<? super Character> action) {
+        ExceptionHelper.checkNotNullArgument(filter, "filter");
+        ExceptionHelper.checkNotNullArgument(action, "action");
+
+        Hero hero1 = player1.getHero();
+        if (filter.test(hero1))
+            action.accept(hero1);
+        Hero hero2 = player2.getHero();
+        if (filter.test(hero2))
+            action.accept(hero2);
+        Consumer<Minion> minionAction = (minion) -> {
+            if (filter.test(minion))
+                action.accept(minion);
+        };
+        player1.getBoard().forAllMinions(minionAction);
+        player2.getBoard().forAllMinions(minionAction);
     }
 
     /**
@@ -340,6 +676,7 @@ public final class Game implements GameProperty {
     public void attack(EntityId attackerId, EntityId defenderId) {
         ExceptionHelper.checkNotNullArgument(attackerId, "attackerId");
         ExceptionHelper.checkNotNullArgument(defenderId, "defenderId");
+        checkOwnerThread();
 
         Character attacker = getCharacter(attackerId);
         if (attacker == null)
@@ -448,13 +785,22 @@ public final class Game implements GameProperty {
         return (game) -> undoRef.undo(game.activeAuras);
     }
 
-    private void updateAllAuras() {
+    /**
+     * Records that the parts of the game state designated by the given {@link AuraDependencies} flags have
+     * changed, so the auras depending on them are re-applied when the auras are next updated.
+     */
+    public void invalidateAuras(int dependencies) {
+        activeAuras.invalidate(dependencies);
+    }
+
+    void updateAllAuras() {
         activeAuras.updateAllAura();
         player1.updateAuras();
         player2.updateAuras();
     }
 
     public void endPhase() {
+        checkOwnerThread();
         boolean deathResults = resolveDeaths();
         if (!deathResults)
             return;
@@ -0,0 +1,87 @@
+package info.hearthsim.brazier.game;
+
+import info.hearthsim.brazier.util.UndoAction;
+import org.jtrim.utils.ExceptionHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Undo journal of a {@link Game}, which records an {@link UndoAction} for every journaled state
+ * mutation of the game after {@link Game#mark()} is called, so that the game can be rewound in place
+ * with {@link Game#rollbackTo(int)} instead of being copied.
+ * <p>
+ * The recorded entries are always undone on the {@code Game} they were recorded in, so they are allowed
+ * to refer to the objects of that game directly. The journal is never copied by {@link Game#copy()}.
+ * <p>
+ * Classes recording mutations should check {@link #isRecording()} before creating an entry, so that
+ * nothing is allocated when the game is not journaled.
+ */
+public final class GameJournal {
+    /**
+     * The journal of the objects which do not belong to a game, such as aura-aware properties created on
+     * their own. It never records anything.
+     */
+    public static final GameJournal NOT_JOURNALED = new GameJournal();
+
+    private final List<UndoAction<Game>> entries;
+    private boolean recording;
+    private boolean rollingBack;
+
+    GameJournal() {
+        this.entries = new ArrayList<>();
+        this.recording = false;
+        this.rollingBack = false;
+    }
+
+    /**
+     * Returns if mutations should be recorded to this journal at the moment.
+     */
+    public boolean isRecording() {
+        return recording && !rollingBack;
+    }
+
+    /**
+     * Records the given {@link UndoAction} if this journal is recording; does nothing otherwise.
+     * {@code null} entries are ignored.
+     */
+    public void record(UndoAction<Game> entry) {
+        if (entry != null && isRecording())
+            entries.add(entry);
+    }
+
+    /**
+     * Starts recording (if this journal is not recording yet) and returns a mark designating the
+     * current state of the game.
+     */
+    int mark() {
+        recording = true;
+        return entries.size();
+    }
+
+    /**
+     * Undoes every entry recorded after the given mark in reverse order. The journal keeps recording,
+     * and the given mark remains valid afterwards.
+     *
+     * @throws IllegalArgumentException if the given mark is not a valid mark of this journal.
+     */
+    void rollbackTo(Game game, int mark) {
+        ExceptionHelper.checkArgumentInRange(mark, 0, entries.size(), "mark");
+
+        rollingBack = true;
+        try {
+            for (int i = entries.size() - 1; i >= mark; i--)
+                entries.remove(i).undo(game);
+        } finally {
+            rollingBack = false;
+        }
+    }
+
+    /**
+     * Discards every recorded entry and stops recording.
+     */
+    void clear() {
+        entries.clear();
+        recording = false;
+    }
+}
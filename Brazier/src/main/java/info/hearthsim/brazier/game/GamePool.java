@@ -0,0 +1,79 @@
+package info.hearthsim.brazier.game;
+
+import org.jtrim.utils.ExceptionHelper;
+
+import java.util.ArrayDeque;
+
+/**
+ * Per-thread pool of discarded {@link Game}s, which are reused as shells of new copies with
+ * {@link Game#copyInto(Game)} instead of being allocated from scratch by {@link Game#copy()}.
+ * <p>
+ * Each thread has its own pool, so acquiring and releasing games needs no synchronization. A game
+ * must only be released by the thread owning it, and must not be used by anyone after it is released.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class GamePool {
+    /**
+     * The default maximum number of games kept by each thread.
+     */
+    public static final int DEFAULT_MAX_SIZE = 32;
+
+    private final int maxSize;
+    private final ThreadLocal<ArrayDeque<Game>> shells;
+
+    /**
+     * Creates a {@code GamePool} keeping at most {@link #DEFAULT_MAX_SIZE} games per thread.
+     */
+    public GamePool() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a {@code GamePool} keeping at most the given number of games per thread.
+     */
+    public GamePool(int maxSize) {
+        ExceptionHelper.checkArgumentInRange(maxSize, 0, Integer.MAX_VALUE, "maxSize");
+
+        this.maxSize = maxSize;
+        this.shells = ThreadLocal.withInitial(() -> new ArrayDeque<>(maxSize));
+    }
+
+    /**
+     * Returns a copy of the given {@code Game}, which is a pooled game reset with
+     * {@link Game#copyInto(Game)} if the pool of the calling thread has a compatible one,
+     * and a new game created by {@link Game#copy()} otherwise.
+     */
+    public Game acquireCopyOf(Game source) {
+        ExceptionHelper.checkNotNullArgument(source, "source");
+
+        ArrayDeque<Game> pool = shells.get();
+        Game shell;
+        while ((shell = pool.pollLast()) != null) {
+            if (source.canCopyInto(shell)) {
+                source.copyInto(shell);
+                return shell;
+            }
+        }
+        return source.copy();
+    }
+
+    /**
+     * Returns the given {@code Game} to the pool of the calling thread, so that it can be reused by
+     * {@link #acquireCopyOf(Game)}. The game is dropped if the pool is full.
+     */
+    public void release(Game game) {
+        ExceptionHelper.checkNotNullArgument(game, "game");
+
+        ArrayDeque<Game> pool = shells.get();
+        if (pool.size() < maxSize)
+            pool.addLast(game);
+    }
+
+    /**
+     * Returns the number of games currently kept for the calling thread.
+     */
+    public int getPooledCount() {
+        return shells.get().size();
+    }
+}
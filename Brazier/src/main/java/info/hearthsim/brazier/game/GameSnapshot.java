@@ -0,0 +1,483 @@
+package info.hearthsim.brazier.game;
+
+import info.hearthsim.brazier.abilities.HpProperty;
+import info.hearthsim.brazier.actions.PlayActionDef;
+import info.hearthsim.brazier.actions.PlayArg;
+import info.hearthsim.brazier.db.CardDescr;
+import info.hearthsim.brazier.db.HearthStoneDb;
+import info.hearthsim.brazier.db.HearthStoneEntity;
+import info.hearthsim.brazier.db.HearthStoneEntityDatabase;
+import info.hearthsim.brazier.db.MinionDescr;
+import info.hearthsim.brazier.db.WeaponDescr;
+import info.hearthsim.brazier.game.cards.Card;
+import info.hearthsim.brazier.game.minions.Minion;
+import info.hearthsim.brazier.game.minions.MinionBody;
+import info.hearthsim.brazier.game.minions.MinionProperties;
+import info.hearthsim.brazier.game.weapons.Weapon;
+import org.jtrim.utils.ExceptionHelper;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compact snapshot of the state of a {@link Game}, encoded as a flat array of {@code int}s.
+ * <p>
+ * A {@code GameSnapshot} takes a few hundred bytes instead of the several kilobytes of a live {@code Game},
+ * so large numbers of them can be kept for analysis or as keys of transposition tables. Two snapshots
+ * are equal if and only if their encoded content is equal.
+ * <p>
+ * Card, minion, weapon and hero power descriptors are encoded as their indexes in the corresponding
+ * {@link HearthStoneEntityDatabase} of the game's {@link HearthStoneDb}, therefore a snapshot can only
+ * be rehydrated with {@link #toGame(HearthStoneDb, PlayerId, PlayerId)} against the same database.
+ * <p>
+ * Buffs are not encoded individually, since they have no identity: the buffed attack and health of minions,
+ * weapons and heroes are encoded instead (without the effects of auras, which are re-applied when the game
+ * is rehydrated). Likewise, abilities are re-derived from the descriptors, so abilities added to a minion
+ * by other entities are lost.
+ */
+public final class GameSnapshot {
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int FLAG_TAUNT = 1;
+    private static final int FLAG_DIVINE_SHIELD = 1 << 1;
+    private static final int FLAG_STEALTH = 1 << 2;
+    private static final int FLAG_FROZEN = 1 << 3;
+    private static final int FLAG_EXHAUSTED = 1 << 4;
+    private static final int FLAG_SILENCED = 1 << 5;
+    private static final int FLAG_CHARGE = 1 << 6;
+
+    private static final Keyword[] HERO_CLASSES = {
+        Keywords.CLASS_BOSS,
+        Keywords.CLASS_NEUTRAL,
+        Keywords.CLASS_DRUID,
+        Keywords.CLASS_HUNTER,
+        Keywords.CLASS_MAGE,
+        Keywords.CLASS_PALADIN,
+        Keywords.CLASS_PRIEST,
+        Keywords.CLASS_ROUGE,
+        Keywords.CLASS_SHAMAN,
+        Keywords.CLASS_WARLOCK,
+        Keywords.CLASS_WARRIOR,
+    };
+
+    private final int[] data;
+
+    private GameSnapshot(int[] data) {
+        this.data = data;
+    }
+
+    /**
+     * Creates a {@code GameSnapshot} of the current state of the given {@link Game}.
+     *
+     * @throws IllegalArgumentException if the game contains an entity which is not in the
+     *                                  {@link HearthStoneDb} of the game.
+     */
+    public static GameSnapshot fromGame(Game game) {
+        ExceptionHelper.checkNotNullArgument(game, "game");
+
+        Writer writer = new Writer(game.getDb());
+        writer.write(FORMAT_VERSION);
+        writer.write(game.getCurrentPlayer() == game.getPlayer1() ? 0 : 1);
+        writer.writePlayer(game.getPlayer1());
+        writer.writePlayer(game.getPlayer2());
+        return new GameSnapshot(writer.toArray());
+    }
+
+    /**
+     * Creates a {@code GameSnapshot} from the given array previously returned by {@link #toArray()}.
+     */
+    public static GameSnapshot fromArray(int[] data) {
+        ExceptionHelper.checkNotNullArgument(data, "data");
+        return new GameSnapshot(data.clone());
+    }
+
+    /**
+     * Reads a {@code GameSnapshot} written by {@link #writeTo(ByteBuffer)} from the given {@link ByteBuffer}.
+     *
+     * @throws BufferUnderflowException if the buffer does not contain a whole snapshot.
+     */
+    public static GameSnapshot readFrom(ByteBuffer buffer) {
+        ExceptionHelper.checkNotNullArgument(buffer, "buffer");
+
+        int length = buffer.getInt();
+        if (length < 0)
+            throw new IllegalArgumentException("Invalid snapshot length: " + length);
+
+        int[] data = new int[length];
+        buffer.asIntBuffer().get(data);
+        buffer.position(buffer.position() + 4 * length);
+        return new GameSnapshot(data);
+    }
+
+    /**
+     * Writes this snapshot to the given {@link ByteBuffer}, taking {@link #getByteSize()} bytes.
+     */
+    public void writeTo(ByteBuffer buffer) {
+        ExceptionHelper.checkNotNullArgument(buffer, "buffer");
+
+        buffer.putInt(data.length);
+        buffer.asIntBuffer().put(data);
+        buffer.position(buffer.position() + 4 * data.length);
+    }
+
+    /**
+     * Returns the number of bytes taken by this snapshot when written with {@link #writeTo(ByteBuffer)}.
+     */
+    public int getByteSize() {
+        return 4 * (data.length + 1);
+    }
+
+    /**
+     * Returns the encoded content of this snapshot as a new array.
+     */
+    public int[] toArray() {
+        return data.clone();
+    }
+
+    /**
+     * Creates a new {@link Game} with the state encoded in this snapshot.
+     *
+     * @param db the {@link HearthStoneDb} of the game this snapshot was taken from.
+     * @param player1Id the id of player 1.
+     * @param player2Id the id of player 2.
+     * @throws IllegalArgumentException if this snapshot was not created by a compatible version of this class.
+     */
+    public Game toGame(HearthStoneDb db, PlayerId player1Id, PlayerId player2Id) {
+        ExceptionHelper.checkNotNullArgument(db, "db");
+
+        Reader reader = new Reader(db, data);
+        int version = reader.read();
+        if (version != FORMAT_VERSION)
+            throw new IllegalArgumentException("Unsupported snapshot version: " + version);
+
+        Game game = new Game(db, player1Id, player2Id);
+        int currentPlayer = reader.read();
+        reader.readPlayer(game.getPlayer1());
+        reader.readPlayer(game.getPlayer2());
+        game.setCurrentPlayerId(currentPlayer == 0 ? player1Id : player2Id);
+        game.updateAllAuras();
+        return game;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(data);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null) return false;
+        if (getClass() != obj.getClass()) return false;
+
+        final GameSnapshot other = (GameSnapshot)obj;
+        return Arrays.equals(this.data, other.data);
+    }
+
+    @Override
+    public String toString() {
+        return "GameSnapshot{" + "length=" + data.length + '}';
+    }
+
+    private static int heroClassIndex(Keyword heroClass) {
+        for (int i = 0; i < HERO_CLASSES.length; i++) {
+            if (HERO_CLASSES[i] == heroClass)
+                return i;
+        }
+        throw new IllegalArgumentException("Unknown hero class: " + heroClass);
+    }
+
+    private static final class Writer {
+        private final HearthStoneDb db;
+        private int[] data;
+        private int size;
+
+        public Writer(HearthStoneDb db) {
+            this.db = db;
+            this.data = new int[128];
+            this.size = 0;
+        }
+
+        public void write(int value) {
+            if (size == data.length)
+                data = Arrays.copyOf(data, 2 * size);
+            data[size++] = value;
+        }
+
+        public void write(boolean value) {
+            write(value ? 1 : 0);
+        }
+
+        private <T extends HearthStoneEntity> void writeIndex(HearthStoneEntityDatabase<T> entityDb, T entity) {
+            int index = entityDb.indexOf(entity);
+            if (index < 0)
+                throw new IllegalArgumentException("Entity is not in the database: " + entity.getId());
+            write(index);
+        }
+
+        public void writePlayer(Player player) {
+            writeHero(player.getHero());
+
+            ManaResource mana = player.getManaResource();
+            write(mana.getManaCrystals());
+            write(mana.getMana());
+            write(mana.getOverloadedMana());
+            write(mana.getNextTurnOverload());
+
+            write(player.getTurnNum());
+            write(player.getFatigueDamage());
+            write(player.getCardsPlayedThisTurn());
+            write(player.getMinionsPlayedThisTurn());
+
+            writeWeapon(player.tryGetWeapon());
+
+            List<Minion> minions = player.getBoard().getAllMinions();
+            write(minions.size());
+            for (Minion minion: minions)
+                writeMinion(minion);
+
+            Hand hand = player.getHand();
+            write(hand.getCardCount());
+            for (int i = 0; i < hand.getCardCount(); i++)
+                writeIndex(db.getCardDb(), hand.getCard(i).getCardDescr());
+
+            Deck deck = player.getDeck();
+            write(deck.getNumberOfCards());
+            for (int i = 0; i < deck.getNumberOfCards(); i++)
+                writeIndex(db.getCardDb(), deck.getCardDescr(i));
+
+            List<Secret> secrets = player.getSecrets().getSecrets();
+            write(secrets.size());
+            for (Secret secret: secrets)
+                writeIndex(db.getCardDb(), secret.getBaseCard());
+        }
+
+        private void writeHero(Hero hero) {
+            write(heroClassIndex(hero.getHeroClass()));
+
+            HeroPower heroPower = hero.getHeroPower();
+            if (heroPower.getPowerDef() == CardDescr.DO_NOTHING)
+                write(-1);
+            else
+                writeIndex(db.getHeroPowerDb(), heroPower.getPowerDef());
+            write(heroPower.getUseCount());
+
+            // The copy of the hp property does not include the aura buffs.
+            HpProperty hp = hero.getHp().copy();
+            write(hp.getMaxHp());
+            write(hp.getCurrentHp());
+            write(hero.getCurrentArmor());
+
+            write(hero.getAttackCount());
+            write(hero.getExtraAttackForThisTurn());
+            write(hero.getAttackTool().isFrozen());
+        }
+
+        private void writeWeapon(Weapon weapon) {
+            if (weapon == null) {
+                write(-1);
+                return;
+            }
+
+            writeIndex(db.getWeaponDb(), weapon.getBaseDescr());
+            write(weapon.getBuffableAttack().copy().getValue());
+            write(weapon.getDurability());
+        }
+
+        private void writeMinion(Minion minion) {
+            MinionProperties properties = minion.getProperties();
+            MinionBody body = minion.getBody();
+
+            writeIndex(db.getMinionDb(), minion.getBaseDescr());
+            write(minion.getBuffableAttack().copy().getValue());
+            HpProperty hp = body.getHp().copy();
+            write(hp.getMaxHp());
+            write(hp.getCurrentHp());
+            write(properties.getAttackCount());
+
+            int flags = 0;
+            if (body.isTaunt())
+                flags |= FLAG_TAUNT;
+            if (body.isDivineShield())
+                flags |= FLAG_DIVINE_SHIELD;
+            if (body.isStealth())
+                flags |= FLAG_STEALTH;
+            if (properties.isFrozen())
+                flags |= FLAG_FROZEN;
+            if (properties.isExhausted())
+                flags |= FLAG_EXHAUSTED;
+            if (properties.isSilenced())
+                flags |= FLAG_SILENCED;
+            if (properties.isCharge())
+                flags |= FLAG_CHARGE;
+            write(flags);
+        }
+
+        public int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+
+    private static final class Reader {
+        private final HearthStoneDb db;
+        private final int[] data;
+        private int pos;
+
+        public Reader(HearthStoneDb db, int[] data) {
+            this.db = db;
+            this.data = data;
+            this.pos = 0;
+        }
+
+        public int read() {
+            if (pos >= data.length)
+                throw new IllegalArgumentException("Unexpected end of snapshot.");
+            return data[pos++];
+        }
+
+        public boolean readBoolean() {
+            return read() != 0;
+        }
+
+        private <T extends HearthStoneEntity> T readEntity(HearthStoneEntityDatabase<T> entityDb) {
+            int index = read();
+            List<T> entities = entityDb.getAll();
+            if (index < 0 || index >= entities.size())
+                throw new IllegalArgumentException("Invalid entity index: " + index);
+            return entities.get(index);
+        }
+
+        public void readPlayer(Player player) {
+            readHero(player.getHero());
+
+            ManaResource mana = player.getManaResource();
+            mana.setManaCrystals(read());
+            mana.setMana(read());
+            mana.setOverloadedMana(read());
+            mana.setNextTurnOverload(read());
+
+            int turnNum = read();
+            int fatigue = read();
+            int cardsPlayed = read();
+            int minionsPlayed = read();
+            player.setCounters(turnNum, fatigue, cardsPlayed, minionsPlayed);
+
+            readWeapon(player);
+
+            int minionCount = read();
+            for (int i = 0; i < minionCount; i++)
+                player.getBoard().tryAddToBoard(readMinion(player));
+
+            int handSize = read();
+            for (int i = 0; i < handSize; i++)
+                player.getHand().addCard(readEntity(db.getCardDb()));
+
+            int deckSize = read();
+            CardDescr[] deck = new CardDescr[deckSize];
+            for (int i = 0; i < deckSize; i++)
+                deck[i] = readEntity(db.getCardDb());
+            player.getDeck().setCards(Arrays.asList(deck));
+
+            int secretCount = read();
+            for (int i = 0; i < secretCount; i++)
+                readSecret(player, readEntity(db.getCardDb()));
+        }
+
+        private void readHero(Hero hero) {
+            int heroClass = read();
+            if (heroClass < 0 || heroClass >= HERO_CLASSES.length)
+                throw new IllegalArgumentException("Invalid hero class index: " + heroClass);
+            hero.setHeroClass(HERO_CLASSES[heroClass]);
+
+            if (data[pos] < 0)
+                pos++;
+            else
+                hero.setHeroPower(readEntity(db.getHeroPowerDb()));
+            hero.getHeroPower().setUseCount(read());
+
+            hero.setMaxHp(read());
+            hero.setCurrentHp(read());
+            hero.setCurrentArmor(read());
+
+            hero.setAttackCount(read());
+            hero.addExtraAttackForThisTurn(read());
+            if (readBoolean())
+                hero.getAttackTool().freeze();
+        }
+
+        private void readWeapon(Player player) {
+            if (data[pos] < 0) {
+                pos++;
+                return;
+            }
+
+            WeaponDescr weaponDescr = readEntity(db.getWeaponDb());
+            player.equipWeapon(weaponDescr);
+            Weapon weapon = player.tryGetWeapon();
+
+            int attack = read();
+            if (attack != weaponDescr.getAttack())
+                weapon.setAttack(attack);
+            weapon.increaseDurability(read() - weaponDescr.getDurability());
+        }
+
+        private Minion readMinion(Player owner) {
+            MinionDescr minionDescr = readEntity(db.getMinionDb());
+            int attack = read();
+            int maxHp = read();
+            int currentHp = read();
+            int attackCount = read();
+            int flags = read();
+
+            Minion minion = new Minion(owner, minionDescr);
+            MinionProperties properties = minion.getProperties();
+            MinionBody body = minion.getBody();
+
+            if ((flags & FLAG_SILENCED) != 0)
+                minion.silence();
+
+            if (attack != minionDescr.getAttack())
+                minion.getBuffableAttack().setValueTo(attack);
+            if (maxHp != minionDescr.getHp())
+                body.getHp().setMaxHp(maxHp);
+            body.getHp().setCurrentHp(currentHp);
+
+            if ((flags & FLAG_EXHAUSTED) == 0)
+                properties.refreshStartOfTurn();
+            for (int i = 0; i < attackCount; i++)
+                properties.getAttackTool().incAttackCount();
+            if ((flags & FLAG_FROZEN) != 0)
+                properties.getAttackTool().freeze();
+
+            boolean charge = (flags & FLAG_CHARGE) != 0;
+            if (charge != properties.isCharge())
+                properties.setCharge(charge);
+            boolean taunt = (flags & FLAG_TAUNT) != 0;
+            if (taunt != body.isTaunt())
+                body.setTaunt(taunt);
+            boolean divineShield = (flags & FLAG_DIVINE_SHIELD) != 0;
+            if (divineShield != body.isDivineShield())
+                body.setDivineShield(divineShield);
+            boolean stealth = (flags & FLAG_STEALTH) != 0;
+            if (stealth != body.isStealth())
+                body.setStealth(stealth);
+
+            return minion;
+        }
+
+        /**
+         * Adds the secret of the given card to the given player by executing the play actions of the card,
+         * since the ability of a secret is only available through them.
+         */
+        private void readSecret(Player player, CardDescr secretCard) {
+            PlayArg<Card> playArg = new PlayArg<>(new Card(player, secretCard), Optional.empty());
+            for (PlayActionDef<Card> action: secretCard.getOnPlayActions()) {
+                if (action.getRequirement().meetsRequirement(player))
+                    action.doPlay(playArg);
+            }
+        }
+    }
+}
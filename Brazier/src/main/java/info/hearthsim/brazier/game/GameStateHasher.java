@@ -0,0 +1,185 @@
+package info.hearthsim.brazier.game;
+
+import info.hearthsim.brazier.db.CardDescr;
+import info.hearthsim.brazier.db.HearthStoneEntity;
+import info.hearthsim.brazier.game.cards.Card;
+import info.hearthsim.brazier.game.minions.Minion;
+import info.hearthsim.brazier.game.minions.MinionBody;
+import info.hearthsim.brazier.game.weapons.AttackTool;
+import info.hearthsim.brazier.game.weapons.Weapon;
+
+import java.util.List;
+
+/**
+ * Computes the Zobrist-style 64-bit hash of a {@link Game}, returned by {@link Game#stateHash()}.
+ * <p>
+ * Every observable feature of the game (e.g. the attack of the minion in the 3rd slot of player 1's board)
+ * has its own random 64-bit key for each of its possible values, and the hash of the game is the {@code XOR}
+ * of the keys of all its features. Instead of storing tables of random keys, the key of a feature value is
+ * computed by mixing the feature's identifier with the value, so the hash is stable between runs and
+ * descriptors are identified by the hash of their names.
+ * <p>
+ * Computing everything on each call would iterate every entity of the game, so the parts which only change
+ * through a few methods are maintained by their owners as those methods change them: the mana and the turn
+ * counters of the players keep the {@code XOR} of their {@link #fieldKey(int, long) field keys}, and decks
+ * and hands keep the sum of the {@link #cardKey(CardDescr) keys of their cards}, which does not depend on
+ * the order of the cards. These are folded into the hash as single features. The heroes, weapons, minions,
+ * secrets and the mana costs of the cards in hands are hashed on each call, as their aura-aware properties
+ * may change with any aura update.
+ * <p>
+ * The hash is lossy where the game state has no stable identifier to hash: added death rattles and
+ * abilities of minions are only hashed by their number, and the cards in decks by their descriptors.
+ */
+final class GameStateHasher {
+    private static final int ZONE_PLAYER = 0;
+    private static final int ZONE_HERO = 1;
+    private static final int ZONE_WEAPON = 2;
+    private static final int ZONE_BOARD = 3;
+    private static final int ZONE_HAND = 4;
+    private static final int ZONE_DECK = 5;
+    private static final int ZONE_SECRETS = 6;
+
+    private static final int MAX_SLOTS = 1 << 16;
+
+    private long hash;
+
+    private GameStateHasher() {
+        this.hash = 0;
+    }
+
+    public static long hash(Game game) {
+        GameStateHasher hasher = new GameStateHasher();
+        hasher.hash(0, ZONE_PLAYER, MAX_SLOTS - 1, 0, game.getCurrentPlayer() == game.getPlayer1() ? 0 : 1);
+        hasher.hash(0, ZONE_PLAYER, MAX_SLOTS - 1, 1, game.isGameOver() ? 1 : 0);
+        hasher.hashPlayer(0, game.getPlayer1());
+        hasher.hashPlayer(1, game.getPlayer2());
+        return hasher.hash;
+    }
+
+    /**
+     * Returns the key of the given value of the given feature. The mixing function is the finalizer
+     * of SplitMix64.
+     */
+    private static long key(long feature, long value) {
+        long z = feature * 0x9E3779B97F4A7C15L + value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns the key of the given value of the given field of an object, to be combined with the keys of
+     * its other fields with {@code XOR}.
+     */
+    static long fieldKey(int field, long value) {
+        return key(field, value);
+    }
+
+    /**
+     * Returns the key of a card with the given {@code CardDescr}, to be summed with the keys of the other
+     * cards in the same zone.
+     */
+    static long cardKey(CardDescr card) {
+        return key(-1, nameHash(card));
+    }
+
+    private void hash(int player, int zone, int slot, int field, long value) {
+        long feature = (((long) player * 8 + zone) * MAX_SLOTS + slot) * 32 + field;
+        hash ^= key(feature, value);
+    }
+
+    private static int nameHash(HearthStoneEntity entity) {
+        return entity.getId().getName().hashCode();
+    }
+
+    private void hashPlayer(int player, Player state) {
+        hash(player, ZONE_PLAYER, 0, 0, state.getManaResource().getStateHash());
+        hash(player, ZONE_PLAYER, 0, 1, state.getCountersHash());
+        hash(player, ZONE_PLAYER, 0, 2, state.getSpellPower().getValue());
+
+        hashHero(player, state.getHero());
+        hashWeapon(player, state.tryGetWeapon());
+
+        List<Minion> minions = state.getBoard().getAllMinions();
+        hash(player, ZONE_BOARD, MAX_SLOTS - 1, 0, minions.size());
+        for (int i = 0; i < minions.size(); i++)
+            hashMinion(player, i, minions.get(i));
+
+        Hand hand = state.getHand();
+        hash(player, ZONE_HAND, MAX_SLOTS - 1, 0, hand.getCardCount());
+        hash(player, ZONE_HAND, MAX_SLOTS - 1, 1, hand.getCardsHash());
+        hash(player, ZONE_HAND, MAX_SLOTS - 1, 2, manaCostsHash(hand));
+
+        Deck deck = state.getDeck();
+        hash(player, ZONE_DECK, MAX_SLOTS - 1, 0, deck.getNumberOfCards());
+        hash(player, ZONE_DECK, MAX_SLOTS - 1, 1, deck.getCardsHash());
+
+        List<Secret> secrets = state.getSecrets().getSecrets();
+        hash(player, ZONE_SECRETS, MAX_SLOTS - 1, 0, secrets.size());
+        for (int i = 0; i < secrets.size(); i++)
+            hash(player, ZONE_SECRETS, i, 0, nameHash(secrets.get(i).getBaseCard()));
+    }
+
+    /**
+     * Returns the sum of the keys of the cards in the given hand whose mana cost differs from the cost of
+     * their descriptor, which does not depend on the order of the cards.
+     */
+    private static long manaCostsHash(Hand hand) {
+        long result = 0;
+        for (int i = 0; i < hand.getCardCount(); i++) {
+            Card card = hand.getCard(i);
+            int manaCost = card.getActiveManaCost();
+            if (manaCost != card.getCardDescr().getManaCost())
+                result += key(cardKey(card.getCardDescr()), manaCost);
+        }
+        return result;
+    }
+
+    private void hashHero(int player, Hero hero) {
+        hash(player, ZONE_HERO, 0, 0, hero.getHeroClass().getName().hashCode());
+        hash(player, ZONE_HERO, 0, 1, nameHash(hero.getHeroPower().getPowerDef()));
+        hash(player, ZONE_HERO, 0, 2, hero.getHeroPower().getUseCount());
+        hash(player, ZONE_HERO, 0, 3, hero.getMaxHp());
+        hash(player, ZONE_HERO, 0, 4, hero.getCurrentHp());
+        hash(player, ZONE_HERO, 0, 5, hero.getCurrentArmor());
+        hash(player, ZONE_HERO, 0, 6, hero.getAttackCount());
+        hash(player, ZONE_HERO, 0, 7, hero.getExtraAttackForThisTurn());
+        hash(player, ZONE_HERO, 0, 8, hero.getAttackTool().isFrozen() ? 1 : 0);
+        hash(player, ZONE_HERO, 0, 9, hero.isImmune() ? 1 : 0);
+    }
+
+    private void hashWeapon(int player, Weapon weapon) {
+        if (weapon == null) {
+            hash(player, ZONE_WEAPON, 0, 0, 0);
+            return;
+        }
+
+        hash(player, ZONE_WEAPON, 0, 0, nameHash(weapon.getBaseDescr()));
+        hash(player, ZONE_WEAPON, 0, 1, weapon.getAttack());
+        hash(player, ZONE_WEAPON, 0, 2, weapon.getDurability());
+    }
+
+    private void hashMinion(int player, int slot, Minion minion) {
+        MinionBody body = minion.getBody();
+        AttackTool attackTool = minion.getAttackTool();
+
+        hash(player, ZONE_BOARD, slot, 0, nameHash(minion.getBaseDescr()));
+        hash(player, ZONE_BOARD, slot, 1, attackTool.getAttack());
+        hash(player, ZONE_BOARD, slot, 2, body.getMaxHp());
+        hash(player, ZONE_BOARD, slot, 3, body.getCurrentHp());
+        hash(player, ZONE_BOARD, slot, 4, attackTool.canAttackWith() ? 1 : 0);
+        hash(player, ZONE_BOARD, slot, 5, minion.getProperties().getAttackCount());
+        hash(player, ZONE_BOARD, slot, 6, body.isTaunt() ? 1 : 0);
+        hash(player, ZONE_BOARD, slot, 7, body.isDivineShield() ? 1 : 0);
+        hash(player, ZONE_BOARD, slot, 8, body.isStealth() ? 1 : 0);
+        hash(player, ZONE_BOARD, slot, 9, body.isImmune() ? 1 : 0);
+        hash(player, ZONE_BOARD, slot, 10, attackTool.isFrozen() ? 1 : 0);
+        hash(player, ZONE_BOARD, slot, 11, minion.getProperties().isSilenced() ? 1 : 0);
+        hash(player, ZONE_BOARD, slot, 12, attackTool.getMaxAttackCount());
+        hash(player, ZONE_BOARD, slot, 13, minion.isCharge() ? 1 : 0);
+        hash(player, ZONE_BOARD, slot, 14, (attackTool.attacksLeft() ? 1 : 0) | (attackTool.attacksRight() ? 2 : 0));
+        hash(player, ZONE_BOARD, slot, 15, minion.getProperties().getDeathRattleCount());
+        hash(player, ZONE_BOARD, slot, 16, minion.getProperties().getAddedAbilityCount());
+        hash(player, ZONE_BOARD, slot, 17, body.isTargetable() ? 1 : 0);
+    }
+}
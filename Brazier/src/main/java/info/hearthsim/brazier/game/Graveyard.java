@@ -3,49 +3,52 @@ package info.hearthsim.brazier.game;
 import info.hearthsim.brazier.game.minions.Minion;
 import org.jtrim.utils.ExceptionHelper;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 
 public final class Graveyard {
-    private final List<Minion> deadMinions;
-    private final List<Minion> deadMinionsView;
+    private final SharedEntityList<Minion> deadMinions;
 
-    private List<Minion> minionsDiedThisTurn;
+    /**
+     * The number of minions at the end of {@link #deadMinions} which died in this turn.
+     */
+    private int minionsDiedThisTurn;
+
+    /**
+     * Creates an empty {@code Graveyard} which belongs to the given {@code Player}.
+     */
+    public Graveyard(Player owner) {
+        this.deadMinions = new SharedEntityList<>(owner);
+        this.minionsDiedThisTurn = 0;
+    }
 
-    public Graveyard() {
-        this.deadMinions = new ArrayList<>();
-        this.deadMinionsView = Collections.unmodifiableList(deadMinions);
-        this.minionsDiedThisTurn = new ArrayList<>();
+    private Graveyard(SharedEntityList<Minion> deadMinions, int minionsDiedThisTurn) {
+        this.deadMinions = deadMinions;
+        this.minionsDiedThisTurn = minionsDiedThisTurn;
     }
 
     /**
      * Returns a copy of this {@code Graveyard} with the given new owner.
+     * <p>
+     * The dead minions are not copied immediately unless they were accessed from this graveyard or
+     * added to it: they are shared with the copy and only copied for the owner of a graveyard when they
+     * are first accessed from that graveyard. This graveyard is not modified.
      */
     public Graveyard copyFor(Player newOwner) {
-        Graveyard result = new Graveyard();
-        for (Minion minion : deadMinions)
-            result.deadMinions.add(minion.copyFor(newOwner.getGame(), newOwner));
-        for (Minion minion : minionsDiedThisTurn) // FIXME: Redundant copies of minions are made here
-            result.minionsDiedThisTurn.add(minion.copyFor(newOwner.getGame(), newOwner));
-        return result;
+        return new Graveyard(deadMinions.copyFor(newOwner), minionsDiedThisTurn);
     }
 
-    private static <T> boolean containsAll(Set<? extends T> set, T[] elements) {
-        for (T element: elements) {
-            if (!set.contains(element)) {
-                return false;
-            }
-        }
-        return true;
+    /**
+     * Replaces the dead minions of this {@code Graveyard} with the dead minions of the given
+     * {@code Graveyard}, which are shared in the same way as by {@link #copyFor(Player)}.
+     */
+    void copyFrom(Graveyard other) {
+        deadMinions.copyFrom(other.deadMinions);
+        minionsDiedThisTurn = other.minionsDiedThisTurn;
     }
 
     public Minion findMinion(EntityId id) {
-        for (Minion minion : deadMinions)
-            if (minion.getEntityId() == id)
-                return minion;
-        return null;
+        return deadMinions.find(id);
     }
 
     /**
@@ -53,41 +56,62 @@ public final class Graveyard {
      * in this turn.
      */
     public void refreshEndOfTurn() {
-        if (minionsDiedThisTurn.isEmpty())
+        if (minionsDiedThisTurn == 0)
             return;
-        minionsDiedThisTurn.clear();
+
+        GameJournal journal = deadMinions.getOwner().getGame().getJournal();
+        if (journal.isRecording()) {
+            int prevMinionsDiedThisTurn = minionsDiedThisTurn;
+            journal.record((game) -> minionsDiedThisTurn = prevMinionsDiedThisTurn);
+        }
+        minionsDiedThisTurn = 0;
     }
 
     public int getNumberOfMinionsDiedThisTurn() {
-        return minionsDiedThisTurn.size();
+        return minionsDiedThisTurn;
     }
 
     public List<Minion> getMinionsDiedThisTurn() {
-        if (minionsDiedThisTurn.isEmpty()) {
+        if (minionsDiedThisTurn == 0) {
             return Collections.emptyList();
         }
-        return new ArrayList<>(minionsDiedThisTurn);
+        return deadMinions.subList(deadMinions.size() - minionsDiedThisTurn);
     }
 
     public boolean hasWithKeyword(Keyword[] keywords) {
-        ExceptionHelper.checkNotNullElements(keywords, "keywords");
+        return hasWithKeyword(KeywordSet.of(keywords));
+    }
 
-        for (Minion deadMinion: deadMinions) {
-            if (containsAll(deadMinion.getKeywords(), keywords)) {
-                return true;
-            }
-        }
-        return false;
+    /**
+     * Returns if any of the dead minions has all of the given {@link Keyword}s.
+     */
+    public boolean hasWithKeyword(KeywordSet keywords) {
+        ExceptionHelper.checkNotNullArgument(keywords, "keywords");
+
+        return deadMinions.anyMatch((deadMinion) -> deadMinion.getKeywords().containsAll(keywords));
     }
 
+    /**
+     * Returns the dead minions in the order of their death as a new {@link List}.
+     */
     public List<Minion> getDeadMinions() {
-        return deadMinionsView;
+        return deadMinions.toList();
     }
 
     public void addDeadMinion(Minion minion) {
         ExceptionHelper.checkNotNullArgument(minion, "minion");
 
-        minionsDiedThisTurn.add(minion);
         deadMinions.add(minion);
+        minionsDiedThisTurn++;
+
+        Game currentGame = deadMinions.getOwner().getGame();
+        currentGame.getEntityIndex().put(minion, EntityIndex.Zone.GRAVEYARD);
+        GameJournal journal = currentGame.getJournal();
+        if (journal.isRecording()) {
+            journal.record((game) -> {
+                deadMinions.remove(deadMinions.size() - 1);
+                minionsDiedThisTurn--;
+            });
+        }
     }
 }
@@ -1,6 +1,7 @@
 package info.hearthsim.brazier.game;
 
 import info.hearthsim.brazier.PlayerProperty;
+import info.hearthsim.brazier.abilities.AuraDependencies;
 import info.hearthsim.brazier.actions.ActionUtils;
 import info.hearthsim.brazier.db.CardDescr;
 import info.hearthsim.brazier.game.cards.Card;
@@ -17,6 +18,8 @@ public final class Hand implements PlayerProperty {
     private final int maxSize;
 
     private List<CardRef> hand;
+    // The sum of the state hash keys of the cards, updated whenever a card is added or removed
+    private long cardsHash;
 
     /**
      * Creates an empty {@code Hand} with the designated owner and max size.
@@ -28,6 +31,7 @@ public final class Hand implements PlayerProperty {
         this.owner = owner;
         this.maxSize = maxSize;
         this.hand = new ArrayList<>(Player.MAX_HAND_SIZE);
+        this.cardsHash = 0;
     }
 
     /**
@@ -40,11 +44,30 @@ public final class Hand implements PlayerProperty {
         return result;
     }
 
+    /**
+     * Replaces the content of this {@code Hand} with copies of the cards of the given {@code Hand}.
+     * The previous cards are dropped without being deactivated.
+     */
+    void copyFrom(Hand other) {
+        hand.clear();
+        cardsHash = 0;
+        for (CardRef card : other.hand)
+            addCard(card.card.copyFor(owner.getGame(), owner));
+    }
+
     @Override
     public Player getOwner() {
         return owner;
     }
 
+    /**
+     * Returns the hash of the cards in this {@code Hand} regardless of their order, which is maintained
+     * as cards are added and removed and is used by {@link Game#stateHash()}.
+     */
+    long getCardsHash() {
+        return cardsHash;
+    }
+
     public int getMaxSize() {
         return maxSize;
     }
@@ -111,6 +134,18 @@ public final class Hand implements PlayerProperty {
         return result != null ? result.card : null;
     }
 
+    /**
+     * Returns the card in this {@code Hand} with the given {@link EntityId}, or {@code null} if there
+     * is no such card.
+     */
+    public Card findCard(EntityId id) {
+        for (CardRef cardRef : hand) {
+            if (cardRef.card.getEntityId() == id)
+                return cardRef.card;
+        }
+        return null;
+    }
+
     public Card findCard(Predicate<? super Card> filter) {
         ExceptionHelper.checkNotNullArgument(filter, "filter");
 
@@ -128,11 +163,24 @@ public final class Hand implements PlayerProperty {
             return;
 
 
+        EntityIndex entityIndex = getGame().getEntityIndex();
         for (CardRef cardRef: hand) {
             cardRef.deactivate();
+            entityIndex.remove(cardRef.card);
+        }
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording()) {
+            List<CardRef> discarded = new ArrayList<>(hand);
+            long prevCardsHash = cardsHash;
+            journal.record((game) -> {
+                hand.addAll(discarded);
+                cardsHash = prevCardsHash;
+            });
         }
         // TODO: Show cards to opponent
         hand.clear();
+        cardsHash = 0;
+        getGame().invalidateAuras(AuraDependencies.HAND);
     }
 
     /**
@@ -146,7 +194,7 @@ public final class Hand implements PlayerProperty {
         int i = 0;
         for (CardRef cardRef: hand) {
             Card card = cardRef.card;
-            if (card.getMinion() != null && cardFilter.test(card)) {
+            if (card.isMinionCard() && cardFilter.test(card)) {
                 indexes[indexCount] = i;
                 indexCount++;
             }
@@ -167,14 +215,40 @@ public final class Hand implements PlayerProperty {
 
         CardRef newCardRef = new CardRef(owner, newCard);
         hand.add(cardIndex, newCardRef);
+        long hashChange = GameStateHasher.cardKey(newCard) - cardKey(result);
+        cardsHash += hashChange;
         newCardRef.activate();
+        EntityIndex entityIndex = getGame().getEntityIndex();
+        entityIndex.remove(result.card);
+        entityIndex.put(newCardRef.card, EntityIndex.Zone.HAND);
+        getGame().invalidateAuras(AuraDependencies.HAND);
+
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording()) {
+            journal.record((game) -> {
+                hand.set(cardIndex, result);
+                cardsHash -= hashChange;
+            });
+        }
 
         return result.card;
     }
 
     public Card removeAtIndex(int cardIndex) {
         CardRef result = hand.remove(cardIndex);
+        long resultKey = cardKey(result);
+        cardsHash -= resultKey;
         result.deactivate();
+        getGame().getEntityIndex().remove(result.card);
+        getGame().invalidateAuras(AuraDependencies.HAND);
+
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording()) {
+            journal.record((game) -> {
+                hand.add(cardIndex, result);
+                cardsHash += resultKey;
+            });
+        }
         return result.card;
     }
 
@@ -204,10 +278,26 @@ public final class Hand implements PlayerProperty {
 
         CardRef newCardRef = new CardRef(newCard);
         hand.add(newCardRef);
+        long newCardKey = cardKey(newCardRef);
+        cardsHash += newCardKey;
         newCardRef.activate();
+        getGame().getEntityIndex().put(newCard, EntityIndex.Zone.HAND);
+        getGame().invalidateAuras(AuraDependencies.HAND);
+
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording()) {
+            journal.record((game) -> {
+                hand.remove(newCardRef);
+                cardsHash -= newCardKey;
+            });
+        }
         onAddEvent.accept(newCard);
     }
 
+    private static long cardKey(CardRef cardRef) {
+        return GameStateHasher.cardKey(cardRef.card.getCardDescr());
+    }
+
     private static final class CardRef {
         private final Card card;
         private UndoAction<? super Card> unregisterRef;
@@ -223,7 +313,19 @@ public final class Hand implements PlayerProperty {
         }
 
         public void activate() {
-            unregisterRef = card.getCardDescr().getInHandAbility().activate(card);
+            setUnregisterRef(card.getCardDescr().getInHandAbility().activate(card));
+        }
+
+        /**
+         * Sets the reference removing the in-hand ability of the card, recording the change to the journal
+         * of the game. The registrations of the ability record their own changes.
+         */
+        private void setUnregisterRef(UndoAction<? super Card> newUnregisterRef) {
+            UndoAction<? super Card> prevUnregisterRef = unregisterRef;
+            GameJournal journal = card.getGame().getJournal();
+            if (journal.isRecording())
+                journal.record((game) -> unregisterRef = prevUnregisterRef);
+            unregisterRef = newUnregisterRef;
         }
 
         public void deactivate() {
@@ -11,13 +11,12 @@ import info.hearthsim.brazier.util.UndoAction;
 import org.jtrim.utils.ExceptionHelper;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.function.ToIntFunction;
 
 /**
  * The hero in a game, controlled by the specific player.
+ * <p>
+ * The changes of the state of the hero are recorded to the {@link GameJournal} of its game.
  */
 public final class Hero implements Character<Hero> {
     private final EntityId heroId;
@@ -31,14 +30,14 @@ public final class Hero implements Character<Hero> {
     private final AuraAwareBoolProperty immune;
 
     private final HeroAttackTool attackTool;
-    private final Set<Keyword> keywords;
+    private final KeywordSet keywords;
     private Keyword heroClass;
 
     private boolean poisoned;
 
     public Hero(Player owner, int maxHp, int startingArmor,
         Keyword heroClass, Collection<? extends Keyword> keywords) {
-        this(owner, new HpProperty(maxHp), startingArmor, heroClass, keywords);
+        this(owner, new HpProperty(owner, maxHp), startingArmor, heroClass, keywords);
     }
 
     public Hero(Player owner, HpProperty hp, int startingArmor,
@@ -48,19 +47,17 @@ public final class Hero implements Character<Hero> {
         ExceptionHelper.checkArgumentInRange(startingArmor, 0, Integer.MAX_VALUE, "startingArmor");
         ExceptionHelper.checkNotNullArgument(heroClass, "heroClass");
 
-        this.heroId = new EntityId();
+        this.heroId = owner.getGame().newEntityId();
         this.heroPower = new HeroPower(this, CardDescr.DO_NOTHING);
         this.owner = owner;
         this.hp = hp;
         this.currentArmor = startingArmor;
-        this.attackTool = new HeroAttackTool();
-        this.immune = new AuraAwareBoolProperty(false);
+        this.attackTool = new HeroAttackTool(owner);
+        this.immune = new AuraAwareBoolProperty(owner, false);
         this.heroClass = heroClass;
-        this.keywords = copySet(keywords);
+        this.keywords = KeywordSet.of(keywords);
         this.poisoned = false;
         this.birthDate = owner.getGame().getCurrentTime();
-
-        ExceptionHelper.checkNotNullElements(this.keywords, "keywords");
     }
 
     /**
@@ -73,10 +70,10 @@ public final class Hero implements Character<Hero> {
         this.heroId = hero.heroId;
         this.heroPower = hero.heroPower.copyFor(this);
         this.owner = newOwner;
-        this.hp = hero.hp.copy();
+        this.hp = hero.hp.copyFor(newOwner);
         this.currentArmor = hero.currentArmor;
-        this.attackTool = new HeroAttackTool(hero.attackTool);
-        this.immune = hero.immune.copy();
+        this.attackTool = new HeroAttackTool(newOwner, hero.attackTool);
+        this.immune = hero.immune.copyFor(newOwner);
         this.heroClass = hero.heroClass;
         this.keywords = hero.keywords; // This field is unmodifiable
         this.poisoned = hero.poisoned;
@@ -90,19 +87,6 @@ public final class Hero implements Character<Hero> {
         return new Hero(newOwner, this);
     }
 
-    private static <T> Set<T> copySet(Collection<? extends T> other) {
-        int otherSize = other.size();
-        if (otherSize == 0) {
-            return Collections.emptySet();
-        }
-        if (otherSize == 1) {
-            return Collections.singleton(other.iterator().next());
-        }
-
-        Set<T> result = new HashSet<>(other);
-        return Collections.unmodifiableSet(result);
-    }
-
     /**
      * Refreshes the {@code Hero} at start of turn by refreshing its attack count
      * and hero power.
@@ -130,6 +114,9 @@ public final class Hero implements Character<Hero> {
         if (poisoned)
             return;
 
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> poisoned = false);
         poisoned = true;
     }
 
@@ -145,6 +132,10 @@ public final class Hero implements Character<Hero> {
     public void setHeroClass(Keyword newClass) {
         ExceptionHelper.checkNotNullArgument(newClass, "newClass");
 
+        Keyword prevClass = heroClass;
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> heroClass = prevClass);
         heroClass = newClass;
     }
 
@@ -196,6 +187,21 @@ public final class Hero implements Character<Hero> {
         return UndoAction.of(this, (h) -> h.attackTool, (at) -> at.addAttack(amount));
     }
 
+    /**
+     * Returns the number of attacks the hero has made in this turn.
+     */
+    int getAttackCount() {
+        return attackTool.attackCount;
+    }
+
+    /**
+     * Sets the number of attacks the hero has made in this turn, without touching the durability
+     * of the weapon.
+     */
+    void setAttackCount(int attackCount) {
+        attackTool.setAttackCount(attackCount);
+    }
+
     @Override
     public AttackTool getAttackTool() {
         return attackTool;
@@ -213,6 +219,10 @@ public final class Hero implements Character<Hero> {
     public void setHeroPower(CardDescr power) {
         ExceptionHelper.checkNotNullArgument(power, "power");
 
+        HeroPower prevPower = heroPower;
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> heroPower = prevPower);
         this.heroPower = new HeroPower(this, power);
     }
 
@@ -242,6 +252,13 @@ public final class Hero implements Character<Hero> {
 
     public void setCurrentArmor(int currentArmor) {
         ExceptionHelper.checkArgumentInRange(currentArmor, 0, Integer.MAX_VALUE, "currentArmor");
+        int prevArmor = this.currentArmor;
+        if (prevArmor == currentArmor)
+            return;
+
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> this.currentArmor = prevArmor);
         this.currentArmor = currentArmor;
     }
 
@@ -336,7 +353,7 @@ public final class Hero implements Character<Hero> {
     }
 
     @Override
-    public Set<Keyword> getKeywords() {
+    public KeywordSet getKeywords() {
         return keywords;
     }
 
@@ -345,21 +362,43 @@ public final class Hero implements Character<Hero> {
         private int extraAttack;
         private final FreezeManager freezeManager;
 
-        public HeroAttackTool() {
-            this.freezeManager = new FreezeManager();
+        public HeroAttackTool(Player owner) {
+            this.freezeManager = new FreezeManager(owner);
             this.attackCount = 0;
             this.extraAttack = 0;
         }
 
         /**
-         * Creates a copy of the given {@code HeroAttackTool}.
+         * Creates a copy of the given {@code HeroAttackTool} for the given new owner.
          */
-        private HeroAttackTool(HeroAttackTool other) {
-            this.freezeManager = other.freezeManager.copy();
+        private HeroAttackTool(Player newOwner, HeroAttackTool other) {
+            this.freezeManager = other.freezeManager.copyFor(newOwner);
             this.attackCount = other.attackCount;
             this.extraAttack = other.extraAttack;
         }
 
+        private void setAttackCount(int newAttackCount) {
+            int prevAttackCount = attackCount;
+            if (prevAttackCount == newAttackCount)
+                return;
+
+            GameJournal journal = getGame().getJournal();
+            if (journal.isRecording())
+                journal.record((game) -> attackCount = prevAttackCount);
+            attackCount = newAttackCount;
+        }
+
+        private void setExtraAttack(int newExtraAttack) {
+            int prevExtraAttack = extraAttack;
+            if (prevExtraAttack == newExtraAttack)
+                return;
+
+            GameJournal journal = getGame().getJournal();
+            if (journal.isRecording())
+                journal.record((game) -> extraAttack = prevExtraAttack);
+            extraAttack = newExtraAttack;
+        }
+
         private Weapon tryGetWeapon() {
             return getOwner().tryGetWeapon();
         }
@@ -370,8 +409,8 @@ public final class Hero implements Character<Hero> {
         }
 
         public UndoAction<HeroAttackTool> addAttack(int attackAddition) {
-            extraAttack += attackAddition;
-            return (hat) -> hat.extraAttack -= attackAddition;
+            setExtraAttack(extraAttack + attackAddition);
+            return (hat) -> hat.setExtraAttack(hat.extraAttack - attackAddition);
         }
 
         @Override
@@ -407,7 +446,7 @@ public final class Hero implements Character<Hero> {
             if (currentWeapon != null)
                 currentWeapon.decreaseCharges();
 
-            attackCount++;
+            setAttackCount(attackCount + 1);
         }
 
         @Override
@@ -422,11 +461,8 @@ public final class Hero implements Character<Hero> {
 
         @Override
         public void refreshStartOfTurn() {
-            int prevAttackCount = attackCount;
-            int prevExtraAttack = extraAttack;
-
-            attackCount = 0;
-            extraAttack = 0;
+            setAttackCount(0);
+            setExtraAttack(0);
         }
 
         public void refreshEndOfTurn() {
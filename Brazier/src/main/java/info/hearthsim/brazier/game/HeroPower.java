@@ -12,7 +12,6 @@ import info.hearthsim.brazier.game.cards.CardType;
 import org.jtrim.utils.ExceptionHelper;
 
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
 
 public final class HeroPower implements PlayerProperty {
     private final Hero hero;
@@ -20,7 +19,7 @@ public final class HeroPower implements PlayerProperty {
 
     private int useCount;
 
-    private final AtomicReference<Card> baseCardRef;
+    private Card baseCard;
 
     public HeroPower(Hero hero, CardDescr powerDef) {
         ExceptionHelper.checkNotNullArgument(hero, "hero");
@@ -29,7 +28,7 @@ public final class HeroPower implements PlayerProperty {
         this.hero = hero;
         this.powerDef = powerDef;
         this.useCount = 0;
-        this.baseCardRef = new AtomicReference<>(null);
+        this.baseCard = null;
     }
 
     /**
@@ -42,19 +41,14 @@ public final class HeroPower implements PlayerProperty {
     }
 
     private Card getBaseCard() {
-        Card card = baseCardRef.get();
-        if (card == null) {
+        if (baseCard == null) {
             String name = "Power:" + powerDef.getId().getName();
             CardName id = new CardName(name);
             CardDescr.Builder result = new CardDescr.Builder(id, CardType.UNKNOWN, powerDef.getManaCost());
-            card = new Card(hero.getOwner(), result.create());
-
-            if (!baseCardRef.compareAndSet(null, card)) {
-                card = baseCardRef.get();
-            }
+            baseCard = new Card(hero.getOwner(), result.create());
         }
 
-        return card;
+        return baseCard;
     }
 
     @Override
@@ -107,16 +101,38 @@ public final class HeroPower implements PlayerProperty {
 
         owner.getManaResource().spendMana(powerDef.getManaCost(), 0);
 
-        useCount++;
+        setUseCount(useCount + 1);
 
         for (PlayActionDef<Card> action: powerDef.getOnPlayActions())
             action.doPlay(playArg);
     }
 
+    /**
+     * Returns the number of times the hero power has been used in this turn.
+     */
+    int getUseCount() {
+        return useCount;
+    }
+
+    /**
+     * Sets the number of times the hero power has been used in this turn, recording the change to the
+     * {@link GameJournal} of the game.
+     */
+    void setUseCount(int useCount) {
+        int prevUseCount = this.useCount;
+        if (prevUseCount == useCount)
+            return;
+
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> this.useCount = prevUseCount);
+        this.useCount = useCount;
+    }
+
     /**
      * Refreshes the hero power's use count.
      */
     public void refresh() {
-        useCount = 0;
+        setUseCount(0);
     }
 }
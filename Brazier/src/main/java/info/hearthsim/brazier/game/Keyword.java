@@ -5,10 +5,13 @@ import org.jtrim.utils.ExceptionHelper;
 import java.util.Locale;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * {@code Keyword} include many different flags in Hearthstone, including class and race of a card.
- * {@code Keyword}s can only be created via the static factory method {@link #create(String)}.
+ * {@code Keyword}s can only be created via the static factory method {@link #create(String)}, which interns
+ * them and gives each of them a dense index, so that sets of {@code Keyword}s can be stored as bitsets
+ * (see {@link KeywordSet}).
  * <p>
  * For all existed {@code Keyword}s, see {@link Keywords}.
  *
@@ -16,11 +19,14 @@ import java.util.concurrent.ConcurrentMap;
  */
 public final class Keyword {
     private static final ConcurrentMap<String, Keyword> CACHE = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger(0);
 
     private final String name;
+    private final int index;
 
     private Keyword(String name) {
         this.name = name;
+        this.index = NEXT_INDEX.getAndIncrement();
     }
 
     public static Keyword create(String name) {
@@ -34,6 +40,14 @@ public final class Keyword {
         return name;
     }
 
+    /**
+     * Returns the index of this {@code Keyword}, which is unique among all the created {@code Keyword}s.
+     * The indexes are assigned in the order of creation, starting from {@code 0}.
+     */
+    public int getIndex() {
+        return index;
+    }
+
     // We don't need equals / hashCode because the factory method does
     // not allow to create different instances with the same name.
 
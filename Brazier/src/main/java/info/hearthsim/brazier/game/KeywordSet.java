@@ -0,0 +1,169 @@
+package info.hearthsim.brazier.game;
+
+import org.jtrim.utils.ExceptionHelper;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable {@link java.util.Set Set} of {@link Keyword}s stored as a bitset of their
+ * {@link Keyword#getIndex() indexes}. {@link #contains(Object)} tests a single bit, and
+ * {@link #containsAll(Collection)} with another {@code KeywordSet} is a bitwise operation on each
+ * {@code long} of the bitsets, instead of a hash lookup for each of the keywords.
+ * <p>
+ * The keyword sets of entities are created when the entities are loaded, and the filters testing the
+ * keywords of entities create the {@code KeywordSet}s of the required keywords once, so that testing
+ * an entity does not allocate anything.
+ */
+public final class KeywordSet extends AbstractSet<Keyword> {
+    public static final KeywordSet EMPTY = new KeywordSet(new long[0], new Keyword[0]);
+
+    private final long[] words;
+    private final Keyword[] keywords;
+
+    private KeywordSet(long[] words, Keyword[] keywords) {
+        this.words = words;
+        this.keywords = keywords;
+    }
+
+    /**
+     * Returns a {@code KeywordSet} of the given {@link Keyword}s, ignoring duplicates.
+     */
+    public static KeywordSet of(Keyword... keywords) {
+        return of(Arrays.asList(keywords));
+    }
+
+    /**
+     * Returns a {@code KeywordSet} of the given {@link Keyword}s, ignoring duplicates.
+     */
+    public static KeywordSet of(Collection<? extends Keyword> keywords) {
+        ExceptionHelper.checkNotNullElements(keywords, "keywords");
+
+        if (keywords instanceof KeywordSet)
+            return (KeywordSet) keywords;
+        if (keywords.isEmpty())
+            return EMPTY;
+
+        int maxIndex = 0;
+        for (Keyword keyword : keywords)
+            maxIndex = Math.max(maxIndex, keyword.getIndex());
+
+        long[] words = new long[(maxIndex >>> 6) + 1];
+        int count = 0;
+        for (Keyword keyword : keywords) {
+            int index = keyword.getIndex();
+            long bit = 1L << index;
+            if ((words[index >>> 6] & bit) == 0) {
+                words[index >>> 6] |= bit;
+                count++;
+            }
+        }
+
+        Keyword[] elements = new Keyword[count];
+        int elementIndex = 0;
+        for (Keyword keyword : keywords) {
+            if (!contains(elements, elementIndex, keyword))
+                elements[elementIndex++] = keyword;
+        }
+        Arrays.sort(elements, Comparator.comparingInt(Keyword::getIndex));
+
+        return new KeywordSet(words, elements);
+    }
+
+    private static boolean contains(Keyword[] elements, int count, Keyword keyword) {
+        for (int i = 0; i < count; i++) {
+            if (elements[i] == keyword)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns if this set contains the given {@link Keyword}.
+     */
+    public boolean contains(Keyword keyword) {
+        int wordIndex = keyword.getIndex() >>> 6;
+        return wordIndex < words.length && (words[wordIndex] & (1L << keyword.getIndex())) != 0;
+    }
+
+    /**
+     * Returns if this set contains all the {@link Keyword}s of the given {@code KeywordSet}.
+     */
+    public boolean containsAll(KeywordSet other) {
+        long[] otherWords = other.words;
+        if (otherWords.length > words.length)
+            return false;
+        for (int i = 0; i < otherWords.length; i++) {
+            if ((otherWords[i] & ~words[i]) != 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns if this set contains any of the {@link Keyword}s of the given {@code KeywordSet}.
+     */
+    public boolean containsAny(KeywordSet other) {
+        long[] otherWords = other.words;
+        int length = Math.min(words.length, otherWords.length);
+        for (int i = 0; i < length; i++) {
+            if ((otherWords[i] & words[i]) != 0)
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object obj) {
+        return obj instanceof Keyword && contains((Keyword) obj);
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> collection) {
+        if (collection instanceof KeywordSet)
+            return containsAll((KeywordSet) collection);
+        return super.containsAll(collection);
+    }
+
+    @Override
+    public int size() {
+        return keywords.length;
+    }
+
+    @Override
+    public Iterator<Keyword> iterator() {
+        return new Iterator<Keyword>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < keywords.length;
+            }
+
+            @Override
+            public Keyword next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return keywords[index++];
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof KeywordSet) {
+            KeywordSet other = (KeywordSet) obj;
+            return keywords.length == other.keywords.length && containsAll(other);
+        }
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+}
@@ -1,7 +1,5 @@
 package info.hearthsim.brazier.game;
 
-import java.util.Set;
-
 public interface LabeledEntity {
-    public Set<Keyword> getKeywords();
+    public KeywordSet getKeywords();
 }
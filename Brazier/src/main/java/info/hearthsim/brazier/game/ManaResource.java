@@ -1,41 +1,111 @@
 package info.hearthsim.brazier.game;
 
+import org.jtrim.utils.ExceptionHelper;
+
 /**
  * A util agent of managing a player's mana.
  */
 public final class ManaResource {
+    private static final int FIELD_NEXT_TURN_OVERLOAD = 0;
+    private static final int FIELD_OVERLOADED_MANA = 1;
+    private static final int FIELD_MANA_CRYSTALS = 2;
+    private static final int FIELD_MANA = 3;
+
+    private final Player owner;
+
     private int nextTurnOverload;
     private int overloadedMana;
     private int manaCrystals;
     private int mana;
 
-    public ManaResource() {
+    // The XOR of the state hash keys of the fields, updated whenever a field is set
+    private long stateHash;
+
+    public ManaResource(Player owner) {
+        ExceptionHelper.checkNotNullArgument(owner, "owner");
+
+        this.owner = owner;
         this.nextTurnOverload = 0;
         this.overloadedMana = 0;
         this.manaCrystals = 0;
         this.mana = 0;
+        this.stateHash = GameStateHasher.fieldKey(FIELD_NEXT_TURN_OVERLOAD, 0)
+            ^ GameStateHasher.fieldKey(FIELD_OVERLOADED_MANA, 0)
+            ^ GameStateHasher.fieldKey(FIELD_MANA_CRYSTALS, 0)
+            ^ GameStateHasher.fieldKey(FIELD_MANA, 0);
     }
 
     /**
-     * Returns a copy of this {@code ManaResource}.
+     * Returns a copy of this {@code ManaResource} for the given new owner.
      */
-    public ManaResource copy() {
-        ManaResource result = new ManaResource();
+    public ManaResource copyFor(Player newOwner) {
+        ManaResource result = new ManaResource(newOwner);
         result.nextTurnOverload = this.nextTurnOverload;
         result.overloadedMana = this.overloadedMana;
         result.manaCrystals = this.manaCrystals;
         result.mana = this.mana;
+        result.stateHash = this.stateHash;
         return result;
     }
 
+    /**
+     * Sets the state of this {@code ManaResource} to the state of the given {@code ManaResource}.
+     */
+    void copyFrom(ManaResource other) {
+        this.nextTurnOverload = other.nextTurnOverload;
+        this.overloadedMana = other.overloadedMana;
+        this.manaCrystals = other.manaCrystals;
+        this.mana = other.mana;
+        this.stateHash = other.stateHash;
+    }
+
+    /**
+     * Returns the hash of the state of this {@code ManaResource}, which is maintained as the fields are
+     * changed and is used by {@link Game#stateHash()}.
+     */
+    long getStateHash() {
+        return stateHash;
+    }
+
+    private void updateField(int field, int prevValue, int newValue) {
+        stateHash ^= GameStateHasher.fieldKey(field, prevValue) ^ GameStateHasher.fieldKey(field, newValue);
+    }
+
+    private void setFields(int nextTurnOverload, int overloadedMana, int manaCrystals, int mana) {
+        updateField(FIELD_NEXT_TURN_OVERLOAD, this.nextTurnOverload, nextTurnOverload);
+        updateField(FIELD_OVERLOADED_MANA, this.overloadedMana, overloadedMana);
+        updateField(FIELD_MANA_CRYSTALS, this.manaCrystals, manaCrystals);
+        updateField(FIELD_MANA, this.mana, mana);
+        this.nextTurnOverload = nextTurnOverload;
+        this.overloadedMana = overloadedMana;
+        this.manaCrystals = manaCrystals;
+        this.mana = mana;
+    }
+
+    /**
+     * Records the current state of this {@code ManaResource} to the {@link GameJournal} of the game,
+     * if the game is journaled.
+     */
+    private void journal() {
+        GameJournal journal = owner.getGame().getJournal();
+        if (!journal.isRecording())
+            return;
+
+        int prevNextTurnOverload = nextTurnOverload;
+        int prevOverloadedMana = overloadedMana;
+        int prevManaCrystals = manaCrystals;
+        int prevMana = mana;
+        journal.record((game) -> setFields(prevNextTurnOverload, prevOverloadedMana, prevManaCrystals, prevMana));
+    }
+
     /**
      * Refreshes the player's mana at start of turn.
      */
     public void refresh() {
-        manaCrystals = Math.min(Player.MAX_MANA, manaCrystals + 1);
-        mana = Math.max(0, manaCrystals - nextTurnOverload);
-        overloadedMana = nextTurnOverload;
-        nextTurnOverload = 0;
+        journal();
+        int newManaCrystals = Math.min(Player.MAX_MANA, manaCrystals + 1);
+        int newMana = Math.max(0, newManaCrystals - nextTurnOverload);
+        setFields(0, nextTurnOverload, newManaCrystals, newMana);
     }
 
     /**
@@ -51,8 +121,8 @@ public final class ManaResource {
             throw new IllegalStateException("Not enough mana. Expecting to spend " + toSpend
             + " mana, but there is only " + mana + " mana left.");
 
-        nextTurnOverload += overload;
-        mana -= toSpend;
+        journal();
+        setFields(nextTurnOverload + overload, overloadedMana, manaCrystals, mana - toSpend);
     }
 
     /**
@@ -68,6 +138,8 @@ public final class ManaResource {
     public void setNextTurnOverload(int nextTurnOverload) {
         if (nextTurnOverload < 0)
             return;
+        journal();
+        updateField(FIELD_NEXT_TURN_OVERLOAD, this.nextTurnOverload, nextTurnOverload);
         this.nextTurnOverload = nextTurnOverload;
     }
 
@@ -84,6 +156,8 @@ public final class ManaResource {
     public void setOverloadedMana(int overloadedMana) {
         if (overloadedMana < 0)
             return;
+        journal();
+        updateField(FIELD_OVERLOADED_MANA, this.overloadedMana, overloadedMana);
         this.overloadedMana = overloadedMana;
     }
 
@@ -98,7 +172,10 @@ public final class ManaResource {
      * Sets the number of mana crystals to the given value.
      */
     public void setManaCrystals(int manaCrystals) {
-        this.manaCrystals = Math.min(Player.MAX_MANA, manaCrystals);
+        journal();
+        int newManaCrystals = Math.min(Player.MAX_MANA, manaCrystals);
+        updateField(FIELD_MANA_CRYSTALS, this.manaCrystals, newManaCrystals);
+        this.manaCrystals = newManaCrystals;
     }
 
     /**
@@ -112,6 +189,9 @@ public final class ManaResource {
      * Sets the number of available mana crystals to the given value for this turn.
      */
     public void setMana(int mana) {
-        this.mana = Math.min(Player.MAX_MANA, mana);
+        journal();
+        int newMana = Math.min(Player.MAX_MANA, mana);
+        updateField(FIELD_MANA, this.mana, newMana);
+        this.mana = newMana;
     }
 }
@@ -0,0 +1,117 @@
+package info.hearthsim.brazier.game;
+
+import info.hearthsim.brazier.game.minions.Minion;
+import org.jtrim.utils.ExceptionHelper;
+
+import java.util.List;
+
+/**
+ * Bitmasks of the flags of the minions on a {@link BoardSide}, taken by {@link BoardSide#getMinionFlags()}.
+ * The {@code i}-th bit of each mask stands for the minion on index {@code i} of the board, so rule queries
+ * like {@link #hasNonStealthTaunt()} or the number of minions which can attack are answered with a few
+ * bitwise operations instead of iterating the minions and their aura-aware properties again.
+ * <p>
+ * A {@code MinionFlags} is a snapshot: it does not follow the changes of the board after it was taken.
+ */
+public final class MinionFlags {
+    private final Minion[] minions;
+    private final int tauntMask;
+    private final int stealthMask;
+    private final int immuneMask;
+    private final int canAttackMask;
+
+    /**
+     * Takes the flags of the given minions, the {@code i}-th element of which is the minion on index
+     * {@code i} of the board. The array is not copied.
+     */
+    MinionFlags(Minion[] minions) {
+        ExceptionHelper.checkArgumentInRange(minions.length, 0, Integer.SIZE, "minions.length");
+
+        this.minions = minions;
+
+        int taunt = 0;
+        int stealth = 0;
+        int immune = 0;
+        int canAttack = 0;
+        for (int i = 0; i < minions.length; i++) {
+            Minion minion = minions[i];
+            int bit = 1 << i;
+            if (minion.getBody().isTaunt())
+                taunt |= bit;
+            if (minion.getBody().isStealth())
+                stealth |= bit;
+            if (minion.getBody().isImmune())
+                immune |= bit;
+            if (minion.getAttackTool().canAttackWith())
+                canAttack |= bit;
+        }
+
+        this.tauntMask = taunt;
+        this.stealthMask = stealth;
+        this.immuneMask = immune;
+        this.canAttackMask = canAttack;
+    }
+
+    /**
+     * Returns the {@link Minion} on the given index of the board when the flags were taken.
+     */
+    public Minion getMinion(int index) {
+        return minions[index];
+    }
+
+    /**
+     * Returns the mask of all the minions on the board.
+     */
+    public int getMinionMask() {
+        return (int)((1L << minions.length) - 1);
+    }
+
+    public int getTauntMask() {
+        return tauntMask;
+    }
+
+    public int getStealthMask() {
+        return stealthMask;
+    }
+
+    public int getImmuneMask() {
+        return immuneMask;
+    }
+
+    public int getCanAttackMask() {
+        return canAttackMask;
+    }
+
+    /**
+     * Returns if there is any non-stealth taunt minion on the board.
+     *
+     * @see BoardSide#hasNonStealthTaunt()
+     */
+    public boolean hasNonStealthTaunt() {
+        return (tauntMask & ~stealthMask) != 0;
+    }
+
+    /**
+     * Returns the mask of the minions the enemy characters may attack: the non-stealth, non-immune
+     * taunt minions if there is any non-stealth taunt minion, or every non-stealth, non-immune minion
+     * otherwise.
+     */
+    public int getAttackableMask() {
+        int visibleMask = getMinionMask() & ~stealthMask & ~immuneMask;
+        return hasNonStealthTaunt() ? visibleMask & tauntMask : visibleMask;
+    }
+
+    /**
+     * Collects the minions of the given mask to the end of the given {@code List}, in the order
+     * of their indexes on the board.
+     */
+    public void collectMinions(int mask, List<? super Minion> result) {
+        ExceptionHelper.checkNotNullArgument(result, "result");
+
+        int remaining = mask & getMinionMask();
+        while (remaining != 0) {
+            result.add(minions[Integer.numberOfTrailingZeros(remaining)]);
+            remaining &= remaining - 1;
+        }
+    }
+}
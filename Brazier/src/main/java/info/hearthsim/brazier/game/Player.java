@@ -2,6 +2,7 @@ package info.hearthsim.brazier.game;
 
 import info.hearthsim.brazier.PlayerProperty;
 import info.hearthsim.brazier.abilities.AuraAwareBoolProperty;
+import info.hearthsim.brazier.abilities.AuraDependencies;
 import info.hearthsim.brazier.abilities.AuraAwareIntProperty;
 import info.hearthsim.brazier.actions.ActionUtils;
 import info.hearthsim.brazier.actions.PlayActionDef;
@@ -29,8 +30,14 @@ public final class Player implements Entity<Player>, PlayerProperty {
     public static final int MAX_HAND_SIZE = 10;
     public static final int MAX_BOARD_SIZE = 7;
 
+    private static final int COUNTER_TURN_NUM = 0;
+    private static final int COUNTER_FATIGUE = 1;
+    private static final int COUNTER_CARDS_PLAYED = 2;
+    private static final int COUNTER_MINIONS_PLAYED = 3;
+
     private final Game game;
     private final PlayerId playerId;
+    private final EntityIndex.Location[] locations;
     private Hero hero;
     private final Hand hand;
     private final BoardSide board;
@@ -38,10 +45,10 @@ public final class Player implements Entity<Player>, PlayerProperty {
     private final Graveyard graveyard;
     private final SecretContainer secrets;
 
-    private final AuraAwareIntProperty deathRattleTriggerCount;
-    private final AuraAwareIntProperty spellPower;
-    private final AuraAwareIntProperty heroDamageMultiplier;
-    private final AuraAwareBoolProperty damagingHealAura;
+    private AuraAwareIntProperty deathRattleTriggerCount;
+    private AuraAwareIntProperty spellPower;
+    private AuraAwareIntProperty heroDamageMultiplier;
+    private AuraAwareBoolProperty damagingHealAura;
 
     private final ManaResource manaResource;
 
@@ -50,8 +57,10 @@ public final class Player implements Entity<Player>, PlayerProperty {
 
     private int cardsPlayedThisTurn;
     private int minionsPlayedThisTurn;
+    // The XOR of the state hash keys of the turn counters, updated whenever a counter is set
+    private long countersHash;
 
-    private final FlagContainer auraFlags;
+    private FlagContainer auraFlags;
 
     private Weapon weapon;
 
@@ -61,21 +70,26 @@ public final class Player implements Entity<Player>, PlayerProperty {
 
         this.game = game;
         this.playerId = playerId;
+        this.locations = EntityIndex.locationsOf(playerId);
         this.hero = new Hero(this, 30, 0, Keywords.CLASS_BOSS, Collections.emptySet());
         this.board = new BoardSide(this, MAX_BOARD_SIZE);
         this.hand = new Hand(this, MAX_HAND_SIZE);
-        this.manaResource = new ManaResource();
+        this.manaResource = new ManaResource(this);
         this.fatigue = 1;
-        this.spellPower = new AuraAwareIntProperty(0);
-        this.heroDamageMultiplier = new AuraAwareIntProperty(1);
-        this.damagingHealAura = new AuraAwareBoolProperty(false);
+        this.spellPower = new AuraAwareIntProperty(this, 0);
+        this.heroDamageMultiplier = new AuraAwareIntProperty(this, 1);
+        this.damagingHealAura = new AuraAwareBoolProperty(this, false);
         this.cardsPlayedThisTurn = 0;
         this.minionsPlayedThisTurn = 0;
+        this.countersHash = GameStateHasher.fieldKey(COUNTER_TURN_NUM, turnNum)
+            ^ GameStateHasher.fieldKey(COUNTER_FATIGUE, fatigue)
+            ^ GameStateHasher.fieldKey(COUNTER_CARDS_PLAYED, cardsPlayedThisTurn)
+            ^ GameStateHasher.fieldKey(COUNTER_MINIONS_PLAYED, minionsPlayedThisTurn);
         this.secrets = new SecretContainer(this);
-        this.deathRattleTriggerCount = new AuraAwareIntProperty(1);
-        this.auraFlags = new FlagContainer();
+        this.deathRattleTriggerCount = new AuraAwareIntProperty(this, 1);
+        this.auraFlags = new FlagContainer(this);
         this.weapon = null;
-        this.graveyard = new Graveyard();
+        this.graveyard = new Graveyard(this);
         this.deck = new Deck(this);
     }
 
@@ -85,25 +99,55 @@ public final class Player implements Entity<Player>, PlayerProperty {
 
         this.game = game;
         this.playerId = other.playerId;
-        this.spellPower = other.spellPower.copy();
+        this.locations = other.locations;
+        this.spellPower = other.spellPower.copyFor(this);
         this.hero = other.hero.copyFor(game, this);
         this.board = other.board.copyFor(this);
         this.hand = other.hand.copyFor(this);
-        this.manaResource = other.manaResource.copy();
+        this.manaResource = other.manaResource.copyFor(this);
+        this.turnNum = other.turnNum;
         this.fatigue = other.fatigue;
-        this.heroDamageMultiplier = other.heroDamageMultiplier.copy();
-        this.damagingHealAura = other.damagingHealAura.copy();
+        this.heroDamageMultiplier = other.heroDamageMultiplier.copyFor(this);
+        this.damagingHealAura = other.damagingHealAura.copyFor(this);
         this.cardsPlayedThisTurn = other.cardsPlayedThisTurn;
         this.minionsPlayedThisTurn = other.minionsPlayedThisTurn;
+        this.countersHash = other.countersHash;
         this.secrets = other.secrets.copyFor(this);
-        this.deathRattleTriggerCount = other.deathRattleTriggerCount;
-        this.auraFlags = other.auraFlags.copy();
+        this.deathRattleTriggerCount = other.deathRattleTriggerCount.copyFor(this);
+        this.auraFlags = other.auraFlags.copyFor(this);
         if (other.weapon != null)
             this.weapon = other.weapon.copyFor(game, this);
         this.graveyard = other.graveyard.copyFor(this);
         this.deck = other.deck.copyFor(this);
     }
 
+    /**
+     * Resets this {@code Player} in place to a copy of the given {@code Player}, reusing the containers
+     * of this player. The previous content of this player is simply dropped, so this method must only
+     * be used by {@link Game#copyInto(Game)}, which discards the event and aura registrations of the game
+     * as well.
+     */
+    void copyFrom(Player other) {
+        this.spellPower = other.spellPower.copyFor(this);
+        this.hero = other.hero.copyFor(game, this);
+        this.board.copyFrom(other.board);
+        this.hand.copyFrom(other.hand);
+        this.manaResource.copyFrom(other.manaResource);
+        this.turnNum = other.turnNum;
+        this.fatigue = other.fatigue;
+        this.heroDamageMultiplier = other.heroDamageMultiplier.copyFor(this);
+        this.damagingHealAura = other.damagingHealAura.copyFor(this);
+        this.cardsPlayedThisTurn = other.cardsPlayedThisTurn;
+        this.minionsPlayedThisTurn = other.minionsPlayedThisTurn;
+        this.countersHash = other.countersHash;
+        this.secrets.copyFrom(other.secrets);
+        this.deathRattleTriggerCount = other.deathRattleTriggerCount.copyFor(this);
+        this.auraFlags = other.auraFlags.copyFor(this);
+        this.weapon = other.weapon != null ? other.weapon.copyFor(game, this) : null;
+        this.graveyard.copyFrom(other.graveyard);
+        this.deck.copyFrom(other.deck);
+    }
+
     /**
      * Returns a copy of this {@code Player} for the given new {@code Game}.
      */
@@ -119,20 +163,80 @@ public final class Player implements Entity<Player>, PlayerProperty {
         return new Player(game, this);
     }
 
+    /**
+     * Records the current turn counters of this {@code Player} to the {@link GameJournal} of the game,
+     * if the game is journaled.
+     */
+    private void journalCounters() {
+        GameJournal journal = game.getJournal();
+        if (!journal.isRecording())
+            return;
+
+        int prevTurnNum = turnNum;
+        int prevFatigue = fatigue;
+        int prevCardsPlayedThisTurn = cardsPlayedThisTurn;
+        int prevMinionsPlayedThisTurn = minionsPlayedThisTurn;
+        journal.record((g) ->
+            updateCounters(prevTurnNum, prevFatigue, prevCardsPlayedThisTurn, prevMinionsPlayedThisTurn));
+    }
+
+    private void updateCounters(int turnNum, int fatigue, int cardsPlayedThisTurn, int minionsPlayedThisTurn) {
+        countersHash ^= GameStateHasher.fieldKey(COUNTER_TURN_NUM, this.turnNum)
+            ^ GameStateHasher.fieldKey(COUNTER_TURN_NUM, turnNum)
+            ^ GameStateHasher.fieldKey(COUNTER_FATIGUE, this.fatigue)
+            ^ GameStateHasher.fieldKey(COUNTER_FATIGUE, fatigue)
+            ^ GameStateHasher.fieldKey(COUNTER_CARDS_PLAYED, this.cardsPlayedThisTurn)
+            ^ GameStateHasher.fieldKey(COUNTER_CARDS_PLAYED, cardsPlayedThisTurn)
+            ^ GameStateHasher.fieldKey(COUNTER_MINIONS_PLAYED, this.minionsPlayedThisTurn)
+            ^ GameStateHasher.fieldKey(COUNTER_MINIONS_PLAYED, minionsPlayedThisTurn);
+        this.turnNum = turnNum;
+        this.fatigue = fatigue;
+        this.cardsPlayedThisTurn = cardsPlayedThisTurn;
+        this.minionsPlayedThisTurn = minionsPlayedThisTurn;
+    }
+
+    /**
+     * Returns the hash of the turn counters of this {@code Player}, which is maintained as the counters
+     * are changed and is used by {@link Game#stateHash()}.
+     */
+    long getCountersHash() {
+        return countersHash;
+    }
+
+    /**
+     * Records the current weapon of this {@code Player} to the {@link GameJournal} of the game,
+     * if the game is journaled.
+     */
+    private void journalWeapon() {
+        GameJournal journal = game.getJournal();
+        if (!journal.isRecording())
+            return;
+
+        Weapon prevWeapon = weapon;
+        journal.record((g) -> weapon = prevWeapon);
+    }
+
+    /**
+     * Returns the {@link EntityIndex.Location} of the container of the given zone of this player.
+     */
+    EntityIndex.Location getLocation(EntityIndex.Zone zone) {
+        return locations[zone.ordinal()];
+    }
+
     public FlagContainer getAuraFlags() {
         return auraFlags;
     }
 
     public void startNewTurn() {
-        cardsPlayedThisTurn = 0;
-        minionsPlayedThisTurn = 0;
+        journalCounters();
+        updateCounters(turnNum, fatigue, 0, 0);
 
         manaResource.refresh();
         drawCardToHand();
         board.refreshStartOfTurn();
         hero.refresh();
 
-        turnNum++;
+        updateCounters(turnNum + 1, fatigue, cardsPlayedThisTurn, minionsPlayedThisTurn);
         getGame().getEvents().triggerEvent(SimpleEventType.TURN_STARTS, this);
     }
 
@@ -238,7 +342,8 @@ public final class Player implements Entity<Player>, PlayerProperty {
 
         manaResource.spendMana(manaCost, card.getCardDescr().getOverload());
 
-        cardsPlayedThisTurn++;
+        journalCounters();
+        updateCounters(turnNum, fatigue, cardsPlayedThisTurn + 1, minionsPlayedThisTurn);
 
         GameEvents events = game.getEvents();
 
@@ -246,7 +351,7 @@ public final class Player implements Entity<Player>, PlayerProperty {
 
         Minion minion = card.getMinion();
         if (minion != null) {
-            minionsPlayedThisTurn++;
+            updateCounters(turnNum, fatigue, cardsPlayedThisTurn, minionsPlayedThisTurn + 1);
             int minionLocation = targetRequest.getMinionLocation();
 
             board.tryAddToBoard(minion, minionLocation);
@@ -280,7 +385,9 @@ public final class Player implements Entity<Player>, PlayerProperty {
             return null;
         }
 
+        journalWeapon();
         weapon = null;
+        game.invalidateAuras(AuraDependencies.WEAPON);
         return weaponInHand;
     }
 
@@ -297,7 +404,9 @@ public final class Player implements Entity<Player>, PlayerProperty {
         Weapon newWeapon = newWeaponDescr != null
             ? new Weapon(this, newWeaponDescr)
             : null;
+        journalWeapon();
         this.weapon = newWeapon;
+        game.invalidateAuras(AuraDependencies.WEAPON);
         if (newWeapon != null)
             newWeapon.activatePassiveAbilities();
 
@@ -365,7 +474,8 @@ public final class Player implements Entity<Player>, PlayerProperty {
      */
     private void doFatigueDamage() {
         ActionUtils.damageCharacter(hero, fatigue, hero);
-        fatigue++;
+        journalCounters();
+        updateCounters(turnNum, fatigue + 1, cardsPlayedThisTurn, minionsPlayedThisTurn);
     }
 
     /**
@@ -447,7 +557,12 @@ public final class Player implements Entity<Player>, PlayerProperty {
         if (newHero.getOwner() != this) {
             throw new IllegalArgumentException("Hero belongs to another player.");
         }
+        if (game.getJournal().isRecording()) {
+            Hero prevHero = hero;
+            game.getJournal().record((g) -> hero = prevHero);
+        }
         hero = newHero;
+        game.invalidateAuras(AuraDependencies.HERO);
     }
 
     public Hero getHero() {
@@ -502,4 +617,12 @@ public final class Player implements Entity<Player>, PlayerProperty {
     public int getTurnNum() {
         return turnNum;
     }
+
+    /**
+     * Sets the turn counters of this {@code Player} to the given values.
+     */
+    void setCounters(int turnNum, int fatigue, int cardsPlayedThisTurn, int minionsPlayedThisTurn) {
+        journalCounters();
+        updateCounters(turnNum, fatigue, cardsPlayedThisTurn, minionsPlayedThisTurn);
+    }
 }
@@ -6,6 +6,7 @@ public final class PlayerId extends EntityId {
     private final String name;
 
     public PlayerId(String name) {
+        super(NO_VALUE);
         ExceptionHelper.checkNotNullArgument(name, "name");
         this.name = name;
     }
@@ -0,0 +1,364 @@
+package info.hearthsim.brazier.game;
+
+import info.hearthsim.brazier.RandomProvider;
+import info.hearthsim.brazier.SplitMixRandomProvider;
+import info.hearthsim.brazier.db.CardDescr;
+import org.jtrim.utils.ExceptionHelper;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compact binary journal of the nondeterministic decisions of a {@link Game}: the results of the
+ * {@link RandomProvider#roll(int) rolls} of its {@link RandomProvider} and the cards selected by its
+ * {@link UserAgent}. A game {@link #startRecording(Game) recorded} to a journal can be re-run bit-for-bit by
+ * {@link #startReplaying(Game) replaying} the journal on a game in the same initial state (e.g. a copy of
+ * the original game taken before recording, or a game rehydrated from a {@link GameSnapshot}), which makes
+ * strange plays of the AI reproducible for profiling and debugging.
+ * <p>
+ * Recording starts with a random fork seed written to the journal. When a recorded game is copied, the
+ * copy gets a {@link SplitMixRandomProvider} whose seed is derived from the fork seed and the number of
+ * earlier copies, the same way as {@link SplitMixRandomProvider#fork()} does; so copying neither rolls the
+ * recorded provider nor writes to its journal, and copies made during a recorded line of play (e.g. by the
+ * AI evaluating its options) get the same seeds when replayed in the same order. Every copy is recorded to
+ * its own journal, which starts with the seed of the copy and can be retrieved with
+ * {@link #getRecordingJournal(Game)}. A replayed decision which does not match the journal (e.g. a roll
+ * with another bound) means that the replay diverged from the recording, and an
+ * {@code IllegalStateException} is thrown.
+ * <p>
+ * The journal is a sequence of variable length encoded integers. Like the game it records, a journal is
+ * not thread-safe; but recorded games may be copied concurrently (as described by {@link Game}), since the
+ * copies are recorded to new journals.
+ */
+public final class ReplayJournal {
+    private static final int FORMAT_VERSION = 2;
+
+    private static final int TAG_ROLL = 0;
+    private static final int TAG_CHOICE = 1;
+    private static final int TAG_FORK = 2;
+
+    private byte[] buffer;
+    private int length;
+    private int position;
+    private SplitMixRandomProvider replayForkSource;
+
+    /**
+     * Creates an empty {@code ReplayJournal}.
+     */
+    public ReplayJournal() {
+        this(new byte[64], 0);
+    }
+
+    private ReplayJournal(byte[] buffer, int length) {
+        this.buffer = buffer;
+        this.length = length;
+        this.position = 0;
+    }
+
+    /**
+     * Creates a {@code ReplayJournal} from the given bytes returned by {@link #toByteArray()}.
+     */
+    public static ReplayJournal fromByteArray(byte[] bytes) {
+        ExceptionHelper.checkNotNullArgument(bytes, "bytes");
+        return new ReplayJournal(bytes.clone(), bytes.length);
+    }
+
+    /**
+     * Returns the recorded decisions as an array of bytes.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * Reads a {@code ReplayJournal} written by {@link #writeTo(OutputStream)} from the given stream.
+     *
+     * @throws IOException if the stream cannot be read or does not contain a journal.
+     */
+    public static ReplayJournal readFrom(InputStream input) throws IOException {
+        ExceptionHelper.checkNotNullArgument(input, "input");
+
+        DataInputStream dataInput = new DataInputStream(input);
+        int version = dataInput.readInt();
+        if (version != FORMAT_VERSION)
+            throw new IOException("Unsupported replay journal version: " + version);
+        int length = dataInput.readInt();
+        if (length < 0)
+            throw new IOException("Invalid replay journal length: " + length);
+        byte[] bytes = new byte[length];
+        dataInput.readFully(bytes);
+        return new ReplayJournal(bytes, length);
+    }
+
+    /**
+     * Writes this journal to the given stream.
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        ExceptionHelper.checkNotNullArgument(output, "output");
+
+        DataOutputStream dataOutput = new DataOutputStream(output);
+        dataOutput.writeInt(FORMAT_VERSION);
+        dataOutput.writeInt(length);
+        dataOutput.write(buffer, 0, length);
+        dataOutput.flush();
+    }
+
+    /**
+     * Returns the size of the recorded decisions in bytes.
+     */
+    public int getByteSize() {
+        return length;
+    }
+
+    /**
+     * Returns {@code true} if every recorded decision has been replayed.
+     */
+    public boolean isFullyReplayed() {
+        readForkSeeds();
+        return position == length;
+    }
+
+    /**
+     * Starts recording the decisions of the given {@code Game} to the end of this journal, by wrapping its
+     * current {@link RandomProvider} and {@link UserAgent}.
+     */
+    public void startRecording(Game game) {
+        ExceptionHelper.checkNotNullArgument(game, "game");
+
+        UserAgent userAgent = game.getUserAgent();
+        RecordingRandomProvider randomProvider =
+            startRecording(game.getRandomProvider(), ThreadLocalRandom.current().nextLong());
+        game.setRandomProvider(randomProvider);
+        game.setUserAgent(new RecordingUserAgent(userAgent, randomProvider));
+    }
+
+    private RecordingRandomProvider startRecording(RandomProvider randomProvider, long forkSeed) {
+        writeVarInt(TAG_FORK);
+        writeLong(forkSeed);
+        return new RecordingRandomProvider(randomProvider, forkSeed);
+    }
+
+    /**
+     * Returns the journal the decisions of the given {@code Game} are recorded to, or {@code null} if the
+     * game is not recorded. For a copy of a recorded game, this is the journal of the copy, which can be
+     * replayed on a game in the same state as the copy was created in.
+     */
+    public static ReplayJournal getRecordingJournal(Game game) {
+        ExceptionHelper.checkNotNullArgument(game, "game");
+
+        UserAgent userAgent = game.getUserAgent();
+        return userAgent instanceof RecordingUserAgent ? ((RecordingUserAgent) userAgent).getJournal() : null;
+    }
+
+    /**
+     * Starts replaying the decisions of this journal from its beginning on the given {@code Game}, by
+     * replacing its {@link RandomProvider} and {@link UserAgent}.
+     */
+    public void startReplaying(Game game) {
+        ExceptionHelper.checkNotNullArgument(game, "game");
+
+        position = 0;
+        replayForkSource = null;
+        game.setRandomProvider(new ReplayingRandomProvider());
+        game.setUserAgent(new ReplayingUserAgent());
+    }
+
+    private void writeVarInt(int value) {
+        ensureCapacity(length + 5);
+        while ((value & ~0x7F) != 0) {
+            buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[length++] = (byte) value;
+    }
+
+    private void writeLong(long value) {
+        ensureCapacity(length + 8);
+        for (int i = 0; i < 8; i++) {
+            buffer[length++] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private void ensureCapacity(int requiredCapacity) {
+        if (requiredCapacity > buffer.length)
+            buffer = Arrays.copyOf(buffer, Math.max(requiredCapacity, 2 * buffer.length));
+    }
+
+    private int readVarInt() {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (position >= length)
+                throw new IllegalStateException("Unexpected end of the replay journal.");
+            byte b = buffer[position++];
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return result;
+        }
+        throw new IllegalStateException("Malformed replay journal at byte " + position + ".");
+    }
+
+    private long readLong() {
+        if (position + 8 > length)
+            throw new IllegalStateException("Unexpected end of the replay journal.");
+        long result = 0;
+        for (int i = 0; i < 8; i++)
+            result |= (buffer[position++] & 0xFFL) << (8 * i);
+        return result;
+    }
+
+    private void readForkSeeds() {
+        // Tags are single bytes, and fork seeds are written when a recording is started
+        while (position < length && buffer[position] == TAG_FORK) {
+            position++;
+            replayForkSource = new SplitMixRandomProvider(readLong());
+        }
+    }
+
+    private void readTag(int expectedTag, String decision) {
+        readForkSeeds();
+        int tagPosition = position;
+        int tag = readVarInt();
+        if (tag != expectedTag) {
+            throw new IllegalStateException("The replay diverged at byte " + tagPosition
+                + ": a " + decision + " was requested but the journal has tag " + tag + ".");
+        }
+    }
+
+    private final class RecordingRandomProvider implements RandomProvider {
+        private final RandomProvider wrapped;
+        // Never rolled, so that forks depend only on the fork seed and the number of earlier forks
+        private final SplitMixRandomProvider forkSource;
+        private boolean suspended;
+
+        public RecordingRandomProvider(RandomProvider wrapped, long forkSeed) {
+            this.wrapped = wrapped;
+            this.forkSource = new SplitMixRandomProvider(forkSeed);
+            this.suspended = false;
+        }
+
+        public ReplayJournal getJournal() {
+            return ReplayJournal.this;
+        }
+
+        @Override
+        public int roll(int bound) {
+            int result = wrapped.roll(bound);
+            if (!suspended) {
+                writeVarInt(TAG_ROLL);
+                writeVarInt(bound);
+                writeVarInt(result);
+            }
+            return result;
+        }
+
+        @Override
+        public RandomProvider fork() {
+            long seed = forkSource.nextForkSeed();
+            return new ReplayJournal().startRecording(new SplitMixRandomProvider(seed), seed);
+        }
+    }
+
+    private final class RecordingUserAgent implements UserAgent {
+        private final UserAgent wrapped;
+        private final RecordingRandomProvider randomProvider;
+
+        public RecordingUserAgent(UserAgent wrapped, RecordingRandomProvider randomProvider) {
+            this.wrapped = wrapped;
+            this.randomProvider = randomProvider;
+        }
+
+        @Override
+        public CardDescr selectCard(boolean allowCancel, List<? extends CardDescr> cards) {
+            // The rolls of the wrapped agent are not recorded, as the replay does not call it.
+            boolean prevSuspended = randomProvider.suspended;
+            randomProvider.suspended = true;
+            CardDescr result;
+            try {
+                result = wrapped.selectCard(allowCancel, cards);
+            } finally {
+                randomProvider.suspended = prevSuspended;
+            }
+
+            int index = result != null ? cards.indexOf(result) : -1;
+            if (result != null && index < 0)
+                throw new IllegalStateException("The selected card is not one of the offered cards: " + result);
+            if (!randomProvider.suspended) {
+                writeVarInt(TAG_CHOICE);
+                writeVarInt(cards.size());
+                writeVarInt(index + 1);
+            }
+            return result;
+        }
+
+        public ReplayJournal getJournal() {
+            return ReplayJournal.this;
+        }
+
+        @Override
+        public UserAgent fork() {
+            return wrapped.fork();
+        }
+
+        @Override
+        public UserAgent fork(RandomProvider copyRandomProvider) {
+            if (!(copyRandomProvider instanceof RecordingRandomProvider))
+                return wrapped.fork(copyRandomProvider);
+
+            RecordingRandomProvider copyProvider = (RecordingRandomProvider) copyRandomProvider;
+            UserAgent forkedAgent = wrapped.fork(copyRandomProvider);
+            if (forkedAgent == null) {
+                // The default agent of the copy, which must roll the recorded provider of the copy
+                forkedAgent = (allowCancel, cards) -> cards.get(copyProvider.roll(cards.size()));
+            }
+            return copyProvider.getJournal().new RecordingUserAgent(forkedAgent, copyProvider);
+        }
+    }
+
+    private final class ReplayingRandomProvider implements RandomProvider {
+        @Override
+        public int roll(int bound) {
+            readTag(TAG_ROLL, "roll with bound " + bound);
+            int recordedBound = readVarInt();
+            int result = readVarInt();
+            if (recordedBound != bound) {
+                throw new IllegalStateException("The replay diverged: a roll with bound " + bound
+                    + " was requested but the journal has a roll with bound " + recordedBound + ".");
+            }
+            return result;
+        }
+
+        @Override
+        public RandomProvider fork() {
+            readForkSeeds();
+            if (replayForkSource == null)
+                throw new IllegalStateException("The replay diverged: the game was copied before recording.");
+            return new SplitMixRandomProvider(replayForkSource.nextForkSeed());
+        }
+    }
+
+    private final class ReplayingUserAgent implements UserAgent {
+        @Override
+        public CardDescr selectCard(boolean allowCancel, List<? extends CardDescr> cards) {
+            readTag(TAG_CHOICE, "card selection from " + cards.size() + " cards");
+            int recordedCount = readVarInt();
+            int index = readVarInt() - 1;
+            if (recordedCount != cards.size()) {
+                throw new IllegalStateException("The replay diverged: a card was selected from " + cards.size()
+                    + " cards but the journal has a selection from " + recordedCount + " cards.");
+            }
+            return index >= 0 ? cards.get(index) : null;
+        }
+
+        @Override
+        public UserAgent fork() {
+            return null;
+        }
+    }
+}
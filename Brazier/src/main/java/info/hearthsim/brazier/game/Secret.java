@@ -5,7 +5,6 @@ import info.hearthsim.brazier.db.CardDescr;
 import info.hearthsim.brazier.util.UndoAction;
 import org.jtrim.utils.ExceptionHelper;
 
-import java.util.Set;
 
 public final class Secret implements Entity<Secret>, LabeledEntity, DamageSource {
     private final EntityId secretId;
@@ -19,7 +18,7 @@ public final class Secret implements Entity<Secret>, LabeledEntity, DamageSource
         ExceptionHelper.checkNotNullArgument(baseCard, "baseCard");
         ExceptionHelper.checkNotNullArgument(ability, "ability");
 
-        this.secretId = new EntityId();
+        this.secretId = owner.getGame().newEntityId();
         this.owner = owner;
         this.baseCard = baseCard;
         this.ability = ability;
@@ -34,6 +33,7 @@ public final class Secret implements Entity<Secret>, LabeledEntity, DamageSource
         this.owner = newOwner;
         this.baseCard = other.baseCard;
         this.ability = other.ability;
+        this.ref = null;
     }
 
     /**
@@ -51,15 +51,27 @@ public final class Secret implements Entity<Secret>, LabeledEntity, DamageSource
     public void setOwner(Player newOwner) {
         ExceptionHelper.checkNotNullArgument(newOwner, "newOwner");
 
+        Player prevOwner = owner;
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> owner = prevOwner);
         owner = newOwner;
     }
 
+    private void setRef(UndoAction<Secret> newRef) {
+        UndoAction<Secret> prevRef = ref;
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> ref = prevRef);
+        ref = newRef;
+    }
+
     public CardDescr getBaseCard() {
         return baseCard;
     }
 
     @Override
-    public Set<Keyword> getKeywords() {
+    public KeywordSet getKeywords() {
         return baseCard.getKeywords();
     }
 
@@ -71,7 +83,7 @@ public final class Secret implements Entity<Secret>, LabeledEntity, DamageSource
         if (ref != null)
             return;
 
-        ref = ability.activate(this);
+        setRef(ability.activate(this));
     }
 
     public void deactivate() {
@@ -79,7 +91,7 @@ public final class Secret implements Entity<Secret>, LabeledEntity, DamageSource
             return;
 
         ref.undo(this);
-        ref = null;
+        setRef(null);
     }
 
     @Override
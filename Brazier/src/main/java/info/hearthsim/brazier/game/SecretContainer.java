@@ -1,6 +1,7 @@
 package info.hearthsim.brazier.game;
 
 import info.hearthsim.brazier.PlayerProperty;
+import info.hearthsim.brazier.abilities.AuraDependencies;
 import org.jtrim.utils.ExceptionHelper;
 
 import java.util.ArrayList;
@@ -10,6 +11,8 @@ import java.util.List;
 /**
  * Container for {@link Secret}, which can be used as the container of the active in-game secrets
  * of a certain player.
+ * <p>
+ * The changes of the list of secrets are recorded to the {@link GameJournal} of the game of the owner.
  */
 public final class SecretContainer implements PlayerProperty {
     public static final int MAX_SECRETS = 5;
@@ -36,10 +39,35 @@ public final class SecretContainer implements PlayerProperty {
         return result;
     }
 
+    /**
+     * Replaces the secrets of this {@code SecretContainer} with copies of the secrets of the given
+     * {@code SecretContainer}. The previous secrets are dropped without being deactivated.
+     */
+    void copyFrom(SecretContainer other) {
+        secrets.clear();
+        for (Secret secret : other.secrets)
+            addSecret(secret.copyFor(owner.getGame(), owner));
+    }
+
     public List<Secret> getSecrets() {
         return secretsView;
     }
 
+    /**
+     * Records the current list of secrets to the journal of the game, to be restored when the
+     * following changes are undone. Players have few secrets, so the whole list is saved.
+     */
+    private void journalSecrets() {
+        GameJournal journal = owner.getGame().getJournal();
+        if (journal.isRecording()) {
+            List<Secret> prevSecrets = new ArrayList<>(secrets);
+            journal.record((game) -> {
+                secrets.clear();
+                secrets.addAll(prevSecrets);
+            });
+        }
+    }
+
     public boolean isFull() {
         return secrets.size() >= MAX_SECRETS;
     }
@@ -77,19 +105,26 @@ public final class SecretContainer implements PlayerProperty {
         if (isFull())
             return;
 
+        journalSecrets();
         secrets.add(secret);
         secret.activate();
+        owner.getGame().getEntityIndex().put(secret, EntityIndex.Zone.SECRETS);
     }
 
     public void stealActivatedSecret(SecretContainer other, Secret secret) {
         other.removeSecretLeaveActive(secret);
         if (isFull()) {
             secret.deactivate();
+            owner.getGame().getEntityIndex().remove(secret);
             return;
         }
 
         secret.setOwner(owner);
+        journalSecrets();
         secrets.add(secret);
+        // Rare enough to re-apply every aura instead of tracking the owners of the secrets.
+        owner.getGame().invalidateAuras(AuraDependencies.ALL);
+        owner.getGame().getEntityIndex().put(secret, EntityIndex.Zone.SECRETS);
     }
 
     private void removeSecretLeaveActive(Secret secret) {
@@ -98,6 +133,7 @@ public final class SecretContainer implements PlayerProperty {
         int secretCount = secrets.size();
         for (int i = 0; i < secretCount; i++) {
             if (secrets.get(i) == secret) {
+                journalSecrets();
                 secrets.remove(i);
                 return;
             }
@@ -110,15 +146,20 @@ public final class SecretContainer implements PlayerProperty {
 
         removeSecretLeaveActive(secret);
         secret.deactivate();
+        owner.getGame().getEntityIndex().remove(secret);
     }
 
     public void removeAllSecrets() {
         if (secrets.isEmpty())
             return;
 
-        for (Secret secret: secrets)
+        EntityIndex entityIndex = owner.getGame().getEntityIndex();
+        for (Secret secret: secrets) {
             secret.deactivate();
+            entityIndex.remove(secret);
+        }
 
+        journalSecrets();
         secrets.clear();
 
 
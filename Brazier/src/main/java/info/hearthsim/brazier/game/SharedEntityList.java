@@ -0,0 +1,341 @@
+package info.hearthsim.brazier.game;
+
+import org.jtrim.utils.ExceptionHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Copy-on-write list of {@link Entity}s belonging to a {@link Player}, used as the underlying storage of
+ * zones which are rarely looked into, like {@link Deck} and {@link Graveyard}.
+ * <p>
+ * Each element of the list is either owned by the list or a read-only snapshot. Owned elements were added
+ * to the list or exposed by it, so they may be referred to and modified from outside the list. Snapshots
+ * are never exposed by any list, so they can be shared by any number of lists. A snapshot is only copied
+ * for the owner of a list (with {@link Entity#copyFor(Game, Player)}) and becomes owned by it when the
+ * list first exposes it to the outside, that is, when it is returned or removed. Filters are tested on
+ * the elements without copying them, so they must only read the tested elements and must not rely on their
+ * owner, which may be a player of another game for snapshots.
+ * <p>
+ * Copying a {@code SharedEntityList} with {@link #copyFor(Player)} only reads the copied list: the
+ * snapshots are shared with the copy, and the owned elements are copied to new snapshots of the copy.
+ * So only the elements exposed since the copied list was itself copied are copied, and snapshots which
+ * are never looked into before the game is discarded are never copied at all.
+ * <p>
+ * Reordering the list and looking up elements by their {@link EntityId} do not copy anything.
+ */
+final class SharedEntityList<T extends Entity<T>> {
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private final Player owner;
+    private Object[] elements;
+    private boolean[] owned;
+    private int size;
+
+    /**
+     * Creates an empty {@code SharedEntityList} belonging to the given {@link Player}.
+     */
+    public SharedEntityList(Player owner) {
+        ExceptionHelper.checkNotNullArgument(owner, "owner");
+
+        this.owner = owner;
+        this.elements = new Object[DEFAULT_CAPACITY];
+        this.owned = new boolean[DEFAULT_CAPACITY];
+        this.size = 0;
+    }
+
+    private SharedEntityList(Player owner, Object[] elements, boolean[] owned, int size) {
+        this.owner = owner;
+        this.elements = elements;
+        this.owned = owned;
+        this.size = size;
+    }
+
+    /**
+     * Returns a copy of this {@code SharedEntityList} with the given new owner. The snapshots are shared
+     * between the two lists, and this list is not modified.
+     */
+    public SharedEntityList<T> copyFor(Player newOwner) {
+        ExceptionHelper.checkNotNullArgument(newOwner, "newOwner");
+
+        Object[] newElements = new Object[Math.max(DEFAULT_CAPACITY, size)];
+        copySnapshots(newOwner, newElements);
+        return new SharedEntityList<>(newOwner, newElements, new boolean[newElements.length], size);
+    }
+
+    /**
+     * Replaces the content of this list with the content of the given list of another owner, reusing the
+     * arrays of this list, as if this list was created by {@link #copyFor(Player)}. The given list is not
+     * modified.
+     */
+    public void copyFrom(SharedEntityList<T> other) {
+        ExceptionHelper.checkNotNullArgument(other, "other");
+
+        clear();
+        ensureCapacity(other.size);
+        other.copySnapshots(owner, elements);
+        size = other.size;
+    }
+
+    /**
+     * Stores snapshots of the elements of this list to the given array, which are not owned by any list:
+     * the snapshots of this list are shared, and the owned elements are copied for the given owner.
+     */
+    @SuppressWarnings("unchecked")
+    private void copySnapshots(Player newOwner, Object[] result) {
+        for (int i = 0; i < size; i++) {
+            Object element = elements[i];
+            result[i] = owned[i] ? ((T) element).copyFor(newOwner.getGame(), newOwner) : element;
+        }
+    }
+
+    /**
+     * Returns a list with the same elements and the same owner as this list, which can be restored with
+     * {@link #setTo(SharedEntityList)}. Modifying this list does not change the returned list.
+     */
+    public SharedEntityList<T> saveState() {
+        return new SharedEntityList<>(owner, elements.clone(), owned.clone(), size);
+    }
+
+    /**
+     * Replaces the content of this list with the content of the given list returned by
+     * {@link #saveState()}, keeping its elements owned or shared as they were.
+     */
+    public void setTo(SharedEntityList<T> other) {
+        ExceptionHelper.checkNotNullArgument(other, "other");
+        if (other.owner != owner)
+            throw new IllegalArgumentException("The given list belongs to another player.");
+
+        elements = other.elements.clone();
+        owned = other.owned.clone();
+        size = other.size;
+    }
+
+    /**
+     * Returns the element at the given index, copying it for the owner of this list if needed.
+     */
+    @SuppressWarnings("unchecked")
+    private T adopt(int index) {
+        T element = (T) elements[index];
+        if (owned[index])
+            return element;
+
+        T result = element.copyFor(owner.getGame(), owner);
+        elements[index] = result;
+        owned[index] = true;
+
+        // The constructor of the copy may journal its own changes, so the copy is dropped on rollback.
+        GameJournal journal = owner.getGame().getJournal();
+        if (journal.isRecording()) {
+            journal.record((game) -> {
+                elements[index] = element;
+                owned[index] = false;
+            });
+        }
+        return result;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private void ensureCapacity(int requiredCapacity) {
+        if (requiredCapacity <= elements.length)
+            return;
+
+        int newCapacity = Math.max(requiredCapacity, 2 * elements.length);
+        elements = Arrays.copyOf(elements, newCapacity);
+        owned = Arrays.copyOf(owned, newCapacity);
+    }
+
+    public Player getOwner() {
+        return owner;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the element at the given index.
+     */
+    public T get(int index) {
+        checkIndex(index);
+        return adopt(index);
+    }
+
+    /**
+     * Returns the element at the given index without copying it. The returned element may be shared with
+     * other lists, so it must not be modified.
+     */
+    @SuppressWarnings("unchecked")
+    public T peek(int index) {
+        checkIndex(index);
+        return (T) elements[index];
+    }
+
+    /**
+     * Returns the {@link EntityId} of the element at the given index without copying the element.
+     */
+    @SuppressWarnings("unchecked")
+    public EntityId getEntityId(int index) {
+        checkIndex(index);
+        return ((T) elements[index]).getEntityId();
+    }
+
+    /**
+     * Returns the index of the element with the given {@link EntityId}, or {@code -1} if there is no such
+     * element. No element is copied by this method.
+     */
+    @SuppressWarnings("unchecked")
+    public int indexOf(EntityId id) {
+        for (int i = 0; i < size; i++) {
+            if (((T) elements[i]).getEntityId() == id)
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the element with the given {@link EntityId}, or {@code null} if there is no such element.
+     * Only the found element is copied (if needed).
+     */
+    public T find(EntityId id) {
+        int index = indexOf(id);
+        return index >= 0 ? adopt(index) : null;
+    }
+
+    /**
+     * Adds the given element to the end of the list. The element is considered to be owned by this list.
+     */
+    public void add(T element) {
+        add(size, element);
+    }
+
+    /**
+     * Adds the given element to the end of the list as a snapshot, which can be shared with the copies of
+     * this list. The element must not be referred to from anywhere else.
+     */
+    public void addSnapshot(T element) {
+        add(size, element);
+        owned[size - 1] = false;
+    }
+
+    /**
+     * Inserts the given element at the given index. The element is considered to be owned by this list.
+     */
+    public void add(int index, T element) {
+        ExceptionHelper.checkNotNullArgument(element, "element");
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+        ensureCapacity(size + 1);
+        int moved = size - index;
+        if (moved > 0) {
+            System.arraycopy(elements, index, elements, index + 1, moved);
+            System.arraycopy(owned, index, owned, index + 1, moved);
+        }
+        elements[index] = element;
+        owned[index] = true;
+        size++;
+    }
+
+    /**
+     * Removes and returns the element at the given index.
+     */
+    public T remove(int index) {
+        checkIndex(index);
+        T result = adopt(index);
+
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, index + 1, elements, index, moved);
+            System.arraycopy(owned, index + 1, owned, index, moved);
+        }
+        size--;
+        elements[size] = null;
+        owned[size] = false;
+        return result;
+    }
+
+    /**
+     * Swaps the elements at the given indexes without copying them.
+     */
+    public void swap(int index1, int index2) {
+        checkIndex(index1);
+        checkIndex(index2);
+
+        Object element = elements[index1];
+        elements[index1] = elements[index2];
+        elements[index2] = element;
+
+        boolean elementOwned = owned[index1];
+        owned[index1] = owned[index2];
+        owned[index2] = elementOwned;
+    }
+
+    /**
+     * Removes all elements from the list.
+     */
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        Arrays.fill(owned, 0, size, false);
+        size = 0;
+    }
+
+    /**
+     * Returns if any of the elements satisfies the given {@link Predicate}. No element is copied by this
+     * method.
+     */
+    public boolean anyMatch(Predicate<? super T> filter) {
+        ExceptionHelper.checkNotNullArgument(filter, "filter");
+
+        for (int i = 0; i < size; i++) {
+            if (filter.test(peek(i)))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the elements from the given index to the end of the list as a new {@link List}.
+     */
+    public List<T> subList(int fromIndex) {
+        if (fromIndex < 0 || fromIndex > size)
+            throw new IndexOutOfBoundsException("Index: " + fromIndex + ", Size: " + size);
+
+        List<T> result = new ArrayList<>(size - fromIndex);
+        for (int i = fromIndex; i < size; i++)
+            result.add(adopt(i));
+        return result;
+    }
+
+    /**
+     * Returns all elements of the list as a new {@link List}.
+     */
+    public List<T> toList() {
+        return subList(0);
+    }
+
+    /**
+     * Returns the elements satisfying the given {@link Predicate} as a new {@link List}. Only the returned
+     * elements are copied (if needed).
+     */
+    public List<T> toList(Predicate<? super T> filter) {
+        ExceptionHelper.checkNotNullArgument(filter, "filter");
+
+        List<T> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (filter.test(peek(i)))
+                result.add(adopt(i));
+        }
+        return result;
+    }
+}
@@ -1,9 +1,30 @@
 package info.hearthsim.brazier.game;
 
+import info.hearthsim.brazier.RandomProvider;
 import info.hearthsim.brazier.db.CardDescr;
 
 import java.util.List;
 
 public interface UserAgent {
     public CardDescr selectCard(boolean allowCancel, List<? extends CardDescr> cards);
+
+    /**
+     * Returns the {@code UserAgent} for a copy of the game using this agent, or {@code null} if the copy
+     * should use its own default agent, which selects cards randomly with the
+     * {@link info.hearthsim.brazier.RandomProvider RandomProvider} of the copy. The default implementation
+     * returns this agent itself, which then must be thread-safe if the copies are used by multiple threads.
+     */
+    public default UserAgent fork() {
+        return this;
+    }
+
+    /**
+     * Returns the {@code UserAgent} for a copy of the game using this agent, given the
+     * {@link RandomProvider#fork() forked} {@code RandomProvider} of the copy. Agents which need the
+     * provider of the copy (e.g. to record the decisions of the copy) override this method; the default
+     * implementation returns {@link #fork()}.
+     */
+    public default UserAgent fork(RandomProvider copyRandomProvider) {
+        return fork();
+    }
 }
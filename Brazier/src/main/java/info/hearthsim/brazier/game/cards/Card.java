@@ -2,6 +2,7 @@ package info.hearthsim.brazier.game.cards;
 
 import info.hearthsim.brazier.PlayerProperty;
 import info.hearthsim.brazier.abilities.AuraAwareIntProperty;
+import info.hearthsim.brazier.abilities.BuffArg;
 import info.hearthsim.brazier.actions.CardRef;
 import info.hearthsim.brazier.actions.ManaCostAdjuster;
 import info.hearthsim.brazier.actions.TargetNeed;
@@ -13,7 +14,6 @@ import info.hearthsim.brazier.util.UndoAction;
 import org.jtrim.utils.ExceptionHelper;
 
 import java.util.List;
-import java.util.Set;
 
 /**
  * An instance of {@code Card} stands for a card in a specific game.
@@ -32,13 +32,18 @@ import java.util.Set;
  *         {@code manaCost}: an {@link AuraAwareIntProperty} which can be reduced by auras or buffs
  *         registered in the game, including <em>Emperor Thaurissan</em> and <em>Sorcerer's Apprentice</em>.
  *     </li>
+ *     <li>
+ *         {@code minion}: the {@link Minion} to be summoned when the card is played, which is only created
+ *         when it is first requested with {@link #getMinion()}. Queries which can be answered by the
+ *         {@link MinionDescr} (like {@link #isMinionCard()} and {@link #getMinionDescr()}) never create it.
+ *     </li>
  * </ul>
  */
 public final class Card implements Entity<Card>, PlayerProperty, LabeledEntity, CardRef, DamageSource {
     private final EntityId cardId;
     private final Player owner;
     private final CardDescr cardDescr;
-    private final Minion minion;
+    private Minion minion;
 
     private final AuraAwareIntProperty manaCost;
 
@@ -52,14 +57,12 @@ public final class Card implements Entity<Card>, PlayerProperty, LabeledEntity,
         ExceptionHelper.checkNotNullArgument(cardDescr, "cardDescr");
         ExceptionHelper.checkNotNullArgument(owner, "owner");
 
-        this.cardId = new EntityId();
+        this.cardId = owner.getGame().newEntityId();
         this.owner = owner;
         this.cardDescr = cardDescr;
-        this.manaCost = new AuraAwareIntProperty(cardDescr.getManaCost());
-        this.manaCost.addExternalBuff(this::adjustManaCost);
-
-        MinionDescr minionDescr = cardDescr.getMinion();
-        this.minion = minionDescr != null ? new Minion(owner, cardDescr.getMinion()) : null;
+        this.manaCost = new AuraAwareIntProperty(owner, cardDescr.getManaCost());
+        addManaCostAdjusters();
+        this.minion = null;
     }
 
     /**
@@ -75,18 +78,44 @@ public final class Card implements Entity<Card>, PlayerProperty, LabeledEntity,
         this.cardId = card.cardId;
         this.owner = owner;
         this.cardDescr = card.cardDescr;
-        this.manaCost = card.manaCost.copy();
-        this.manaCost.addExternalBuff(this::adjustManaCost);
+        this.manaCost = card.manaCost.copyFor(owner);
+        addManaCostAdjusters();
+        // Only copy the minion if it was already requested, otherwise it will be created on demand.
         if (card.minion == null)
             this.minion = null;
         else
             this.minion = card.minion.copyFor(owner.getGame(), owner);
     }
 
+    /**
+     * Returns the {@link Minion} of this {@code Card} if it is a minion card; returns {@code null} otherwise.
+     * The {@code Minion} is created when this method is first invoked and the same instance is returned
+     * afterwards.
+     * <p>
+     * Use {@link #isMinionCard()} or {@link #getMinionDescr()} instead if the actual {@code Minion} is
+     * not needed.
+     */
     public Minion getMinion() {
+        if (minion == null) {
+            MinionDescr minionDescr = cardDescr.getMinion();
+            if (minionDescr != null) {
+                GameJournal journal = getGame().getJournal();
+                if (journal.isRecording())
+                    journal.record((game) -> minion = null);
+                minion = new Minion(owner, minionDescr);
+            }
+        }
         return minion;
     }
 
+    /**
+     * Returns the {@link MinionDescr} of this {@code Card} without creating its {@link Minion};
+     * returns {@code null} if this is not a minion card.
+     */
+    public MinionDescr getMinionDescr() {
+        return minion != null ? minion.getBaseDescr() : cardDescr.getMinion();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -105,14 +134,14 @@ public final class Card implements Entity<Card>, PlayerProperty, LabeledEntity,
     }
 
     @Override
-    public Set<Keyword> getKeywords() {
+    public KeywordSet getKeywords() {
         return cardDescr.getKeywords();
     }
 
     @Override
     public Damage createDamage(int damage) {
-        if (minion != null) {
-            return minion.createDamage(damage);
+        if (isMinionCard()) {
+            return getMinion().createDamage(damage);
         }
 
         if (cardDescr.getCardType() == CardType.Spell) {
@@ -159,6 +188,12 @@ public final class Card implements Entity<Card>, PlayerProperty, LabeledEntity,
         return cardDescr.getMinion() != null;
     }
 
+    private void addManaCostAdjusters() {
+        // The adjusters depend on the state of the game, so the mana cost must not be cached.
+        if (!cardDescr.getManaCostAdjusters().isEmpty())
+            manaCost.addVolatileBuff(BuffArg.NORMAL_AURA_BUFF, this::adjustManaCost);
+    }
+
     private int adjustManaCost(int baseCost) {
         List<ManaCostAdjuster> costAdjusters = cardDescr.getManaCostAdjusters();
         int result = baseCost;
@@ -14,8 +14,6 @@ import info.hearthsim.brazier.game.cards.Card;
 import info.hearthsim.brazier.game.weapons.AttackTool;
 import org.jtrim.utils.ExceptionHelper;
 
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class Minion implements Character<Minion>, DestroyableEntity, Silencable, CardRef {
     private final EntityId minionId;
@@ -24,8 +22,8 @@ public final class Minion implements Character<Minion>, DestroyableEntity, Silen
 
     private final long birthDate;
 
-    private final AtomicBoolean scheduledToDestroy;
-    private final AtomicBoolean destroyed;
+    private boolean scheduledToDestroy;
+    private boolean destroyed;
 
     /**
      * Creates a {@code Minion} with the given {@code MinionDescr} and the given {@code Player} as its owner.
@@ -38,11 +36,11 @@ public final class Minion implements Character<Minion>, DestroyableEntity, Silen
         ExceptionHelper.checkNotNullArgument(baseDescr, "baseDescr");
 
         this.owner = owner;
-        this.minionId = new EntityId();
+        this.minionId = owner.getGame().newEntityId();
         this.properties = new MinionProperties(this, baseDescr);
         this.birthDate = owner.getGame().getCurrentTime();
-        this.destroyed = new AtomicBoolean(false);
-        this.scheduledToDestroy = new AtomicBoolean(false);
+        this.destroyed = false;
+        this.scheduledToDestroy = false;
     }
 
     /**
@@ -59,16 +57,20 @@ public final class Minion implements Character<Minion>, DestroyableEntity, Silen
         this.owner = newOwner;
         this.minionId = minion.minionId;
         this.birthDate = minion.birthDate;
-        this.destroyed = new AtomicBoolean(minion.destroyed.get());
-        this.scheduledToDestroy = new AtomicBoolean(minion.scheduledToDestroy.get());
-        // All the abilities will be copied, but they will be reactivated for this new Minion.
-        this.properties = minion.properties.copyFor(this, false, false);
+        this.destroyed = minion.destroyed;
+        this.scheduledToDestroy = minion.scheduledToDestroy;
+        // The passive abilities are copied along with the game, other abilities are not copied.
+        this.properties = minion.properties.copyForGame(this);
     }
 
     @Override
     public void scheduleToDestroy() {
-        if (!scheduledToDestroy.compareAndSet(false, true))
+        if (scheduledToDestroy)
             return;
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> scheduledToDestroy = false);
+        scheduledToDestroy = true;
 
         getProperties().deactivateAllAbilities();
         getOwner().getBoard().scheduleToDestroy(minionId);
@@ -85,7 +87,7 @@ public final class Minion implements Character<Minion>, DestroyableEntity, Silen
 
     @Override
     public boolean isScheduledToDestroy() {
-        return scheduledToDestroy.get();
+        return scheduledToDestroy;
     }
 
     /**
@@ -110,7 +112,7 @@ public final class Minion implements Character<Minion>, DestroyableEntity, Silen
         ExceptionHelper.checkNotNullArgument(newDescr, "newDescr");
 
         properties.deactivateAllAbilities();
-        properties = new MinionProperties(this, newDescr);
+        setProperties(new MinionProperties(this, newDescr));
         properties.activatePassiveAbilities();
     }
 
@@ -123,11 +125,19 @@ public final class Minion implements Character<Minion>, DestroyableEntity, Silen
         ExceptionHelper.checkNotNullArgument(other, "other");
 
         properties.deactivateAllAbilities();
-        properties = other.properties.copyFor(this);
+        setProperties(other.properties.copyFor(this));
         properties.activatePassiveAbilities();
         properties.exhaust();
     }
 
+    private void setProperties(MinionProperties newProperties) {
+        MinionProperties prevProperties = properties;
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> properties = prevProperties);
+        properties = newProperties;
+    }
+
     /**
      * Sets the minion to be exhausted.
      */
@@ -213,7 +223,7 @@ public final class Minion implements Character<Minion>, DestroyableEntity, Silen
      * Returns the {@link Keyword}s of this {@code Minion}.
      */
     @Override
-    public Set<Keyword> getKeywords() {
+    public KeywordSet getKeywords() {
         return getBaseDescr().getBaseCard().getKeywords();
     }
 
@@ -224,15 +234,20 @@ public final class Minion implements Character<Minion>, DestroyableEntity, Silen
      *                    and the minion's deathrattle effect in this action.
      */
     public void completeKillAndDeactivate(boolean triggerKill) {
-        if (destroyed.compareAndSet(false, true)) {
-            if (triggerKill)
-                triggerKilledEvents();
+        if (destroyed)
+            return;
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> destroyed = false);
+        destroyed = true;
 
-            properties.deactivateAllAbilities();
+        if (triggerKill)
+            triggerKilledEvents();
 
-            if (triggerKill)
-                triggerDeathRattles();
-        }
+        properties.deactivateAllAbilities();
+
+        if (triggerKill)
+            triggerDeathRattles();
     }
 
     /**
@@ -266,6 +281,10 @@ public final class Minion implements Character<Minion>, DestroyableEntity, Silen
 
     public void setOwner(Player owner) {
         ExceptionHelper.checkNotNullArgument(owner, "owner");
+        Player prevOwner = this.owner;
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> this.owner = prevOwner);
         this.owner = owner;
     }
 
@@ -286,7 +305,7 @@ public final class Minion implements Character<Minion>, DestroyableEntity, Silen
      *   be added to the board, {@code false} otherwise
      */
     public boolean isDestroyed() {
-        return destroyed.get();
+        return destroyed;
     }
 
     @Override
@@ -8,6 +8,7 @@ import info.hearthsim.brazier.events.DamageEvent;
 import info.hearthsim.brazier.events.GameEvents;
 import info.hearthsim.brazier.events.SimpleEventType;
 import info.hearthsim.brazier.game.Damage;
+import info.hearthsim.brazier.game.GameJournal;
 import info.hearthsim.brazier.game.Silencable;
 import org.jtrim.utils.ExceptionHelper;
 
@@ -42,14 +43,14 @@ public final class MinionBody implements Silencable {
         this.owner = owner;
         this.baseStats = baseStats;
 
-        this.hp = new HpProperty(baseStats.getHp());
+        this.hp = new HpProperty(owner, baseStats.getHp());
         this.taunt = baseStats.isTaunt();
         this.divineShield = baseStats.isDivineShield();
         this.poisoned = false;
-        this.untargetable = new AuraAwareBoolProperty(!baseStats.isTargetable());
-        this.stealth = new AuraAwareBoolProperty(baseStats.isStealth());
-        this.immune = new AuraAwareBoolProperty(false);
-        this.minHp = new AuraAwareIntProperty(Integer.MIN_VALUE);
+        this.untargetable = new AuraAwareBoolProperty(owner, !baseStats.isTargetable());
+        this.stealth = new AuraAwareBoolProperty(owner, baseStats.isStealth());
+        this.immune = new AuraAwareBoolProperty(owner, false);
+        this.minHp = new AuraAwareIntProperty(owner, Integer.MIN_VALUE);
     }
 
     private MinionBody(Minion owner, MinionBody other) {
@@ -58,23 +59,44 @@ public final class MinionBody implements Silencable {
 
         this.owner = owner;
         this.baseStats = other.baseStats;
-        this.hp = other.hp.copy();
+        this.hp = other.hp.copyFor(owner);
         this.poisoned = other.poisoned;
         this.taunt = other.taunt;
         this.divineShield = other.divineShield;
-        this.stealth = other.stealth.copy();
-        this.untargetable = other.untargetable.copy();
-        this.immune = other.immune.copy();
-        this.minHp = other.minHp.copy();
+        this.stealth = other.stealth.copyFor(owner);
+        this.untargetable = other.untargetable.copyFor(owner);
+        this.immune = other.immune.copyFor(owner);
+        this.minHp = other.minHp.copyFor(owner);
     }
 
     public MinionBody copyFor(Minion minion) {
         return new MinionBody(minion, this);
     }
 
+    /**
+     * Records the current state of the flags of this {@code MinionBody} to the {@link GameJournal} of
+     * the game, if the game is journaled.
+     */
+    private void journalFlags() {
+        GameJournal journal = owner.getGame().getJournal();
+        if (!journal.isRecording())
+            return;
+
+        boolean prevPoisoned = poisoned;
+        boolean prevTaunt = taunt;
+        boolean prevDivineShield = divineShield;
+        journal.record((game) -> {
+            poisoned = prevPoisoned;
+            taunt = prevTaunt;
+            divineShield = prevDivineShield;
+        });
+    }
+
     public void poison() {
-        if (!poisoned)
+        if (!poisoned) {
+            journalFlags();
             poisoned = true;
+        }
     }
 
     public AuraAwareBoolProperty getUntargetableProperty() {
@@ -134,6 +156,7 @@ public final class MinionBody implements Silencable {
     }
 
     public void setDivineShield(boolean newValue) {
+        journalFlags();
         divineShield = newValue;
     }
 
@@ -142,6 +165,7 @@ public final class MinionBody implements Silencable {
     }
 
     public void setTaunt(boolean newValue) {
+        journalFlags();
         taunt = newValue;
     }
 
@@ -154,6 +178,7 @@ public final class MinionBody implements Silencable {
             return 0;
 
         if (divineShield && attack > 0) {
+            journalFlags();
             divineShield = false;
             return 0;
         }
@@ -179,6 +204,7 @@ public final class MinionBody implements Silencable {
     public void silence() {
         stealth.silence();
         untargetable.silence();
+        journalFlags();
         taunt = false;
         divineShield = false;
 
@@ -5,6 +5,7 @@ import info.hearthsim.brazier.db.MinionDescr;
 import info.hearthsim.brazier.events.EventAction;
 import info.hearthsim.brazier.game.FreezeManager;
 import info.hearthsim.brazier.game.Game;
+import info.hearthsim.brazier.game.GameJournal;
 import info.hearthsim.brazier.game.Silencable;
 import info.hearthsim.brazier.game.weapons.AttackTool;
 import org.jtrim.utils.ExceptionHelper;
@@ -12,6 +13,11 @@ import org.jtrim.utils.ExceptionHelper;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * The properties of a {@link Minion}: its body, attack tool, abilities and death rattles.
+ * <p>
+ * The changes of the properties are recorded to the {@link GameJournal} of the game of the minion.
+ */
 public final class MinionProperties implements Silencable {
     private final Minion minion;
     private final MinionAttackTool attackTool;
@@ -19,6 +25,11 @@ public final class MinionProperties implements Silencable {
     private final AbilityList<Minion> abilities;
     private List<EventAction<? super Minion, ? super Minion>> deathRattles;
     private boolean activated;
+    /**
+     * The passive ability which has to be activated for this copy, as it could not be copied along with
+     * the game; {@code null} if there is no such ability.
+     */
+    private Ability<? super Minion> uncopiedPassiveAbility;
     private boolean silenced = false;
 
     public MinionProperties(Minion minion, MinionDescr baseDescr) {
@@ -48,7 +59,7 @@ public final class MinionProperties implements Silencable {
         ExceptionHelper.checkNotNullArgument(abilities, "abilities");
 
         this.minion = minion;
-        this.attackTool = new MinionAttackTool(baseProperties.attackTool);
+        this.attackTool = new MinionAttackTool(minion, baseProperties.attackTool);
         this.body = baseProperties.body.copyFor(minion);
         this.abilities = abilities;
         this.deathRattles = new ArrayList<>(baseProperties.deathRattles);
@@ -79,31 +90,94 @@ public final class MinionProperties implements Silencable {
         return result;
     }
 
+    /**
+     * Returns a copy of this {@code MinionProperties} for the copy of its minion in a copy of the game.
+     * <p>
+     * The passive abilities of an activated minion are registered to be copied along with the game, so the
+     * copy is activated as well; {@link #activatePassiveAbilities()} only activates the passive ability
+     * of the copy which could not be copied.
+     */
+    public MinionProperties copyForGame(Minion newMinion) {
+        AbilityList<Minion> newAbilities = abilities.copyForGame(newMinion, false);
+        MinionProperties result = new MinionProperties(newMinion, this, newAbilities);
+        if (activated && !silenced) {
+            Ability<? super Minion> ability = body.getBaseStats().tryGetAbility();
+            if (ability != null && !(ability instanceof CopyableAbility))
+                result.uncopiedPassiveAbility = ability;
+            result.activated = true;
+        }
+        return result;
+    }
+
     /**
      * Sets the minion to be exhausted.
      */
     public void exhaust() {
+        attackTool.journalState();
         attackTool.exhausted = true;
     }
 
+    /**
+     * Records the current activation state of this {@code MinionProperties} to the journal of the game,
+     * to be restored when the following changes are undone.
+     */
+    private void journalActivation() {
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording()) {
+            boolean prevActivated = activated;
+            Ability<? super Minion> prevUncopiedPassiveAbility = uncopiedPassiveAbility;
+            boolean prevSilenced = silenced;
+            journal.record((game) -> {
+                activated = prevActivated;
+                uncopiedPassiveAbility = prevUncopiedPassiveAbility;
+                silenced = prevSilenced;
+            });
+        }
+    }
+
+    private void journalDeathRattles() {
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording()) {
+            List<EventAction<? super Minion, ? super Minion>> prevDeathRattles = new ArrayList<>(deathRattles);
+            journal.record((game) -> {
+                deathRattles.clear();
+                deathRattles.addAll(prevDeathRattles);
+            });
+        }
+    }
+
     public void activatePassiveAbilities() {
-        if (activated || silenced)
+        if (silenced)
             return;
+        if (activated) {
+            Ability<? super Minion> ability = uncopiedPassiveAbility;
+            if (ability != null) {
+                journalActivation();
+                uncopiedPassiveAbility = null;
+                addAndActivateAbility(ability);
+            }
+            return;
+        }
 
+        journalActivation();
         activated = true;
 
         MinionDescr baseStats = body.getBaseStats();
-        addAndActivateAbility(baseStats.getEventActionDefs());
+        addAndActivateCopyableAbility(baseStats.getEventActionDefs());
 
         Ability<? super Minion> ability = baseStats.tryGetAbility();
-        if (ability != null)
+        if (ability instanceof CopyableAbility)
+            addAndActivateCopyableAbility((CopyableAbility<? super Minion>) ability);
+        else if (ability != null)
             addAndActivateAbility(ability);
     }
 
     public void deactivateAllAbilities() {
         if (!activated)
             return;
+        journalActivation();
         activated = false;
+        uncopiedPassiveAbility = null;
         abilities.deactivate();
     }
 
@@ -138,11 +212,15 @@ public final class MinionProperties implements Silencable {
     }
 
     private void removeDeathRattles() {
+        if (deathRattles.isEmpty())
+            return;
+        journalDeathRattles();
         deathRattles.clear();
     }
 
     @Override
     public void silence() {
+        journalActivation();
         silenced = true;
         abilities.deactivate();
         attackTool.silence();
@@ -154,6 +232,27 @@ public final class MinionProperties implements Silencable {
         return attackTool.isFrozen();
     }
 
+    /**
+     * Returns if the minion has been silenced.
+     */
+    public boolean isSilenced() {
+        return silenced;
+    }
+
+    /**
+     * Returns if the minion is exhausted, that is, it was summoned in this turn.
+     */
+    public boolean isExhausted() {
+        return attackTool.exhausted;
+    }
+
+    /**
+     * Returns the number of attacks the minion has made in this turn.
+     */
+    public int getAttackCount() {
+        return attackTool.attackCount;
+    }
+
     public boolean isCharge() {
         return attackTool.charge.getValue();
     }
@@ -181,6 +280,13 @@ public final class MinionProperties implements Silencable {
         abilities.addAndActivateAbility(abilityRegisterTask, toCopy, needsReactivate);
     }
 
+    private void addAndActivateCopyableAbility(CopyableAbility<? super Minion> ability) {
+        if (minion.isDestroyed())
+            return;
+
+        abilities.addAndActivateCopyableAbility(ability);
+    }
+
     public void setAttackFinalizer(OwnedIntPropertyBuff<? super Minion> newAttackFinalizer) {
         attackTool.setAttackFinalizer(newAttackFinalizer);
     }
@@ -201,9 +307,24 @@ public final class MinionProperties implements Silencable {
         return !deathRattles.isEmpty();
     }
 
+    /**
+     * Returns the number of death rattles of the minion, including the death rattle of its descriptor.
+     */
+    public int getDeathRattleCount() {
+        return deathRattles.size();
+    }
+
+    /**
+     * Returns the number of abilities added to the minion, such as triggers added by buffs.
+     */
+    public int getAddedAbilityCount() {
+        return abilities.getAbilityCount();
+    }
+
     public void addDeathRattle(EventAction<? super Minion, ? super Minion> deathRattle) {
         ExceptionHelper.checkNotNullArgument(deathRattle, "deathRattle");
 
+        journalDeathRattles();
         deathRattles.add(deathRattle);
     }
 
@@ -221,33 +342,59 @@ public final class MinionProperties implements Silencable {
         private boolean attackRight;
 
         public MinionAttackTool(MinionDescr baseDescr) {
-            this.attack = new AuraAwareIntProperty(baseDescr.getAttack(), 0);
-            this.freezeManager = new FreezeManager();
-            this.maxAttackCount = new AuraAwareIntProperty(baseDescr.getMaxAttackCount());
+            this.attack = new AuraAwareIntProperty(minion, baseDescr.getAttack(), 0);
+            this.freezeManager = new FreezeManager(minion);
+            this.maxAttackCount = new AuraAwareIntProperty(minion, baseDescr.getMaxAttackCount());
             this.attackCount = 0;
             this.canAttack = baseDescr.isCanAttack();
             this.exhausted = true;
-            this.charge = new AuraAwareBoolProperty(baseDescr.isCharge());
+            this.charge = new AuraAwareBoolProperty(minion, baseDescr.isCharge());
             this.attackLeft = baseDescr.isAttackLeft();
             this.attackRight = baseDescr.isAttackRight();
             this.attackFinalizer = baseDescr.getAttackFinalizer();
         }
 
-        public MinionAttackTool(MinionAttackTool base) {
-            this.attack = base.attack.copy();
+        public MinionAttackTool(Minion newMinion, MinionAttackTool base) {
+            this.attack = base.attack.copyFor(newMinion);
             this.canAttack = base.canAttack;
             this.attackCount = base.attackCount;
-            this.maxAttackCount = base.maxAttackCount.copy();
-            this.freezeManager = base.freezeManager.copy();
+            this.maxAttackCount = base.maxAttackCount.copyFor(newMinion);
+            this.freezeManager = base.freezeManager.copyFor(newMinion);
             this.exhausted = base.exhausted;
-            this.charge = base.charge.copy();
+            this.charge = base.charge.copyFor(newMinion);
             this.attackLeft = base.attackLeft;
             this.attackRight = base.attackRight;
             this.attackFinalizer = base.attackFinalizer;
         }
 
+        /**
+         * Records the current state of this {@code MinionAttackTool} (except for its aura-aware properties
+         * and freeze manager, which record their own changes) to the journal of the game, to be restored when
+         * the following changes are undone.
+         */
+        private void journalState() {
+            GameJournal journal = getGame().getJournal();
+            if (journal.isRecording()) {
+                boolean prevCanAttack = canAttack;
+                int prevAttackCount = attackCount;
+                boolean prevExhausted = exhausted;
+                OwnedIntPropertyBuff<? super Minion> prevAttackFinalizer = attackFinalizer;
+                boolean prevAttackLeft = attackLeft;
+                boolean prevAttackRight = attackRight;
+                journal.record((game) -> {
+                    canAttack = prevCanAttack;
+                    attackCount = prevAttackCount;
+                    exhausted = prevExhausted;
+                    attackFinalizer = prevAttackFinalizer;
+                    attackLeft = prevAttackLeft;
+                    attackRight = prevAttackRight;
+                });
+            }
+        }
+
         public void setAttackFinalizer(OwnedIntPropertyBuff<? super Minion> newAttackFinalizer) {
             ExceptionHelper.checkNotNullArgument(newAttackFinalizer, "newAttackFinalizer");
+            journalState();
             attackFinalizer = newAttackFinalizer;
         }
 
@@ -264,6 +411,7 @@ public final class MinionProperties implements Silencable {
         }
 
         public void silence() {
+            journalState();
             if (!canAttack)
                 canAttack = true;
 
@@ -278,6 +426,10 @@ public final class MinionProperties implements Silencable {
 
         @Override
         public void refreshStartOfTurn() {
+            if (attackCount == 0 && !exhausted)
+                return;
+
+            journalState();
             attackCount = 0;
             exhausted = false;
         }
@@ -338,6 +490,7 @@ public final class MinionProperties implements Silencable {
         @Override
         public void incAttackCount() {
             body.setStealth(false);
+            journalState();
             attackCount++;
         }
 
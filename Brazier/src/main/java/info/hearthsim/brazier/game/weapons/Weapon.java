@@ -11,8 +11,6 @@ import info.hearthsim.brazier.game.*;
 import info.hearthsim.brazier.util.UndoAction;
 import org.jtrim.utils.ExceptionHelper;
 
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class Weapon implements Entity<Weapon>, DestroyableEntity, DamageSource, LabeledEntity {
     private final EntityId weaponId;
@@ -25,20 +23,20 @@ public final class Weapon implements Entity<Weapon>, DestroyableEntity, DamageSo
     private final AuraAwareIntProperty attack;
     private int durability;
 
-    private final AtomicBoolean scheduledToDestroy;
+    private boolean scheduledToDestroy;
 
     public Weapon(Player owner, WeaponDescr weaponDescr) {
         ExceptionHelper.checkNotNullArgument(owner, "owner");
         ExceptionHelper.checkNotNullArgument(weaponDescr, "weaponDescr");
 
-        this.weaponId = new EntityId();
+        this.weaponId = owner.getGame().newEntityId();
         this.owner = owner;
         this.baseDescr = weaponDescr;
-        this.attack = new AuraAwareIntProperty(weaponDescr.getAttack());
+        this.attack = new AuraAwareIntProperty(owner, weaponDescr.getAttack());
         this.durability = weaponDescr.getDurability();
         this.birthDate = owner.getOwner().getGame().getCurrentTime();
         this.abilities = new AbilityList<>(this);
-        this.scheduledToDestroy = new AtomicBoolean(false);
+        this.scheduledToDestroy = false;
 
         EventAction<? super Weapon, ? super Weapon> deathRattleAction = baseDescr.tryGetDeathRattle();
         this.deathRattle = deathRattleAction != null ? deathRattleToAbility(deathRattleAction) : null;
@@ -51,11 +49,11 @@ public final class Weapon implements Entity<Weapon>, DestroyableEntity, DamageSo
         this.weaponId = other.weaponId;
         this.owner = newOwner;
         this.baseDescr = other.baseDescr;
-        this.attack = other.attack.copy();
+        this.attack = other.attack.copyFor(newOwner);
         this.durability = other.durability;
         this.birthDate = other.birthDate;
         this.abilities = other.abilities.copyFor(this, true);
-        this.scheduledToDestroy = new AtomicBoolean(other.isScheduledToDestroy());
+        this.scheduledToDestroy = other.scheduledToDestroy;
         this.deathRattle = other.deathRattle;
     }
 
@@ -86,16 +84,22 @@ public final class Weapon implements Entity<Weapon>, DestroyableEntity, DamageSo
 
     @Override
     public void scheduleToDestroy() {
-        scheduledToDestroy.compareAndSet(false, true);
+        if (scheduledToDestroy)
+            return;
+
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> scheduledToDestroy = false);
+        scheduledToDestroy = true;
     }
 
     @Override
     public boolean isScheduledToDestroy() {
-        return scheduledToDestroy.get();
+        return scheduledToDestroy;
     }
 
     @Override
-    public Set<Keyword> getKeywords() {
+    public KeywordSet getKeywords() {
         return getBaseDescr().getKeywords();
     }
 
@@ -127,12 +131,20 @@ public final class Weapon implements Entity<Weapon>, DestroyableEntity, DamageSo
             return UndoAction.DO_NOTHING;
         }
 
-        durability += amount;
-        return (w) -> w.durability -= amount;
+        setDurability(durability + amount);
+        return (w) -> w.setDurability(w.durability - amount);
     }
 
     public void decreaseCharges() {
-        durability--;
+        setDurability(durability - 1);
+    }
+
+    private void setDurability(int newDurability) {
+        int prevDurability = durability;
+        GameJournal journal = getGame().getJournal();
+        if (journal.isRecording())
+            journal.record((game) -> durability = prevDurability);
+        durability = newDurability;
     }
 
     public int getAttack() {
@@ -203,11 +203,15 @@ public final class EventNotificationParser <Self extends Entity> {
         EventAction<? super Self, ? super T> action =
             parseAction(targetType, actionDefElement.getChild("action"));
 
+        // The trivial filters are dropped from the chain, so that an unfiltered action is registered
+        // without any condition.
         EventFilter<? super Self, ? super T> filter;
-        if (globalFilter != null)
-            filter = (self, arg) -> baseFilter.applies(self, arg) && globalFilter.applies(self, arg);
-        else
+        if (globalFilter == null || globalFilter == EventFilters.ANY)
             filter = baseFilter;
+        else if (baseFilter == EventFilters.ANY)
+            filter = globalFilter;
+        else
+            filter = (self, arg) -> baseFilter.applies(self, arg) && globalFilter.applies(self, arg);
 
         JsonTree triggerOnceElement = actionDefElement.getChild("triggerOnce");
         boolean triggerOnce = triggerOnceElement != null && triggerOnceElement.getAsBoolean();
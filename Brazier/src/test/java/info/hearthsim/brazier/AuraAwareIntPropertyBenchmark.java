@@ -0,0 +1,57 @@
+package info.hearthsim.brazier;
+
+import info.hearthsim.brazier.abilities.AuraAwareIntProperty;
+import info.hearthsim.brazier.abilities.BuffArg;
+import info.hearthsim.brazier.abilities.IntPropertyBuff;
+
+/**
+ * Microbenchmark of reading the buffed value of an {@link AuraAwareIntProperty} with 0, 3 and 10 buffs,
+ * with and without an added volatile buff which disables the caching of the value.
+ * <p>
+ * Not executed as part of the tests; run its {@code main} method with the test classpath. The number of
+ * reads per measurement can be given as the first argument.
+ */
+public final class AuraAwareIntPropertyBenchmark {
+    private static final int ROUNDS = 5;
+
+    private static volatile int sink;
+
+    public static void main(String[] args) {
+        int reads = args.length > 0 ? Integer.parseInt(args[0]) : 50_000_000;
+        int[] buffCounts = {0, 3, 10};
+
+        for (int round = 0; round < ROUNDS; round++) {
+            boolean warmUp = round < ROUNDS - 1;
+            for (int buffCount : buffCounts) {
+                measure("cached", newProperty(buffCount, false), reads, buffCount, warmUp);
+                measure("uncached", newProperty(buffCount, true), reads, buffCount, warmUp);
+            }
+        }
+    }
+
+    private static AuraAwareIntProperty newProperty(int buffCount, boolean uncached) {
+        AuraAwareIntProperty property = new AuraAwareIntProperty(1, 0);
+        for (int i = 0; i < buffCount; i++) {
+            int buff = i;
+            property.addBuff((prev) -> prev + buff);
+        }
+        if (uncached)
+            property.addVolatileBuff(BuffArg.NORMAL_BUFF, IntPropertyBuff.IDENTITY);
+        return property;
+    }
+
+    private static void measure(String name, AuraAwareIntProperty property, int reads, int buffCount,
+                                boolean warmUp) {
+        long start = System.nanoTime();
+        int sum = 0;
+        for (int i = 0; i < reads; i++)
+            sum += property.getValue();
+        long elapsed = System.nanoTime() - start;
+        sink = sum;
+
+        if (!warmUp) {
+            System.out.printf("%-8s %2d buffs: %6.2f ns/read%n",
+                name, buffCount, (double) elapsed / reads);
+        }
+    }
+}
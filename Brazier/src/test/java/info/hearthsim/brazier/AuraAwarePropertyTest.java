@@ -0,0 +1,75 @@
+package info.hearthsim.brazier;
+
+import info.hearthsim.brazier.abilities.AuraAwareBoolProperty;
+import info.hearthsim.brazier.abilities.AuraAwareIntProperty;
+import info.hearthsim.brazier.abilities.BuffArg;
+import info.hearthsim.brazier.util.UndoAction;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the cached values of {@link AuraAwareIntProperty} and {@link AuraAwareBoolProperty} are
+ * updated when their buffs change.
+ */
+public final class AuraAwarePropertyTest {
+    @Test
+    public void testIntPropertyCache() {
+        AuraAwareIntProperty property = new AuraAwareIntProperty(3, 0);
+        assertEquals(3, property.getValue());
+
+        UndoAction<AuraAwareIntProperty> undoBuff = property.addBuff(2);
+        assertEquals(5, property.getValue());
+        UndoAction<AuraAwareIntProperty> undoAura = property.addExternalBuff((prev) -> prev * 2);
+        assertEquals(10, property.getValue());
+        property.addBuff(BuffArg.NORMAL_BUFF, -20);
+        assertEquals(0, property.getValue());
+
+        AuraAwareIntProperty copy = property.copy();
+        assertEquals(0, copy.getValue());
+
+        property.silence();
+        assertEquals(6, property.getValue());
+        undoAura.undo(property);
+        assertEquals(3, property.getValue());
+        // Undoing a buff removed by the silence does not change the value.
+        undoBuff.undo(property);
+        assertEquals(3, property.getValue());
+
+        undoBuff.undo(copy);
+        assertEquals(0, copy.getValue());
+    }
+
+    @Test
+    public void testVolatileBuff() {
+        AuraAwareIntProperty property = new AuraAwareIntProperty(5);
+        int[] reduction = new int[1];
+        UndoAction<AuraAwareIntProperty> undoVolatile =
+            property.addVolatileBuff(BuffArg.NORMAL_AURA_BUFF, (prev) -> prev - reduction[0]);
+        assertEquals(5, property.getValue());
+        reduction[0] = 2;
+        assertEquals(3, property.getValue());
+
+        undoVolatile.undo(property);
+        assertEquals(5, property.getValue());
+        reduction[0] = 4;
+        assertEquals(5, property.getValue());
+    }
+
+    @Test
+    public void testBoolPropertyCache() {
+        AuraAwareBoolProperty property = new AuraAwareBoolProperty(false);
+        assertFalse(property.getValue());
+
+        UndoAction<AuraAwareBoolProperty> undoRef = property.setValueTo(true);
+        assertTrue(property.getValue());
+        assertTrue(property.copy().getValue());
+
+        undoRef.undo(property);
+        assertFalse(property.getValue());
+
+        property.setValueTo(true);
+        property.silence();
+        assertFalse(property.getValue());
+    }
+}
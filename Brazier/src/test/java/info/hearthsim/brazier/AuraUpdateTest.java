@@ -0,0 +1,77 @@
+package info.hearthsim.brazier;
+
+import info.hearthsim.brazier.abilities.ActiveAura;
+import info.hearthsim.brazier.abilities.Aura;
+import info.hearthsim.brazier.abilities.AuraDependencies;
+import info.hearthsim.brazier.abilities.AuraFilter;
+import info.hearthsim.brazier.abilities.AuraTargetProvider;
+import info.hearthsim.brazier.game.Game;
+import info.hearthsim.brazier.game.Hero;
+import info.hearthsim.brazier.game.minions.Minion;
+import info.hearthsim.brazier.utils.TestAgent;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static info.hearthsim.brazier.utils.TestCards.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that {@link ActiveAura}s are only re-applied when a part of the game state they depend on changes.
+ */
+public final class AuraUpdateTest {
+    private static final Aura<Hero, Minion> NO_EFFECT = (source, target) -> (minion) -> { };
+
+    private static int[] addCountingAura(Game game, int dependencies) {
+        int[] applyCount = new int[1];
+        AuraTargetProvider<Hero, Minion> provider = AuraTargetProvider.dependingOn(dependencies, (g, source) -> {
+            applyCount[0]++;
+            return Collections.emptyList();
+        });
+        game.addAura(new ActiveAura<Hero, Minion>(game.getPlayer1().getHero(), provider, AuraFilter.ANY, NO_EFFECT));
+        return applyCount;
+    }
+
+    @Test
+    public void testBoardDependentAura() {
+        TestAgent agent = new TestAgent();
+        agent.setMana("p1", 10);
+        Game game = agent.getGame();
+        int[] applyCount = addCountingAura(game, AuraDependencies.BOARD);
+
+        game.endPhase();
+        assertEquals(1, applyCount[0]);
+        game.endPhase();
+        assertEquals(1, applyCount[0]);
+
+        agent.addToHand("p1", WISP);
+        game.endPhase();
+        assertEquals(1, applyCount[0]);
+
+        int mark = game.mark();
+        agent.playMinionCard("p1", 0, 0);
+        int afterPlay = applyCount[0];
+        assertTrue(afterPlay > 1);
+
+        game.rollbackTo(mark);
+        game.endPhase();
+        assertEquals(afterPlay + 1, applyCount[0]);
+    }
+
+    @Test
+    public void testUndeclaredDependencies() {
+        TestAgent agent = new TestAgent();
+        Game game = agent.getGame();
+        int[] applyCount = new int[1];
+        AuraTargetProvider<Hero, Minion> provider = (g, source) -> {
+            applyCount[0]++;
+            return Collections.emptyList();
+        };
+        game.addAura(new ActiveAura<Hero, Minion>(game.getPlayer1().getHero(), provider, AuraFilter.ANY, NO_EFFECT));
+
+        game.endPhase();
+        assertEquals(1, applyCount[0]);
+        game.endPhase();
+        assertEquals(2, applyCount[0]);
+    }
+}
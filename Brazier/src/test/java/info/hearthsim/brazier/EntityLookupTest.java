@@ -0,0 +1,122 @@
+package info.hearthsim.brazier;
+
+import info.hearthsim.brazier.game.EntityId;
+import info.hearthsim.brazier.game.Game;
+import info.hearthsim.brazier.game.Player;
+import info.hearthsim.brazier.game.cards.Card;
+import info.hearthsim.brazier.game.minions.Minion;
+import info.hearthsim.brazier.utils.TestAgent;
+import org.junit.Test;
+
+import static info.hearthsim.brazier.utils.TestCards.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the allocation of {@link EntityId}s and the lookup of entities by their ids with
+ * {@link Game#findEntity(EntityId)} and its relatives while the entities move between the containers
+ * of the game.
+ */
+public final class EntityLookupTest {
+    @Test
+    public void testMinionLookup() {
+        TestAgent agent = new TestAgent();
+        agent.setMana("p1", 10);
+        agent.playMinionCard("p1", YETI, 0);
+
+        Game game = agent.getGame();
+        Player player = game.getPlayer1();
+        Minion yeti = player.getBoard().getMinion(0);
+        EntityId yetiId = yeti.getEntityId();
+        assertSame(yeti, game.getLivingMinion(yetiId));
+        assertSame(yeti, game.findEntity(yetiId));
+
+        int mark = game.mark();
+        yeti.kill();
+        game.endPhase();
+        assertNull(game.getLivingMinion(yetiId));
+        assertNotNull(game.getDeadMinion(yetiId));
+        assertSame(game.getDeadMinion(yetiId), game.findEntity(yetiId));
+
+        game.rollbackTo(mark);
+        assertSame(player.getBoard().getMinion(0), game.getLivingMinion(yetiId));
+        assertNull(game.getDeadMinion(yetiId));
+
+        Game copy = game.copy();
+        assertSame(copy.getPlayer1().getBoard().getMinion(0), copy.getCharacter(yetiId));
+    }
+
+    @Test
+    public void testCardLookup() {
+        TestAgent agent = new TestAgent();
+        agent.addToHand("p1", WISP);
+        agent.deck("p1", YETI, FIREBALL);
+
+        Game game = agent.getGame();
+        Player player = game.getPlayer1();
+        Card wisp = player.getHand().getCard(0);
+        Card fireball = player.getDeck().getCards().get(1);
+        assertSame(wisp, game.getCard(wisp.getEntityId()));
+        assertSame(fireball, game.findEntity(fireball.getEntityId()));
+
+        Card drawn = player.getDeck().tryDrawOneCard();
+        assertSame(fireball, drawn);
+        assertNull(game.getCard(fireball.getEntityId()));
+        player.getHand().addCard(drawn);
+        assertSame(fireball, game.getCard(fireball.getEntityId()));
+
+        Card removed = player.getHand().removeAtIndex(0);
+        assertSame(wisp, removed);
+        assertNull(game.findEntity(wisp.getEntityId()));
+    }
+
+    @Test
+    public void testDenseEntityIds() {
+        TestAgent agent = new TestAgent();
+        agent.addToHand("p1", WISP, YETI);
+
+        Game game = agent.getGame();
+        Player player = game.getPlayer1();
+        int wispId = player.getHand().getCard(0).getEntityId().getValue();
+        int yetiId = player.getHand().getCard(1).getEntityId().getValue();
+        assertTrue(wispId >= 0);
+        assertEquals(wispId + 1, yetiId);
+
+        Game copy = game.copy();
+        Card copiedYeti = copy.getPlayer1().getHand().getCard(1);
+        assertEquals(yetiId, copiedYeti.getEntityId().getValue());
+        assertEquals(game.newEntityId().getValue(), copy.newEntityId().getValue());
+        assertEquals(EntityId.NO_VALUE, player.getEntityId().getValue());
+    }
+
+    @Test
+    public void testRollbackRewindsEntityIds() {
+        TestAgent agent = new TestAgent();
+        agent.setMana("p1", 10);
+        agent.playMinionCard("p1", YETI, 0);
+        agent.refreshAttacks();
+
+        Game game = agent.getGame();
+        int nextId = game.copy().newEntityId().getValue();
+        int mark = game.mark();
+        for (int i = 0; i < 1000; i++) {
+            agent.playMinionCard("p1", WISP, 1);
+            agent.playMinionCard("p1", YETI, 2);
+            agent.attack("p1:0", "p2:hero");
+            agent.endTurn();
+            agent.endTurn();
+            game.rollbackTo(mark);
+        }
+
+        // Copies size their entity index by the next id, so it stays bounded by a single line of play.
+        Game copy = game.copy();
+        assertEquals(nextId, copy.newEntityId().getValue());
+        assertEquals(nextId, game.copy().newEntityId().getValue());
+
+        agent.playMinionCard("p1", WISP, 1);
+        Minion wisp = game.getPlayer1().getBoard().getMinion(1);
+        assertEquals(nextId + 1, wisp.getEntityId().getValue());
+        assertSame(wisp, game.findEntity(wisp.getEntityId()));
+        assertSame(game.getPlayer1().getBoard().getMinion(0), game.getLivingMinion(
+            copy.getPlayer1().getBoard().getMinion(0).getEntityId()));
+    }
+}
@@ -0,0 +1,115 @@
+package info.hearthsim.brazier;
+
+import info.hearthsim.brazier.events.GameActionList;
+import info.hearthsim.brazier.events.GameEventActions;
+import info.hearthsim.brazier.events.GameEvents;
+import info.hearthsim.brazier.events.SimpleEventType;
+import info.hearthsim.brazier.game.Game;
+import info.hearthsim.brazier.game.Player;
+import info.hearthsim.brazier.parsing.TestDb;
+import info.hearthsim.brazier.util.UndoAction;
+import info.hearthsim.brazier.utils.TestUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the ordering, removal and copying of the actions of a {@link GameActionList}, and the tracking of
+ * the subscribers of {@link GameEvents}.
+ */
+public final class GameActionListTest {
+    private static Game newGame() {
+        return new Game(TestDb.getTestDb(), TestUtils.PLAYER1_ID, TestUtils.PLAYER2_ID);
+    }
+
+    private static UndoAction<GameActionList> add(GameActionList<Game> list, List<String> log,
+                                                  String name, int priority, boolean toCopy) {
+        return list.addAction((game) -> log.add(name), (game) -> true, priority, toCopy);
+    }
+
+    @Test
+    public void testPriorityAndInsertionOrder() {
+        GameActionList<Game> list = new GameActionList<>();
+        List<String> log = new ArrayList<>();
+        add(list, log, "normal1", Priorities.NORMAL_PRIORITY, false);
+        add(list, log, "low", Priorities.LOW_PRIORITY, false);
+        add(list, log, "high", Priorities.HIGH_PRIORITY, false);
+        add(list, log, "normal2", Priorities.NORMAL_PRIORITY, false);
+        add(list, log, "highest", Priorities.HIGHEST_PRIORITY, false);
+
+        list.executeActionsNow(newGame(), false);
+        assertEquals(Arrays.asList("highest", "high", "normal1", "normal2", "low"), log);
+    }
+
+    @Test
+    public void testRemoveFromListAndCopy() {
+        GameActionList<Game> list = new GameActionList<>();
+        List<String> log = new ArrayList<>();
+        List<UndoAction<GameActionList>> undos = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+            undos.add(add(list, log, "a" + i, Priorities.NORMAL_PRIORITY, i % 2 == 0));
+
+        for (int i = 0; i < 20; i += 3)
+            undos.get(i).undo(list);
+        // Adding after the removals compacts the bucket.
+        add(list, log, "b", Priorities.NORMAL_PRIORITY, true);
+
+        GameActionList<Game> copy = list.copy();
+        undos.get(4).undo(copy);
+        undos.get(5).undo(list);
+
+        Game game = newGame();
+        list.executeActionsNow(game, false);
+        assertEquals(Arrays.asList("a1", "a2", "a4", "a7", "a8", "a10", "a11", "a13", "a14", "a16", "a17", "a19", "b"),
+            log);
+
+        log.clear();
+        copy.executeActionsNow(game, false);
+        assertEquals(Arrays.asList("a2", "a8", "a10", "a14", "a16", "b"), log);
+    }
+
+    @Test
+    public void testNestedExecution() {
+        GameActionList<Game> list = new GameActionList<>();
+        List<String> log = new ArrayList<>();
+        int[] depth = new int[1];
+        list.addAction((game) -> {
+            log.add("outer" + depth[0]);
+            if (depth[0]++ == 0)
+                list.executeActionsNow(game, false);
+        });
+        UndoAction<GameActionList> undoSecond = add(list, log, "second", Priorities.NORMAL_PRIORITY, false);
+        list.addAction((game) -> undoSecond.undo(list));
+
+        list.executeActionsNow(newGame(), false);
+        // The removed action is still executed by the outer execution, as it was applicable when triggered.
+        assertEquals(Arrays.asList("outer0", "outer1", "second", "second"), log);
+    }
+
+    @Test
+    public void testSubscriberTracking() {
+        Game game = newGame();
+        GameEvents events = game.getEvents();
+        // Events without subscribers are dropped before their argument is checked.
+        events.triggerEvent(SimpleEventType.MINION_KILLED, game.getPlayer1());
+
+        GameEventActions<Player> listeners = events.turnEndsListeners();
+        assertFalse(listeners.hasSubscribers());
+        int[] triggerCount = new int[1];
+        UndoAction<GameEventActions> undo = listeners.register((player) -> triggerCount[0]++);
+        assertTrue(listeners.hasSubscribers());
+        assertFalse(game.copy().getEvents().turnEndsListeners().hasSubscribers());
+
+        events.triggerEvent(SimpleEventType.TURN_ENDS, game.getPlayer1());
+        assertEquals(1, triggerCount[0]);
+
+        undo.undo(listeners);
+        assertFalse(listeners.hasSubscribers());
+        events.triggerEvent(SimpleEventType.TURN_ENDS, game.getPlayer1());
+        assertEquals(1, triggerCount[0]);
+    }
+}
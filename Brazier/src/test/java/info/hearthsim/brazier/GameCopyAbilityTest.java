@@ -0,0 +1,69 @@
+package info.hearthsim.brazier;
+
+import info.hearthsim.brazier.game.Game;
+import info.hearthsim.brazier.utils.TestAgent;
+import org.junit.Test;
+
+import static info.hearthsim.brazier.utils.TestCards.*;
+
+/**
+ * Tests that the triggers and auras of the minions on the board are copied along with the {@link Game}
+ * and act for the copies of the minions, independently of the original game.
+ */
+public final class GameCopyAbilityTest {
+    @Test
+    public void testCopiedTriggersAndAuras() {
+        TestAgent agent = new TestAgent();
+        agent.setMana("p1", 10);
+        agent.playMinionCard("p1", FROTHING_BERSERKER, 0);
+        agent.playMinionCard("p1", DIRE_WOLF_ALPHA, 1);
+
+        Game original = agent.getGame();
+        Game copy = original.copy();
+
+        agent.setGame(copy);
+        agent.setMana("p1", 10);
+        agent.playCard("p1", WHIRLWIND);
+        agent.expectBoard("p1",
+            expectedMinion(FROTHING_BERSERKER, 5, 3),
+            expectedMinion(DIRE_WOLF_ALPHA, 2, 1));
+
+        // Silencing the copy removes its trigger, which was copied from the original.
+        agent.playNonMinionCard("p1", SILENCE, "p1:0");
+        agent.playCard("p1", WHIRLWIND);
+        agent.expectBoard("p1",
+            expectedMinion(FROTHING_BERSERKER, 2, 2));
+
+        agent.setGame(original);
+        agent.expectBoard("p1",
+            expectedMinion(FROTHING_BERSERKER, 3, 4),
+            expectedMinion(DIRE_WOLF_ALPHA, 2, 2));
+
+        agent.setMana("p1", 10);
+        agent.playCard("p1", WHIRLWIND);
+        agent.expectBoard("p1",
+            expectedMinion(FROTHING_BERSERKER, 5, 3),
+            expectedMinion(DIRE_WOLF_ALPHA, 2, 1));
+    }
+
+    @Test
+    public void testCopyOfCopy() {
+        TestAgent agent = new TestAgent();
+        agent.setMana("p1", 10);
+        agent.playMinionCard("p1", FROTHING_BERSERKER, 0);
+        agent.playMinionCard("p1", DIRE_WOLF_ALPHA, 1);
+
+        Game copy = agent.getGame().copy();
+        agent.setGame(copy.copy());
+        agent.setMana("p1", 10);
+        agent.playCard("p1", WHIRLWIND);
+        agent.expectBoard("p1",
+            expectedMinion(FROTHING_BERSERKER, 5, 3),
+            expectedMinion(DIRE_WOLF_ALPHA, 2, 1));
+
+        // Killing the wolf of the copy of the copy removes its aura.
+        agent.playCard("p1", WHIRLWIND);
+        agent.expectBoard("p1",
+            expectedMinion(FROTHING_BERSERKER, 6, 2));
+    }
+}
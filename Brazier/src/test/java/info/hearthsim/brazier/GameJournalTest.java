@@ -0,0 +1,108 @@
+package info.hearthsim.brazier;
+
+import info.hearthsim.brazier.utils.TestAgent;
+import info.hearthsim.brazier.utils.TestCards;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link info.hearthsim.brazier.game.Game#mark()} and
+ * {@link info.hearthsim.brazier.game.Game#rollbackTo(int)}.
+ */
+public final class GameJournalTest {
+    private static TestAgent setupAgent() {
+        TestAgent agent = new TestAgent();
+        agent.deck("p1", TestCards.MOONFIRE, TestCards.FIERY_WAR_AXE);
+        agent.addToHand("p1", TestCards.MOONFIRE);
+        agent.setMana("p1", 10);
+        return agent;
+    }
+
+    @Test
+    public void testRollbackPlayedMinion() {
+        TestAgent agent = setupAgent();
+        int mark = agent.getGame().mark();
+
+        agent.playMinionCard("p1", TestCards.YETI, 0);
+        agent.playCard("p1", 0, "p1:0");
+        agent.applyToPlayer("p1", (player) -> player.drawCardToHand());
+
+        agent.expectBoard("p1", TestCards.expectedMinion(TestCards.YETI, 4, 4));
+        agent.expectHand("p1", TestCards.FIERY_WAR_AXE);
+        agent.expectDeck("p1", TestCards.MOONFIRE);
+        agent.expectMana("p1", 6);
+
+        agent.getGame().rollbackTo(mark);
+
+        agent.expectBoard("p1");
+        agent.expectHand("p1", TestCards.MOONFIRE);
+        agent.expectDeck("p1", TestCards.MOONFIRE, TestCards.FIERY_WAR_AXE);
+        agent.expectMana("p1", 10);
+        agent.applyToPlayer("p1", (player) -> assertEquals(0, player.getCardsPlayedThisTurn()));
+    }
+
+    @Test
+    public void testNestedMarks() {
+        TestAgent agent = setupAgent();
+        int outerMark = agent.getGame().mark();
+
+        agent.playMinionCard("p1", TestCards.YETI, 0);
+        int innerMark = agent.getGame().mark();
+
+        agent.playCard("p1", 0, "p1:0");
+        agent.expectBoard("p1", TestCards.expectedMinion(TestCards.YETI, 4, 4));
+
+        agent.getGame().rollbackTo(innerMark);
+        agent.expectBoard("p1", TestCards.expectedMinion(TestCards.YETI, 4, 5));
+        agent.expectHand("p1", TestCards.MOONFIRE);
+        agent.expectMana("p1", 6);
+
+        agent.playCard("p1", 0, "p1:0");
+        agent.expectBoard("p1", TestCards.expectedMinion(TestCards.YETI, 4, 4));
+
+        agent.getGame().rollbackTo(outerMark);
+        agent.expectBoard("p1");
+        agent.expectHand("p1", TestCards.MOONFIRE);
+        agent.expectMana("p1", 10);
+    }
+
+    private static void playAurasAndAttacks(TestAgent agent) {
+        agent.playCard("p1", TestCards.FIERY_WAR_AXE);
+        agent.attack("p1:hero", "p2:0");
+        agent.playMinionCard("p1", TestCards.FLAMETONGUE_TOTEM, 1);
+        agent.playMinionCard("p1", TestCards.FROTHING_BERSERKER, 2);
+        agent.attack("p1:0", "p2:1");
+    }
+
+    @Test
+    public void testRollbackHeroesWeaponsAurasAndListeners() {
+        TestAgent agent = setupAgent();
+        agent.playMinionCard("p1", TestCards.YETI, 0);
+        agent.setCurrentPlayer("p2");
+        agent.setMana("p2", 10);
+        agent.playMinionCard("p2", TestCards.YETI, 0);
+        agent.playMinionCard("p2", TestCards.YETI, 1);
+        agent.setCurrentPlayer("p1");
+        agent.refreshAttacks();
+        agent.setMana("p1", 10);
+
+        long hashBefore = agent.getGame().stateHash();
+        int mark = agent.getGame().mark();
+
+        playAurasAndAttacks(agent);
+        long hashAfter = agent.getGame().stateHash();
+        agent.expectHeroHp("p1", 26, 0);
+        agent.expectWeapon("p1", 3, 1);
+
+        agent.getGame().rollbackTo(mark);
+        assertEquals(hashBefore, agent.getGame().stateHash());
+        agent.expectBoard("p1", TestCards.expectedMinion(TestCards.YETI, 4, 5));
+        agent.expectNoWeapon("p1", 0);
+        agent.expectHeroHp("p1", 30, 0);
+
+        // Replaying must reach the same state, so no aura or listener survived the rollback.
+        playAurasAndAttacks(agent);
+        assertEquals(hashAfter, agent.getGame().stateHash());
+    }
+}
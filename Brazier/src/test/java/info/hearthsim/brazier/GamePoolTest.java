@@ -0,0 +1,100 @@
+package info.hearthsim.brazier;
+
+import info.hearthsim.brazier.game.Game;
+import info.hearthsim.brazier.game.GamePool;
+import info.hearthsim.brazier.game.GameSnapshot;
+import info.hearthsim.brazier.game.cards.Card;
+import info.hearthsim.brazier.game.minions.Minion;
+import info.hearthsim.brazier.utils.TestAgent;
+import org.junit.Test;
+
+import static info.hearthsim.brazier.utils.TestCards.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link Game#copyInto(Game)} and {@link GamePool}.
+ */
+public final class GamePoolTest {
+    private static TestAgent setupAgent() {
+        TestAgent agent = new TestAgent();
+        agent.setMana("p1", 10);
+        agent.playMinionCard("p1", YETI, 0);
+        agent.playMinionCard("p1", DIRE_WOLF_ALPHA, 1);
+        agent.playCard("p1", FIERY_WAR_AXE);
+        agent.addToHand("p1", MOONFIRE, WISP);
+        agent.deck("p1", YETI, FIREBALL);
+        agent.deck("p2", WISP);
+        return agent;
+    }
+
+    @Test
+    public void testCopyIntoEqualsCopy() {
+        Game source = setupAgent().getGame();
+        Game target = new TestAgent().getGame();
+
+        source.copyInto(target);
+        assertEquals(source.stateHash(), target.stateHash());
+        assertEquals(GameSnapshot.fromGame(source.copy()), GameSnapshot.fromGame(target));
+    }
+
+    @Test
+    public void testCopyIntoIsIndependent() {
+        Game source = setupAgent().getGame();
+        Game target = source.copy();
+        target.getPlayer1().getBoard().getMinion(0).kill();
+        target.endPhase();
+
+        source.copyInto(target);
+        long hash = source.stateHash();
+        assertEquals(hash, target.stateHash());
+
+        target.getPlayer1().getHand().removeAtIndex(0);
+        target.getPlayer1().getDeck().tryDrawOneCard();
+        assertEquals(hash, source.stateHash());
+        assertNotEquals(hash, target.stateHash());
+    }
+
+    @Test
+    public void testCopyKeepsSourceEntities() {
+        Game source = setupAgent().getGame();
+        Minion killed = source.getPlayer1().getBoard().getMinion(0);
+        killed.kill();
+        source.endPhase();
+
+        Card deckCard = source.getPlayer1().getDeck().getCards().get(0);
+        Minion deadMinion = source.getPlayer1().getGraveyard().findMinion(killed.getEntityId());
+        assertNotNull(deadMinion);
+
+        Game copy = source.copy();
+        Game target = new TestAgent().getGame();
+        source.copyInto(target);
+
+        assertSame(deckCard, source.getPlayer1().getDeck().getCards().get(0));
+        assertSame(deadMinion, source.getPlayer1().getGraveyard().findMinion(killed.getEntityId()));
+        for (Game game : new Game[]{copy, target}) {
+            Card copiedCard = game.getPlayer1().getDeck().getCards().get(0);
+            assertNotSame(deckCard, copiedCard);
+            assertSame(game.getPlayer1(), copiedCard.getOwner());
+            Minion copiedMinion = game.getPlayer1().getGraveyard().findMinion(killed.getEntityId());
+            assertNotSame(deadMinion, copiedMinion);
+            assertSame(game.getPlayer1(), copiedMinion.getOwner());
+        }
+    }
+
+    @Test
+    public void testPoolReusesReleasedGames() {
+        Game source = setupAgent().getGame();
+        GamePool pool = new GamePool(1);
+
+        Game first = pool.acquireCopyOf(source);
+        assertEquals(source.stateHash(), first.stateHash());
+        pool.release(first);
+        pool.release(source.copy());
+        assertEquals(1, pool.getPooledCount());
+
+        Game second = pool.acquireCopyOf(source);
+        assertSame(first, second);
+        assertEquals(source.stateHash(), second.stateHash());
+        assertEquals(0, pool.getPooledCount());
+    }
+}
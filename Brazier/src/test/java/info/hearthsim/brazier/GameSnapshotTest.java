@@ -0,0 +1,76 @@
+package info.hearthsim.brazier;
+
+import info.hearthsim.brazier.game.Game;
+import info.hearthsim.brazier.game.GameSnapshot;
+import info.hearthsim.brazier.game.Player;
+import info.hearthsim.brazier.game.minions.Minion;
+import info.hearthsim.brazier.utils.TestAgent;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static info.hearthsim.brazier.utils.TestCards.*;
+import static info.hearthsim.brazier.utils.TestUtils.PLAYER1_ID;
+import static info.hearthsim.brazier.utils.TestUtils.PLAYER2_ID;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that a {@link GameSnapshot} restores the game it was taken of.
+ */
+public final class GameSnapshotTest {
+    private static TestAgent setupAgent() {
+        TestAgent agent = new TestAgent();
+        agent.setMana("p1", 10);
+        agent.playMinionCard("p1", YETI, 0);
+        agent.playNonMinionCard("p1", BLESSING_OF_KINGS, "p1:0");
+        agent.playMinionCard("p1", DIRE_WOLF_ALPHA, 1);
+        agent.playNonMinionCard("p1", MOONFIRE, "p1:0");
+        agent.setMana("p1", 10);
+        agent.playCard("p1", FIERY_WAR_AXE);
+        agent.playCard("p1", SNIPE);
+        agent.addToHand("p1", MOONFIRE, WISP);
+        agent.deck("p2", YETI, FIREBALL);
+        agent.setHeroHp("p2", 20, 5);
+        return agent;
+    }
+
+    @Test
+    public void testRoundTrip() {
+        TestAgent agent = setupAgent();
+        Game game = agent.getGame();
+        GameSnapshot snapshot = GameSnapshot.fromGame(game);
+
+        Game restored = snapshot.toGame(game.getDb(), PLAYER1_ID, PLAYER2_ID);
+        assertEquals(snapshot, GameSnapshot.fromGame(restored));
+
+        Player player1 = restored.getPlayer1();
+        List<Minion> minions = player1.getBoard().getAllMinions();
+        assertEquals(2, minions.size());
+        assertEquals(9, minions.get(0).getAttackTool().getAttack());
+        assertEquals(8, minions.get(0).getBody().getCurrentHp());
+        assertEquals(3, player1.getWeaponAttack());
+        assertEquals(2, player1.getHand().getCardCount());
+        assertTrue(player1.getSecrets().hasSecret());
+
+        Player player2 = restored.getPlayer2();
+        assertEquals(20, player2.getHero().getCurrentHp());
+        assertEquals(5, player2.getHero().getCurrentArmor());
+        assertEquals(2, player2.getDeck().getNumberOfCards());
+    }
+
+    @Test
+    public void testByteBufferRoundTrip() {
+        GameSnapshot snapshot = GameSnapshot.fromGame(setupAgent().getGame());
+
+        ByteBuffer buffer = ByteBuffer.allocate(snapshot.getByteSize() + 4);
+        buffer.putInt(42);
+        snapshot.writeTo(buffer);
+        assertEquals(snapshot.getByteSize() + 4, buffer.position());
+
+        buffer.flip();
+        assertEquals(42, buffer.getInt());
+        assertEquals(snapshot, GameSnapshot.readFrom(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+}
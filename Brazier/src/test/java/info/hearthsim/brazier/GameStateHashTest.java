@@ -0,0 +1,123 @@
+package info.hearthsim.brazier;
+
+import info.hearthsim.brazier.game.Game;
+import info.hearthsim.brazier.game.minions.Minion;
+import info.hearthsim.brazier.utils.TestAgent;
+import org.junit.Test;
+
+import static info.hearthsim.brazier.utils.TestCards.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that {@link Game#stateHash()} tells apart games in different states and matches for copies.
+ */
+public final class GameStateHashTest {
+    private static TestAgent setupAgent() {
+        TestAgent agent = new TestAgent();
+        agent.setMana("p1", 10);
+        agent.addToHand("p1", MOONFIRE, WISP);
+        agent.deck("p1", YETI, FIREBALL);
+        return agent;
+    }
+
+    @Test
+    public void testCopyHasSameHash() {
+        TestAgent agent = setupAgent();
+        agent.playMinionCard("p1", YETI, 0);
+        agent.applyToPlayer("p1", (player) -> {
+            Game game = player.getGame();
+            assertEquals(game.stateHash(), game.copy().stateHash());
+        });
+    }
+
+    @Test
+    public void testSameStateSameHash() {
+        TestAgent agent1 = setupAgent();
+        agent1.playMinionCard("p1", YETI, 0);
+        agent1.playMinionCard("p1", WISP, 1);
+
+        TestAgent agent2 = setupAgent();
+        agent2.playMinionCard("p1", WISP, 0);
+        agent2.playMinionCard("p1", YETI, 0);
+
+        assertEquals(agent1.getGame().stateHash(), agent2.getGame().stateHash());
+    }
+
+    @Test
+    public void testDrawnCardSameHash() {
+        TestAgent agent1 = setupAgent();
+        agent1.applyToPlayer("p1", (player) -> player.drawCardToHand());
+
+        TestAgent agent2 = new TestAgent();
+        agent2.setMana("p1", 10);
+        agent2.addToHand("p1", FIREBALL, MOONFIRE, WISP);
+        agent2.deck("p1", YETI);
+
+        assertEquals(agent1.getGame().stateHash(), agent2.getGame().stateHash());
+    }
+
+    @Test
+    public void testRollbackRestoresHash() {
+        TestAgent agent = setupAgent();
+        agent.applyToPlayer("p1", (player) -> {
+            Game game = player.getGame();
+            long hashBefore = game.stateHash();
+            int mark = game.mark();
+            player.drawCardToHand();
+            player.getHand().removeAtIndex(0);
+            player.getManaResource().spendMana(3, 1);
+            player.getDeck().putOnTop(player.getHand().getCard(0).getCardDescr());
+            assertNotEquals(hashBefore, game.stateHash());
+
+            game.rollbackTo(mark);
+            assertEquals(hashBefore, game.stateHash());
+        });
+    }
+
+    @Test
+    public void testDifferentStateDifferentHash() {
+        TestAgent agent1 = setupAgent();
+        agent1.playMinionCard("p1", YETI, 0);
+        agent1.playMinionCard("p1", WISP, 1);
+
+        TestAgent agent2 = setupAgent();
+        agent2.playMinionCard("p1", YETI, 0);
+        agent2.playMinionCard("p1", WISP, 0);
+
+        assertNotEquals(agent1.getGame().stateHash(), agent2.getGame().stateHash());
+
+        long hashBefore = agent1.getGame().stateHash();
+        agent1.playCard("p1", 0, "p1:0");
+        assertNotEquals(hashBefore, agent1.getGame().stateHash());
+    }
+
+    @Test
+    public void testHandManaCostInHash() {
+        TestAgent agent = setupAgent();
+        agent.addToHand("p1", YETI);
+        Game game = agent.getGame();
+        long hashBefore = game.stateHash();
+
+        game.getPlayer1().getHand().getCard(2).decreaseManaCost(1);
+        long hashReduced = game.stateHash();
+        assertNotEquals(hashBefore, hashReduced);
+        assertEquals(hashReduced, game.copy().stateHash());
+    }
+
+    @Test
+    public void testMinionAbilitiesInHash() {
+        TestAgent agent = setupAgent();
+        agent.playMinionCard("p1", YETI, 0);
+        Game game = agent.getGame();
+        Minion yeti = game.getPlayer1().getBoard().getMinion(0);
+        long hashBefore = game.stateHash();
+
+        yeti.getProperties().getMaxAttackCountProperty().setValueTo(2);
+        long hashWindfury = game.stateHash();
+        assertNotEquals(hashBefore, hashWindfury);
+
+        yeti.getProperties().addDeathRattle((self, eventSource) -> { });
+        assertNotEquals(hashWindfury, game.stateHash());
+        assertEquals(game.stateHash(), game.copy().stateHash());
+    }
+}
@@ -0,0 +1,48 @@
+package info.hearthsim.brazier;
+
+import info.hearthsim.brazier.game.Keyword;
+import info.hearthsim.brazier.game.KeywordSet;
+import info.hearthsim.brazier.game.Keywords;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public final class KeywordSetTest {
+    @Test
+    public void testContains() {
+        Keyword customKeyword = Keyword.create("keyword-set-test");
+        KeywordSet set = KeywordSet.of(Keywords.MINION, Keywords.RACE_BEAST, customKeyword, Keywords.MINION);
+
+        assertEquals(3, set.size());
+        assertTrue(set.contains(Keywords.RACE_BEAST));
+        assertTrue(set.contains(customKeyword));
+        assertFalse(set.contains(Keywords.RACE_MURLOC));
+        assertFalse(set.contains("beast"));
+
+        assertTrue(set.containsAll(KeywordSet.of(Keywords.MINION, customKeyword)));
+        assertFalse(set.containsAll(KeywordSet.of(Keywords.MINION, Keywords.SPELL)));
+        assertTrue(set.containsAll(Arrays.asList(Keywords.MINION, Keywords.RACE_BEAST)));
+        assertTrue(set.containsAll(KeywordSet.EMPTY));
+        assertFalse(KeywordSet.EMPTY.containsAll(set));
+
+        assertTrue(set.containsAny(KeywordSet.of(Keywords.SPELL, customKeyword)));
+        assertFalse(set.containsAny(KeywordSet.of(Keywords.SPELL, Keywords.WEAPON)));
+    }
+
+    @Test
+    public void testEqualsOtherSets() {
+        KeywordSet set = KeywordSet.of(Keywords.RACE_MURLOC, Keywords.MINION);
+        Set<Keyword> hashSet = new HashSet<>(Arrays.asList(Keywords.MINION, Keywords.RACE_MURLOC));
+
+        assertEquals(hashSet, set);
+        assertEquals(set, hashSet);
+        assertEquals(hashSet.hashCode(), set.hashCode());
+        assertEquals(KeywordSet.of(hashSet), set);
+        assertNotEquals(KeywordSet.of(Keywords.MINION), set);
+        assertEquals(hashSet, new HashSet<>(set));
+    }
+}
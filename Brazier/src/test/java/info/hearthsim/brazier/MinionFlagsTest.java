@@ -0,0 +1,68 @@
+package info.hearthsim.brazier;
+
+import info.hearthsim.brazier.game.BoardSide;
+import info.hearthsim.brazier.game.MinionFlags;
+import info.hearthsim.brazier.game.minions.Minion;
+import info.hearthsim.brazier.utils.TestAgent;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static info.hearthsim.brazier.utils.TestCards.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the {@link MinionFlags} of a {@link BoardSide} agree with the states of its minions.
+ */
+public final class MinionFlagsTest {
+    @Test
+    public void testFlags() {
+        TestAgent agent = new TestAgent();
+        agent.setMana("p1", 10);
+        agent.setMana("p2", 10);
+        agent.playMinionCard("p1", YETI, 0);
+        agent.playMinionCard("p1", STONETUSK_BOAR, 1);
+        agent.playMinionCard("p1", SLUDGE_BELCHER, 2);
+
+        BoardSide board = agent.getGame().getPlayer1().getBoard();
+        MinionFlags flags = board.getMinionFlags();
+        assertEquals(0b111, flags.getMinionMask());
+        assertEquals(0b100, flags.getTauntMask());
+        assertEquals(0b010, flags.getCanAttackMask());
+        assertEquals(0, flags.getStealthMask());
+        assertEquals(0, flags.getImmuneMask());
+        assertTrue(flags.hasNonStealthTaunt());
+        assertEquals(0b100, flags.getAttackableMask());
+        assertSame(board.getMinion(2), flags.getMinion(2));
+
+        board.getMinion(2).getBody().setStealth(true);
+        assertTrue(flags.hasNonStealthTaunt());
+        flags = board.getMinionFlags();
+        assertEquals(0b100, flags.getStealthMask());
+        assertFalse(flags.hasNonStealthTaunt());
+        assertEquals(0b011, flags.getAttackableMask());
+
+        List<Minion> attackable = new ArrayList<>();
+        flags.collectMinions(flags.getAttackableMask(), attackable);
+        assertEquals(Arrays.asList(board.getMinion(0), board.getMinion(1)), attackable);
+    }
+
+    @Test
+    public void testFrozenMinions() {
+        TestAgent agent = new TestAgent();
+        agent.setMana("p1", 10);
+        agent.setMana("p2", 10);
+        agent.playMinionCard("p1", YETI, 0);
+        agent.playMinionCard("p1", STONETUSK_BOAR, 1);
+        agent.setCurrentPlayer("p2");
+        agent.playCard("p2", FROST_NOVA);
+        agent.setCurrentPlayer("p1");
+
+        BoardSide board = agent.getGame().getPlayer1().getBoard();
+        assertTrue(board.getMinion(0).getProperties().isFrozen());
+        assertTrue(board.getMinion(1).getProperties().isFrozen());
+        assertEquals(0, board.getMinionFlags().getCanAttackMask());
+    }
+}
@@ -0,0 +1,181 @@
+package info.hearthsim.brazier;
+
+import info.hearthsim.brazier.game.Game;
+import info.hearthsim.brazier.game.Player;
+import info.hearthsim.brazier.game.ReplayJournal;
+import info.hearthsim.brazier.game.cards.Card;
+import info.hearthsim.brazier.parsing.TestDb;
+import info.hearthsim.brazier.utils.TestAgent;
+import info.hearthsim.brazier.utils.TestUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static info.hearthsim.brazier.utils.TestCards.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests recording the decisions of a {@link Game} to a {@link ReplayJournal} and replaying them.
+ */
+public final class ReplayJournalTest {
+    private static List<String> cardNames(List<Card> cards) {
+        List<String> result = new ArrayList<>(cards.size());
+        for (Card card : cards)
+            result.add(card.getCardDescr().getId().getName());
+        return result;
+    }
+
+    private static List<Integer> roll(Game game, int bound, int count) {
+        List<Integer> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            result.add(game.getRandomProvider().roll(bound));
+        return result;
+    }
+
+    private static List<Object> playTracking(TestAgent agent) {
+        Game game = agent.getGame();
+        agent.playCard("p1", TRACKING);
+        Player player = game.getPlayer1();
+
+        List<Object> result = new ArrayList<>();
+        result.add(cardNames(player.getHand().getCards()));
+        result.add(cardNames(player.getDeck().getCards()));
+        result.add(roll(game, 1000, 10));
+        result.add(roll(game.copy(), 1000, 10));
+        return result;
+    }
+
+    @Test
+    public void testRecordAndReplay() throws IOException {
+        TestAgent agent = new TestAgent();
+        agent.setMana("p1", 10);
+        agent.deck("p1", YETI, CULT_MASTER, BLACKWING_CORRUPTOR, BLUEGILL_WARRIOR, ABUSIVE_SERGEANT);
+
+        Game game = agent.getGame();
+        Game replayedGame = game.copy();
+
+        game.setRandomProvider(new SplitMixRandomProvider(17));
+        game.setUserAgent((allowCancel, cards) -> cards.get(game.getRandomProvider().roll(cards.size())));
+        ReplayJournal journal = new ReplayJournal();
+        journal.startRecording(game);
+        List<Object> recorded = playTracking(agent);
+        assertEquals(2, game.getPlayer1().getDeck().getNumberOfCards());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        journal.writeTo(output);
+        ReplayJournal replayJournal = ReplayJournal.readFrom(new ByteArrayInputStream(output.toByteArray()));
+        assertArrayEquals(journal.toByteArray(), replayJournal.toByteArray());
+
+        agent.setGame(replayedGame);
+        replayJournal.startReplaying(replayedGame);
+        assertEquals(recorded, playTracking(agent));
+        assertTrue(replayJournal.isFullyReplayed());
+    }
+
+    @Test
+    public void testCopyDoesNotChangeRecordedGame() {
+        Game game = new Game(TestDb.getTestDb(), TestUtils.PLAYER1_ID, TestUtils.PLAYER2_ID);
+        game.setRandomProvider(new SplitMixRandomProvider(17));
+        ReplayJournal journal = new ReplayJournal();
+        journal.startRecording(game);
+        RandomProvider expected = new SplitMixRandomProvider(17);
+        assertEquals(expected.roll(1000), game.getRandomProvider().roll(1000));
+
+        byte[] recorded = journal.toByteArray();
+        Game copy = game.copy();
+        assertArrayEquals(recorded, journal.toByteArray());
+        assertEquals(expected.roll(1000), game.getRandomProvider().roll(1000));
+
+        ReplayJournal copyJournal = ReplayJournal.getRecordingJournal(copy);
+        assertNotNull(copyJournal);
+        assertNotSame(journal, copyJournal);
+        assertSame(journal, ReplayJournal.getRecordingJournal(game));
+    }
+
+    @Test
+    public void testReplayCopy() {
+        TestAgent agent = new TestAgent();
+        agent.setMana("p1", 10);
+        agent.deck("p1", YETI, CULT_MASTER, BLACKWING_CORRUPTOR, BLUEGILL_WARRIOR, ABUSIVE_SERGEANT);
+
+        Game game = agent.getGame();
+        game.setUserAgent((allowCancel, cards) -> cards.get(cards.size() - 1));
+        Game replayedCopy = game.copy();
+        new ReplayJournal().startRecording(game);
+        Game copy = game.copy();
+
+        agent.setGame(copy);
+        List<Object> recorded = playTracking(agent);
+        ReplayJournal copyJournal = ReplayJournal.fromByteArray(ReplayJournal.getRecordingJournal(copy).toByteArray());
+
+        agent.setGame(replayedCopy);
+        copyJournal.startReplaying(replayedCopy);
+        assertEquals(recorded, playTracking(agent));
+        assertTrue(copyJournal.isFullyReplayed());
+    }
+
+    @Test
+    public void testConcurrentCopies() throws InterruptedException {
+        Game game = new Game(TestDb.getTestDb(), TestUtils.PLAYER1_ID, TestUtils.PLAYER2_ID);
+        ReplayJournal journal = new ReplayJournal();
+        journal.startRecording(game);
+        roll(game, 6, 3);
+        byte[] recorded = journal.toByteArray();
+
+        int threadNum = 8;
+        int copyNum = 100;
+        Map<ReplayJournal, Boolean> copyJournals = new ConcurrentHashMap<>();
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(threadNum);
+        for (int i = 0; i < threadNum; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < copyNum; j++) {
+                        Game copy = game.copy();
+                        roll(copy, 6, 3);
+                        copyJournals.put(ReplayJournal.getRecordingJournal(copy), Boolean.TRUE);
+                    }
+                } catch (Throwable ex) {
+                    errors.add(ex);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads)
+            thread.join();
+
+        assertEquals(Collections.emptyList(), errors);
+        assertEquals(threadNum * copyNum, copyJournals.size());
+        assertArrayEquals(recorded, journal.toByteArray());
+    }
+
+    @Test
+    public void testReplayDivergence() {
+        Game game = new Game(TestDb.getTestDb(), TestUtils.PLAYER1_ID, TestUtils.PLAYER2_ID);
+        ReplayJournal journal = new ReplayJournal();
+        journal.startRecording(game);
+        roll(game, 6, 3);
+
+        Game replayedGame = new Game(game.getDb(), TestUtils.PLAYER1_ID, TestUtils.PLAYER2_ID);
+        ReplayJournal.fromByteArray(journal.toByteArray()).startReplaying(replayedGame);
+        roll(replayedGame, 6, 2);
+        try {
+            replayedGame.getRandomProvider().roll(5);
+            fail("Expected IllegalStateException.");
+        } catch (IllegalStateException ex) {
+            // Expected: the journal has a roll with another bound.
+        }
+    }
+}
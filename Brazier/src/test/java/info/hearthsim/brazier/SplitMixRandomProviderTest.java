@@ -0,0 +1,73 @@
+package info.hearthsim.brazier;
+
+import info.hearthsim.brazier.game.Game;
+import info.hearthsim.brazier.parsing.TestDb;
+import info.hearthsim.brazier.utils.TestUtils;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public final class SplitMixRandomProviderTest {
+    private static int[] roll(RandomProvider provider, int bound, int count) {
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++)
+            result[i] = provider.roll(bound);
+        return result;
+    }
+
+    @Test
+    public void testSameSeedSameRolls() {
+        assertArrayEquals(
+            roll(new SplitMixRandomProvider(42), 7, 100),
+            roll(new SplitMixRandomProvider(42), 7, 100));
+        assertFalse(Arrays.equals(
+            roll(new SplitMixRandomProvider(42), 1000, 100),
+            roll(new SplitMixRandomProvider(43), 1000, 100)));
+    }
+
+    @Test
+    public void testRollsWithinBound() {
+        SplitMixRandomProvider provider = new SplitMixRandomProvider(1);
+        int[] counts = new int[6];
+        for (int roll : roll(provider, 6, 6000)) {
+            assertTrue(roll >= 0 && roll < 6);
+            counts[roll]++;
+        }
+        for (int count : counts)
+            assertTrue("Biased count: " + count, count > 800 && count < 1200);
+
+        for (int roll : roll(provider, 8, 1000))
+            assertTrue(roll >= 0 && roll < 8);
+    }
+
+    @Test
+    public void testForksAreIndependentAndReproducible() {
+        SplitMixRandomProvider provider1 = new SplitMixRandomProvider(7);
+        SplitMixRandomProvider provider2 = new SplitMixRandomProvider(7);
+
+        int[] fork1 = roll(provider1.fork(), 1000, 50);
+        int[] fork2 = roll(provider1.fork(), 1000, 50);
+        assertFalse(Arrays.equals(fork1, fork2));
+        assertFalse(Arrays.equals(fork1, roll(provider1, 1000, 50)));
+
+        assertArrayEquals(fork1, roll(provider2.fork(), 1000, 50));
+        assertArrayEquals(fork2, roll(provider2.fork(), 1000, 50));
+    }
+
+    @Test
+    public void testGameCopyForksProvider() {
+        Game game = new Game(TestDb.getTestDb(), TestUtils.PLAYER1_ID, TestUtils.PLAYER2_ID);
+        game.setRandomProvider(new SplitMixRandomProvider(3));
+
+        Game copy1 = game.copy();
+        Game copy2 = game.copy();
+        int[] rolls1 = roll(copy1.getRandomProvider(), 1000, 50);
+        assertFalse(Arrays.equals(rolls1, roll(copy2.getRandomProvider(), 1000, 50)));
+
+        Game replayed = new Game(game.getDb(), TestUtils.PLAYER1_ID, TestUtils.PLAYER2_ID);
+        replayed.setRandomProvider(new SplitMixRandomProvider(3));
+        assertArrayEquals(rolls1, roll(replayed.copy().getRandomProvider(), 1000, 50));
+    }
+}
@@ -0,0 +1,64 @@
+package info.hearthsim.brazier;
+
+import info.hearthsim.brazier.game.Character;
+import info.hearthsim.brazier.game.Game;
+import info.hearthsim.brazier.game.minions.Minion;
+import info.hearthsim.brazier.utils.TestAgent;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static info.hearthsim.brazier.utils.TestCards.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the different ways of enumerating the targets of a {@link Game} agree with each other.
+ */
+public final class TargetEnumerationTest {
+    private static Game newGameWithMinions() {
+        TestAgent agent = new TestAgent();
+        agent.setMana("p1", 10);
+        agent.setMana("p2", 10);
+        agent.playMinionCard("p1", YETI, 0);
+        agent.playMinionCard("p1", WISP, 1);
+        agent.playMinionCard("p2", BLUEGILL_WARRIOR, 0);
+        return agent.getGame();
+    }
+
+    @Test
+    public void testAllTargets() {
+        Game game = newGameWithMinions();
+        List<Character> targets = game.getTargets();
+        assertEquals(Arrays.asList(
+            game.getPlayer1().getHero(),
+            game.getPlayer2().getHero(),
+            game.getPlayer1().getBoard().getAllMinions().get(0),
+            game.getPlayer1().getBoard().getAllMinions().get(1),
+            game.getPlayer2().getBoard().getAllMinions().get(0)), targets);
+
+        List<Character> visited = new ArrayList<>();
+        game.forEachTarget((target) -> true, visited::add);
+        assertEquals(targets, visited);
+    }
+
+    @Test
+    public void testFilteredTargetsWithBuffer() {
+        Game game = newGameWithMinions();
+        Predicate<Character> filter = (target) -> target instanceof Minion && target.getOwner() == game.getPlayer1();
+        List<Character> expected = game.getTargets(filter);
+        assertEquals(game.getPlayer1().getBoard().getAllMinions(), expected);
+
+        List<Character> visited = new ArrayList<>();
+        game.forEachTarget(filter, visited::add);
+        assertEquals(expected, visited);
+
+        List<Character> buffer = new ArrayList<>();
+        game.collectTargets(buffer, filter);
+        buffer.clear();
+        game.collectTargets(buffer, filter);
+        assertEquals(expected, buffer);
+    }
+}